@@ -1,5 +1,7 @@
 package vibhuvi.oio.inframirror.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +15,135 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Ingest ingest = new Ingest();
+
+    private final Partitioning partitioning = new Partitioning();
+
+    private final Rollup rollup = new Rollup();
+
+    private final LatestState latestState = new LatestState();
+
+    private final StatusPageCache statusPageCache = new StatusPageCache();
+
+    private final StatusPageStream statusPageStream = new StatusPageStream();
+
+    private final DependencyTree dependencyTree = new DependencyTree();
+
+    private final ApiKeyAuthentication apiKeyAuthentication = new ApiKeyAuthentication();
+
+    private final Scheduler scheduler = new Scheduler();
+
+    private final Lease lease = new Lease();
+
+    private final AgentLiveness agentLiveness = new AgentLiveness();
+
+    private final AgentRegistration agentRegistration = new AgentRegistration();
+
+    private final MonitorSync monitorSync = new MonitorSync();
+    private final Slo slo = new Slo();
+    private final HeartbeatExport heartbeatExport = new HeartbeatExport();
+    private final HeartbeatDetail heartbeatDetail = new HeartbeatDetail();
+    private final InstanceMetrics instanceMetrics = new InstanceMetrics();
+    private final MonitorSeries monitorSeries = new MonitorSeries();
+    private final Incidents incidents = new Incidents();
+    private final Notifications notifications = new Notifications();
+    private final Certificates certificates = new Certificates();
+    private final ContentChanges contentChanges = new ContentChanges();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Ingest getIngest() {
+        return ingest;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    public Rollup getRollup() {
+        return rollup;
+    }
+
+    public LatestState getLatestState() {
+        return latestState;
+    }
+
+    public StatusPageCache getStatusPageCache() {
+        return statusPageCache;
+    }
+
+    public StatusPageStream getStatusPageStream() {
+        return statusPageStream;
+    }
+
+    public DependencyTree getDependencyTree() {
+        return dependencyTree;
+    }
+
+    public ApiKeyAuthentication getApiKeyAuthentication() {
+        return apiKeyAuthentication;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public Lease getLease() {
+        return lease;
+    }
+
+    public AgentLiveness getAgentLiveness() {
+        return agentLiveness;
+    }
+
+    public AgentRegistration getAgentRegistration() {
+        return agentRegistration;
+    }
+
+    public MonitorSync getMonitorSync() {
+        return monitorSync;
+    }
+
+    public Slo getSlo() {
+        return slo;
+    }
+
+    public HeartbeatExport getHeartbeatExport() {
+        return heartbeatExport;
+    }
+
+    public HeartbeatDetail getHeartbeatDetail() {
+        return heartbeatDetail;
+    }
+
+    public InstanceMetrics getInstanceMetrics() {
+        return instanceMetrics;
+    }
+
+    public MonitorSeries getMonitorSeries() {
+        return monitorSeries;
+    }
+
+    public Incidents getIncidents() {
+        return incidents;
+    }
+
+    public Notifications getNotifications() {
+        return notifications;
+    }
+
+    public Certificates getCertificates() {
+        return certificates;
+    }
+
+    public ContentChanges getContentChanges() {
+        return contentChanges;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +158,1101 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Ingest {
+
+        private int queueCapacity = 50_000;
+
+        private int batchSize = 500;
+
+        private long flushIntervalMs = 250;
+
+        private int maxItemsPerRequest = 10_000;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getMaxItemsPerRequest() {
+            return maxItemsPerRequest;
+        }
+
+        public void setMaxItemsPerRequest(int maxItemsPerRequest) {
+            this.maxItemsPerRequest = maxItemsPerRequest;
+        }
+    }
+    public static class Partitioning {
+
+        private boolean enabled = true;
+
+        private String cron = "0 5 * * * *";
+
+        private int precreatePeriods = 7;
+
+        private boolean dropExpired = true;
+
+        private final Table httpHeartbeat = new Table(Interval.DAILY, 30);
+
+        private final Table instanceHeartbeat = new Table(Interval.DAILY, 14);
+
+        private final Table serviceHeartbeat = new Table(Interval.DAILY, 30);
+
+        private final Table httpHeartbeatDetail = new Table(Interval.DAILY, 7);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+
+        public int getPrecreatePeriods() {
+            return precreatePeriods;
+        }
+
+        public void setPrecreatePeriods(int precreatePeriods) {
+            this.precreatePeriods = precreatePeriods;
+        }
+
+        public boolean isDropExpired() {
+            return dropExpired;
+        }
+
+        public void setDropExpired(boolean dropExpired) {
+            this.dropExpired = dropExpired;
+        }
+
+        public Table getHttpHeartbeat() {
+            return httpHeartbeat;
+        }
+
+        public Table getInstanceHeartbeat() {
+            return instanceHeartbeat;
+        }
+
+        public Table getServiceHeartbeat() {
+            return serviceHeartbeat;
+        }
+
+        public Table getHttpHeartbeatDetail() {
+            return httpHeartbeatDetail;
+        }
+
+        public enum Interval {
+            DAILY,
+            WEEKLY,
+        }
+
+        public static class Table {
+
+            private Interval interval;
+
+            private int retentionDays;
+
+            public Table() {}
+
+            Table(Interval interval, int retentionDays) {
+                this.interval = interval;
+                this.retentionDays = retentionDays;
+            }
+
+            public Interval getInterval() {
+                return interval;
+            }
+
+            public void setInterval(Interval interval) {
+                this.interval = interval;
+            }
+
+            public int getRetentionDays() {
+                return retentionDays;
+            }
+
+            public void setRetentionDays(int retentionDays) {
+                this.retentionDays = retentionDays;
+            }
+        }
+    }
+    public static class Rollup {
+
+        private int minuteRetentionDays = 7;
+
+        private int hourRetentionDays = 90;
+
+        private int dayRetentionDays = 730;
+
+        private int maxPoints = 1500;
+
+        private String purgeCron = "0 20 3 * * *";
+
+        public int getMinuteRetentionDays() {
+            return minuteRetentionDays;
+        }
+
+        public void setMinuteRetentionDays(int minuteRetentionDays) {
+            this.minuteRetentionDays = minuteRetentionDays;
+        }
+
+        public int getHourRetentionDays() {
+            return hourRetentionDays;
+        }
+
+        public void setHourRetentionDays(int hourRetentionDays) {
+            this.hourRetentionDays = hourRetentionDays;
+        }
+
+        public int getDayRetentionDays() {
+            return dayRetentionDays;
+        }
+
+        public void setDayRetentionDays(int dayRetentionDays) {
+            this.dayRetentionDays = dayRetentionDays;
+        }
+
+        public int getMaxPoints() {
+            return maxPoints;
+        }
+
+        public void setMaxPoints(int maxPoints) {
+            this.maxPoints = maxPoints;
+        }
+
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+    }
+    public static class LatestState {
+
+        private boolean enabled = true;
+
+        private int capacity = 60;
+
+        private int warmLookbackHours = 24;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getWarmLookbackHours() {
+            return warmLookbackHours;
+        }
+
+        public void setWarmLookbackHours(int warmLookbackHours) {
+            this.warmLookbackHours = warmLookbackHours;
+        }
+    }
+    public static class StatusPageCache {
+
+        private int timeToLiveSeconds = 60;
+
+        private int maxAgeSeconds = 5;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getMaxAgeSeconds() {
+            return maxAgeSeconds;
+        }
+
+        public void setMaxAgeSeconds(int maxAgeSeconds) {
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+    }
+    public static class StatusPageStream {
+
+        private int maxConnections = 10000;
+
+        private int maxConnectionsPerPage = 2000;
+
+        private int keepAliveSeconds = 15;
+
+        private long debounceMillis = 250;
+
+        private int maxPendingEvents = 16;
+
+        private int senderThreads = 4;
+
+        private int timeoutMinutes = 30;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getMaxConnectionsPerPage() {
+            return maxConnectionsPerPage;
+        }
+
+        public void setMaxConnectionsPerPage(int maxConnectionsPerPage) {
+            this.maxConnectionsPerPage = maxConnectionsPerPage;
+        }
+
+        public int getKeepAliveSeconds() {
+            return keepAliveSeconds;
+        }
+
+        public void setKeepAliveSeconds(int keepAliveSeconds) {
+            this.keepAliveSeconds = keepAliveSeconds;
+        }
+
+        public long getDebounceMillis() {
+            return debounceMillis;
+        }
+
+        public void setDebounceMillis(long debounceMillis) {
+            this.debounceMillis = debounceMillis;
+        }
+
+        public int getMaxPendingEvents() {
+            return maxPendingEvents;
+        }
+
+        public void setMaxPendingEvents(int maxPendingEvents) {
+            this.maxPendingEvents = maxPendingEvents;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public int getTimeoutMinutes() {
+            return timeoutMinutes;
+        }
+
+        public void setTimeoutMinutes(int timeoutMinutes) {
+            this.timeoutMinutes = timeoutMinutes;
+        }
+    }
+    public static class DependencyTree {
+
+        private int topologyTimeToLiveSeconds = 300;
+
+        private long topologyMaximumSize = 1_000;
+
+        public int getTopologyTimeToLiveSeconds() {
+            return topologyTimeToLiveSeconds;
+        }
+
+        public void setTopologyTimeToLiveSeconds(int topologyTimeToLiveSeconds) {
+            this.topologyTimeToLiveSeconds = topologyTimeToLiveSeconds;
+        }
+
+        public long getTopologyMaximumSize() {
+            return topologyMaximumSize;
+        }
+
+        public void setTopologyMaximumSize(long topologyMaximumSize) {
+            this.topologyMaximumSize = topologyMaximumSize;
+        }
+    }
+    public static class ApiKeyAuthentication {
+
+        private int timeToLiveSeconds = 60;
+
+        private int invalidTimeToLiveSeconds = 30;
+
+        private long maximumSize = 10_000;
+
+        private int maxInvalidAttemptsPerMinute = 20;
+
+        private int lastUsedFlushSeconds = 60;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getInvalidTimeToLiveSeconds() {
+            return invalidTimeToLiveSeconds;
+        }
+
+        public void setInvalidTimeToLiveSeconds(int invalidTimeToLiveSeconds) {
+            this.invalidTimeToLiveSeconds = invalidTimeToLiveSeconds;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public int getMaxInvalidAttemptsPerMinute() {
+            return maxInvalidAttemptsPerMinute;
+        }
+
+        public void setMaxInvalidAttemptsPerMinute(int maxInvalidAttemptsPerMinute) {
+            this.maxInvalidAttemptsPerMinute = maxInvalidAttemptsPerMinute;
+        }
+
+        public int getLastUsedFlushSeconds() {
+            return lastUsedFlushSeconds;
+        }
+
+        public void setLastUsedFlushSeconds(int lastUsedFlushSeconds) {
+            this.lastUsedFlushSeconds = lastUsedFlushSeconds;
+        }
+    }
+    public static class Scheduler {
+
+        private boolean enabled = true;
+
+        private int rebalanceSeconds = 30;
+
+        private int agentTimeoutSeconds = 90;
+
+        private int virtualNodes = 128;
+
+        private int maxAssignmentsPerPoll = 5000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRebalanceSeconds() {
+            return rebalanceSeconds;
+        }
+
+        public void setRebalanceSeconds(int rebalanceSeconds) {
+            this.rebalanceSeconds = rebalanceSeconds;
+        }
+
+        public int getAgentTimeoutSeconds() {
+            return agentTimeoutSeconds;
+        }
+
+        public void setAgentTimeoutSeconds(int agentTimeoutSeconds) {
+            this.agentTimeoutSeconds = agentTimeoutSeconds;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public int getMaxAssignmentsPerPoll() {
+            return maxAssignmentsPerPoll;
+        }
+
+        public void setMaxAssignmentsPerPoll(int maxAssignmentsPerPoll) {
+            this.maxAssignmentsPerPoll = maxAssignmentsPerPoll;
+        }
+    }
+    public static class Lease {
+
+        private int defaultTtlSeconds = 30;
+
+        private int maxTtlSeconds = 600;
+
+        private int reapSeconds = 60;
+
+        public int getDefaultTtlSeconds() {
+            return defaultTtlSeconds;
+        }
+
+        public void setDefaultTtlSeconds(int defaultTtlSeconds) {
+            this.defaultTtlSeconds = defaultTtlSeconds;
+        }
+
+        public int getMaxTtlSeconds() {
+            return maxTtlSeconds;
+        }
+
+        public void setMaxTtlSeconds(int maxTtlSeconds) {
+            this.maxTtlSeconds = maxTtlSeconds;
+        }
+
+        public int getReapSeconds() {
+            return reapSeconds;
+        }
+
+        public void setReapSeconds(int reapSeconds) {
+            this.reapSeconds = reapSeconds;
+        }
+    }
+    public static class AgentLiveness {
+
+        private int heartbeatIntervalSeconds = 30;
+
+        private int staleAfterMissedHeartbeats = 2;
+
+        private int offlineAfterMissedHeartbeats = 5;
+
+        private int flushSeconds = 5;
+
+        private long tickMillis = 1000;
+
+        public int getHeartbeatIntervalSeconds() {
+            return heartbeatIntervalSeconds;
+        }
+
+        public void setHeartbeatIntervalSeconds(int heartbeatIntervalSeconds) {
+            this.heartbeatIntervalSeconds = heartbeatIntervalSeconds;
+        }
+
+        public int getStaleAfterMissedHeartbeats() {
+            return staleAfterMissedHeartbeats;
+        }
+
+        public void setStaleAfterMissedHeartbeats(int staleAfterMissedHeartbeats) {
+            this.staleAfterMissedHeartbeats = staleAfterMissedHeartbeats;
+        }
+
+        public int getOfflineAfterMissedHeartbeats() {
+            return offlineAfterMissedHeartbeats;
+        }
+
+        public void setOfflineAfterMissedHeartbeats(int offlineAfterMissedHeartbeats) {
+            this.offlineAfterMissedHeartbeats = offlineAfterMissedHeartbeats;
+        }
+
+        public int getFlushSeconds() {
+            return flushSeconds;
+        }
+
+        public void setFlushSeconds(int flushSeconds) {
+            this.flushSeconds = flushSeconds;
+        }
+
+        public long getTickMillis() {
+            return tickMillis;
+        }
+
+        public void setTickMillis(long tickMillis) {
+            this.tickMillis = tickMillis;
+        }
+    }
+    public static class AgentRegistration {
+
+        private int topologyTimeToLiveSeconds = 600;
+
+        private long topologyMaxEntries = 10_000;
+
+        public int getTopologyTimeToLiveSeconds() {
+            return topologyTimeToLiveSeconds;
+        }
+
+        public void setTopologyTimeToLiveSeconds(int topologyTimeToLiveSeconds) {
+            this.topologyTimeToLiveSeconds = topologyTimeToLiveSeconds;
+        }
+
+        public long getTopologyMaxEntries() {
+            return topologyMaxEntries;
+        }
+
+        public void setTopologyMaxEntries(long topologyMaxEntries) {
+            this.topologyMaxEntries = topologyMaxEntries;
+        }
+    }
+    public static class MonitorSync {
+
+        private int maxMonitors = 20_000;
+
+        public int getMaxMonitors() {
+            return maxMonitors;
+        }
+
+        public void setMaxMonitors(int maxMonitors) {
+            this.maxMonitors = maxMonitors;
+        }
+    }
+
+    public static class Slo {
+
+        private boolean enabled = true;
+        private double defaultTargetPercent = 99.0;
+        private double fastBurnRate = 14.4;
+        private double slowBurnRate = 6.0;
+        private long refreshSeconds = 60;
+        private long metricsCacheSeconds = 15;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getDefaultTargetPercent() {
+            return defaultTargetPercent;
+        }
+
+        public void setDefaultTargetPercent(double defaultTargetPercent) {
+            this.defaultTargetPercent = defaultTargetPercent;
+        }
+
+        public double getFastBurnRate() {
+            return fastBurnRate;
+        }
+
+        public void setFastBurnRate(double fastBurnRate) {
+            this.fastBurnRate = fastBurnRate;
+        }
+
+        public double getSlowBurnRate() {
+            return slowBurnRate;
+        }
+
+        public void setSlowBurnRate(double slowBurnRate) {
+            this.slowBurnRate = slowBurnRate;
+        }
+
+        public long getRefreshSeconds() {
+            return refreshSeconds;
+        }
+
+        public void setRefreshSeconds(long refreshSeconds) {
+            this.refreshSeconds = refreshSeconds;
+        }
+
+        public long getMetricsCacheSeconds() {
+            return metricsCacheSeconds;
+        }
+
+        public void setMetricsCacheSeconds(long metricsCacheSeconds) {
+            this.metricsCacheSeconds = metricsCacheSeconds;
+        }
+    }
+
+    public static class HeartbeatExport {
+
+        private int fetchSize = 5000;
+        private int columnarRowGroupSize = 8192;
+        private int timeoutMinutes = 60;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+
+        public int getColumnarRowGroupSize() {
+            return columnarRowGroupSize;
+        }
+
+        public void setColumnarRowGroupSize(int columnarRowGroupSize) {
+            this.columnarRowGroupSize = columnarRowGroupSize;
+        }
+
+        public int getTimeoutMinutes() {
+            return timeoutMinutes;
+        }
+
+        public void setTimeoutMinutes(int timeoutMinutes) {
+            this.timeoutMinutes = timeoutMinutes;
+        }
+    }
+
+    public static class HeartbeatDetail {
+
+        private boolean enabled = true;
+        private int successSampleRate = 10;
+        private int compressionLevel = 1;
+        private int dedupMinLength = 128;
+        private long blobCacheMaxEntries = 100_000;
+        private long blobTouchIntervalSeconds = 3600;
+        private String blobSweepCron = "0 40 3 * * *";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSuccessSampleRate() {
+            return successSampleRate;
+        }
+
+        public void setSuccessSampleRate(int successSampleRate) {
+            this.successSampleRate = successSampleRate;
+        }
+
+        public int getCompressionLevel() {
+            return compressionLevel;
+        }
+
+        public void setCompressionLevel(int compressionLevel) {
+            this.compressionLevel = compressionLevel;
+        }
+
+        public int getDedupMinLength() {
+            return dedupMinLength;
+        }
+
+        public void setDedupMinLength(int dedupMinLength) {
+            this.dedupMinLength = dedupMinLength;
+        }
+
+        public long getBlobCacheMaxEntries() {
+            return blobCacheMaxEntries;
+        }
+
+        public void setBlobCacheMaxEntries(long blobCacheMaxEntries) {
+            this.blobCacheMaxEntries = blobCacheMaxEntries;
+        }
+
+        public long getBlobTouchIntervalSeconds() {
+            return blobTouchIntervalSeconds;
+        }
+
+        public void setBlobTouchIntervalSeconds(long blobTouchIntervalSeconds) {
+            this.blobTouchIntervalSeconds = blobTouchIntervalSeconds;
+        }
+
+        public String getBlobSweepCron() {
+            return blobSweepCron;
+        }
+
+        public void setBlobSweepCron(String blobSweepCron) {
+            this.blobSweepCron = blobSweepCron;
+        }
+    }
+
+    public static class InstanceMetrics {
+
+        private boolean enabled = true;
+        private int chunkPoints = 240;
+        private long chunkMaxSpanSeconds = 14400;
+        private long flushIntervalSeconds = 30;
+        private int retentionDays = 90;
+        private int maxPoints = 10000;
+        private String purgeCron = "0 50 3 * * *";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getChunkPoints() {
+            return chunkPoints;
+        }
+
+        public void setChunkPoints(int chunkPoints) {
+            this.chunkPoints = chunkPoints;
+        }
+
+        public long getChunkMaxSpanSeconds() {
+            return chunkMaxSpanSeconds;
+        }
+
+        public void setChunkMaxSpanSeconds(long chunkMaxSpanSeconds) {
+            this.chunkMaxSpanSeconds = chunkMaxSpanSeconds;
+        }
+
+        public long getFlushIntervalSeconds() {
+            return flushIntervalSeconds;
+        }
+
+        public void setFlushIntervalSeconds(long flushIntervalSeconds) {
+            this.flushIntervalSeconds = flushIntervalSeconds;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+
+        public int getMaxPoints() {
+            return maxPoints;
+        }
+
+        public void setMaxPoints(int maxPoints) {
+            this.maxPoints = maxPoints;
+        }
+
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+    }
+
+    public static class MonitorSeries {
+
+        private int defaultPoints = 500;
+        private int maxPoints = 5000;
+        private int fetchSize = 5000;
+
+        public int getDefaultPoints() {
+            return defaultPoints;
+        }
+
+        public void setDefaultPoints(int defaultPoints) {
+            this.defaultPoints = defaultPoints;
+        }
+
+        public int getMaxPoints() {
+            return maxPoints;
+        }
+
+        public void setMaxPoints(int maxPoints) {
+            this.maxPoints = maxPoints;
+        }
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+    public static class Incidents {
+
+        private boolean enabled = true;
+        private int failureThreshold = 3;
+        private int degradedThreshold = 3;
+        private int recoveryThreshold = 2;
+        private int policyCacheSeconds = 60;
+        private int stateIdleMinutes = 1440;
+        private int maxResults = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public int getDegradedThreshold() {
+            return degradedThreshold;
+        }
+
+        public void setDegradedThreshold(int degradedThreshold) {
+            this.degradedThreshold = degradedThreshold;
+        }
+
+        public int getRecoveryThreshold() {
+            return recoveryThreshold;
+        }
+
+        public void setRecoveryThreshold(int recoveryThreshold) {
+            this.recoveryThreshold = recoveryThreshold;
+        }
+
+        public int getPolicyCacheSeconds() {
+            return policyCacheSeconds;
+        }
+
+        public void setPolicyCacheSeconds(int policyCacheSeconds) {
+            this.policyCacheSeconds = policyCacheSeconds;
+        }
+
+        public int getStateIdleMinutes() {
+            return stateIdleMinutes;
+        }
+
+        public void setStateIdleMinutes(int stateIdleMinutes) {
+            this.stateIdleMinutes = stateIdleMinutes;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+    }
+    public static class Notifications {
+
+        private boolean enabled = true;
+        private int workers = 2;
+        private int pollIntervalSeconds = 5;
+        private int batchSize = 50;
+        private int leaseSeconds = 120;
+        private int maxAttempts = 8;
+        private int initialBackoffSeconds = 30;
+        private int maxBackoffSeconds = 3600;
+        private int webhookTimeoutSeconds = 10;
+        private int retentionDays = 30;
+        private String purgeCron = "0 10 4 * * *";
+        private List<Channel> channels = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getPollIntervalSeconds() {
+            return pollIntervalSeconds;
+        }
+
+        public void setPollIntervalSeconds(int pollIntervalSeconds) {
+            this.pollIntervalSeconds = pollIntervalSeconds;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getLeaseSeconds() {
+            return leaseSeconds;
+        }
+
+        public void setLeaseSeconds(int leaseSeconds) {
+            this.leaseSeconds = leaseSeconds;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public int getInitialBackoffSeconds() {
+            return initialBackoffSeconds;
+        }
+
+        public void setInitialBackoffSeconds(int initialBackoffSeconds) {
+            this.initialBackoffSeconds = initialBackoffSeconds;
+        }
+
+        public int getMaxBackoffSeconds() {
+            return maxBackoffSeconds;
+        }
+
+        public void setMaxBackoffSeconds(int maxBackoffSeconds) {
+            this.maxBackoffSeconds = maxBackoffSeconds;
+        }
+
+        public int getWebhookTimeoutSeconds() {
+            return webhookTimeoutSeconds;
+        }
+
+        public void setWebhookTimeoutSeconds(int webhookTimeoutSeconds) {
+            this.webhookTimeoutSeconds = webhookTimeoutSeconds;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+
+        public List<Channel> getChannels() {
+            return channels;
+        }
+
+        public void setChannels(List<Channel> channels) {
+            this.channels = channels;
+        }
+
+        public enum ChannelType {
+            EMAIL,
+            WEBHOOK,
+            STUB,
+        }
+
+        public static class Channel {
+
+            private String name;
+            private ChannelType type;
+            private String target;
+            private int ratePerMinute = 30;
+            private List<String> events = new ArrayList<>();
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public ChannelType getType() {
+                return type;
+            }
+
+            public void setType(ChannelType type) {
+                this.type = type;
+            }
+
+            public String getTarget() {
+                return target;
+            }
+
+            public void setTarget(String target) {
+                this.target = target;
+            }
+
+            public int getRatePerMinute() {
+                return ratePerMinute;
+            }
+
+            public void setRatePerMinute(int ratePerMinute) {
+                this.ratePerMinute = ratePerMinute;
+            }
+
+            public List<String> getEvents() {
+                return events;
+            }
+
+            public void setEvents(List<String> events) {
+                this.events = events;
+            }
+        }
+    }
+
+    public static class Certificates {
+
+        private int policyCacheSeconds = 60;
+        private int stateIdleMinutes = 1440;
+
+        public int getPolicyCacheSeconds() {
+            return policyCacheSeconds;
+        }
+
+        public void setPolicyCacheSeconds(int policyCacheSeconds) {
+            this.policyCacheSeconds = policyCacheSeconds;
+        }
+
+        public int getStateIdleMinutes() {
+            return stateIdleMinutes;
+        }
+
+        public void setStateIdleMinutes(int stateIdleMinutes) {
+            this.stateIdleMinutes = stateIdleMinutes;
+        }
+    }
+
+    public static class ContentChanges {
+
+        private long maxSources = 100_000;
+        private int idleMinutes = 1440;
+
+        public long getMaxSources() {
+            return maxSources;
+        }
+
+        public void setMaxSources(long maxSources) {
+            this.maxSources = maxSources;
+        }
+
+        public int getIdleMinutes() {
+            return idleMinutes;
+        }
+
+        public void setIdleMinutes(int idleMinutes) {
+            this.idleMinutes = idleMinutes;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -56,6 +56,9 @@ public class Agent implements Serializable {
     @Column(name = "status", length = 20)
     private String status;
 
+    @Column(name = "region_id")
+    private Long regionId;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -234,6 +237,19 @@ public class Agent implements Serializable {
         this.status = status;
     }
 
+    public Long getRegionId() {
+        return this.regionId;
+    }
+
+    public Agent regionId(Long regionId) {
+        this.setRegionId(regionId);
+        return this;
+    }
+
+    public void setRegionId(Long regionId) {
+        this.regionId = regionId;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -33,6 +33,13 @@ public class AgentLock implements Serializable {
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
+    @Size(max = 200)
+    @Column(name = "lock_name", length = 200, unique = true)
+    private String lockName;
+
+    @Column(name = "fencing_token")
+    private Long fencingToken;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -87,6 +94,32 @@ public class AgentLock implements Serializable {
         this.expiresAt = expiresAt;
     }
 
+    public String getLockName() {
+        return this.lockName;
+    }
+
+    public AgentLock lockName(String lockName) {
+        this.setLockName(lockName);
+        return this;
+    }
+
+    public void setLockName(String lockName) {
+        this.lockName = lockName;
+    }
+
+    public Long getFencingToken() {
+        return this.fencingToken;
+    }
+
+    public AgentLock fencingToken(Long fencingToken) {
+        this.setFencingToken(fencingToken);
+        return this;
+    }
+
+    public void setFencingToken(Long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -114,6 +147,8 @@ public class AgentLock implements Serializable {
             ", agentId=" + getAgentId() +
             ", acquiredAt='" + getAcquiredAt() + "'" +
             ", expiresAt='" + getExpiresAt() + "'" +
+            ", lockName='" + getLockName() + "'" +
+            ", fencingToken=" + getFencingToken() +
             "}";
     }
 }
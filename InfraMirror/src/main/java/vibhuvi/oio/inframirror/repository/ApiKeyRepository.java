@@ -1,11 +1,14 @@
 package vibhuvi.oio.inframirror.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import vibhuvi.oio.inframirror.domain.ApiKey;
 
 /**
@@ -15,6 +18,11 @@ import vibhuvi.oio.inframirror.domain.ApiKey;
 @Repository
 public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
     Optional<ApiKey> findFirstByKeyHashAndActiveTrue(String keyHash);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ApiKey k SET k.lastUsedDate = :usedAt WHERE k.id IN :ids")
+    int updateLastUsedDate(@Param("ids") Collection<Long> ids, @Param("usedAt") Instant usedAt);
     
     @Query(
         value = "SELECT * FROM api_key WHERE search_vector @@ to_tsquery('simple', :query || ':*') " +
@@ -1,8 +1,10 @@
 package vibhuvi.oio.inframirror.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vibhuvi.oio.inframirror.domain.HttpHeartbeat;
 
@@ -16,4 +18,22 @@ public interface HttpHeartbeatRepository extends JpaRepository<HttpHeartbeat, Lo
     Optional<HttpHeartbeat> findFirstByMonitorIdAndAgentIdOrderByExecutedAtDesc(Long monitorId, Long agentId);
     List<HttpHeartbeat> findTop20ByMonitorIdOrderByExecutedAtDesc(Long monitorId);
     List<HttpHeartbeat> findTop20ByMonitorIdAndAgentIdOrderByExecutedAtDesc(Long monitorId, Long agentId);
+
+    /**
+     * Keyset page of the heartbeats of one monitor executed in {@code [from, to)}, newest first, that come after
+     * {@code (beforeAt, beforeId)} in that order.
+     */
+    @Query(
+        value = "SELECT * FROM http_heartbeat WHERE monitor_id = :monitorId AND executed_at >= :from AND executed_at < :to " +
+        "AND (executed_at, id) < (:beforeAt, :beforeId) ORDER BY executed_at DESC, id DESC LIMIT :limit",
+        nativeQuery = true
+    )
+    List<HttpHeartbeat> findPageByMonitorId(
+        @Param("monitorId") Long monitorId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("beforeAt") LocalDateTime beforeAt,
+        @Param("beforeId") long beforeId,
+        @Param("limit") int limit
+    );
 }
@@ -1,6 +1,9 @@
 package vibhuvi.oio.inframirror.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vibhuvi.oio.inframirror.domain.InstanceHeartbeat;
 
@@ -9,4 +12,22 @@ import vibhuvi.oio.inframirror.domain.InstanceHeartbeat;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface InstanceHeartbeatRepository extends JpaRepository<InstanceHeartbeat, Long> {}
+public interface InstanceHeartbeatRepository extends JpaRepository<InstanceHeartbeat, Long> {
+    /**
+     * Keyset page of the heartbeats of one instance executed in {@code [from, to)}, newest first, that come after
+     * {@code (beforeAt, beforeId)} in that order.
+     */
+    @Query(
+        value = "SELECT * FROM instance_heartbeat WHERE instance_id = :instanceId AND executed_at >= :from AND executed_at < :to " +
+        "AND (executed_at, id) < (:beforeAt, :beforeId) ORDER BY executed_at DESC, id DESC LIMIT :limit",
+        nativeQuery = true
+    )
+    List<InstanceHeartbeat> findPageByInstanceId(
+        @Param("instanceId") Long instanceId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("beforeAt") LocalDateTime beforeAt,
+        @Param("beforeId") long beforeId,
+        @Param("limit") int limit
+    );
+}
@@ -0,0 +1,70 @@
+package vibhuvi.oio.inframirror.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocates ids from {@code sequence_generator} for rows inserted with JDBC rather than through Hibernate.
+ * <p>
+ * Like Hibernate's pooled optimizer, every {@code nextval} reserves the {@link #ALLOCATION_SIZE} values ending at the
+ * returned value. The ids of a block that a call does not use are kept for the next calls, so single-row inserts
+ * and upserts take one {@code nextval} per {@link #ALLOCATION_SIZE} rows instead of burning a block each.
+ */
+@Component
+public class SequenceIdAllocator {
+
+    /** Must match the increment of {@code sequence_generator} (see the initial schema changelog). */
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** The next unused id of the current block, valid while it is not greater than {@link #high}. */
+    private long next = 1;
+    private long high;
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Allocate one id.
+     *
+     * @return an unused id.
+     */
+    public long nextId() {
+        return allocateIds(1)[0];
+    }
+
+    /**
+     * Allocate ids, starting with what is left of the current block and taking as many new blocks as needed in one
+     * round-trip.
+     *
+     * @param count the number of ids needed.
+     * @return {@code count} unused ids.
+     */
+    public synchronized long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        int i = 0;
+        while (i < count && next <= high) {
+            ids[i++] = next++;
+        }
+        if (i < count) {
+            int blocks = (count - i + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE;
+            List<Long> highs = jdbcTemplate.queryForList(
+                "SELECT nextval('sequence_generator') FROM generate_series(1, ?)",
+                Long.class,
+                blocks
+            );
+            for (long blockHigh : highs) {
+                long id = blockHigh - ALLOCATION_SIZE + 1;
+                while (i < count && id <= blockHigh) {
+                    ids[i++] = id++;
+                }
+                next = id;
+                high = blockHigh;
+            }
+        }
+        return ids;
+    }
+}
@@ -1,6 +1,9 @@
 package vibhuvi.oio.inframirror.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vibhuvi.oio.inframirror.domain.ServiceHeartbeat;
 
@@ -9,4 +12,22 @@ import vibhuvi.oio.inframirror.domain.ServiceHeartbeat;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ServiceHeartbeatRepository extends JpaRepository<ServiceHeartbeat, Long> {}
+public interface ServiceHeartbeatRepository extends JpaRepository<ServiceHeartbeat, Long> {
+    /**
+     * Keyset page of the heartbeats of one monitoredService executed in {@code [from, to)}, newest first, that come after
+     * {@code (beforeAt, beforeId)} in that order.
+     */
+    @Query(
+        value = "SELECT * FROM service_heartbeat WHERE monitored_service_id = :monitoredServiceId AND executed_at >= :from AND executed_at < :to " +
+        "AND (executed_at, id) < (:beforeAt, :beforeId) ORDER BY executed_at DESC, id DESC LIMIT :limit",
+        nativeQuery = true
+    )
+    List<ServiceHeartbeat> findPageByMonitoredServiceId(
+        @Param("monitoredServiceId") Long monitoredServiceId,
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to,
+        @Param("beforeAt") LocalDateTime beforeAt,
+        @Param("beforeId") long beforeId,
+        @Param("limit") int limit
+    );
+}
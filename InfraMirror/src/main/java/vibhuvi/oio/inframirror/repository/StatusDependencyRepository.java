@@ -2,6 +2,7 @@ package vibhuvi.oio.inframirror.repository;
 
 import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import vibhuvi.oio.inframirror.domain.StatusDependency;
 
@@ -12,4 +13,22 @@ import vibhuvi.oio.inframirror.domain.StatusDependency;
 @Repository
 public interface StatusDependencyRepository extends JpaRepository<StatusDependency, Long> {
     List<StatusDependency> findByParentTypeAndParentId(String parentType, Long parentId);
+
+    /**
+     * All dependencies reachable from the items of a status page, in one recursive query.
+     * {@code UNION} drops nodes already visited, so the walk terminates on cyclic graphs.
+     */
+    @Query(
+        value = "WITH RECURSIVE reachable(node_type, node_id) AS (" +
+                "    SELECT CAST(item_type AS varchar), item_id FROM status_page_item WHERE status_page_id = :statusPageId " +
+                "    UNION " +
+                "    SELECT d.child_type, d.child_id FROM status_dependency d " +
+                "    JOIN reachable r ON d.parent_type = r.node_type AND d.parent_id = r.node_id" +
+                ") " +
+                "SELECT d.* FROM status_dependency d " +
+                "JOIN reachable r ON d.parent_type = r.node_type AND d.parent_id = r.node_id " +
+                "ORDER BY d.id",
+        nativeQuery = true
+    )
+    List<StatusDependency> findReachableFromStatusPage(@Param("statusPageId") Long statusPageId);
 }
@@ -0,0 +1,159 @@
+package vibhuvi.oio.inframirror.security;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.domain.ApiKey;
+import vibhuvi.oio.inframirror.repository.ApiKeyRepository;
+
+/**
+ * Resolves agent API keys for {@link ApiKeyAuthenticationFilter} without a database round-trip per request.
+ * <p>
+ * Valid keys are cached by hash for a short time, unknown hashes are cached as misses, and a client repeating an
+ * invalid key is throttled for that key before any lookup; throttling by key and address rather than by address alone
+ * keeps valid agents sharing the address (behind a NAT) working. Expiry is checked on every use, cached or not. Keys changed through
+ * the API are evicted when their transaction commits, and {@code last_used_date} is written in one batch per flush
+ * interval instead of on every request.
+ */
+@Component
+public class ApiKeyAuthenticationCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ApiKeyAuthenticationCache.class);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    });
+
+    /**
+     * What is kept of a valid key.
+     */
+    public record ApiKeyPrincipal(Long id, String name, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final Cache<String, ApiKeyPrincipal> validKeys;
+    private final Cache<String, Boolean> invalidKeys;
+    private final Cache<String, AtomicInteger> invalidAttempts;
+    private final int maxInvalidAttemptsPerMinute;
+    private final Set<Long> usedKeyIds = ConcurrentHashMap.newKeySet();
+
+    public ApiKeyAuthenticationCache(ApiKeyRepository apiKeyRepository, ApplicationProperties applicationProperties) {
+        this.apiKeyRepository = apiKeyRepository;
+        ApplicationProperties.ApiKeyAuthentication properties = applicationProperties.getApiKeyAuthentication();
+        this.validKeys = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(Duration.ofSeconds(properties.getTimeToLiveSeconds()))
+            .build();
+        this.invalidKeys = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize())
+            .expireAfterWrite(Duration.ofSeconds(properties.getInvalidTimeToLiveSeconds()))
+            .build();
+        this.invalidAttempts = Caffeine.newBuilder().maximumSize(properties.getMaximumSize()).expireAfterWrite(Duration.ofMinutes(1)).build();
+        this.maxInvalidAttemptsPerMinute = properties.getMaxInvalidAttemptsPerMinute();
+    }
+
+    /**
+     * @param plainTextKey the key sent by the agent.
+     * @param client the client address.
+     * @return whether the client sent this invalid key too many times in the last minute and must not be served.
+     */
+    public boolean isThrottled(String plainTextKey, String client) {
+        AtomicInteger attempts = invalidAttempts.getIfPresent(attemptKey(hash(plainTextKey), client));
+        return attempts != null && attempts.get() >= maxInvalidAttemptsPerMinute;
+    }
+
+    /**
+     * Resolve a plain text key, recording its use.
+     *
+     * @param plainTextKey the key sent by the agent.
+     * @param client the client address, charged with the key when it is invalid.
+     * @return the key, or empty if it is unknown, inactive or expired.
+     */
+    public Optional<ApiKeyPrincipal> authenticate(String plainTextKey, String client) {
+        String keyHash = hash(plainTextKey);
+        Instant now = Instant.now();
+        ApiKeyPrincipal principal = invalidKeys.getIfPresent(keyHash) != null ? null : validKeys.get(keyHash, this::load);
+        if (principal == null || principal.isExpired(now)) {
+            if (principal != null) {
+                validKeys.invalidate(keyHash);
+            }
+            invalidKeys.put(keyHash, Boolean.TRUE);
+            int attempts = invalidAttempts.get(attemptKey(keyHash, client), key -> new AtomicInteger()).incrementAndGet();
+            if (attempts == maxInvalidAttemptsPerMinute) {
+                LOG.warn("Throttling an invalid API key from {} after {} attempts in a minute", client, attempts);
+            }
+            return Optional.empty();
+        }
+        usedKeyIds.add(principal.id());
+        return Optional.of(principal);
+    }
+
+    /**
+     * Forget a key once the current transaction commits, after it was changed or deleted.
+     *
+     * @param apiKeyId the id of the key.
+     */
+    public void evict(Long apiKeyId) {
+        afterCommit(() -> {
+            validKeys.asMap().values().removeIf(principal -> principal.id().equals(apiKeyId));
+            // The key may have been reactivated or had its expiry extended
+            invalidKeys.invalidateAll();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.api-key-authentication.last-used-flush-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void flushLastUsed() {
+        if (usedKeyIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(usedKeyIds);
+        usedKeyIds.removeAll(ids);
+        try {
+            int updated = apiKeyRepository.updateLastUsedDate(ids, Instant.now());
+            LOG.debug("Recorded use of {} API keys", updated);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to record API key use: {}", e.getMessage());
+            usedKeyIds.addAll(ids);
+        }
+    }
+
+    private ApiKeyPrincipal load(String keyHash) {
+        return apiKeyRepository
+            .findFirstByKeyHashAndActiveTrue(keyHash)
+            .map((ApiKey key) -> new ApiKeyPrincipal(key.getId(), key.getName(), key.getExpiresAt()))
+            .orElse(null);
+    }
+
+    private static String attemptKey(String keyHash, String client) {
+        return client + ' ' + keyHash;
+    }
+
+    private static String hash(String plainTextKey) {
+        byte[] hash = SHA_256.get().digest(plainTextKey.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+}
@@ -5,18 +5,16 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.util.Collections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import vibhuvi.oio.inframirror.domain.ApiKey;
-import vibhuvi.oio.inframirror.repository.ApiKeyRepository;
 
 @Component
 public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
@@ -25,10 +23,10 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
     private static final String API_KEY_HEADER = "X-API-Key";
     private static final String AGENT_PATH_PREFIX = "/api/agent/";
 
-    private final ApiKeyRepository apiKeyRepository;
+    private final ApiKeyAuthenticationCache apiKeyAuthenticationCache;
 
-    public ApiKeyAuthenticationFilter(ApiKeyRepository apiKeyRepository) {
-        this.apiKeyRepository = apiKeyRepository;
+    public ApiKeyAuthenticationFilter(ApiKeyAuthenticationCache apiKeyAuthenticationCache) {
+        this.apiKeyAuthenticationCache = apiKeyAuthenticationCache;
     }
 
     @Override
@@ -47,9 +45,16 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        String client = request.getRemoteAddr();
+        if (apiKeyAuthenticationCache.isThrottled(apiKey, client)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many attempts with an invalid API key");
+            return;
+        }
+
         try {
-            String hashedKey = hashApiKey(apiKey);
-            apiKeyRepository.findFirstByKeyHashAndActiveTrue(hashedKey)
+            apiKeyAuthenticationCache
+                .authenticate(apiKey, client)
                 .ifPresentOrElse(
                     key -> authenticateAgent(key),
                     () -> LOG.warn("Invalid API key attempt for: {}", request.getRequestURI())
@@ -68,22 +73,12 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private void authenticateAgent(ApiKey apiKey) {
+    private void authenticateAgent(ApiKeyAuthenticationCache.ApiKeyPrincipal apiKey) {
         var authentication = new UsernamePasswordAuthenticationToken(
-            apiKey.getName(),
+            apiKey.name(),
             null,
             Collections.singletonList(new SimpleGrantedAuthority("ROLE_AGENT"))
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
-
-    private String hashApiKey(String plainTextKey) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(plainTextKey.getBytes(StandardCharsets.UTF_8));
-            return java.util.Base64.getEncoder().encodeToString(hash);
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to hash API key", e);
-        }
-    }
 }
@@ -0,0 +1,26 @@
+package vibhuvi.oio.inframirror.service;
+
+import vibhuvi.oio.inframirror.service.dto.AgentAssignmentsDTO;
+
+/**
+ * Service Interface for sharding monitors across agents.
+ * <p>
+ * Enabled monitors are spread over the live agents of each region by consistent hashing, so an agent joining or
+ * leaving only moves its own share. Assignments are stored as {@link vibhuvi.oio.inframirror.domain.AgentMonitor}
+ * rows carrying a version, and agents poll for the rows changed since the version they last saw.
+ */
+public interface AgentAssignmentService {
+    /**
+     * Recompute the assignments from the live agents and enabled monitors and store the differences.
+     */
+    void rebalance();
+
+    /**
+     * Get the assignments of an agent.
+     *
+     * @param agentId the id of the agent.
+     * @param since the version returned by the previous poll, or 0 for a full list.
+     * @return the assignments changed since {@code since}.
+     */
+    AgentAssignmentsDTO getAssignments(Long agentId, long since);
+}
@@ -0,0 +1,62 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import vibhuvi.oio.inframirror.service.dto.AgentLeaseDTO;
+
+/**
+ * Service Interface for leases on named {@link vibhuvi.oio.inframirror.domain.AgentLock}s.
+ * <p>
+ * A lease is held by one holder at a time, an agent id or a server node, until it is released or expires. Acquire,
+ * renew and release are each a single atomic statement, and expiry is judged by the database clock, so server nodes
+ * never disagree on who holds a lease.
+ */
+public interface AgentLeaseService {
+    /**
+     * Acquire a lease, or extend it if the holder already has it.
+     *
+     * @param name the name of the lease.
+     * @param holderId the id of the holder.
+     * @param ttl how long the lease is held without renewal.
+     * @return the lease, or empty if another holder has it.
+     */
+    Optional<AgentLeaseDTO> acquire(String name, Long holderId, Duration ttl);
+
+    /**
+     * Extend a lease.
+     *
+     * @param name the name of the lease.
+     * @param holderId the id of the holder.
+     * @param fencingToken the token returned when the lease was acquired.
+     * @param ttl how long the lease is held from now without renewal.
+     * @return the lease, or empty if it expired or was taken over.
+     */
+    Optional<AgentLeaseDTO> renew(String name, Long holderId, long fencingToken, Duration ttl);
+
+    /**
+     * Release a lease so another holder can acquire it right away.
+     *
+     * @param name the name of the lease.
+     * @param holderId the id of the holder.
+     * @param fencingToken the token returned when the lease was acquired.
+     * @return whether the lease was still held.
+     */
+    boolean release(String name, Long holderId, long fencingToken);
+
+    /**
+     * Check that a lease is still held with the given token, and keep it from being taken over until the current
+     * transaction ends. Writes guarded by a lease call this in their own transaction, so a holder whose lease expired
+     * meanwhile cannot overwrite the work of the next one.
+     *
+     * @param name the name of the lease.
+     * @param holderId the id of the holder.
+     * @param fencingToken the token returned when the lease was acquired.
+     * @return whether the lease is held with this token.
+     */
+    boolean holds(String name, Long holderId, long fencingToken);
+
+    /**
+     * Delete the expired leases.
+     */
+    void reapExpired();
+}
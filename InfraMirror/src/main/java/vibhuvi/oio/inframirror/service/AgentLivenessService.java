@@ -0,0 +1,40 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Service Interface for tracking which agents are alive.
+ * <p>
+ * Every sign of life of an agent (registration, heartbeat, assignment poll, ingested check results) is recorded in
+ * memory and written to {@code agent.last_seen_at} in periodic batches. Agents that miss heartbeats are marked
+ * {@link #STALE} and then {@link #OFFLINE}, and come back {@link #ACTIVE} on their next sign of life, the status being
+ * stored in {@code agent.status}; every such change is published as an {@link AgentStatusChangedEvent} once stored.
+ * {@link #INACTIVE} is set by hand and never changed here.
+ */
+public interface AgentLivenessService {
+    String ACTIVE = "ACTIVE";
+    String STALE = "STALE";
+    String OFFLINE = "OFFLINE";
+    String INACTIVE = "INACTIVE";
+
+    /**
+     * Record a sign of life. Cheap enough to be called on every agent request.
+     *
+     * @param agentId the id of the agent.
+     */
+    void recordSeen(Long agentId);
+
+    /**
+     * @param agentId the id of the agent.
+     * @return when the agent was last seen, including signs of life not written to the database yet.
+     */
+    Optional<Instant> getLastSeen(Long agentId);
+
+    /**
+     * Stop tracking an agent, for instance once it was deleted.
+     *
+     * @param agentId the id of the agent.
+     */
+    void forget(Long agentId);
+}
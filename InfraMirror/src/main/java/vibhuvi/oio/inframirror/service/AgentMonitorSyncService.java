@@ -0,0 +1,23 @@
+package vibhuvi.oio.inframirror.service;
+
+import vibhuvi.oio.inframirror.service.dto.AgentMonitorSyncDTO;
+import vibhuvi.oio.inframirror.service.dto.AgentMonitorSyncResultDTO;
+
+/**
+ * Service Interface for syncing the monitors an agent declares.
+ * <p>
+ * The declared {@link vibhuvi.oio.inframirror.domain.HttpMonitor}s and
+ * {@link vibhuvi.oio.inframirror.domain.MonitoredService}s are compared with the stored ones in bulk and the
+ * differences written in batches, together with the {@link vibhuvi.oio.inframirror.domain.AgentMonitor} rows linking
+ * them to the agent.
+ */
+public interface AgentMonitorSyncService {
+    /**
+     * Make the stored monitors of an agent match the declared set.
+     *
+     * @param agentId the id of the agent.
+     * @param desired every monitor the agent declares; names must be unique per monitor kind.
+     * @return the ids of the declared monitors and what changed.
+     */
+    AgentMonitorSyncResultDTO sync(Long agentId, AgentMonitorSyncDTO desired);
+}
@@ -87,6 +87,7 @@ public interface AgentService {
 
     /**
      * Register a new agent with auto-creation of region and datacenter.
+     * Registering an agent name again updates the existing agent, so agents may register on every start.
      *
      * @param request the registration request.
      * @return the registration response.
@@ -97,6 +98,7 @@ public interface AgentService {
 
     /**
      * Update agent's last seen timestamp.
+     * The timestamp is recorded in memory and written to the database in the background.
      *
      * @param agentId the agent ID.
      */
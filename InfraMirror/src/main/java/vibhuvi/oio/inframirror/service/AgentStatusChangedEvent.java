@@ -0,0 +1,13 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link AgentLivenessService} once the status change of an agent is committed.
+ *
+ * @param agentId the id of the agent.
+ * @param previousStatus the status before the change.
+ * @param status the new status.
+ * @param lastSeenAt when the agent was last seen.
+ */
+public record AgentStatusChangedEvent(Long agentId, String previousStatus, String status, Instant lastSeenAt) {}
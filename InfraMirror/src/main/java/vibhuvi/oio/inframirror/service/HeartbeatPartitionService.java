@@ -0,0 +1,12 @@
+package vibhuvi.oio.inframirror.service;
+
+/**
+ * Service Interface for maintaining the range partitions of the heartbeat tables.
+ */
+public interface HeartbeatPartitionService {
+    /**
+     * Pre-create upcoming partitions and expire the ones that fell out of the retention window,
+     * for every partitioned heartbeat table.
+     */
+    void maintainPartitions();
+}
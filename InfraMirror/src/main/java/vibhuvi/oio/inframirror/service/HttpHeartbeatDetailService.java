@@ -0,0 +1,29 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.util.List;
+import java.util.Optional;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDetailDTO;
+
+/**
+ * Service Interface for the diagnostic payload of HTTP heartbeats, kept compressed in {@code http_heartbeat_detail}
+ * apart from the numeric fields of {@code http_heartbeat}.
+ */
+public interface HttpHeartbeatDetailService {
+    /**
+     * Store the detail of the heartbeats that the sampling policy keeps, in the current transaction.
+     *
+     * @param heartbeats persisted heartbeats, with their ids.
+     * @return the number of details stored.
+     */
+    int saveAll(List<HttpHeartbeatDTO> heartbeats);
+
+    /**
+     * Get the detail of a heartbeat, falling back to the columns of {@code http_heartbeat} for rows written before
+     * the detail was split out.
+     *
+     * @param heartbeatId the id of the heartbeat.
+     * @return the detail, empty if the heartbeat does not exist or has none.
+     */
+    Optional<HttpHeartbeatDetailDTO> findOne(Long heartbeatId);
+}
@@ -0,0 +1,47 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatExportFormat;
+
+/**
+ * Service Interface for exporting the heartbeat history of an HTTP monitor.
+ * <p>
+ * Rows are read from a server-side cursor in a read-only transaction and written to the stream as they are fetched,
+ * so the memory used does not depend on the number of rows exported.
+ */
+public interface HttpHeartbeatExportService {
+    /**
+     * @return the names of the columns that can be exported, in their default order.
+     */
+    List<String> getColumns();
+
+    /**
+     * @return the columns exported when none are requested: every column but the raw request and response details.
+     */
+    List<String> getDefaultColumns();
+
+    /**
+     * Write the heartbeats of a monitor executed in {@code [from, to)}, oldest first.
+     *
+     * @param monitorId the id of the HTTP monitor.
+     * @param agentId the id of the agent to restrict the export to, or {@code null} for all agents.
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @param columns the columns to export, among {@link #getColumns()}.
+     * @param format the format to write.
+     * @param out the stream to write to; flushed but not closed.
+     * @return the number of rows written.
+     */
+    long export(
+        Long monitorId,
+        Long agentId,
+        Instant from,
+        Instant to,
+        List<String> columns,
+        HeartbeatExportFormat format,
+        OutputStream out
+    ) throws IOException;
+}
@@ -0,0 +1,18 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.util.List;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+
+/**
+ * Callback for components that derive state from HTTP heartbeats as they are ingested
+ * (rollups, caches, detectors). Implementations are discovered as Spring beans.
+ */
+public interface HttpHeartbeatIngestListener {
+    /**
+     * Called on the ingest writer thread once heartbeats have been committed.
+     * Implementations must not throw and should keep the work proportional to the batch size.
+     *
+     * @param heartbeats the persisted heartbeats, with their ids assigned.
+     */
+    void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats);
+}
@@ -0,0 +1,39 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.util.List;
+import java.util.Optional;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatBatchResultDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+
+/**
+ * Service Interface for the asynchronous, batched ingestion of {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat}.
+ */
+public interface HttpHeartbeatIngestService {
+    /**
+     * Validate and enqueue heartbeats into the bounded write-behind buffer.
+     *
+     * @param heartbeats the heartbeats submitted by an agent.
+     * @return the per-item acceptance status, in request order.
+     */
+    HttpHeartbeatBatchResultDTO enqueue(List<HttpHeartbeatDTO> heartbeats);
+
+    /**
+     * Write a single heartbeat through the write-behind buffer and wait until it has been committed.
+     *
+     * @param heartbeat the heartbeat submitted by an agent, with its monitor set.
+     * @return the persisted heartbeat with its id assigned, or empty if the buffer is full or the write failed.
+     */
+    Optional<HttpHeartbeatDTO> ingest(HttpHeartbeatDTO heartbeat);
+
+    /**
+     * Get the number of heartbeats waiting to be flushed.
+     *
+     * @return the current queue depth.
+     */
+    int getQueueDepth();
+
+    /**
+     * Synchronously flush everything currently buffered.
+     */
+    void flush();
+}
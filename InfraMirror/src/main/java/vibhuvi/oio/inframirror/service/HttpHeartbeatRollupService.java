@@ -0,0 +1,63 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+import java.util.List;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatRollupDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorLatencyPercentilesDTO;
+import vibhuvi.oio.inframirror.service.dto.LatencyGroupBy;
+import vibhuvi.oio.inframirror.service.dto.RollupResolution;
+
+/**
+ * Service Interface for the pre-aggregated minute/hour/day rollups of {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat}.
+ */
+public interface HttpHeartbeatRollupService {
+    /**
+     * Merge heartbeats into the minute/hour/day buckets, in the transaction that inserts them.
+     *
+     * @param heartbeats the heartbeats being persisted.
+     */
+    void addAll(List<HttpHeartbeatDTO> heartbeats);
+
+    /**
+     * Pick the finest resolution that still covers {@code [from, to)} within its retention
+     * and returns at most the configured number of buckets per agent.
+     *
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @return the resolution to query.
+     */
+    RollupResolution selectResolution(Instant from, Instant to);
+
+    /**
+     * Get the rollup buckets of a monitor overlapping {@code [from, to)}.
+     *
+     * @param monitorId the id of the monitor.
+     * @param agentId the id of the agent, or {@code null} to merge the buckets of all agents.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param resolution the bucket width, or {@code null} to select it with {@link #selectResolution(Instant, Instant)}.
+     * @return the buckets ordered by start time.
+     */
+    List<HttpHeartbeatRollupDTO> findRollups(Long monitorId, Long agentId, Instant from, Instant to, RollupResolution resolution);
+
+    /**
+     * Get the latency percentiles of a monitor over {@code [from, to)}.
+     * <p>
+     * The window is covered with as few buckets as possible: whole days from the day rollups, then hours, then
+     * minutes at the edges, so the sketches merged stay a handful per agent whatever the length of the window. Edges
+     * finer than the finest retained resolution are rounded out to whole buckets.
+     *
+     * @param monitorId the id of the monitor.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param groupBy how to group the agents.
+     * @return the percentiles per group, or an empty list if no latency was recorded.
+     */
+    List<HttpMonitorLatencyPercentilesDTO> findLatencyPercentiles(Long monitorId, Instant from, Instant to, LatencyGroupBy groupBy);
+
+    /**
+     * Delete the buckets older than the retention of their resolution.
+     */
+    void purgeExpired();
+}
@@ -1,9 +1,12 @@
 package vibhuvi.oio.inframirror.service;
 
+import java.time.Instant;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
 import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 
 /**
  * Service Interface for managing {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat}.
@@ -41,6 +44,18 @@ public interface HttpHeartbeatService {
      */
     Page<HttpHeartbeatDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a page of the httpHeartbeats of an HTTP monitor executed in {@code [from, to)}, newest first, without counting them.
+     *
+     * @param monitorId the id of the HTTP monitor.
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @param after the position returned with the previous page, or {@code null} for the first page.
+     * @param size the size of the page.
+     * @return the page of entities.
+     */
+    KeysetPage<HttpHeartbeatDTO> findPageByMonitor(Long monitorId, Instant from, Instant to, HeartbeatCursor after, int size);
+
     /**
      * Get the "id" httpHeartbeat.
      *
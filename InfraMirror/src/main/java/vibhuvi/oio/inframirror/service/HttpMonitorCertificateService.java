@@ -0,0 +1,44 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import vibhuvi.oio.inframirror.service.dto.CertificateCursor;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorCertificateDTO;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
+
+/**
+ * Service Interface for the certificates of HTTPS monitors, maintained from their heartbeats on ingest.
+ * <p>
+ * The certificate last seen by each monitor is stored only when it changes, so upcoming expiries are read from an
+ * index on the expiry rather than from the heartbeats, and a certificate within the {@code certificateExpiryDays} of
+ * its monitor is notified once.
+ */
+public interface HttpMonitorCertificateService {
+    /**
+     * Get the certificate last seen by a monitor.
+     *
+     * @param monitorId the id of the monitor.
+     * @return the certificate, or empty if the monitor has not reported one.
+     */
+    Optional<HttpMonitorCertificateDTO> findOne(Long monitorId);
+
+    /**
+     * Get a page of the certificates expiring in {@code [from, to)}, soonest first.
+     *
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param after the position of the page, after the last certificate of the previous one, or {@code null} for the
+     *              first page.
+     * @param size the size of the page.
+     * @return the page.
+     */
+    KeysetPage<HttpMonitorCertificateDTO> findExpiring(Instant from, Instant to, CertificateCursor after, int size);
+
+    /**
+     * Forget the cached settings of monitors that were changed, once the current transaction commits.
+     *
+     * @param monitorIds the ids of the monitors.
+     */
+    void evictMonitors(Collection<Long> monitorIds);
+}
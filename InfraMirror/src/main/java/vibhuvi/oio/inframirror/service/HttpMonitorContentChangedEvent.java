@@ -0,0 +1,23 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+
+/**
+ * Published on the ingest writer thread when the response body seen by an agent for an HTTP monitor differs from the
+ * previous one it reported.
+ *
+ * @param monitorId the id of the HTTP monitor.
+ * @param agentId the id of the agent, {@code null} if the heartbeats were not attributed to one.
+ * @param previousHash the hash of the previous body.
+ * @param hash the hash of the new body.
+ * @param heartbeatId the id of the first heartbeat with the new body.
+ * @param executedAt when that heartbeat was executed.
+ */
+public record HttpMonitorContentChangedEvent(
+    Long monitorId,
+    Long agentId,
+    String previousHash,
+    String hash,
+    Long heartbeatId,
+    Instant executedAt
+) {}
@@ -0,0 +1,63 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorIncidentDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorStatusDTO;
+
+/**
+ * Service Interface for the incidents of HTTP monitors, derived from their heartbeats on ingest.
+ * <p>
+ * The status of each monitor in each region is kept by a state machine fed on ingest, and only its transitions are
+ * stored, so the current status and the incident history are read without scanning heartbeats.
+ */
+public interface HttpMonitorIncidentService {
+    /**
+     * @return whether statuses are derived on ingest; when not, there are no incidents to read.
+     */
+    boolean isEnabled();
+
+    /**
+     * Get the current status of a monitor.
+     *
+     * @param monitorId the id of the monitor.
+     * @return the status and the open incidents of the monitor.
+     */
+    HttpMonitorStatusDTO findStatus(Long monitorId);
+
+    /**
+     * Get the current status of several monitors.
+     *
+     * @param monitorIds the ids of the monitors.
+     * @return the status and the open incidents by monitor id, for every monitor asked.
+     */
+    Map<Long, HttpMonitorStatusDTO> findStatuses(Collection<Long> monitorIds);
+
+    /**
+     * Get the open incidents of several monitors.
+     *
+     * @param monitorIds the ids of the monitors.
+     * @return the open incidents by monitor id, one per region; monitors UP everywhere are absent.
+     */
+    Map<Long, List<HttpMonitorIncidentDTO>> findOpenIncidents(Collection<Long> monitorIds);
+
+    /**
+     * Get the incidents of a monitor that overlap {@code [from, to)}, newest first.
+     *
+     * @param monitorId the id of the monitor.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param limit the maximum number of incidents.
+     * @return the incidents.
+     */
+    List<HttpMonitorIncidentDTO> findIncidents(Long monitorId, Instant from, Instant to, int limit);
+
+    /**
+     * Forget the cached settings of monitors that were changed, once the current transaction commits.
+     *
+     * @param monitorIds the ids of the monitors.
+     */
+    void evictMonitors(Collection<Long> monitorIds);
+}
@@ -0,0 +1,25 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+import java.util.List;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorSeriesDTO;
+import vibhuvi.oio.inframirror.service.dto.LatencyGroupBy;
+
+/**
+ * Service Interface for the response time charts of HTTP monitors, downsampled from the raw
+ * {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat} rows.
+ */
+public interface HttpMonitorSeriesService {
+    /**
+     * Get the response time series of a monitor over {@code [from, to)}, read in one pass over the heartbeats.
+     *
+     * @param monitorId the id of the monitor.
+     * @param from the start of the range (inclusive).
+     * @param to the end of the range (exclusive).
+     * @param points the maximum number of points per series, at least 3.
+     * @param agentId the id of the agent to restrict the series to, or {@code null} for all agents.
+     * @param groupBy one series over all agents, or one per agent or per region of the agents.
+     * @return the series, ordered by group.
+     */
+    List<HttpMonitorSeriesDTO> findSeries(Long monitorId, Instant from, Instant to, int points, Long agentId, LatencyGroupBy groupBy);
+}
@@ -0,0 +1,26 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+import vibhuvi.oio.inframirror.service.dto.MonitorHealthStatus;
+
+/**
+ * Published on the ingest writer thread when the status of an HTTP monitor in a region changes, once the transition
+ * has been stored.
+ *
+ * @param monitorId the id of the HTTP monitor.
+ * @param regionId the id of the region of the agents, {@code null} for agents without a region.
+ * @param previousStatus the status before the transition.
+ * @param status the status after the transition.
+ * @param incidentId the id of the incident opened, updated or closed by the transition.
+ * @param heartbeatId the id of the heartbeat that confirmed the transition.
+ * @param changedAt when the checks that caused the transition started.
+ */
+public record HttpMonitorStatusChangedEvent(
+    Long monitorId,
+    Long regionId,
+    MonitorHealthStatus previousStatus,
+    MonitorHealthStatus status,
+    Long incidentId,
+    Long heartbeatId,
+    Instant changedAt
+) {}
@@ -1,9 +1,13 @@
 package vibhuvi.oio.inframirror.service;
 
+import java.time.Instant;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
 import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatIngestRecord;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 
 /**
  * Service Interface for managing {@link vibhuvi.oio.inframirror.domain.InstanceHeartbeat}.
@@ -17,6 +21,15 @@ public interface InstanceHeartbeatService {
      */
     InstanceHeartbeatDTO save(InstanceHeartbeatDTO instanceHeartbeatDTO);
 
+    /**
+     * Persist a heartbeat reported by an agent, without going through the DTO mapping.
+     *
+     * @param record the decoded ingest record.
+     * @return the id of the persisted entity.
+     * @throws IllegalArgumentException if a required field is missing.
+     */
+    Long ingest(InstanceHeartbeatIngestRecord record);
+
     /**
      * Updates a instanceHeartbeat.
      *
@@ -41,6 +54,18 @@ public interface InstanceHeartbeatService {
      */
     Page<InstanceHeartbeatDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a page of the instanceHeartbeats of an instance executed in {@code [from, to)}, newest first, without counting them.
+     *
+     * @param instanceId the id of the instance.
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @param after the position returned with the previous page, or {@code null} for the first page.
+     * @param size the size of the page.
+     * @return the page of entities.
+     */
+    KeysetPage<InstanceHeartbeatDTO> findPageByInstance(Long instanceId, Instant from, Instant to, HeartbeatCursor after, int size);
+
     /**
      * Get the "id" instanceHeartbeat.
      *
@@ -0,0 +1,36 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatIngestRecord;
+import vibhuvi.oio.inframirror.service.dto.InstanceMetric;
+import vibhuvi.oio.inframirror.service.dto.InstanceMetricSeriesDTO;
+
+/**
+ * Service Interface for the hardware metrics of instances, kept as compressed time series in
+ * {@code instance_metric_chunk} rather than in the rows of {@code instance_heartbeat}.
+ */
+public interface InstanceMetricService {
+    /**
+     * Add the metrics carried by an ingested heartbeat to the series of its instance. Points are buffered and written
+     * on the next flush.
+     *
+     * @param instanceId the id of the instance.
+     * @param executedAt when the heartbeat was taken; series have second resolution.
+     * @param record the ingested heartbeat.
+     */
+    void record(long instanceId, Instant executedAt, InstanceHeartbeatIngestRecord record);
+
+    /**
+     * Get metrics of an instance over a window, including the points not flushed yet.
+     *
+     * @param instanceId the id of the instance.
+     * @param metrics the metrics to get.
+     * @param from the start of the window, inclusive.
+     * @param to the end of the window, exclusive.
+     * @param step the width of the buckets to average the points over, or {@code null} for the raw points.
+     * @return one series per metric, in the order asked.
+     */
+    List<InstanceMetricSeriesDTO> findSeries(Long instanceId, List<InstanceMetric> metrics, Instant from, Instant to, Duration step);
+}
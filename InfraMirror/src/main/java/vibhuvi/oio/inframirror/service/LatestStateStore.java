@@ -0,0 +1,43 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import vibhuvi.oio.inframirror.service.metrics.HeartbeatRing;
+
+/**
+ * In-memory view of the most recent {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat} results per monitor and agent.
+ * <p>
+ * Rings are fed on the ingest path and warmed from the database at startup. Reads are served from memory when the
+ * store holds the monitor, and from the database otherwise (store disabled, not warmed yet, monitor without recent
+ * heartbeats, or more samples requested than a ring keeps). Returned rings are copies owned by the caller.
+ */
+public interface LatestStateStore {
+    /**
+     * Get the newest heartbeat of a monitor across all its agents.
+     *
+     * @param monitorId the id of the monitor.
+     * @return a single-sample ring, or empty if the monitor has no heartbeat.
+     */
+    Optional<HeartbeatRing> findLatest(Long monitorId);
+
+    /**
+     * Get the newest heartbeat of several monitors across all their agents.
+     *
+     * @param monitorIds the ids of the monitors.
+     * @return single-sample rings by monitor id; monitors without heartbeats are absent.
+     */
+    Map<Long, HeartbeatRing> findLatest(Collection<Long> monitorIds);
+
+    /**
+     * Get the newest heartbeats of several monitors, per agent.
+     *
+     * @param monitorIds the ids of the monitors.
+     * @param limit the maximum number of samples per agent.
+     * @param since heartbeats executed before this instant are left out.
+     * @return the rings by monitor id then agent id; agent id {@code 0} holds heartbeats without an agent.
+     * Monitors without heartbeats in the window are absent.
+     */
+    Map<Long, Map<Long, HeartbeatRing>> findRecent(Collection<Long> monitorIds, int limit, Instant since);
+}
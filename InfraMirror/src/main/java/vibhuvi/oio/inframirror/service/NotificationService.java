@@ -0,0 +1,36 @@
+package vibhuvi.oio.inframirror.service;
+
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+
+/**
+ * Service Interface for notifications, delivered through a transactional outbox.
+ * <p>
+ * A notification is written to the outbox in the transaction of the state change it reports, once per channel taking
+ * its type, and delivered later by a pool of workers. So a notification is sent if and only if its change commits, is
+ * not lost on restart, and a slow or failing channel never holds up the caller.
+ */
+public interface NotificationService {
+    /**
+     * @return whether notifications are written to the outbox and delivered.
+     */
+    boolean isEnabled();
+
+    /**
+     * Write a notification to the outbox, in the transaction of the caller if there is one. A channel that already has
+     * a notification with the same key does not get it again.
+     *
+     * @param notification the notification.
+     * @return the number of channels the notification was queued for.
+     */
+    int enqueue(NotificationDTO notification);
+
+    /**
+     * Hand the channels with notifications due to the workers, one worker per channel.
+     */
+    void dispatch();
+
+    /**
+     * Delete the notifications older than the retention period.
+     */
+    void purge();
+}
@@ -0,0 +1,41 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.util.Collection;
+import java.util.Optional;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageSnapshot;
+
+/**
+ * Service Interface for rendering and caching public status pages.
+ * <p>
+ * Snapshots are cached per slug and recomputed by a single caller when missing, expired or evicted; concurrent
+ * requests for the same slug wait for that computation instead of querying the database themselves.
+ */
+public interface PublicStatusPageService {
+    /**
+     * Get the rendered status page for a slug.
+     *
+     * @param slug the slug of the status page.
+     * @return the snapshot, or empty if no status page has this slug.
+     */
+    Optional<PublicStatusPageSnapshot> getSnapshot(String slug);
+
+    /**
+     * Evict the snapshot of a status page, after the current transaction commits if there is one.
+     *
+     * @param statusPageId the id of the status page.
+     */
+    void evictStatusPage(Long statusPageId);
+
+    /**
+     * Evict the snapshots of the status pages showing any of the monitors, after the current transaction commits if
+     * there is one.
+     *
+     * @param monitorIds the ids of the HTTP monitors.
+     */
+    void evictMonitors(Collection<Long> monitorIds);
+
+    /**
+     * Evict every snapshot, after the current transaction commits if there is one.
+     */
+    void evictAll();
+}
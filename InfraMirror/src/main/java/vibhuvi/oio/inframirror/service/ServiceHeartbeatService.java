@@ -1,9 +1,13 @@
 package vibhuvi.oio.inframirror.service;
 
+import java.time.Instant;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 import vibhuvi.oio.inframirror.service.dto.ServiceHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.ServiceHeartbeatIngestRecord;
 
 /**
  * Service Interface for managing {@link vibhuvi.oio.inframirror.domain.ServiceHeartbeat}.
@@ -17,6 +21,15 @@ public interface ServiceHeartbeatService {
      */
     ServiceHeartbeatDTO save(ServiceHeartbeatDTO serviceHeartbeatDTO);
 
+    /**
+     * Persist a heartbeat reported by an agent, without going through the DTO mapping.
+     *
+     * @param record the decoded ingest record.
+     * @return the persisted entity.
+     * @throws IllegalArgumentException if a required field is missing.
+     */
+    ServiceHeartbeatDTO ingest(ServiceHeartbeatIngestRecord record);
+
     /**
      * Updates a serviceHeartbeat.
      *
@@ -41,6 +54,18 @@ public interface ServiceHeartbeatService {
      */
     Page<ServiceHeartbeatDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a page of the serviceHeartbeats of a monitored service executed in {@code [from, to)}, newest first, without counting them.
+     *
+     * @param monitoredServiceId the id of the monitored service.
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @param after the position returned with the previous page, or {@code null} for the first page.
+     * @param size the size of the page.
+     * @return the page of entities.
+     */
+    KeysetPage<ServiceHeartbeatDTO> findPageByMonitoredService(Long monitoredServiceId, Instant from, Instant to, HeartbeatCursor after, int size);
+
     /**
      * Get the "id" serviceHeartbeat.
      *
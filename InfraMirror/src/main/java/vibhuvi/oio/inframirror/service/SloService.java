@@ -0,0 +1,36 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.util.List;
+import vibhuvi.oio.inframirror.service.dto.SloObjectiveDTO;
+
+/**
+ * Service Interface evaluating the service level objectives of HTTP monitors.
+ * <p>
+ * Every enabled monitor has an {@link #AVAILABILITY} objective targeting its {@code uptimeWarningPercent} (or
+ * {@code application.slo.default-target-percent}), and a {@link #LATENCY} objective on the same target when it has a
+ * {@code performanceBudgetMs}. Good and total checks are counted from the ingest stream over rolling 5m, 1h, 6h and
+ * 30d windows, so reading an objective never scans heartbeat tables. The status follows the multi-window burn rate
+ * alerts: {@link #FAST_BURN} when both the 1h and 5m windows burn the budget at {@code fast-burn-rate} or more,
+ * {@link #SLOW_BURN} when both the 6h and 1h windows do at {@code slow-burn-rate}, {@link #EXHAUSTED} once the 30d
+ * budget is spent.
+ */
+public interface SloService {
+    String AVAILABILITY = "AVAILABILITY";
+    String LATENCY = "LATENCY";
+
+    String OK = "OK";
+    String SLOW_BURN = "SLOW_BURN";
+    String FAST_BURN = "FAST_BURN";
+    String EXHAUSTED = "EXHAUSTED";
+
+    /**
+     * @param monitorId the id of the HTTP monitor.
+     * @return the objectives of the monitor, empty if it is unknown or disabled.
+     */
+    List<SloObjectiveDTO> findObjectives(Long monitorId);
+
+    /**
+     * Reload the objectives from the monitors, picking up new, changed and removed monitors.
+     */
+    void refreshObjectives();
+}
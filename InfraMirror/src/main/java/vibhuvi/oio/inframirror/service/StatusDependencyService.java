@@ -75,4 +75,10 @@ public interface StatusDependencyService {
      * @return the dependency tree.
      */
     List<DependencyTreeDTO> getDependencyTree(Long statusPageId);
+
+    /**
+     * Drop the cached dependency graphs, once the current transaction commits. To be called when status page items
+     * or the nodes they reference change.
+     */
+    void evictTopologies();
 }
@@ -0,0 +1,30 @@
+package vibhuvi.oio.inframirror.service;
+
+/**
+ * Service Interface for pushing public status page updates to connected viewers.
+ * <p>
+ * Each status page with viewers is recomputed once per change, and the result is fanned out to all its viewers:
+ * first a full snapshot, then deltas of the region health that changed.
+ */
+public interface StatusPageStreamService {
+    /**
+     * Start streaming a status page to a viewer. The current snapshot is sent first.
+     *
+     * @param slug the slug of a public status page.
+     * @param sink the viewer.
+     * @return {@code false} if the connection limits are reached.
+     */
+    boolean subscribe(String slug, StatusPageStreamSink sink);
+
+    /**
+     * Stop streaming to a viewer, for instance once its connection completed or failed.
+     *
+     * @param sink the viewer.
+     */
+    void unsubscribe(StatusPageStreamSink sink);
+
+    /**
+     * @return the number of connected viewers.
+     */
+    int getSubscriberCount();
+}
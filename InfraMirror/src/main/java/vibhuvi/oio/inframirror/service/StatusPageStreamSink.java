@@ -0,0 +1,31 @@
+package vibhuvi.oio.inframirror.service;
+
+import java.io.IOException;
+
+/**
+ * One connected viewer of a status page stream, as seen by {@link StatusPageStreamService}.
+ * Calls for a given sink are never concurrent.
+ */
+public interface StatusPageStreamSink {
+    /**
+     * Send an event.
+     *
+     * @param name the event name, {@code snapshot} or {@code delta}.
+     * @param id the event id, increasing per status page.
+     * @param json the event payload, already serialized.
+     * @throws IOException if the client is gone.
+     */
+    void send(String name, long id, String json) throws IOException;
+
+    /**
+     * Send a no-op to keep intermediaries from closing an idle connection.
+     *
+     * @throws IOException if the client is gone.
+     */
+    void keepAlive() throws IOException;
+
+    /**
+     * Close the connection; the client is expected to reconnect.
+     */
+    void close();
+}
@@ -0,0 +1,241 @@
+package vibhuvi.oio.inframirror.service.detail;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Packs the diagnostic payload of an HTTP heartbeat, the {@link #FIELDS} text values, into one compressed byte array.
+ * <p>
+ * Layout: one version byte, then a raw DEFLATE stream of the fields in {@link #FIELDS} order. Each field starts with a
+ * varint header: {@code 0} for {@code null}, {@code 1} for a reference to a shared blob followed by the varint blob id,
+ * otherwise its UTF-8 length plus two followed by its bytes. Version 1 payloads, without references and with the
+ * length plus one, are still read. Blobs are single values compressed the same way, without header.
+ */
+public final class HttpHeartbeatDetailCodec {
+
+    /** The detail fields, named like the {@link vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO} properties. */
+    public static final List<String> FIELDS = List.of(
+        "rawRequestHeaders",
+        "rawResponseHeaders",
+        "rawResponseBody",
+        "responseBodySample",
+        "dnsDetails",
+        "tlsDetails",
+        "redirectDetails",
+        "rateLimitDetails",
+        "networkPath",
+        "agentMetrics",
+        "phaseLatencies"
+    );
+
+    static final byte VERSION_1 = 1;
+
+    static final byte VERSION = 2;
+
+    /**
+     * A decoded payload.
+     *
+     * @param values the values of the {@link #FIELDS}, in order; {@code null} when absent or held in a blob.
+     * @param blobIds the id of the blob holding each value, {@code 0} when the value is inline.
+     */
+    public record Decoded(String[] values, long[] blobIds) {}
+
+    private HttpHeartbeatDetailCodec() {}
+
+    /**
+     * @param values the values of the {@link #FIELDS}, in order; {@code null} when absent.
+     * @return the UTF-8 size of the values, without the framing.
+     */
+    public static int rawSize(String[] values) {
+        int size = 0;
+        for (String value : values) {
+            if (value != null) {
+                size += utf8Length(value);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @param values the values of the {@link #FIELDS}, in order; {@code null} when absent.
+     * @param level the {@link Deflater} compression level.
+     * @return the compressed payload.
+     */
+    public static byte[] encode(String[] values, int level) {
+        return encode(values, new long[values.length], level);
+    }
+
+    /**
+     * @param values the values of the {@link #FIELDS}, in order; {@code null} when absent.
+     * @param blobIds for each value, the id of the blob holding it, or {@code 0} to write the value inline.
+     * @param level the {@link Deflater} compression level.
+     * @return the compressed payload.
+     */
+    public static byte[] encode(String[] values, long[] blobIds, int level) {
+        if (values.length != FIELDS.size() || blobIds.length != FIELDS.size()) {
+            throw new IllegalArgumentException("Expected " + FIELDS.size() + " detail values, got " + values.length);
+        }
+        ByteArrayOutputStream plain = new ByteArrayOutputStream(rawSize(values) + FIELDS.size() * 2);
+        for (int i = 0; i < values.length; i++) {
+            if (blobIds[i] > 0) {
+                plain.write(1);
+                writeVarint(plain, blobIds[i]);
+            } else if (values[i] == null) {
+                plain.write(0);
+            } else {
+                byte[] bytes = values[i].getBytes(StandardCharsets.UTF_8);
+                writeVarint(plain, bytes.length + 2L);
+                plain.write(bytes, 0, bytes.length);
+            }
+        }
+        return deflate(plain.toByteArray(), level);
+    }
+
+    /**
+     * @param value the value of a blob.
+     * @param level the {@link Deflater} compression level.
+     * @return the compressed blob.
+     */
+    public static byte[] encodeBlob(String value, int level) {
+        return deflate(value.getBytes(StandardCharsets.UTF_8), level);
+    }
+
+    /**
+     * @param blob a blob produced by {@link #encodeBlob}.
+     * @return the value of the blob.
+     * @throws IllegalArgumentException if the blob is corrupt or of an unknown version.
+     */
+    public static String decodeBlob(byte[] blob) {
+        if (blob.length == 0 || blob[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported heartbeat detail payload version");
+        }
+        return new String(inflate(blob), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param payload a payload produced by {@link #encode}.
+     * @return the inline values and blob references of the {@link #FIELDS}, in order.
+     * @throws IllegalArgumentException if the payload is corrupt or of an unknown version.
+     */
+    public static Decoded decode(byte[] payload) {
+        if (payload.length == 0 || (payload[0] != VERSION && payload[0] != VERSION_1)) {
+            throw new IllegalArgumentException("Unsupported heartbeat detail payload version");
+        }
+        int lengthOffset = payload[0] == VERSION_1 ? 1 : 2;
+        byte[] plain = inflate(payload);
+
+        String[] values = new String[FIELDS.size()];
+        long[] blobIds = new long[FIELDS.size()];
+        int[] position = { 0 };
+        for (int i = 0; i < values.length; i++) {
+            long header = readVarint(plain, position);
+            if (header == 0) {
+                continue;
+            }
+            if (header == 1 && lengthOffset == 2) {
+                blobIds[i] = readVarint(plain, position);
+                continue;
+            }
+            long length = header - lengthOffset;
+            if (length > plain.length - position[0]) {
+                throw new IllegalArgumentException("Corrupt heartbeat detail payload");
+            }
+            values[i] = new String(plain, position[0], (int) length, StandardCharsets.UTF_8);
+            position[0] += (int) length;
+        }
+        return new Decoded(values, blobIds);
+    }
+
+    /**
+     * @param values the values of the {@link #FIELDS}.
+     * @return whether none of the values is present.
+     */
+    public static boolean isEmpty(String[] values) {
+        return Arrays.stream(values).allMatch(value -> value == null);
+    }
+
+    private static byte[] deflate(byte[] plain, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 16);
+            out.write(VERSION);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] payload) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(payload, 1, payload.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated heartbeat detail payload");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt heartbeat detail payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] in, int[] position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= in.length) {
+                throw new IllegalArgumentException("Truncated heartbeat detail payload");
+            }
+            byte b = in[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Corrupt heartbeat detail payload");
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,37 @@
+package vibhuvi.oio.inframirror.service.detail;
+
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+
+/**
+ * Decides which heartbeats keep their diagnostic payload: every failed check, and one in {@code successSampleRate}
+ * successful ones.
+ * <p>
+ * Successes are sampled on a hash of the heartbeat id, so the choice is stateless and the same on every node, and
+ * consecutive ids of one batch do not all fall on the same side.
+ */
+public class HttpHeartbeatDetailPolicy {
+
+    private final int successSampleRate;
+
+    /**
+     * @param successSampleRate keep one in this many successful heartbeats; {@code 1} keeps all of them, {@code 0} none.
+     */
+    public HttpHeartbeatDetailPolicy(int successSampleRate) {
+        this.successSampleRate = Math.max(0, successSampleRate);
+    }
+
+    /**
+     * @param heartbeat a persisted heartbeat, with its id.
+     * @return whether the detail of the heartbeat should be stored.
+     */
+    public boolean keep(HttpHeartbeatDTO heartbeat) {
+        if (!Boolean.TRUE.equals(heartbeat.getSuccess())) {
+            return true;
+        }
+        if (successSampleRate == 0) {
+            return false;
+        }
+        long hash = heartbeat.getId() * 0x9E3779B97F4A7C15L;
+        return Long.remainderUnsigned(hash ^ (hash >>> 32), successSampleRate) == 0;
+    }
+}
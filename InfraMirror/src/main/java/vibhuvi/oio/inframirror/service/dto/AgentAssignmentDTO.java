@@ -0,0 +1,80 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * DTO for one monitor assigned to an agent.
+ * An inactive assignment tells the agent to stop running the monitor.
+ */
+public class AgentAssignmentDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String monitorType;
+    private Long monitorId;
+    private Integer intervalSeconds;
+    private Integer offsetMs;
+    private boolean active;
+    private long version;
+
+    public String getMonitorType() {
+        return monitorType;
+    }
+
+    public void setMonitorType(String monitorType) {
+        this.monitorType = monitorType;
+    }
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Integer getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    public void setIntervalSeconds(Integer intervalSeconds) {
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public Integer getOffsetMs() {
+        return offsetMs;
+    }
+
+    public void setOffsetMs(Integer offsetMs) {
+        this.offsetMs = offsetMs;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AgentAssignmentDTO{" +
+            "monitorType='" + getMonitorType() + "'" +
+            ", monitorId=" + getMonitorId() +
+            ", intervalSeconds=" + getIntervalSeconds() +
+            ", offsetMs=" + getOffsetMs() +
+            ", active='" + isActive() + "'" +
+            ", version=" + getVersion() +
+            "}";
+    }
+}
@@ -0,0 +1,54 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the assignments of an agent changed since a version.
+ * <p>
+ * Agents pass {@code version} back as {@code since} on their next poll. A {@code full} response lists every active
+ * assignment and replaces what the agent held; otherwise only the changed assignments are listed. While {@code more}
+ * is set, further changes are pending and the agent should poll again right away.
+ */
+public class AgentAssignmentsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long version;
+    private boolean full;
+    private boolean more;
+    private List<AgentAssignmentDTO> assignments = new ArrayList<>();
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public boolean isMore() {
+        return more;
+    }
+
+    public void setMore(boolean more) {
+        this.more = more;
+    }
+
+    public List<AgentAssignmentDTO> getAssignments() {
+        return assignments;
+    }
+
+    public void setAssignments(List<AgentAssignmentDTO> assignments) {
+        this.assignments = assignments;
+    }
+}
@@ -21,6 +21,8 @@ public class AgentDTO implements Serializable {
     @Size(max = 20)
     private String status;
 
+    private Long regionId;
+
     public Long getId() {
         return id;
     }
@@ -53,6 +55,14 @@ public class AgentDTO implements Serializable {
         this.status = status;
     }
 
+    public Long getRegionId() {
+        return regionId;
+    }
+
+    public void setRegionId(Long regionId) {
+        this.regionId = regionId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
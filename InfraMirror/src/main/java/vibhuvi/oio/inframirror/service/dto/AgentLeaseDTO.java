@@ -0,0 +1,83 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for a lease held on a named {@link vibhuvi.oio.inframirror.domain.AgentLock}.
+ * <p>
+ * The fencing token grows with every new holder of the lease; whoever accepts work on behalf of the lease should
+ * reject a token lower than the highest one it has seen.
+ */
+public class AgentLeaseDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String name;
+    private Long holderId;
+    private long fencingToken;
+    private Instant acquiredAt;
+    private Instant expiresAt;
+
+    public AgentLeaseDTO() {}
+
+    public AgentLeaseDTO(String name, Long holderId, long fencingToken, Instant acquiredAt, Instant expiresAt) {
+        this.name = name;
+        this.holderId = holderId;
+        this.fencingToken = fencingToken;
+        this.acquiredAt = acquiredAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getHolderId() {
+        return holderId;
+    }
+
+    public void setHolderId(Long holderId) {
+        this.holderId = holderId;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
+    public Instant getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public void setAcquiredAt(Instant acquiredAt) {
+        this.acquiredAt = acquiredAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AgentLeaseDTO{" +
+            "name='" + getName() + "'" +
+            ", holderId=" + getHolderId() +
+            ", fencingToken=" + getFencingToken() +
+            ", acquiredAt='" + getAcquiredAt() + "'" +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
@@ -22,6 +22,11 @@ public class AgentLockDTO implements Serializable {
     @NotNull
     private Instant expiresAt;
 
+    @Size(max = 200)
+    private String lockName;
+
+    private Long fencingToken;
+
     public Long getId() {
         return id;
     }
@@ -54,6 +59,22 @@ public class AgentLockDTO implements Serializable {
         this.expiresAt = expiresAt;
     }
 
+    public String getLockName() {
+        return lockName;
+    }
+
+    public void setLockName(String lockName) {
+        this.lockName = lockName;
+    }
+
+    public Long getFencingToken() {
+        return fencingToken;
+    }
+
+    public void setFencingToken(Long fencingToken) {
+        this.fencingToken = fencingToken;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -83,6 +104,8 @@ public class AgentLockDTO implements Serializable {
             ", agentId=" + getAgentId() +
             ", acquiredAt='" + getAcquiredAt() + "'" +
             ", expiresAt='" + getExpiresAt() + "'" +
+            ", lockName='" + getLockName() + "'" +
+            ", fencingToken=" + getFencingToken() +
             "}";
     }
 }
@@ -0,0 +1,37 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import jakarta.validation.Valid;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the full set of monitors an agent declares, usually read from its {@code monitors.yml}.
+ * <p>
+ * Monitors are matched to existing ones by name. Monitors the agent declared on an earlier sync and left out of this
+ * one are deactivated.
+ */
+public class AgentMonitorSyncDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<@Valid HttpMonitorDTO> httpMonitors = new ArrayList<>();
+
+    private List<@Valid MonitoredServiceDTO> monitoredServices = new ArrayList<>();
+
+    public List<HttpMonitorDTO> getHttpMonitors() {
+        return httpMonitors;
+    }
+
+    public void setHttpMonitors(List<HttpMonitorDTO> httpMonitors) {
+        this.httpMonitors = httpMonitors;
+    }
+
+    public List<MonitoredServiceDTO> getMonitoredServices() {
+        return monitoredServices;
+    }
+
+    public void setMonitoredServices(List<MonitoredServiceDTO> monitoredServices) {
+        this.monitoredServices = monitoredServices;
+    }
+}
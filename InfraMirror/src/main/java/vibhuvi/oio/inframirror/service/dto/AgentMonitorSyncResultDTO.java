@@ -0,0 +1,80 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO for the outcome of a monitor sync.
+ * <p>
+ * {@code configVersion} is a hash of the declared monitors; when it matches the previous sync of the agent nothing
+ * is written and {@code unchanged} is set. The id maps hold the id of every declared monitor by name either way.
+ */
+public class AgentMonitorSyncResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String configVersion;
+    private boolean unchanged;
+    private int inserted;
+    private int updated;
+    private int deactivated;
+    private Map<String, Long> httpMonitorIds = new HashMap<>();
+    private Map<String, Long> monitoredServiceIds = new HashMap<>();
+
+    public String getConfigVersion() {
+        return configVersion;
+    }
+
+    public void setConfigVersion(String configVersion) {
+        this.configVersion = configVersion;
+    }
+
+    public boolean isUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(boolean unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getDeactivated() {
+        return deactivated;
+    }
+
+    public void setDeactivated(int deactivated) {
+        this.deactivated = deactivated;
+    }
+
+    public Map<String, Long> getHttpMonitorIds() {
+        return httpMonitorIds;
+    }
+
+    public void setHttpMonitorIds(Map<String, Long> httpMonitorIds) {
+        this.httpMonitorIds = httpMonitorIds;
+    }
+
+    public Map<String, Long> getMonitoredServiceIds() {
+        return monitoredServiceIds;
+    }
+
+    public void setMonitoredServiceIds(Map<String, Long> monitoredServiceIds) {
+        this.monitoredServiceIds = monitoredServiceIds;
+    }
+}
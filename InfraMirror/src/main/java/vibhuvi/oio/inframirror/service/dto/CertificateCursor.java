@@ -0,0 +1,43 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in a certificate listing read soonest expiry first: the next page holds the certificates after
+ * {@code (expiresAt, monitorId)}. Clients get it as an opaque URL-safe string.
+ *
+ * @param expiresAt the expiry of the last certificate of the previous page, with microsecond precision.
+ * @param monitorId the id of the monitor of the last certificate of the previous page.
+ */
+public record CertificateCursor(Instant expiresAt, long monitorId) implements KeysetCursor {
+    /** Leading byte, so that the cursor of another listing is not taken for a certificate one. */
+    private static final byte TAG = 'C';
+
+    private static final int LENGTH = 1 + 2 * Long.BYTES;
+
+    @Override
+    public String encode() {
+        ByteBuffer bytes = ByteBuffer.allocate(LENGTH);
+        bytes.put(TAG);
+        bytes.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, expiresAt));
+        bytes.putLong(monitorId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    /**
+     * @param cursor a cursor returned by {@link #encode()}.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if {@code cursor} was not returned by {@link #encode()}.
+     */
+    public static CertificateCursor decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != LENGTH || bytes[0] != TAG) {
+            throw new IllegalArgumentException("Invalid certificate cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, LENGTH - 1);
+        return new CertificateCursor(Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS), buffer.getLong());
+    }
+}
@@ -0,0 +1,39 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in a heartbeat listing read newest first: the next page holds the heartbeats before
+ * {@code (executedAt, id)}. Clients get it as an opaque URL-safe string.
+ *
+ * @param executedAt the execution time of the last heartbeat of the previous page, with microsecond precision.
+ * @param id the id of the last heartbeat of the previous page.
+ */
+public record HeartbeatCursor(Instant executedAt, long id) implements KeysetCursor {
+    private static final int LENGTH = 2 * Long.BYTES;
+
+    @Override
+    public String encode() {
+        ByteBuffer bytes = ByteBuffer.allocate(LENGTH);
+        bytes.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, executedAt));
+        bytes.putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    /**
+     * @param cursor a cursor returned by {@link #encode()}.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if {@code cursor} was not returned by {@link #encode()}.
+     */
+    public static HeartbeatCursor decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != LENGTH) {
+            throw new IllegalArgumentException("Invalid heartbeat cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new HeartbeatCursor(Instant.EPOCH.plus(buffer.getLong(), ChronoUnit.MICROS), buffer.getLong());
+    }
+}
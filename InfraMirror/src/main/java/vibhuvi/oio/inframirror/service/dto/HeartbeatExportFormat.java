@@ -0,0 +1,29 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+/**
+ * Formats of a heartbeat export.
+ */
+public enum HeartbeatExportFormat {
+    /** RFC 4180 CSV with a header row. */
+    CSV("text/csv", "csv"),
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** The binary format of {@link vibhuvi.oio.inframirror.service.export.ColumnarExportWriter}. */
+    COLUMNAR("application/octet-stream", "imhx");
+
+    private final String contentType;
+    private final String extension;
+
+    HeartbeatExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,110 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a batched HTTP heartbeat submission.
+ * Items are reported in request order; only accepted items are queued for persistence.
+ */
+public class HttpHeartbeatBatchResultDTO implements Serializable {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String REJECTED = "REJECTED";
+    public static final String REASON_QUEUE_FULL = "queue full";
+
+    private int accepted;
+    private int rejected;
+    private int queueDepth;
+    private List<ItemStatus> items = new ArrayList<>();
+
+    public static class ItemStatus implements Serializable {
+
+        private int index;
+        private String status;
+        private String reason;
+
+        public ItemStatus() {}
+
+        public ItemStatus(int index, String status, String reason) {
+            this.index = index;
+            this.status = status;
+            this.reason = reason;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+
+    public void addItem(ItemStatus item) {
+        items.add(item);
+        if (ACCEPTED.equals(item.getStatus())) {
+            accepted++;
+        } else {
+            rejected++;
+        }
+    }
+
+    public boolean isQueueFull() {
+        return items.stream().anyMatch(item -> REASON_QUEUE_FULL.equals(item.getReason()));
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public List<ItemStatus> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemStatus> items) {
+        this.items = items;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpHeartbeatBatchResultDTO{" + "accepted=" + accepted + ", rejected=" + rejected + ", queueDepth=" + queueDepth + "}";
+    }
+}
@@ -0,0 +1,163 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for the diagnostic payload of one {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat}: raw headers and body,
+ * and the DNS, TLS, redirect, network and agent breakdowns of the check.
+ */
+public class HttpHeartbeatDetailDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long heartbeatId;
+
+    private Instant executedAt;
+
+    private String rawRequestHeaders;
+
+    private String rawResponseHeaders;
+
+    private String rawResponseBody;
+
+    private String responseBodySample;
+
+    private String dnsDetails;
+
+    private String tlsDetails;
+
+    private String redirectDetails;
+
+    private String rateLimitDetails;
+
+    private String networkPath;
+
+    private String agentMetrics;
+
+    private String phaseLatencies;
+
+    public Long getHeartbeatId() {
+        return heartbeatId;
+    }
+
+    public void setHeartbeatId(Long heartbeatId) {
+        this.heartbeatId = heartbeatId;
+    }
+
+    public Instant getExecutedAt() {
+        return executedAt;
+    }
+
+    public void setExecutedAt(Instant executedAt) {
+        this.executedAt = executedAt;
+    }
+
+    public String getRawRequestHeaders() {
+        return rawRequestHeaders;
+    }
+
+    public void setRawRequestHeaders(String rawRequestHeaders) {
+        this.rawRequestHeaders = rawRequestHeaders;
+    }
+
+    public String getRawResponseHeaders() {
+        return rawResponseHeaders;
+    }
+
+    public void setRawResponseHeaders(String rawResponseHeaders) {
+        this.rawResponseHeaders = rawResponseHeaders;
+    }
+
+    public String getRawResponseBody() {
+        return rawResponseBody;
+    }
+
+    public void setRawResponseBody(String rawResponseBody) {
+        this.rawResponseBody = rawResponseBody;
+    }
+
+    public String getResponseBodySample() {
+        return responseBodySample;
+    }
+
+    public void setResponseBodySample(String responseBodySample) {
+        this.responseBodySample = responseBodySample;
+    }
+
+    public String getDnsDetails() {
+        return dnsDetails;
+    }
+
+    public void setDnsDetails(String dnsDetails) {
+        this.dnsDetails = dnsDetails;
+    }
+
+    public String getTlsDetails() {
+        return tlsDetails;
+    }
+
+    public void setTlsDetails(String tlsDetails) {
+        this.tlsDetails = tlsDetails;
+    }
+
+    public String getRedirectDetails() {
+        return redirectDetails;
+    }
+
+    public void setRedirectDetails(String redirectDetails) {
+        this.redirectDetails = redirectDetails;
+    }
+
+    public String getRateLimitDetails() {
+        return rateLimitDetails;
+    }
+
+    public void setRateLimitDetails(String rateLimitDetails) {
+        this.rateLimitDetails = rateLimitDetails;
+    }
+
+    public String getNetworkPath() {
+        return networkPath;
+    }
+
+    public void setNetworkPath(String networkPath) {
+        this.networkPath = networkPath;
+    }
+
+    public String getAgentMetrics() {
+        return agentMetrics;
+    }
+
+    public void setAgentMetrics(String agentMetrics) {
+        this.agentMetrics = agentMetrics;
+    }
+
+    public String getPhaseLatencies() {
+        return phaseLatencies;
+    }
+
+    public void setPhaseLatencies(String phaseLatencies) {
+        this.phaseLatencies = phaseLatencies;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "HttpHeartbeatDetailDTO{" +
+            "heartbeatId=" + heartbeatId +
+            ", executedAt='" + executedAt + "'" +
+            ", rawRequestHeaders='" + rawRequestHeaders + "'" +
+            ", rawResponseHeaders='" + rawResponseHeaders + "'" +
+            ", rawResponseBody='" + rawResponseBody + "'" +
+            ", responseBodySample='" + responseBodySample + "'" +
+            ", dnsDetails='" + dnsDetails + "'" +
+            ", tlsDetails='" + tlsDetails + "'" +
+            ", redirectDetails='" + redirectDetails + "'" +
+            ", rateLimitDetails='" + rateLimitDetails + "'" +
+            ", networkPath='" + networkPath + "'" +
+            ", agentMetrics='" + agentMetrics + "'" +
+            ", phaseLatencies='" + phaseLatencies + "'" +
+            "}";
+    }
+}
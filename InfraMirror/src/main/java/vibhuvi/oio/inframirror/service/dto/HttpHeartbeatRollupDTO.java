@@ -0,0 +1,192 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO for one pre-aggregated HTTP heartbeat bucket of a monitor.
+ * {@code agentId} is {@code null} when the buckets of all agents were merged.
+ */
+public class HttpHeartbeatRollupDTO implements Serializable {
+
+    private Long monitorId;
+
+    private Long agentId;
+
+    private RollupResolution resolution;
+
+    private Instant bucketStart;
+
+    private long sampleCount;
+
+    private long successCount;
+
+    private Double avgResponseTimeMs;
+
+    private Integer minResponseTimeMs;
+
+    private Integer maxResponseTimeMs;
+
+    private Double p50ResponseTimeMs;
+
+    private Double p95ResponseTimeMs;
+
+    private Double p99ResponseTimeMs;
+
+    private Double avgDnsLookupMs;
+
+    private Double avgTcpConnectMs;
+
+    private Double avgTlsHandshakeMs;
+
+    private Double avgTimeToFirstByteMs;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Long getAgentId() {
+        return agentId;
+    }
+
+    public void setAgentId(Long agentId) {
+        this.agentId = agentId;
+    }
+
+    public RollupResolution getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(RollupResolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public Instant getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Instant bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public long getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(long successCount) {
+        this.successCount = successCount;
+    }
+
+    public Double getAvgResponseTimeMs() {
+        return avgResponseTimeMs;
+    }
+
+    public void setAvgResponseTimeMs(Double avgResponseTimeMs) {
+        this.avgResponseTimeMs = avgResponseTimeMs;
+    }
+
+    public Integer getMinResponseTimeMs() {
+        return minResponseTimeMs;
+    }
+
+    public void setMinResponseTimeMs(Integer minResponseTimeMs) {
+        this.minResponseTimeMs = minResponseTimeMs;
+    }
+
+    public Integer getMaxResponseTimeMs() {
+        return maxResponseTimeMs;
+    }
+
+    public void setMaxResponseTimeMs(Integer maxResponseTimeMs) {
+        this.maxResponseTimeMs = maxResponseTimeMs;
+    }
+
+    public Double getP50ResponseTimeMs() {
+        return p50ResponseTimeMs;
+    }
+
+    public void setP50ResponseTimeMs(Double p50ResponseTimeMs) {
+        this.p50ResponseTimeMs = p50ResponseTimeMs;
+    }
+
+    public Double getP95ResponseTimeMs() {
+        return p95ResponseTimeMs;
+    }
+
+    public void setP95ResponseTimeMs(Double p95ResponseTimeMs) {
+        this.p95ResponseTimeMs = p95ResponseTimeMs;
+    }
+
+    public Double getP99ResponseTimeMs() {
+        return p99ResponseTimeMs;
+    }
+
+    public void setP99ResponseTimeMs(Double p99ResponseTimeMs) {
+        this.p99ResponseTimeMs = p99ResponseTimeMs;
+    }
+
+    public Double getAvgDnsLookupMs() {
+        return avgDnsLookupMs;
+    }
+
+    public void setAvgDnsLookupMs(Double avgDnsLookupMs) {
+        this.avgDnsLookupMs = avgDnsLookupMs;
+    }
+
+    public Double getAvgTcpConnectMs() {
+        return avgTcpConnectMs;
+    }
+
+    public void setAvgTcpConnectMs(Double avgTcpConnectMs) {
+        this.avgTcpConnectMs = avgTcpConnectMs;
+    }
+
+    public Double getAvgTlsHandshakeMs() {
+        return avgTlsHandshakeMs;
+    }
+
+    public void setAvgTlsHandshakeMs(Double avgTlsHandshakeMs) {
+        this.avgTlsHandshakeMs = avgTlsHandshakeMs;
+    }
+
+    public Double getAvgTimeToFirstByteMs() {
+        return avgTimeToFirstByteMs;
+    }
+
+    public void setAvgTimeToFirstByteMs(Double avgTimeToFirstByteMs) {
+        this.avgTimeToFirstByteMs = avgTimeToFirstByteMs;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "HttpHeartbeatRollupDTO{" +
+            "monitorId=" +
+            monitorId +
+            ", agentId=" +
+            agentId +
+            ", resolution=" +
+            resolution +
+            ", bucketStart='" +
+            bucketStart +
+            "'" +
+            ", sampleCount=" +
+            sampleCount +
+            ", successCount=" +
+            successCount +
+            "}"
+        );
+    }
+}
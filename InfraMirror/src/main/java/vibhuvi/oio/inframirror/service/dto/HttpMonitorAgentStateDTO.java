@@ -0,0 +1,123 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO for the latest check results of a monitor as seen by one agent.
+ * {@code agentId} is {@code null} for heartbeats that were not attributed to an agent.
+ */
+public class HttpMonitorAgentStateDTO implements Serializable {
+
+    private Long monitorId;
+
+    private Long agentId;
+
+    private Instant lastCheckedAt;
+
+    private boolean lastSuccess;
+
+    private Integer lastResponseTimeMs;
+
+    private String lastErrorMessage;
+
+    private int sampleCount;
+
+    private int successCount;
+
+    private Double avgResponseTimeMs;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Long getAgentId() {
+        return agentId;
+    }
+
+    public void setAgentId(Long agentId) {
+        this.agentId = agentId;
+    }
+
+    public Instant getLastCheckedAt() {
+        return lastCheckedAt;
+    }
+
+    public void setLastCheckedAt(Instant lastCheckedAt) {
+        this.lastCheckedAt = lastCheckedAt;
+    }
+
+    public boolean isLastSuccess() {
+        return lastSuccess;
+    }
+
+    public void setLastSuccess(boolean lastSuccess) {
+        this.lastSuccess = lastSuccess;
+    }
+
+    public Integer getLastResponseTimeMs() {
+        return lastResponseTimeMs;
+    }
+
+    public void setLastResponseTimeMs(Integer lastResponseTimeMs) {
+        this.lastResponseTimeMs = lastResponseTimeMs;
+    }
+
+    public String getLastErrorMessage() {
+        return lastErrorMessage;
+    }
+
+    public void setLastErrorMessage(String lastErrorMessage) {
+        this.lastErrorMessage = lastErrorMessage;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(int sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(int successCount) {
+        this.successCount = successCount;
+    }
+
+    public Double getAvgResponseTimeMs() {
+        return avgResponseTimeMs;
+    }
+
+    public void setAvgResponseTimeMs(Double avgResponseTimeMs) {
+        this.avgResponseTimeMs = avgResponseTimeMs;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return (
+            "HttpMonitorAgentStateDTO{" +
+            "monitorId=" +
+            monitorId +
+            ", agentId=" +
+            agentId +
+            ", lastCheckedAt='" +
+            lastCheckedAt +
+            "'" +
+            ", lastSuccess=" +
+            lastSuccess +
+            ", sampleCount=" +
+            sampleCount +
+            ", successCount=" +
+            successCount +
+            "}"
+        );
+    }
+}
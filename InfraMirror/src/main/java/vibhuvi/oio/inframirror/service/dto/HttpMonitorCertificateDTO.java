@@ -0,0 +1,127 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for the certificate last seen by an HTTPS monitor. {@code daysUntilExpiry} is counted from the time of the
+ * request, negative once expired; {@code withinThreshold} tells whether it is within the {@code certificateExpiryDays}
+ * of the monitor, always {@code false} without one. {@code observedAt} is when this certificate was first seen.
+ */
+public class HttpMonitorCertificateDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long monitorId;
+
+    private String monitorName;
+
+    private Instant expiresAt;
+
+    private Long daysUntilExpiry;
+
+    private String issuer;
+
+    private Boolean valid;
+
+    private Integer thresholdDays;
+
+    private boolean withinThreshold;
+
+    private Instant observedAt;
+
+    private Instant notifiedAt;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public String getMonitorName() {
+        return monitorName;
+    }
+
+    public void setMonitorName(String monitorName) {
+        this.monitorName = monitorName;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getDaysUntilExpiry() {
+        return daysUntilExpiry;
+    }
+
+    public void setDaysUntilExpiry(Long daysUntilExpiry) {
+        this.daysUntilExpiry = daysUntilExpiry;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    public void setIssuer(String issuer) {
+        this.issuer = issuer;
+    }
+
+    public Boolean getValid() {
+        return valid;
+    }
+
+    public void setValid(Boolean valid) {
+        this.valid = valid;
+    }
+
+    public Integer getThresholdDays() {
+        return thresholdDays;
+    }
+
+    public void setThresholdDays(Integer thresholdDays) {
+        this.thresholdDays = thresholdDays;
+    }
+
+    public boolean isWithinThreshold() {
+        return withinThreshold;
+    }
+
+    public void setWithinThreshold(boolean withinThreshold) {
+        this.withinThreshold = withinThreshold;
+    }
+
+    public Instant getObservedAt() {
+        return observedAt;
+    }
+
+    public void setObservedAt(Instant observedAt) {
+        this.observedAt = observedAt;
+    }
+
+    public Instant getNotifiedAt() {
+        return notifiedAt;
+    }
+
+    public void setNotifiedAt(Instant notifiedAt) {
+        this.notifiedAt = notifiedAt;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "HttpMonitorCertificateDTO{" +
+            "monitorId=" + getMonitorId() +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            ", issuer='" + getIssuer() + "'" +
+            ", valid='" + getValid() + "'" +
+            ", thresholdDays=" + getThresholdDays() +
+            ", withinThreshold='" + isWithinThreshold() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,144 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for an incident of an HTTP monitor in a region: a period during which the status derived on ingest was not UP.
+ * <p>
+ * {@code status} is the current status of an open incident, or the last one of a closed incident, and
+ * {@code worstStatus} the worst it reached. {@code regionId} is {@code null} for agents without a region and
+ * {@code endedAt} while the incident is open.
+ */
+public class HttpMonitorIncidentDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long monitorId;
+
+    private Long regionId;
+
+    private MonitorHealthStatus status;
+
+    private MonitorHealthStatus worstStatus;
+
+    private Instant startedAt;
+
+    private Instant updatedAt;
+
+    private Instant endedAt;
+
+    private Long openedByHeartbeatId;
+
+    private Long closedByHeartbeatId;
+
+    private String errorMessage;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Long getRegionId() {
+        return regionId;
+    }
+
+    public void setRegionId(Long regionId) {
+        this.regionId = regionId;
+    }
+
+    public MonitorHealthStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MonitorHealthStatus status) {
+        this.status = status;
+    }
+
+    public MonitorHealthStatus getWorstStatus() {
+        return worstStatus;
+    }
+
+    public void setWorstStatus(MonitorHealthStatus worstStatus) {
+        this.worstStatus = worstStatus;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(Instant endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    public Long getOpenedByHeartbeatId() {
+        return openedByHeartbeatId;
+    }
+
+    public void setOpenedByHeartbeatId(Long openedByHeartbeatId) {
+        this.openedByHeartbeatId = openedByHeartbeatId;
+    }
+
+    public Long getClosedByHeartbeatId() {
+        return closedByHeartbeatId;
+    }
+
+    public void setClosedByHeartbeatId(Long closedByHeartbeatId) {
+        this.closedByHeartbeatId = closedByHeartbeatId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "HttpMonitorIncidentDTO{" +
+            "id=" + getId() +
+            ", monitorId=" + getMonitorId() +
+            ", regionId=" + getRegionId() +
+            ", status='" + getStatus() + "'" +
+            ", worstStatus='" + getWorstStatus() + "'" +
+            ", startedAt='" + getStartedAt() + "'" +
+            ", updatedAt='" + getUpdatedAt() + "'" +
+            ", endedAt='" + getEndedAt() + "'" +
+            ", openedByHeartbeatId=" + getOpenedByHeartbeatId() +
+            ", closedByHeartbeatId=" + getClosedByHeartbeatId() +
+            ", errorMessage='" + getErrorMessage() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,168 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for the latency percentiles of an HTTP monitor over a time window, merged from the rollup sketches.
+ * <p>
+ * {@code agentId} and {@code regionId} are set when the percentiles are grouped by agent or by region; a {@code null}
+ * {@code regionId} in a per-region result groups the agents without a region. Percentiles have the relative accuracy
+ * of {@link vibhuvi.oio.inframirror.service.metrics.LatencySketch}.
+ */
+public class HttpMonitorLatencyPercentilesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long monitorId;
+
+    private Long agentId;
+
+    private Long regionId;
+
+    private Instant from;
+
+    private Instant to;
+
+    private long sampleCount;
+
+    private Integer minResponseTimeMs;
+
+    private Integer maxResponseTimeMs;
+
+    private Double p50ResponseTimeMs;
+
+    private Double p90ResponseTimeMs;
+
+    private Double p95ResponseTimeMs;
+
+    private Double p99ResponseTimeMs;
+
+    private Double p999ResponseTimeMs;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Long getAgentId() {
+        return agentId;
+    }
+
+    public void setAgentId(Long agentId) {
+        this.agentId = agentId;
+    }
+
+    public Long getRegionId() {
+        return regionId;
+    }
+
+    public void setRegionId(Long regionId) {
+        this.regionId = regionId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public Integer getMinResponseTimeMs() {
+        return minResponseTimeMs;
+    }
+
+    public void setMinResponseTimeMs(Integer minResponseTimeMs) {
+        this.minResponseTimeMs = minResponseTimeMs;
+    }
+
+    public Integer getMaxResponseTimeMs() {
+        return maxResponseTimeMs;
+    }
+
+    public void setMaxResponseTimeMs(Integer maxResponseTimeMs) {
+        this.maxResponseTimeMs = maxResponseTimeMs;
+    }
+
+    public Double getP50ResponseTimeMs() {
+        return p50ResponseTimeMs;
+    }
+
+    public void setP50ResponseTimeMs(Double p50ResponseTimeMs) {
+        this.p50ResponseTimeMs = p50ResponseTimeMs;
+    }
+
+    public Double getP90ResponseTimeMs() {
+        return p90ResponseTimeMs;
+    }
+
+    public void setP90ResponseTimeMs(Double p90ResponseTimeMs) {
+        this.p90ResponseTimeMs = p90ResponseTimeMs;
+    }
+
+    public Double getP95ResponseTimeMs() {
+        return p95ResponseTimeMs;
+    }
+
+    public void setP95ResponseTimeMs(Double p95ResponseTimeMs) {
+        this.p95ResponseTimeMs = p95ResponseTimeMs;
+    }
+
+    public Double getP99ResponseTimeMs() {
+        return p99ResponseTimeMs;
+    }
+
+    public void setP99ResponseTimeMs(Double p99ResponseTimeMs) {
+        this.p99ResponseTimeMs = p99ResponseTimeMs;
+    }
+
+    public Double getP999ResponseTimeMs() {
+        return p999ResponseTimeMs;
+    }
+
+    public void setP999ResponseTimeMs(Double p999ResponseTimeMs) {
+        this.p999ResponseTimeMs = p999ResponseTimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "HttpMonitorLatencyPercentilesDTO{" +
+            "monitorId=" +
+            monitorId +
+            ", agentId=" +
+            agentId +
+            ", regionId=" +
+            regionId +
+            ", from='" +
+            from +
+            "'" +
+            ", to='" +
+            to +
+            "'" +
+            ", sampleCount=" +
+            sampleCount +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for the response time series of an HTTP monitor over a time window, downsampled for charts with
+ * {@link vibhuvi.oio.inframirror.service.metrics.LttbDownsampler}.
+ * <p>
+ * The points are parallel arrays of timestamps in epoch milliseconds, response times and outcomes of actual checks.
+ * {@code agentId} and {@code regionId} are set like in {@link HttpMonitorLatencyPercentilesDTO}. {@code sampleCount}
+ * and {@code failureCount} count all the checks of the window, including the ones without a response time, which are
+ * not plotted.
+ */
+public class HttpMonitorSeriesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long monitorId;
+
+    private Long agentId;
+
+    private Long regionId;
+
+    private Instant from;
+
+    private Instant to;
+
+    private long sampleCount;
+
+    private long failureCount;
+
+    private long[] timestamps;
+
+    private int[] responseTimeMs;
+
+    private boolean[] success;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public Long getAgentId() {
+        return agentId;
+    }
+
+    public void setAgentId(Long agentId) {
+        this.agentId = agentId;
+    }
+
+    public Long getRegionId() {
+        return regionId;
+    }
+
+    public void setRegionId(Long regionId) {
+        this.regionId = regionId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(long failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public void setTimestamps(long[] timestamps) {
+        this.timestamps = timestamps;
+    }
+
+    public int[] getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    public void setResponseTimeMs(int[] responseTimeMs) {
+        this.responseTimeMs = responseTimeMs;
+    }
+
+    public boolean[] getSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean[] success) {
+        this.success = success;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "HttpMonitorSeriesDTO{" +
+            "monitorId=" + getMonitorId() +
+            ", agentId=" + getAgentId() +
+            ", regionId=" + getRegionId() +
+            ", from='" + getFrom() + "'" +
+            ", to='" + getTo() + "'" +
+            ", sampleCount=" + getSampleCount() +
+            ", failureCount=" + getFailureCount() +
+            ", points=" + (getTimestamps() != null ? getTimestamps().length : 0) +
+            "}";
+    }
+}
@@ -0,0 +1,65 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO for the current status of an HTTP monitor: the worst status of its open incidents across regions, UP when it
+ * has none. {@code since} is the start of the oldest open incident with that status, {@code null} when UP.
+ */
+public class HttpMonitorStatusDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long monitorId;
+
+    private MonitorHealthStatus status;
+
+    private Instant since;
+
+    private List<HttpMonitorIncidentDTO> openIncidents;
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public MonitorHealthStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MonitorHealthStatus status) {
+        this.status = status;
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public void setSince(Instant since) {
+        this.since = since;
+    }
+
+    public List<HttpMonitorIncidentDTO> getOpenIncidents() {
+        return openIncidents;
+    }
+
+    public void setOpenIncidents(List<HttpMonitorIncidentDTO> openIncidents) {
+        this.openIncidents = openIncidents;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "HttpMonitorStatusDTO{" +
+            "monitorId=" + getMonitorId() +
+            ", status='" + getStatus() + "'" +
+            ", since='" + getSince() + "'" +
+            ", openIncidents=" + (getOpenIncidents() != null ? getOpenIncidents().size() : 0) +
+            "}";
+    }
+}
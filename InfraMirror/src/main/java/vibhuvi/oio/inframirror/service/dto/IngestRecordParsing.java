@@ -0,0 +1,47 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.io.IOException;
+
+/**
+ * Token-level helpers shared by the streaming heartbeat ingest record deserializers.
+ * Numeric values are read straight from the parser without boxing; non-numeric
+ * values for numeric fields are skipped, matching the lenient agent contract.
+ */
+final class IngestRecordParsing {
+
+    private IngestRecordParsing() {}
+
+    static void expectStartObject(JsonParser p, Class<?> target) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == null) {
+            token = p.nextToken();
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(p, target, "Expected a JSON object for " + target.getSimpleName());
+        }
+    }
+
+    static boolean isNumber(JsonToken token) {
+        return token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    static boolean readBoolean(JsonParser p, JsonToken token, Class<?> target) throws IOException {
+        if (token == JsonToken.VALUE_TRUE) {
+            return true;
+        }
+        if (token == JsonToken.VALUE_FALSE) {
+            return false;
+        }
+        throw MismatchedInputException.from(p, target, "Expected a boolean for '" + p.currentName() + "'");
+    }
+
+    static String readString(JsonParser p, JsonToken token, Class<?> target) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        throw MismatchedInputException.from(p, target, "Expected a string for '" + p.currentName() + "'");
+    }
+}
@@ -0,0 +1,253 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import static vibhuvi.oio.inframirror.service.dto.IngestRecordParsing.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+/**
+ * Flat ingest record for an instance heartbeat submitted by an agent.
+ * Decoded token by token into primitive fields; optional metrics are tracked in a presence bitmask
+ * so no wrapper objects or nested DTOs are allocated per request.
+ */
+@JsonDeserialize(using = InstanceHeartbeatIngestRecord.Deserializer.class)
+public final class InstanceHeartbeatIngestRecord {
+
+    public static final int INSTANCE_ID = 1;
+    public static final int SUCCESS = 1 << 1;
+    public static final int RESPONSE_TIME_MS = 1 << 2;
+    public static final int PACKET_LOSS = 1 << 3;
+    public static final int JITTER_MS = 1 << 4;
+    public static final int CPU_USAGE = 1 << 5;
+    public static final int MEMORY_USAGE = 1 << 6;
+    public static final int DISK_USAGE = 1 << 7;
+    public static final int LOAD_AVERAGE = 1 << 8;
+    public static final int PROCESS_COUNT = 1 << 9;
+    public static final int NETWORK_RX_BYTES = 1 << 10;
+    public static final int NETWORK_TX_BYTES = 1 << 11;
+    public static final int UPTIME_SECONDS = 1 << 12;
+
+    private int present;
+    private long instanceId;
+    private boolean success;
+    private String heartbeatType;
+    private String status;
+    private int responseTimeMs;
+    private float packetLoss;
+    private int jitterMs;
+    private float cpuUsage;
+    private float memoryUsage;
+    private float diskUsage;
+    private float loadAverage;
+    private int processCount;
+    private long networkRxBytes;
+    private long networkTxBytes;
+    private long uptimeSeconds;
+    private String errorMessage;
+    private String errorType;
+
+    public boolean has(int field) {
+        return (present & field) != 0;
+    }
+
+    public long getInstanceId() {
+        return instanceId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getHeartbeatType() {
+        return heartbeatType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    public float getPacketLoss() {
+        return packetLoss;
+    }
+
+    public int getJitterMs() {
+        return jitterMs;
+    }
+
+    public float getCpuUsage() {
+        return cpuUsage;
+    }
+
+    public float getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public float getDiskUsage() {
+        return diskUsage;
+    }
+
+    public float getLoadAverage() {
+        return loadAverage;
+    }
+
+    public int getProcessCount() {
+        return processCount;
+    }
+
+    public long getNetworkRxBytes() {
+        return networkRxBytes;
+    }
+
+    public long getNetworkTxBytes() {
+        return networkTxBytes;
+    }
+
+    public long getUptimeSeconds() {
+        return uptimeSeconds;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * Decode a record from the parser, which must be positioned on (or just before) the opening brace.
+     */
+    public static InstanceHeartbeatIngestRecord read(JsonParser p) throws IOException {
+        expectStartObject(p, InstanceHeartbeatIngestRecord.class);
+        InstanceHeartbeatIngestRecord r = new InstanceHeartbeatIngestRecord();
+        String name;
+        while ((name = p.nextFieldName()) != null) {
+            JsonToken token = p.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (name) {
+                case "instanceId" -> {
+                    if (isNumber(token)) {
+                        r.instanceId = p.getLongValue();
+                        r.present |= INSTANCE_ID;
+                    }
+                }
+                case "success" -> {
+                    r.success = readBoolean(p, token, InstanceHeartbeatIngestRecord.class);
+                    r.present |= SUCCESS;
+                }
+                case "heartbeatType" -> r.heartbeatType = readString(p, token, InstanceHeartbeatIngestRecord.class);
+                case "status" -> r.status = readString(p, token, InstanceHeartbeatIngestRecord.class);
+                case "responseTimeMs" -> {
+                    if (isNumber(token)) {
+                        r.responseTimeMs = p.getIntValue();
+                        r.present |= RESPONSE_TIME_MS;
+                    }
+                }
+                case "packetLoss" -> {
+                    if (isNumber(token)) {
+                        r.packetLoss = p.getFloatValue();
+                        r.present |= PACKET_LOSS;
+                    }
+                }
+                case "jitterMs" -> {
+                    if (isNumber(token)) {
+                        r.jitterMs = p.getIntValue();
+                        r.present |= JITTER_MS;
+                    }
+                }
+                case "cpuUsage" -> {
+                    if (isNumber(token)) {
+                        r.cpuUsage = p.getFloatValue();
+                        r.present |= CPU_USAGE;
+                    }
+                }
+                case "memoryUsage" -> {
+                    if (isNumber(token)) {
+                        r.memoryUsage = p.getFloatValue();
+                        r.present |= MEMORY_USAGE;
+                    }
+                }
+                case "diskUsage" -> {
+                    if (isNumber(token)) {
+                        r.diskUsage = p.getFloatValue();
+                        r.present |= DISK_USAGE;
+                    }
+                }
+                case "loadAverage" -> {
+                    if (isNumber(token)) {
+                        r.loadAverage = p.getFloatValue();
+                        r.present |= LOAD_AVERAGE;
+                    }
+                }
+                case "processCount" -> {
+                    if (isNumber(token)) {
+                        r.processCount = p.getIntValue();
+                        r.present |= PROCESS_COUNT;
+                    }
+                }
+                case "networkRxBytes" -> {
+                    if (isNumber(token)) {
+                        r.networkRxBytes = p.getLongValue();
+                        r.present |= NETWORK_RX_BYTES;
+                    }
+                }
+                case "networkTxBytes" -> {
+                    if (isNumber(token)) {
+                        r.networkTxBytes = p.getLongValue();
+                        r.present |= NETWORK_TX_BYTES;
+                    }
+                }
+                case "uptimeSeconds" -> {
+                    if (isNumber(token)) {
+                        r.uptimeSeconds = p.getLongValue();
+                        r.present |= UPTIME_SECONDS;
+                    }
+                }
+                case "errorMessage" -> r.errorMessage = readString(p, token, InstanceHeartbeatIngestRecord.class);
+                case "errorType" -> r.errorType = readString(p, token, InstanceHeartbeatIngestRecord.class);
+                default -> p.skipChildren();
+            }
+        }
+        return r;
+    }
+
+    public static class Deserializer extends StdDeserializer<InstanceHeartbeatIngestRecord> {
+
+        public Deserializer() {
+            super(InstanceHeartbeatIngestRecord.class);
+        }
+
+        @Override
+        public InstanceHeartbeatIngestRecord deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return read(p);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "InstanceHeartbeatIngestRecord{" +
+            "instanceId=" +
+            instanceId +
+            ", heartbeatType='" +
+            heartbeatType +
+            "'" +
+            ", success=" +
+            success +
+            ", status='" +
+            status +
+            "'" +
+            "}"
+        );
+    }
+}
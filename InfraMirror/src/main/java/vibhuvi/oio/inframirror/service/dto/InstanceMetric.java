@@ -0,0 +1,62 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hardware metrics of an instance kept as compressed time series, with the short name used by the metrics API and the
+ * stable code stored in {@code instance_metric_chunk.metric}.
+ */
+public enum InstanceMetric {
+    CPU("cpu", 1, InstanceHeartbeatIngestRecord.CPU_USAGE, InstanceHeartbeatIngestRecord::getCpuUsage),
+    MEMORY("mem", 2, InstanceHeartbeatIngestRecord.MEMORY_USAGE, InstanceHeartbeatIngestRecord::getMemoryUsage),
+    DISK("disk", 3, InstanceHeartbeatIngestRecord.DISK_USAGE, InstanceHeartbeatIngestRecord::getDiskUsage),
+    LOAD("load", 4, InstanceHeartbeatIngestRecord.LOAD_AVERAGE, InstanceHeartbeatIngestRecord::getLoadAverage),
+    NETWORK_RX("rx", 5, InstanceHeartbeatIngestRecord.NETWORK_RX_BYTES, InstanceHeartbeatIngestRecord::getNetworkRxBytes),
+    NETWORK_TX("tx", 6, InstanceHeartbeatIngestRecord.NETWORK_TX_BYTES, InstanceHeartbeatIngestRecord::getNetworkTxBytes);
+
+    private final String label;
+    private final short code;
+    private final int field;
+    private final ToDoubleFunction<InstanceHeartbeatIngestRecord> reader;
+
+    InstanceMetric(String label, int code, int field, ToDoubleFunction<InstanceHeartbeatIngestRecord> reader) {
+        this.label = label;
+        this.code = (short) code;
+        this.field = field;
+        this.reader = reader;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * @param record an ingested heartbeat.
+     * @return whether the heartbeat carries the metric.
+     */
+    public boolean isPresent(InstanceHeartbeatIngestRecord record) {
+        return record.has(field);
+    }
+
+    /**
+     * @param record an ingested heartbeat carrying the metric.
+     * @return the value of the metric.
+     */
+    public double read(InstanceHeartbeatIngestRecord record) {
+        return reader.applyAsDouble(record);
+    }
+
+    public static Optional<InstanceMetric> fromLabel(String label) {
+        return Arrays.stream(values()).filter(metric -> metric.label.equalsIgnoreCase(label)).findFirst();
+    }
+
+    public static Optional<InstanceMetric> fromCode(short code) {
+        return Arrays.stream(values()).filter(metric -> metric.code == code).findFirst();
+    }
+}
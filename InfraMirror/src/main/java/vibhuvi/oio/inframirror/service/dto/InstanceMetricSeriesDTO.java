@@ -0,0 +1,96 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * DTO for one hardware metric of an instance over a time window, as parallel arrays of timestamps in epoch seconds and
+ * values. With a {@code stepSeconds}, each point is the average of the samples of a step, stamped with its start.
+ */
+public class InstanceMetricSeriesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long instanceId;
+
+    private String name;
+
+    private Instant from;
+
+    private Instant to;
+
+    private Long stepSeconds;
+
+    private long[] timestamps;
+
+    private double[] values;
+
+    public Long getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(Long instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public Long getStepSeconds() {
+        return stepSeconds;
+    }
+
+    public void setStepSeconds(Long stepSeconds) {
+        this.stepSeconds = stepSeconds;
+    }
+
+    public long[] getTimestamps() {
+        return timestamps;
+    }
+
+    public void setTimestamps(long[] timestamps) {
+        this.timestamps = timestamps;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    public void setValues(double[] values) {
+        this.values = values;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InstanceMetricSeriesDTO{" +
+            "instanceId=" + getInstanceId() +
+            ", name='" + getName() + "'" +
+            ", from='" + getFrom() + "'" +
+            ", to='" + getTo() + "'" +
+            ", stepSeconds=" + getStepSeconds() +
+            ", points=" + (getTimestamps() != null ? getTimestamps().length : 0) +
+            "}";
+    }
+}
@@ -0,0 +1,11 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+/**
+ * Position in a listing read with keyset pagination. Clients get it as an opaque URL-safe string.
+ */
+public interface KeysetCursor {
+    /**
+     * @return the cursor as an opaque URL-safe string, decoded by the static {@code decode} of its type.
+     */
+    String encode();
+}
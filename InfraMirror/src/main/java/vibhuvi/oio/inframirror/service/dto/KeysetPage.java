@@ -0,0 +1,28 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of a listing read with keyset pagination, without a total count.
+ *
+ * @param content the items of the page.
+ * @param next the position of the next page, or {@code null} if this page is the last one.
+ */
+public record KeysetPage<T>(List<T> content, KeysetCursor next) {
+    /**
+     * @param rows up to {@code size + 1} rows read from the position of the page; one more than {@code size} tells
+     *             there is a next page.
+     * @param size the size of the page.
+     * @param cursorOf the position after a row.
+     * @param mapper the mapping of rows to items.
+     * @return the page.
+     */
+    public static <E, T> KeysetPage<T> of(List<E> rows, int size, Function<E, ? extends KeysetCursor> cursorOf, Function<E, T> mapper) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows.stream().map(mapper).toList(), null);
+        }
+        List<E> page = rows.subList(0, size);
+        return new KeysetPage<>(page.stream().map(mapper).toList(), cursorOf.apply(page.get(size - 1)));
+    }
+}
@@ -0,0 +1,10 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+/**
+ * How latency percentiles of a monitor are grouped: over all agents, per agent, or per region of the agents.
+ */
+public enum LatencyGroupBy {
+    MONITOR,
+    AGENT,
+    REGION,
+}
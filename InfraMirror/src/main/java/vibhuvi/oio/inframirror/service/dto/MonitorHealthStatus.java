@@ -0,0 +1,18 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+/**
+ * Status of a monitor in a region as derived from its heartbeats on ingest, from best to worst.
+ */
+public enum MonitorHealthStatus {
+    UP,
+    DEGRADED,
+    DOWN;
+
+    /**
+     * @param other another status, may be {@code null}.
+     * @return the worse of the two statuses.
+     */
+    public MonitorHealthStatus worst(MonitorHealthStatus other) {
+        return other != null && other.compareTo(this) > 0 ? other : this;
+    }
+}
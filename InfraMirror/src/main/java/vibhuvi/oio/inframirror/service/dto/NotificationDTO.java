@@ -0,0 +1,98 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO for a notification, as stored in the outbox and delivered to channels.
+ * <p>
+ * {@code key} identifies what is reported, e.g. one transition of one incident: a channel receives a key once.
+ * {@code subject} and {@code message} are plain text; {@code attributes} carry the same facts for webhooks.
+ */
+public class NotificationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private NotificationType type;
+
+    private String key;
+
+    private Long monitorId;
+
+    private String subject;
+
+    private String message;
+
+    private Instant occurredAt;
+
+    private Map<String, Object> attributes;
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public void setType(NotificationType type) {
+        this.type = type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NotificationDTO{" +
+            "type='" + getType() + "'" +
+            ", key='" + getKey() + "'" +
+            ", monitorId=" + getMonitorId() +
+            ", subject='" + getSubject() + "'" +
+            ", occurredAt='" + getOccurredAt() + "'" +
+            "}";
+    }
+}
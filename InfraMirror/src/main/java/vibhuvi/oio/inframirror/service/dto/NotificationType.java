@@ -0,0 +1,13 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+/**
+ * What a notification reports.
+ */
+public enum NotificationType {
+    /** The status of a monitor in a region changed. */
+    STATUS_CHANGED,
+    /** A monitor is still DOWN, sent every {@code resendNotificationCount} failed checks. */
+    STATUS_REMINDER,
+    /** The certificate of a monitor expires within its {@code certificateExpiryDays}. */
+    CERTIFICATE_EXPIRY,
+}
@@ -1,6 +1,7 @@
 package vibhuvi.oio.inframirror.service.dto;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -62,6 +63,8 @@ public class PublicStatusPageDTO implements Serializable {
         private Long monitorId;
         private String monitorName;
         private String url;
+        private String status;
+        private Instant statusSince;
         private Map<String, RegionHealth> regionHealth;
 
         public Long getMonitorId() {
@@ -88,6 +91,22 @@ public class PublicStatusPageDTO implements Serializable {
             this.url = url;
         }
 
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Instant getStatusSince() {
+            return statusSince;
+        }
+
+        public void setStatusSince(Instant statusSince) {
+            this.statusSince = statusSince;
+        }
+
         public Map<String, RegionHealth> getRegionHealth() {
             return regionHealth;
         }
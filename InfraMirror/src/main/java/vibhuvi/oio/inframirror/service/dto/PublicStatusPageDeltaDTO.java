@@ -0,0 +1,115 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO for the changes of a public status page since the previous stream event: the monitors whose status changed and
+ * the regions of monitors whose health changed. Anything else (monitors, regions, page settings) changing is sent as a
+ * full {@link PublicStatusPageDTO}.
+ */
+public class PublicStatusPageDeltaDTO implements Serializable {
+
+    private List<RegionChange> changes = new ArrayList<>();
+
+    private List<StatusChange> statuses = new ArrayList<>();
+
+    public static class StatusChange implements Serializable {
+        private Long monitorId;
+        private String status;
+        private Instant statusSince;
+
+        public StatusChange() {}
+
+        public StatusChange(Long monitorId, String status, Instant statusSince) {
+            this.monitorId = monitorId;
+            this.status = status;
+            this.statusSince = statusSince;
+        }
+
+        public Long getMonitorId() {
+            return monitorId;
+        }
+
+        public void setMonitorId(Long monitorId) {
+            this.monitorId = monitorId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public Instant getStatusSince() {
+            return statusSince;
+        }
+
+        public void setStatusSince(Instant statusSince) {
+            this.statusSince = statusSince;
+        }
+    }
+
+    public static class RegionChange implements Serializable {
+        private Long monitorId;
+        private String region;
+        private PublicStatusPageDTO.RegionHealth health;
+
+        public RegionChange() {}
+
+        public RegionChange(Long monitorId, String region, PublicStatusPageDTO.RegionHealth health) {
+            this.monitorId = monitorId;
+            this.region = region;
+            this.health = health;
+        }
+
+        public Long getMonitorId() {
+            return monitorId;
+        }
+
+        public void setMonitorId(Long monitorId) {
+            this.monitorId = monitorId;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public PublicStatusPageDTO.RegionHealth getHealth() {
+            return health;
+        }
+
+        public void setHealth(PublicStatusPageDTO.RegionHealth health) {
+            this.health = health;
+        }
+    }
+
+    public List<RegionChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<RegionChange> changes) {
+        this.changes = changes;
+    }
+
+    public List<StatusChange> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(List<StatusChange> statuses) {
+        this.statuses = statuses;
+    }
+
+    @Override
+    public String toString() {
+        return "PublicStatusPageDeltaDTO{" + "changes=" + changes.size() + ", statuses=" + statuses.size() + "}";
+    }
+}
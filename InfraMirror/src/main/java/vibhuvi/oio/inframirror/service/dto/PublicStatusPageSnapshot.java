@@ -0,0 +1,113 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * A rendered public status page: the serialized {@link PublicStatusPageDTO} together with what is needed to serve
+ * and invalidate it. Private pages are kept without a body so repeated requests for them are answered from memory.
+ */
+public final class PublicStatusPageSnapshot {
+
+    private final Long statusPageId;
+
+    private final boolean publicPage;
+
+    private final PublicStatusPageDTO page;
+
+    private final byte[] body;
+
+    private final String etag;
+
+    private final Set<Long> monitorIds;
+
+    private final Integer autoRefreshSeconds;
+
+    private final Instant renderedAt;
+
+    public PublicStatusPageSnapshot(
+        Long statusPageId,
+        boolean publicPage,
+        PublicStatusPageDTO page,
+        byte[] body,
+        String etag,
+        Set<Long> monitorIds,
+        Integer autoRefreshSeconds,
+        Instant renderedAt
+    ) {
+        this.statusPageId = statusPageId;
+        this.publicPage = publicPage;
+        this.page = page;
+        this.body = body;
+        this.etag = etag;
+        this.monitorIds = Set.copyOf(monitorIds);
+        this.autoRefreshSeconds = autoRefreshSeconds;
+        this.renderedAt = renderedAt;
+    }
+
+    public Long getStatusPageId() {
+        return statusPageId;
+    }
+
+    public boolean isPublicPage() {
+        return publicPage;
+    }
+
+    /**
+     * @return the page that {@link #getBody()} serializes, or {@code null} for a private page. Callers must not modify it.
+     */
+    public PublicStatusPageDTO getPage() {
+        return page;
+    }
+
+    /**
+     * @return the JSON body, or {@code null} for a private page. Callers must not modify it.
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return the quoted strong entity tag of the body, or {@code null} for a private page.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public Set<Long> getMonitorIds() {
+        return monitorIds;
+    }
+
+    public Integer getAutoRefreshSeconds() {
+        return autoRefreshSeconds;
+    }
+
+    /**
+     * @param maxAgeSeconds the configured upper bound.
+     * @return how long clients may reuse this page: the bound, lowered to the page's auto-refresh interval if it has one.
+     */
+    public int getMaxAgeSeconds(int maxAgeSeconds) {
+        return autoRefreshSeconds != null && autoRefreshSeconds > 0 ? Math.min(maxAgeSeconds, autoRefreshSeconds) : maxAgeSeconds;
+    }
+
+    public Instant getRenderedAt() {
+        return renderedAt;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "PublicStatusPageSnapshot{" +
+            "statusPageId=" +
+            statusPageId +
+            ", publicPage=" +
+            publicPage +
+            ", etag=" +
+            etag +
+            ", renderedAt='" +
+            renderedAt +
+            "'" +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Bucket width of the pre-aggregated HTTP heartbeat rollups, finest first.
+ */
+public enum RollupResolution {
+    MINUTE("1m", ChronoUnit.MINUTES),
+    HOUR("1h", ChronoUnit.HOURS),
+    DAY("1d", ChronoUnit.DAYS);
+
+    private final String label;
+    private final ChronoUnit unit;
+
+    RollupResolution(String label, ChronoUnit unit) {
+        this.label = label;
+        this.unit = unit;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Duration getStep() {
+        return unit.getDuration();
+    }
+
+    public LocalDateTime truncate(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+}
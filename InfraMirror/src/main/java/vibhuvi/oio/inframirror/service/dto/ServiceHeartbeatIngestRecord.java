@@ -0,0 +1,154 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import static vibhuvi.oio.inframirror.service.dto.IngestRecordParsing.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Flat ingest record for a service heartbeat submitted by an agent.
+ * Decoded token by token into primitive fields; see {@link InstanceHeartbeatIngestRecord}.
+ */
+@JsonDeserialize(using = ServiceHeartbeatIngestRecord.Deserializer.class)
+public final class ServiceHeartbeatIngestRecord {
+
+    public static final int MONITORED_SERVICE_ID = 1;
+    public static final int SERVICE_INSTANCE_ID = 1 << 1;
+    public static final int SUCCESS = 1 << 2;
+    public static final int RESPONSE_TIME_MS = 1 << 3;
+
+    private int present;
+    private long monitoredServiceId;
+    private long serviceInstanceId;
+    private Instant executedAt;
+    private boolean success;
+    private String status;
+    private int responseTimeMs;
+    private String errorMessage;
+    private String metadata;
+
+    public boolean has(int field) {
+        return (present & field) != 0;
+    }
+
+    public long getMonitoredServiceId() {
+        return monitoredServiceId;
+    }
+
+    public long getServiceInstanceId() {
+        return serviceInstanceId;
+    }
+
+    public Instant getExecutedAt() {
+        return executedAt;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public String getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Decode a record from the parser, which must be positioned on (or just before) the opening brace.
+     */
+    public static ServiceHeartbeatIngestRecord read(JsonParser p) throws IOException {
+        expectStartObject(p, ServiceHeartbeatIngestRecord.class);
+        ServiceHeartbeatIngestRecord r = new ServiceHeartbeatIngestRecord();
+        String name;
+        while ((name = p.nextFieldName()) != null) {
+            JsonToken token = p.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (name) {
+                case "monitoredServiceId" -> {
+                    if (isNumber(token)) {
+                        r.monitoredServiceId = p.getLongValue();
+                        r.present |= MONITORED_SERVICE_ID;
+                    }
+                }
+                case "serviceInstanceId" -> {
+                    if (isNumber(token)) {
+                        r.serviceInstanceId = p.getLongValue();
+                        r.present |= SERVICE_INSTANCE_ID;
+                    }
+                }
+                case "executedAt" -> {
+                    String text = readString(p, token, ServiceHeartbeatIngestRecord.class);
+                    try {
+                        r.executedAt = Instant.parse(text);
+                    } catch (DateTimeParseException e) {
+                        throw InvalidFormatException.from(p, "Invalid executedAt", text, Instant.class);
+                    }
+                }
+                case "success" -> {
+                    r.success = readBoolean(p, token, ServiceHeartbeatIngestRecord.class);
+                    r.present |= SUCCESS;
+                }
+                case "status" -> r.status = readString(p, token, ServiceHeartbeatIngestRecord.class);
+                case "responseTimeMs" -> {
+                    if (isNumber(token)) {
+                        r.responseTimeMs = p.getIntValue();
+                        r.present |= RESPONSE_TIME_MS;
+                    }
+                }
+                case "errorMessage" -> r.errorMessage = readString(p, token, ServiceHeartbeatIngestRecord.class);
+                case "metadata" -> r.metadata = readString(p, token, ServiceHeartbeatIngestRecord.class);
+                default -> p.skipChildren();
+            }
+        }
+        return r;
+    }
+
+    public static class Deserializer extends StdDeserializer<ServiceHeartbeatIngestRecord> {
+
+        public Deserializer() {
+            super(ServiceHeartbeatIngestRecord.class);
+        }
+
+        @Override
+        public ServiceHeartbeatIngestRecord deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return read(p);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "ServiceHeartbeatIngestRecord{" +
+            "monitoredServiceId=" +
+            monitoredServiceId +
+            ", executedAt='" +
+            executedAt +
+            "'" +
+            ", success=" +
+            success +
+            ", status='" +
+            status +
+            "'" +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,100 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a service level objective of an HTTP monitor and its current error budget.
+ * <p>
+ * {@code sli} is {@code AVAILABILITY} (successful checks) or {@code LATENCY} (successful checks answered within
+ * {@code thresholdMs}). {@code errorBudgetRemaining} is the share of the budget of the 30 day window still unspent, and
+ * goes negative once it is overspent.
+ */
+public class SloObjectiveDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long monitorId;
+
+    private String sli;
+
+    private double targetPercent;
+
+    private Integer thresholdMs;
+
+    private Double errorBudgetRemaining;
+
+    private String status;
+
+    private List<SloWindowDTO> windows = new ArrayList<>();
+
+    public Long getMonitorId() {
+        return monitorId;
+    }
+
+    public void setMonitorId(Long monitorId) {
+        this.monitorId = monitorId;
+    }
+
+    public String getSli() {
+        return sli;
+    }
+
+    public void setSli(String sli) {
+        this.sli = sli;
+    }
+
+    public double getTargetPercent() {
+        return targetPercent;
+    }
+
+    public void setTargetPercent(double targetPercent) {
+        this.targetPercent = targetPercent;
+    }
+
+    public Integer getThresholdMs() {
+        return thresholdMs;
+    }
+
+    public void setThresholdMs(Integer thresholdMs) {
+        this.thresholdMs = thresholdMs;
+    }
+
+    public Double getErrorBudgetRemaining() {
+        return errorBudgetRemaining;
+    }
+
+    public void setErrorBudgetRemaining(Double errorBudgetRemaining) {
+        this.errorBudgetRemaining = errorBudgetRemaining;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<SloWindowDTO> getWindows() {
+        return windows;
+    }
+
+    public void setWindows(List<SloWindowDTO> windows) {
+        this.windows = windows;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SloObjectiveDTO{" +
+            "monitorId=" + monitorId +
+            ", sli='" + sli + "'" +
+            ", targetPercent=" + targetPercent +
+            ", thresholdMs=" + thresholdMs +
+            ", errorBudgetRemaining=" + errorBudgetRemaining +
+            ", status='" + status + "'" +
+            "}";
+    }
+}
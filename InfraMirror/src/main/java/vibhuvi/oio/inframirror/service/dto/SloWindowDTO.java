@@ -0,0 +1,74 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * DTO for one rolling window of a service level objective: the good and total checks seen during the window, and how
+ * fast they burn the error budget ({@code 1} spends exactly the budget over the objective period).
+ */
+public class SloWindowDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String window;
+
+    private long good;
+
+    private long total;
+
+    private Double sliPercent;
+
+    private Double burnRate;
+
+    public String getWindow() {
+        return window;
+    }
+
+    public void setWindow(String window) {
+        this.window = window;
+    }
+
+    public long getGood() {
+        return good;
+    }
+
+    public void setGood(long good) {
+        this.good = good;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Double getSliPercent() {
+        return sliPercent;
+    }
+
+    public void setSliPercent(Double sliPercent) {
+        this.sliPercent = sliPercent;
+    }
+
+    public Double getBurnRate() {
+        return burnRate;
+    }
+
+    public void setBurnRate(Double burnRate) {
+        this.burnRate = burnRate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SloWindowDTO{" +
+            "window='" + window + "'" +
+            ", good=" + good +
+            ", total=" + total +
+            ", sliPercent=" + sliPercent +
+            ", burnRate=" + burnRate +
+            "}";
+    }
+}
@@ -0,0 +1,165 @@
+package vibhuvi.oio.inframirror.service.export;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link ExportWriter} for a compact columnar binary format, written in row groups of at most {@code rowGroupSize}
+ * rows so memory stays bounded whatever the number of rows.
+ * <pre>
+ * file      = "IMHX" version:u8 columnCount:varint column* group* 0:varint
+ * column    = nameLength:varint name:utf8 type:u8          (ordinal of {@link ExportColumn.Type})
+ * group     = rowCount:varint block*                        (one block per column, in column order)
+ * block     = presence:bitmap values                        (bit i set when the value of row i is not null)
+ * values    LONG       zig-zag varint of the difference with the previous value of the block (the first with 0)
+ *           TIMESTAMP  as LONG, in epoch milliseconds
+ *           INT        zig-zag varint
+ *           DOUBLE     8 bytes, big-endian IEEE 754
+ *           BOOLEAN    bitmap over the non-null values, bit set for true
+ *           STRING     length:varint utf8
+ * bitmap    = ceil(n / 8) bytes, least significant bit first
+ * </pre>
+ * Only the non-null values of a block are written. Ids and timestamps of consecutive rows are close to each other, so
+ * their deltas mostly take one or two bytes.
+ */
+public class ColumnarExportWriter implements ExportWriter {
+
+    static final byte[] MAGIC = { 'I', 'M', 'H', 'X' };
+    static final int VERSION = 1;
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+    private ExportColumn.Type[] types;
+    private Object[][] group;
+    private int rows;
+
+    public ColumnarExportWriter(OutputStream out, int rowGroupSize) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.rowGroupSize = Math.max(1, rowGroupSize);
+    }
+
+    @Override
+    public void begin(List<ExportColumn> columns) throws IOException {
+        types = columns.stream().map(ExportColumn::type).toArray(ExportColumn.Type[]::new);
+        group = new Object[columns.size()][rowGroupSize];
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        writeVarLong(columns.size());
+        for (ExportColumn column : columns) {
+            writeString(column.name());
+            out.writeByte(column.type().ordinal());
+        }
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            group[i][rows] = values[i];
+        }
+        if (++rows == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flushGroup();
+        writeVarLong(0);
+        out.flush();
+    }
+
+    private void flushGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        writeVarLong(rows);
+        for (int column = 0; column < types.length; column++) {
+            Object[] values = group[column];
+            writeBitmap(values, null);
+            switch (types[column]) {
+                case LONG, TIMESTAMP -> {
+                    long previous = 0;
+                    for (int row = 0; row < rows; row++) {
+                        if (values[row] != null) {
+                            long value = values[row] instanceof Instant instant ? instant.toEpochMilli() : (Long) values[row];
+                            writeVarLong(zigZag(value - previous));
+                            previous = value;
+                        }
+                    }
+                }
+                case INT -> {
+                    for (int row = 0; row < rows; row++) {
+                        if (values[row] != null) {
+                            writeVarLong(zigZag((Integer) values[row]));
+                        }
+                    }
+                }
+                case DOUBLE -> {
+                    for (int row = 0; row < rows; row++) {
+                        if (values[row] != null) {
+                            out.writeDouble((Double) values[row]);
+                        }
+                    }
+                }
+                case BOOLEAN -> writeBitmap(values, Boolean.TRUE);
+                case STRING -> {
+                    for (int row = 0; row < rows; row++) {
+                        if (values[row] != null) {
+                            writeString((String) values[row]);
+                        }
+                    }
+                }
+            }
+            Arrays.fill(values, 0, rows, null);
+        }
+        rows = 0;
+    }
+
+    /**
+     * Write one bit per row, set when the value is present, or for {@code match} when it is present and equal to it
+     * (in which case only present values get a bit).
+     */
+    private void writeBitmap(Object[] values, Object match) throws IOException {
+        int bits = 0;
+        int current = 0;
+        for (int row = 0; row < rows; row++) {
+            if (match != null && values[row] == null) {
+                continue;
+            }
+            if (match == null ? values[row] != null : match.equals(values[row])) {
+                current |= 1 << (bits & 7);
+            }
+            if ((++bits & 7) == 0) {
+                out.writeByte(current);
+                current = 0;
+            }
+        }
+        if ((bits & 7) != 0) {
+            out.writeByte(current);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
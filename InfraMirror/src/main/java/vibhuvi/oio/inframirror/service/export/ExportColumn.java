@@ -0,0 +1,24 @@
+package vibhuvi.oio.inframirror.service.export;
+
+/**
+ * A column of an export, with the Java type its values are passed to an {@link ExportWriter} as.
+ *
+ * @param name the name of the column in the export.
+ * @param type the type of its values.
+ */
+public record ExportColumn(String name, Type type) {
+    public enum Type {
+        /** {@link Long} values. */
+        LONG,
+        /** {@link Integer} values. */
+        INT,
+        /** {@link Double} values. */
+        DOUBLE,
+        /** {@link Boolean} values. */
+        BOOLEAN,
+        /** {@link java.time.Instant} values. */
+        TIMESTAMP,
+        /** {@link String} values. */
+        STRING,
+    }
+}
@@ -0,0 +1,24 @@
+package vibhuvi.oio.inframirror.service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes exported rows to a stream as they come, holding at most a bounded number of rows.
+ * <p>
+ * Values are {@code null} or of the Java type of the {@link ExportColumn.Type} of their column. The stream is flushed
+ * by {@link #finish()} but not closed.
+ */
+public interface ExportWriter {
+    /**
+     * @param columns the columns of every row, in order.
+     */
+    void begin(List<ExportColumn> columns) throws IOException;
+
+    /**
+     * @param values the values of a row; the array may be reused by the caller once this returns.
+     */
+    void row(Object[] values) throws IOException;
+
+    void finish() throws IOException;
+}
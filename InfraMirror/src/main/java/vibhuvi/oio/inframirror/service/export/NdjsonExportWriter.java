@@ -0,0 +1,56 @@
+package vibhuvi.oio.inframirror.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * {@link ExportWriter} for newline-delimited JSON: one object per row, keyed by column name, with {@code null} values
+ * kept and timestamps as ISO-8601 instants.
+ */
+public class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private String[] names;
+    private ExportColumn.Type[] types;
+
+    public NdjsonExportWriter(OutputStream out, JsonFactory jsonFactory) throws IOException {
+        this.generator = jsonFactory.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void begin(List<ExportColumn> columns) {
+        names = columns.stream().map(ExportColumn::name).toArray(String[]::new);
+        types = columns.stream().map(ExportColumn::type).toArray(ExportColumn.Type[]::new);
+    }
+
+    @Override
+    public void row(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(names[i]);
+            Object value = values[i];
+            if (value == null) {
+                generator.writeNull();
+                continue;
+            }
+            switch (types[i]) {
+                case LONG -> generator.writeNumber((Long) value);
+                case INT -> generator.writeNumber((Integer) value);
+                case DOUBLE -> generator.writeNumber((Double) value);
+                case BOOLEAN -> generator.writeBoolean((Boolean) value);
+                case TIMESTAMP, STRING -> generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,412 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.repository.SequenceIdAllocator;
+import vibhuvi.oio.inframirror.service.AgentAssignmentService;
+import vibhuvi.oio.inframirror.service.AgentLeaseService;
+import vibhuvi.oio.inframirror.service.dto.AgentAssignmentDTO;
+import vibhuvi.oio.inframirror.service.dto.AgentAssignmentsDTO;
+import vibhuvi.oio.inframirror.service.dto.AgentLeaseDTO;
+import vibhuvi.oio.inframirror.service.scheduling.ConsistentHashRing;
+
+/**
+ * Service Implementation for sharding monitors across agents.
+ * <p>
+ * Agents seen within {@code agentTimeoutSeconds} are grouped by region, each region getting its own
+ * {@link ConsistentHashRing}. HTTP monitors are checked from every region with a live agent; monitored services are
+ * checked from the region of their datacenter, or once across all agents when it has none. Each assignment gets a
+ * start offset derived from its hash, so checks sharing an interval do not all fire at the same moment.
+ * <p>
+ * Only the {@code agent_monitor} rows created by the scheduler are managed here; rows created by hand are left alone.
+ * Monitors an agent declared through {@link AgentMonitorSyncServiceImpl} are checked by that agent alone: they are not
+ * sharded, and their links are not returned as assignments.
+ * Changed rows take a new {@code assignment_version}, and removed ones are deactivated rather than deleted. Writers
+ * hold an exclusive advisory lock and readers a shared one, so a poll never sees half a rebalance and never skips a
+ * version committed after it. With several server nodes, only the node holding the {@value #REBALANCE_LEASE} lease
+ * rebalances, and it checks in the write transaction that the lease is still held with its fencing token, so a node
+ * that stalled past its lease cannot overwrite the assignments of the next holder.
+ */
+@Service
+public class AgentAssignmentServiceImpl implements AgentAssignmentService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AgentAssignmentServiceImpl.class);
+
+    static final String HTTP = "HTTP";
+    static final String SERVICE = "SERVICE";
+    static final String CREATED_BY = "scheduler";
+
+    static final String REBALANCE_LEASE = "agent-assignment-rebalance";
+
+    /** Advisory lock serializing assignment writes against polls; "agentmon" in ASCII. */
+    static final long LOCK_KEY = 0x6167656E746D6F6EL;
+
+    /** Region group of agents registered without a region, and of monitors checked once across all agents. */
+    private static final long NO_REGION = 0L;
+
+    private static final String LIVE_AGENTS_SQL = "SELECT id, region_id FROM agent WHERE last_seen_at >= ?";
+
+    /** Excludes the monitors an agent declared through a sync, which that agent checks on its own schedule. */
+    private static final String NOT_SYNCED_SQL =
+        "NOT EXISTS (SELECT 1 FROM agent_monitor am WHERE am.monitor_type = ? AND am.monitor_id = m.id AND am.active " +
+        "AND am.created_by = '" +
+        AgentMonitorSyncServiceImpl.CREATED_BY +
+        "')";
+
+    private static final String HTTP_MONITORS_SQL =
+        "SELECT m.id, m.interval_seconds FROM http_monitor m WHERE m.enabled IS NOT FALSE AND " + NOT_SYNCED_SQL;
+
+    private static final String SERVICES_SQL =
+        "SELECT m.id, m.interval_seconds, d.region_id FROM monitored_service m " +
+        "LEFT JOIN datacenter d ON d.id = m.datacenter_id " +
+        "WHERE m.monitoring_enabled IS NOT FALSE AND m.is_active IS NOT FALSE AND " +
+        NOT_SYNCED_SQL;
+
+    private static final String MANAGED_SQL =
+        "SELECT id, agent_id, monitor_type, monitor_id, interval_seconds, offset_ms, active FROM agent_monitor " +
+        "WHERE created_by = '" +
+        CREATED_BY +
+        "'";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO agent_monitor (id, active, created_by, created_date, agent_id, monitor_type, monitor_id, " +
+        "interval_seconds, offset_ms) VALUES (?, true, '" +
+        CREATED_BY +
+        "', ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+        "UPDATE agent_monitor SET active = ?, interval_seconds = ?, offset_ms = ?, last_modified_by = '" +
+        CREATED_BY +
+        "', last_modified_date = ?, assignment_version = nextval('agent_assignment_version_seq') WHERE id = ?";
+
+    private static final String ASSIGNMENTS_SQL =
+        "SELECT monitor_type, monitor_id, interval_seconds, offset_ms, active, assignment_version FROM agent_monitor " +
+        "WHERE agent_id = ? AND assignment_version > ? AND (active OR ?) AND created_by IS DISTINCT FROM '" +
+        AgentMonitorSyncServiceImpl.CREATED_BY +
+        "' ORDER BY assignment_version LIMIT ?";
+
+    private record AssignmentKey(long agentId, String monitorType, long monitorId) {}
+
+    private record Schedule(int intervalSeconds, int offsetMs) {}
+
+    private record ManagedRow(long id, AssignmentKey key, Integer intervalSeconds, Integer offsetMs, boolean active) {}
+
+    private record Change(long id, boolean active, int intervalSeconds, int offsetMs) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final AgentLeaseService agentLeaseService;
+    private final ApplicationProperties.Scheduler properties;
+
+    /** Lease holder id of this server node; negative so it never collides with an agent id. */
+    private final long nodeId = -1 - ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+
+    /** Fingerprint of the last assignment written, to skip rebalances when nothing changed. */
+    private volatile Long lastFingerprint;
+
+    public AgentAssignmentServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        SequenceIdAllocator sequenceIdAllocator,
+        PlatformTransactionManager transactionManager,
+        AgentLeaseService agentLeaseService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.agentLeaseService = agentLeaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getScheduler();
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${application.scheduler.rebalance-seconds:30}",
+        fixedDelayString = "${application.scheduler.rebalance-seconds:30}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void rebalance() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Duration leaseTtl = Duration.ofSeconds(2L * properties.getRebalanceSeconds() + 10);
+        Optional<AgentLeaseDTO> lease = agentLeaseService.acquire(REBALANCE_LEASE, nodeId, leaseTtl);
+        if (lease.isEmpty()) {
+            LOG.debug("Agent assignments are rebalanced by another node");
+            // Compare against the database again once this node takes over
+            lastFingerprint = null;
+            return;
+        }
+        long fencingToken = lease.get().getFencingToken();
+        Map<AssignmentKey, Schedule> desired = computeDesired();
+        long fingerprint = fingerprint(desired);
+        if (lastFingerprint != null && fingerprint == lastFingerprint) {
+            LOG.debug("Agent assignments unchanged ({} assignments)", desired.size());
+            return;
+        }
+        Integer changed = transactionTemplate.execute(status -> {
+            lock("pg_advisory_xact_lock");
+            return apply(fencingToken, desired);
+        });
+        if (changed == null) {
+            LOG.warn("Lost the {} lease before writing agent assignments", REBALANCE_LEASE);
+            lastFingerprint = null;
+            return;
+        }
+        lastFingerprint = fingerprint;
+        LOG.info("Rebalanced {} agent assignments, {} changed", desired.size(), changed);
+    }
+
+    @Override
+    public AgentAssignmentsDTO getAssignments(Long agentId, long since) {
+        LOG.debug("Request to get assignments of Agent {} since {}", agentId, since);
+        return readOnlyTransactionTemplate.execute(status -> {
+            lock("pg_advisory_xact_lock_shared");
+            long from = since;
+            if (from > 0) {
+                Long current = jdbcTemplate.queryForObject("SELECT last_value FROM agent_assignment_version_seq", Long.class);
+                if (current == null || from > current) {
+                    // The agent saw versions this database never issued, e.g. after a restore; start over
+                    from = 0;
+                }
+            }
+            boolean full = from <= 0;
+            int limit = Math.max(1, properties.getMaxAssignmentsPerPoll());
+            List<AgentAssignmentDTO> rows = jdbcTemplate.query(
+                ASSIGNMENTS_SQL,
+                (rs, rowNum) -> {
+                    AgentAssignmentDTO dto = new AgentAssignmentDTO();
+                    dto.setMonitorType(rs.getString(1));
+                    dto.setMonitorId(rs.getLong(2));
+                    dto.setIntervalSeconds(rs.getObject(3, Integer.class));
+                    dto.setOffsetMs(rs.getObject(4, Integer.class));
+                    dto.setActive(rs.getBoolean(5));
+                    dto.setVersion(rs.getLong(6));
+                    return dto;
+                },
+                agentId,
+                Math.max(0, from),
+                !full,
+                limit + 1
+            );
+            AgentAssignmentsDTO result = new AgentAssignmentsDTO();
+            result.setFull(full);
+            result.setMore(rows.size() > limit);
+            result.setAssignments(rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows);
+            List<AgentAssignmentDTO> assignments = result.getAssignments();
+            result.setVersion(assignments.isEmpty() ? Math.max(0, from) : assignments.get(assignments.size() - 1).getVersion());
+            return result;
+        });
+    }
+
+    private Map<AssignmentKey, Schedule> computeDesired() {
+        LocalDateTime liveSince = LocalDateTime.ofInstant(
+            Instant.now().minusSeconds(properties.getAgentTimeoutSeconds()),
+            ZoneOffset.UTC
+        );
+        Map<Long, List<Long>> agentsByRegion = new HashMap<>();
+        List<Long> allAgents = new ArrayList<>();
+        jdbcTemplate.query(
+            LIVE_AGENTS_SQL,
+            rs -> {
+                long agentId = rs.getLong(1);
+                long regionId = rs.getLong(2);
+                agentsByRegion.computeIfAbsent(rs.wasNull() ? NO_REGION : regionId, key -> new ArrayList<>()).add(agentId);
+                allAgents.add(agentId);
+            },
+            liveSince
+        );
+        Map<AssignmentKey, Schedule> desired = new HashMap<>();
+        if (allAgents.isEmpty()) {
+            return desired;
+        }
+        int virtualNodes = properties.getVirtualNodes();
+        Map<Long, ConsistentHashRing> rings = new HashMap<>();
+        agentsByRegion.forEach((regionId, agents) -> rings.put(regionId, ConsistentHashRing.of(agents, virtualNodes)));
+        ConsistentHashRing globalRing = ConsistentHashRing.of(allAgents, virtualNodes);
+
+        jdbcTemplate.query(
+            HTTP_MONITORS_SQL,
+            rs -> {
+                long monitorId = rs.getLong(1);
+                int intervalSeconds = rs.getInt(2);
+                for (ConsistentHashRing ring : rings.values()) {
+                    assign(desired, ring, HTTP, monitorId, intervalSeconds);
+                }
+            },
+            HTTP
+        );
+        jdbcTemplate.query(
+            SERVICES_SQL,
+            rs -> {
+                long serviceId = rs.getLong(1);
+                int intervalSeconds = rs.getInt(2);
+                long regionId = rs.getLong(3);
+                ConsistentHashRing ring = rs.wasNull() ? globalRing : rings.get(regionId);
+                if (ring != null) {
+                    assign(desired, ring, SERVICE, serviceId, intervalSeconds);
+                }
+            },
+            SERVICE
+        );
+        return desired;
+    }
+
+    private static void assign(Map<AssignmentKey, Schedule> desired, ConsistentHashRing ring, String type, long monitorId, int interval) {
+        long key = ConsistentHashRing.key(type, monitorId);
+        long agentId = ring.ownerOf(key);
+        int intervalSeconds = Math.max(1, interval);
+        int offsetMs = (int) Math.floorMod(ConsistentHashRing.mix(key ^ agentId), intervalSeconds * 1000L);
+        desired.put(new AssignmentKey(agentId, type, monitorId), new Schedule(intervalSeconds, offsetMs));
+    }
+
+    /**
+     * @return the number of rows written, or {@code null} if the lease is no longer held with {@code fencingToken}.
+     */
+    private Integer apply(long fencingToken, Map<AssignmentKey, Schedule> desired) {
+        if (!agentLeaseService.holds(REBALANCE_LEASE, nodeId, fencingToken)) {
+            return null;
+        }
+        Map<AssignmentKey, ManagedRow> current = new HashMap<>();
+        List<Change> changes = new ArrayList<>();
+        jdbcTemplate.query(
+            MANAGED_SQL,
+            rs -> {
+                ManagedRow row = new ManagedRow(
+                    rs.getLong(1),
+                    new AssignmentKey(rs.getLong(2), rs.getString(3), rs.getLong(4)),
+                    rs.getObject(5, Integer.class),
+                    rs.getObject(6, Integer.class),
+                    rs.getBoolean(7)
+                );
+                ManagedRow previous = current.putIfAbsent(row.key(), row);
+                if (previous != null && row.active()) {
+                    // Duplicate of a key already held; keep the first
+                    changes.add(new Change(row.id(), false, intervalOrZero(row), offsetOrZero(row)));
+                }
+            }
+        );
+
+        List<Map.Entry<AssignmentKey, Schedule>> inserts = new ArrayList<>();
+        for (Map.Entry<AssignmentKey, Schedule> entry : desired.entrySet()) {
+            ManagedRow row = current.get(entry.getKey());
+            Schedule schedule = entry.getValue();
+            if (row == null) {
+                inserts.add(entry);
+            } else if (
+                !row.active() ||
+                !Integer.valueOf(schedule.intervalSeconds()).equals(row.intervalSeconds()) ||
+                !Integer.valueOf(schedule.offsetMs()).equals(row.offsetMs())
+            ) {
+                changes.add(new Change(row.id(), true, schedule.intervalSeconds(), schedule.offsetMs()));
+            }
+        }
+        Set<AssignmentKey> removed = new HashSet<>(current.keySet());
+        removed.removeAll(desired.keySet());
+        for (AssignmentKey key : removed) {
+            ManagedRow row = current.get(key);
+            if (row.active()) {
+                changes.add(new Change(row.id(), false, intervalOrZero(row), offsetOrZero(row)));
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+        if (!changes.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                UPDATE_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Change change = changes.get(i);
+                        ps.setBoolean(1, change.active());
+                        ps.setInt(2, change.intervalSeconds());
+                        ps.setInt(3, change.offsetMs());
+                        ps.setTimestamp(4, now);
+                        ps.setLong(5, change.id());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return changes.size();
+                    }
+                }
+            );
+        }
+        if (!inserts.isEmpty()) {
+            long[] ids = sequenceIdAllocator.allocateIds(inserts.size());
+            jdbcTemplate.batchUpdate(
+                INSERT_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AssignmentKey key = inserts.get(i).getKey();
+                        Schedule schedule = inserts.get(i).getValue();
+                        ps.setLong(1, ids[i]);
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, key.agentId());
+                        ps.setString(4, key.monitorType());
+                        ps.setLong(5, key.monitorId());
+                        ps.setInt(6, schedule.intervalSeconds());
+                        ps.setInt(7, schedule.offsetMs());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }
+            );
+        }
+        return changes.size() + inserts.size();
+    }
+
+    private void lock(String function) {
+        jdbcTemplate.query("SELECT " + function + "(?)", (ResultSetExtractor<Void>) rs -> null, LOCK_KEY);
+    }
+
+    private static long fingerprint(Map<AssignmentKey, Schedule> desired) {
+        // Order-independent, so the map's iteration order does not matter
+        long fingerprint = desired.size();
+        for (Map.Entry<AssignmentKey, Schedule> entry : desired.entrySet()) {
+            AssignmentKey key = entry.getKey();
+            long h = ConsistentHashRing.key(key.monitorType(), key.monitorId()) ^ ConsistentHashRing.mix(key.agentId());
+            fingerprint += ConsistentHashRing.mix(h + entry.getValue().intervalSeconds());
+        }
+        return fingerprint;
+    }
+
+    private static int intervalOrZero(ManagedRow row) {
+        return row.intervalSeconds() != null ? row.intervalSeconds() : 0;
+    }
+
+    private static int offsetOrZero(ManagedRow row) {
+        return row.offsetMs() != null ? row.offsetMs() : 0;
+    }
+}
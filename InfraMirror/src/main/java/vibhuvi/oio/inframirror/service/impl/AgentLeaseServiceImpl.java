@@ -0,0 +1,164 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import vibhuvi.oio.inframirror.repository.SequenceIdAllocator;
+import vibhuvi.oio.inframirror.service.AgentLeaseService;
+import vibhuvi.oio.inframirror.service.dto.AgentLeaseDTO;
+
+/**
+ * Service Implementation for leases on named {@link vibhuvi.oio.inframirror.domain.AgentLock}s.
+ * <p>
+ * Acquiring is one {@code INSERT ... ON CONFLICT DO UPDATE ... WHERE} that only takes over an expired row, renewing
+ * and releasing are conditional on the fencing token, and tokens come from a sequence so they only grow. Leases
+ * granted through this node are also kept in memory: a renewal arriving while the lease still has more than half of
+ * the requested time left is answered from there, so agents renewing often cost no database write until it matters.
+ * {@link #holds} reads the row {@code FOR SHARE}, which blocks a takeover until the caller's transaction ends.
+ */
+@Service
+public class AgentLeaseServiceImpl implements AgentLeaseService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AgentLeaseServiceImpl.class);
+
+    private static final String NOW = "(now() AT TIME ZONE 'UTC')";
+
+    private static final String ACQUIRE_SQL =
+        "INSERT INTO agent_lock AS l (id, lock_name, agent_id, acquired_at, expires_at, fencing_token) " +
+        "VALUES (?, ?, ?, " +
+        NOW +
+        ", " +
+        NOW +
+        " + ? * INTERVAL '1 millisecond', nextval('agent_lock_fencing_token_seq')) " +
+        "ON CONFLICT (lock_name) DO UPDATE SET " +
+        "agent_id = EXCLUDED.agent_id, " +
+        "acquired_at = CASE WHEN l.agent_id = EXCLUDED.agent_id AND l.expires_at >= EXCLUDED.acquired_at " +
+        "THEN l.acquired_at ELSE EXCLUDED.acquired_at END, " +
+        "expires_at = EXCLUDED.expires_at, " +
+        "fencing_token = CASE WHEN l.agent_id = EXCLUDED.agent_id AND l.expires_at >= EXCLUDED.acquired_at " +
+        "THEN l.fencing_token ELSE EXCLUDED.fencing_token END " +
+        "WHERE l.expires_at < EXCLUDED.acquired_at OR l.agent_id = EXCLUDED.agent_id " +
+        "RETURNING agent_id, fencing_token, acquired_at, expires_at";
+
+    private static final String RENEW_SQL =
+        "UPDATE agent_lock SET expires_at = " +
+        NOW +
+        " + ? * INTERVAL '1 millisecond' " +
+        "WHERE lock_name = ? AND agent_id = ? AND fencing_token = ? AND expires_at >= " +
+        NOW +
+        " RETURNING agent_id, fencing_token, acquired_at, expires_at";
+
+    private static final String HOLDS_SQL =
+        "SELECT fencing_token FROM agent_lock WHERE lock_name = ? AND agent_id = ? AND fencing_token = ? AND expires_at >= " +
+        NOW +
+        " FOR SHARE";
+
+    private static final String RELEASE_SQL = "DELETE FROM agent_lock WHERE lock_name = ? AND agent_id = ? AND fencing_token = ?";
+
+    private static final String REAP_SQL = "DELETE FROM agent_lock WHERE lock_name IS NOT NULL AND expires_at < " + NOW;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+
+    /** Leases granted or renewed through this node, by name. */
+    private final Map<String, AgentLeaseDTO> heldLeases = new ConcurrentHashMap<>();
+
+    public AgentLeaseServiceImpl(JdbcTemplate jdbcTemplate, SequenceIdAllocator sequenceIdAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+    }
+
+    @Override
+    public Optional<AgentLeaseDTO> acquire(String name, Long holderId, Duration ttl) {
+        LOG.debug("Request to acquire lease {} for {}", name, holderId);
+        List<AgentLeaseDTO> rows = jdbcTemplate.query(
+            ACQUIRE_SQL,
+            (rs, rowNum) -> toLease(name, rs),
+            sequenceIdAllocator.nextId(),
+            name,
+            holderId,
+            ttl.toMillis()
+        );
+        return remember(name, holderId, rows);
+    }
+
+    @Override
+    public Optional<AgentLeaseDTO> renew(String name, Long holderId, long fencingToken, Duration ttl) {
+        AgentLeaseDTO held = heldLeases.get(name);
+        if (
+            held != null &&
+            held.getHolderId().equals(holderId) &&
+            held.getFencingToken() == fencingToken &&
+            Duration.between(Instant.now(), held.getExpiresAt()).compareTo(ttl.dividedBy(2)) > 0
+        ) {
+            return Optional.of(held);
+        }
+        LOG.debug("Request to renew lease {} for {}", name, holderId);
+        List<AgentLeaseDTO> rows = jdbcTemplate.query(
+            RENEW_SQL,
+            (rs, rowNum) -> toLease(name, rs),
+            ttl.toMillis(),
+            name,
+            holderId,
+            fencingToken
+        );
+        return remember(name, holderId, rows);
+    }
+
+    @Override
+    public boolean release(String name, Long holderId, long fencingToken) {
+        LOG.debug("Request to release lease {} for {}", name, holderId);
+        heldLeases.computeIfPresent(name, (key, held) -> held.getFencingToken() == fencingToken ? null : held);
+        return jdbcTemplate.update(RELEASE_SQL, name, holderId, fencingToken) > 0;
+    }
+
+    @Override
+    public boolean holds(String name, Long holderId, long fencingToken) {
+        return !jdbcTemplate.queryForList(HOLDS_SQL, Long.class, name, holderId, fencingToken).isEmpty();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${application.lease.reap-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void reapExpired() {
+        Instant now = Instant.now();
+        heldLeases.values().removeIf(held -> held.getExpiresAt().isBefore(now));
+        int deleted = jdbcTemplate.update(REAP_SQL);
+        if (deleted > 0) {
+            LOG.debug("Reaped {} expired leases", deleted);
+        }
+    }
+
+    private Optional<AgentLeaseDTO> remember(String name, Long holderId, List<AgentLeaseDTO> rows) {
+        if (rows.isEmpty()) {
+            // Only forget the caller's own lease; a stale or competing request says nothing about the current holder
+            heldLeases.computeIfPresent(name, (key, held) -> held.getHolderId().equals(holderId) ? null : held);
+            return Optional.empty();
+        }
+        AgentLeaseDTO lease = rows.get(0);
+        heldLeases.put(name, lease);
+        return Optional.of(lease);
+    }
+
+    private static AgentLeaseDTO toLease(String name, ResultSet rs) throws SQLException {
+        return new AgentLeaseDTO(
+            name,
+            rs.getLong(1),
+            rs.getLong(2),
+            rs.getObject(3, LocalDateTime.class).toInstant(ZoneOffset.UTC),
+            rs.getObject(4, LocalDateTime.class).toInstant(ZoneOffset.UTC)
+        );
+    }
+}
@@ -0,0 +1,562 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.AgentLivenessService;
+import vibhuvi.oio.inframirror.service.AgentStatusChangedEvent;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.scheduling.TimingWheel;
+
+/**
+ * Service Implementation of {@link AgentLivenessService}.
+ * <p>
+ * Last-seen times live in an {@link AtomicLongArray} indexed through a primitive agent id map that is copied on the
+ * rare insertion of a new agent, so recording a sign of life is one map lookup and one atomic store without locks.
+ * A store racing with a copy is not lost: the writer retries on the new table if it changed, and the copier merges
+ * the old arrays again once the new table is published (last-seen times only grow, so merging twice is harmless).
+ * A single "agent-liveness" thread owns everything else: it writes the changed times to {@code agent.last_seen_at} in
+ * one statement every {@code flushSeconds}, and ticks a {@link TimingWheel} holding each tracked agent at its next
+ * deadline, so detecting missed heartbeats only visits agents that are due. Before an agent is marked down, its
+ * {@code last_seen_at} is read back, since with several server nodes it may have been seen by another one. The status
+ * changes of a tick are written in one transaction and published as {@link AgentStatusChangedEvent}s once it commits.
+ */
+@Service
+public class AgentLivenessServiceImpl implements AgentLivenessService, HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AgentLivenessServiceImpl.class);
+
+    private static final int S_ACTIVE = 0;
+    private static final int S_STALE = 1;
+    private static final int S_OFFLINE = 2;
+    private static final int S_INACTIVE = 3;
+    private static final String[] STATUS_NAMES = { ACTIVE, STALE, OFFLINE, INACTIVE };
+
+    private static final String LOAD_SQL = "SELECT id, last_seen_at, status FROM agent";
+
+    private static final String LAST_SEEN_SQL = "SELECT id, last_seen_at FROM agent WHERE id = ANY(?::bigint[])";
+
+    private static final String FLUSH_SQL =
+        "UPDATE agent AS a SET last_seen_at = GREATEST(a.last_seen_at, to_timestamp(v.seen / 1000.0) AT TIME ZONE 'UTC') " +
+        "FROM unnest(?::bigint[], ?::bigint[]) AS v(id, seen) WHERE a.id = v.id RETURNING a.id";
+
+    private static final String STATUS_SQL =
+        "UPDATE agent SET status = ? WHERE id = ANY(?::bigint[]) AND status IS DISTINCT FROM '" + INACTIVE + "'";
+
+    /**
+     * The tracked agents. Replaced as a whole when an agent is added or removed; the arrays are shared with the
+     * previous table unless they had to grow.
+     */
+    private static final class Table {
+
+        private final LongIntHashMap index;
+        private final long[] ids;
+        private final AtomicLongArray lastSeen;
+        private final AtomicLongArray flushed;
+        private final AtomicIntegerArray status;
+        private final int size;
+
+        private Table(LongIntHashMap index, long[] ids, AtomicLongArray lastSeen, AtomicLongArray flushed, AtomicIntegerArray status, int size) {
+            this.index = index;
+            this.ids = ids;
+            this.lastSeen = lastSeen;
+            this.flushed = flushed;
+            this.status = status;
+            this.size = size;
+        }
+    }
+
+    private record Change(long agentId, int previous, int next, long lastSeenMillis) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationProperties.AgentLiveness properties;
+    private final long staleAfterMillis;
+    private final long offlineAfterMillis;
+    private final Object tableLock = new Object();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private volatile Table table = new Table(new LongIntHashMap(), new long[16], new AtomicLongArray(16), new AtomicLongArray(16), new AtomicIntegerArray(16), 0);
+
+    // Owned by the agent-liveness thread
+    private final TimingWheel wheel;
+    private final LongHashSet scheduled = new LongHashSet();
+
+    private ScheduledExecutorService scheduler;
+
+    public AgentLivenessServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getAgentLiveness();
+        long interval = properties.getHeartbeatIntervalSeconds() * 1000L;
+        this.staleAfterMillis = interval * properties.getStaleAfterMissedHeartbeats();
+        this.offlineAfterMillis = Math.max(staleAfterMillis, interval * properties.getOfflineAfterMissedHeartbeats());
+        long tickMillis = Math.max(10, properties.getTickMillis());
+        this.wheel = new TimingWheel(
+            Math.max(64, (int) Math.min(4096, offlineAfterMillis / tickMillis + 1)),
+            tickMillis,
+            System.currentTimeMillis()
+        );
+
+        for (int status : new int[] { S_ACTIVE, S_STALE, S_OFFLINE }) {
+            Gauge.builder("inframirror.agents", this, service -> service.count(status))
+                .description("Tracked agents by liveness status")
+                .tag("status", STATUS_NAMES[status].toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<long[]> rows = new ArrayList<>();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            rows.add(new long[] { rs.getLong(1), toMillis(rs.getTimestamp(2)), statusCode(rs.getString(3)) });
+        });
+        synchronized (tableLock) {
+            for (long[] row : rows) {
+                Table t = insert(row[0]);
+                int slot = t.index.get(row[0]);
+                t.lastSeen.accumulateAndGet(slot, row[1], Math::max);
+                t.flushed.set(slot, row[1]);
+                t.status.set(slot, (int) row[2]);
+                pending.add(row[0]);
+            }
+        }
+        long tickMillis = Math.max(10, properties.getTickMillis());
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "agent-liveness");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+        long flushSeconds = Math.max(1, properties.getFlushSeconds());
+        scheduler.scheduleWithFixedDelay(this::flush, flushSeconds, flushSeconds, TimeUnit.SECONDS);
+        LOG.info("Tracking liveness of {} agents", rows.size());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            flush();
+        }
+    }
+
+    @Override
+    public void recordSeen(Long agentId) {
+        if (agentId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Table t = table;
+        int slot;
+        while (true) {
+            slot = t.index.getOrDefault(agentId, -1);
+            if (slot < 0) {
+                synchronized (tableLock) {
+                    t = insert(agentId);
+                    slot = t.index.get(agentId);
+                }
+                pending.add(agentId);
+            }
+            t.lastSeen.accumulateAndGet(slot, now, Math::max);
+            Table current = table;
+            if (current == t) {
+                break;
+            }
+            // Replaced meanwhile; the copy may have been taken before the store
+            t = current;
+        }
+        int status = t.status.get(slot);
+        if (status == S_STALE || status == S_OFFLINE) {
+            pending.add(agentId);
+        }
+    }
+
+    @Override
+    public Optional<Instant> getLastSeen(Long agentId) {
+        Table t = table;
+        int slot = t.index.getOrDefault(agentId, -1);
+        long lastSeen = slot < 0 ? 0L : t.lastSeen.get(slot);
+        return lastSeen > 0 ? Optional.of(Instant.ofEpochMilli(lastSeen)) : Optional.empty();
+    }
+
+    @Override
+    public void forget(Long agentId) {
+        forget(Set.of(agentId));
+    }
+
+    @Override
+    public void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        Set<Long> agentIds = new HashSet<>();
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            if (heartbeat.getAgent() != null && heartbeat.getAgent().getId() != null) {
+                agentIds.add(heartbeat.getAgent().getId());
+            }
+        }
+        agentIds.forEach(this::recordSeen);
+    }
+
+    /**
+     * Write the last-seen times recorded since the previous flush.
+     */
+    void flush() {
+        Table t = table;
+        long[] ids = new long[t.size];
+        long[] seen = new long[t.size];
+        int n = 0;
+        for (int slot = 0; slot < t.size; slot++) {
+            long lastSeen = t.lastSeen.get(slot);
+            if (lastSeen > t.flushed.get(slot)) {
+                ids[n] = t.ids[slot];
+                seen[n++] = lastSeen;
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+        Long[] idArray = Arrays.stream(ids, 0, n).boxed().toArray(Long[]::new);
+        Long[] seenArray = Arrays.stream(seen, 0, n).boxed().toArray(Long[]::new);
+        try {
+            List<Long> updated = jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(FLUSH_SQL);
+                    ps.setArray(1, con.createArrayOf("bigint", idArray));
+                    ps.setArray(2, con.createArrayOf("bigint", seenArray));
+                    return ps;
+                },
+                (rs, rowNum) -> rs.getLong(1)
+            );
+            for (int i = 0; i < n; i++) {
+                int slot = t.index.get(ids[i]);
+                t.flushed.accumulateAndGet(slot, seen[i], Math::max);
+            }
+            if (updated.size() < n) {
+                // Signs of life from agents that do not exist (any more)
+                Set<Long> unknown = new HashSet<>(Arrays.asList(idArray));
+                updated.forEach(unknown::remove);
+                forget(unknown);
+            }
+            LOG.debug("Recorded last seen time of {} agents", updated.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to record last seen time of {} agents: {}", n, e.getMessage());
+        }
+    }
+
+    void tick() {
+        tick(System.currentTimeMillis());
+    }
+
+    /**
+     * Apply the signs of life of agents that were down or new, then the deadlines that passed by {@code now}.
+     */
+    void tick(long now) {
+        try {
+            Table t = table;
+            List<Change> changes = new ArrayList<>();
+            List<Integer> suspects = new ArrayList<>();
+            for (Long agentId : pending) {
+                pending.remove(agentId);
+                int slot = t.index.getOrDefault(agentId, -1);
+                if (slot >= 0) {
+                    check(t, slot, now, changes, suspects);
+                }
+            }
+            wheel.advance(now, agentId -> {
+                scheduled.remove(agentId);
+                int slot = t.index.getOrDefault(agentId, -1);
+                if (slot >= 0) {
+                    check(t, slot, now, changes, suspects);
+                }
+            });
+            if (!suspects.isEmpty()) {
+                refreshLastSeen(t, suspects);
+                for (int slot : suspects) {
+                    check(t, slot, now, changes, null);
+                }
+            }
+            if (!changes.isEmpty()) {
+                carryStatuses(t, changes);
+                store(changes);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to check agent liveness: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Move an agent to the status matching its last-seen time and schedule its next deadline.
+     *
+     * @param suspects if not {@code null}, agents to be marked down are added here instead, to be checked again
+     *     once their last-seen time was read back.
+     */
+    private void check(Table t, int slot, long now, List<Change> changes, List<Integer> suspects) {
+        long agentId = t.ids[slot];
+        int status = t.status.get(slot);
+        long lastSeen = t.lastSeen.get(slot);
+        if (status == S_INACTIVE || lastSeen == 0L) {
+            return;
+        }
+        int next;
+        long deadline;
+        if (now < lastSeen + staleAfterMillis) {
+            next = S_ACTIVE;
+            deadline = lastSeen + staleAfterMillis;
+        } else if (now < lastSeen + offlineAfterMillis) {
+            next = status == S_OFFLINE ? S_OFFLINE : S_STALE;
+            deadline = status == S_OFFLINE ? 0L : lastSeen + offlineAfterMillis;
+        } else {
+            next = S_OFFLINE;
+            deadline = 0L;
+        }
+        if (suspects != null && next != S_ACTIVE && next != status) {
+            suspects.add(slot);
+            return;
+        }
+        if (next != status) {
+            t.status.set(slot, next);
+            changes.add(new Change(agentId, status, next, lastSeen));
+            if (next != S_ACTIVE && t.lastSeen.get(slot) != lastSeen) {
+                // Seen while the status was changing, after recordSeen checked it
+                pending.add(agentId);
+            }
+        }
+        if (deadline > 0 && scheduled.add(agentId)) {
+            wheel.schedule(agentId, deadline);
+        }
+    }
+
+    /**
+     * Statuses are only written by this thread, but into the table read at the start of the tick; if the table was
+     * replaced meanwhile, the copy may predate them.
+     */
+    private void carryStatuses(Table t, List<Change> changes) {
+        synchronized (tableLock) {
+            Table current = table;
+            if (current == t) {
+                return;
+            }
+            for (Change change : changes) {
+                int slot = current.index.getOrDefault(change.agentId(), -1);
+                if (slot >= 0) {
+                    current.status.set(slot, change.next());
+                }
+            }
+        }
+    }
+
+    private void refreshLastSeen(Table t, List<Integer> slots) {
+        Long[] agentIds = slots.stream().map(slot -> t.ids[slot]).toArray(Long[]::new);
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(LAST_SEEN_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", agentIds));
+                return ps;
+            },
+            rs -> {
+                int slot = t.index.getOrDefault(rs.getLong(1), -1);
+                long lastSeen = toMillis(rs.getTimestamp(2));
+                if (slot >= 0 && lastSeen > 0) {
+                    t.lastSeen.accumulateAndGet(slot, lastSeen, Math::max);
+                    t.flushed.accumulateAndGet(slot, lastSeen, Math::max);
+                }
+            }
+        );
+    }
+
+    private void store(List<Change> changes) {
+        Map<Integer, List<Long>> byStatus = new TreeMap<>();
+        for (Change change : changes) {
+            byStatus.computeIfAbsent(change.next(), key -> new ArrayList<>()).add(change.agentId());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                byStatus.forEach((status, agentIds) ->
+                    jdbcTemplate.update(con -> {
+                        PreparedStatement ps = con.prepareStatement(STATUS_SQL);
+                        ps.setString(1, STATUS_NAMES[status]);
+                        ps.setArray(2, con.createArrayOf("bigint", agentIds.toArray()));
+                        return ps;
+                    })
+                );
+                afterCommit(() -> changes.forEach(this::publish));
+            });
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to store the status of {} agents: {}", changes.size(), e.getMessage());
+        }
+    }
+
+    private void publish(Change change) {
+        Instant lastSeenAt = Instant.ofEpochMilli(change.lastSeenMillis());
+        LOG.info(
+            "Agent {} is now {} (was {}), last seen {}",
+            change.agentId(),
+            STATUS_NAMES[change.next()],
+            STATUS_NAMES[change.previous()],
+            lastSeenAt
+        );
+        eventPublisher.publishEvent(
+            new AgentStatusChangedEvent(change.agentId(), STATUS_NAMES[change.previous()], STATUS_NAMES[change.next()], lastSeenAt)
+        );
+    }
+
+    /**
+     * Add an agent to the table, must hold {@link #tableLock}.
+     */
+    private Table insert(long agentId) {
+        Table t = table;
+        if (t.index.containsKey(agentId)) {
+            return t;
+        }
+        int slot = t.size;
+        Table next;
+        if (slot < t.ids.length) {
+            next = new Table(t.index.clone(), t.ids, t.lastSeen, t.flushed, t.status, slot + 1);
+        } else {
+            int capacity = t.ids.length * 2;
+            next = new Table(
+                t.index.clone(),
+                Arrays.copyOf(t.ids, capacity),
+                copy(t.lastSeen, capacity),
+                copy(t.flushed, capacity),
+                copy(t.status, capacity),
+                slot + 1
+            );
+        }
+        next.ids[slot] = agentId;
+        next.index.put(agentId, slot);
+        table = next;
+        if (next.lastSeen != t.lastSeen) {
+            carryOver(t, next);
+        }
+        return next;
+    }
+
+    private void forget(Set<Long> agentIds) {
+        synchronized (tableLock) {
+            Table t = table;
+            int capacity = t.ids.length;
+            Table next = new Table(
+                new LongIntHashMap(),
+                new long[capacity],
+                new AtomicLongArray(capacity),
+                new AtomicLongArray(capacity),
+                new AtomicIntegerArray(capacity),
+                t.size - (int) agentIds.stream().filter(t.index::containsKey).count()
+            );
+            int slot = 0;
+            for (int i = 0; i < t.size; i++) {
+                if (!agentIds.contains(t.ids[i])) {
+                    next.ids[slot] = t.ids[i];
+                    next.index.put(t.ids[i], slot);
+                    next.lastSeen.set(slot, t.lastSeen.get(i));
+                    next.flushed.set(slot, t.flushed.get(i));
+                    next.status.set(slot, t.status.get(i));
+                    slot++;
+                }
+            }
+            table = next;
+            carryOver(t, next);
+        }
+    }
+
+    /**
+     * Merge the times stored into {@code from} after it was copied, once {@code to} is published: later stores see
+     * the new table and retry there. Must hold {@link #tableLock}.
+     */
+    private static void carryOver(Table from, Table to) {
+        for (int i = 0; i < from.size; i++) {
+            int slot = to.index.getOrDefault(from.ids[i], -1);
+            if (slot >= 0) {
+                to.lastSeen.accumulateAndGet(slot, from.lastSeen.get(i), Math::max);
+                to.flushed.accumulateAndGet(slot, from.flushed.get(i), Math::max);
+            }
+        }
+    }
+
+    private int count(int status) {
+        Table t = table;
+        int count = 0;
+        for (int slot = 0; slot < t.size; slot++) {
+            if (t.status.get(slot) == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long toMillis(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+
+    private static int statusCode(String status) {
+        if (status == null) {
+            return S_ACTIVE;
+        }
+        return switch (status) {
+            case STALE -> S_STALE;
+            case OFFLINE -> S_OFFLINE;
+            case INACTIVE -> S_INACTIVE;
+            default -> S_ACTIVE;
+        };
+    }
+
+    private static AtomicLongArray copy(AtomicLongArray source, int capacity) {
+        AtomicLongArray copy = new AtomicLongArray(capacity);
+        for (int i = 0; i < source.length(); i++) {
+            copy.set(i, source.get(i));
+        }
+        return copy;
+    }
+
+    private static AtomicIntegerArray copy(AtomicIntegerArray source, int capacity) {
+        AtomicIntegerArray copy = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < source.length(); i++) {
+            copy.set(i, source.get(i));
+        }
+        return copy;
+    }
+}
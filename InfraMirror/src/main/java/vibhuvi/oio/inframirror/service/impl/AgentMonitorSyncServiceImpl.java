@@ -0,0 +1,596 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.repository.SequenceIdAllocator;
+import vibhuvi.oio.inframirror.service.AgentMonitorSyncService;
+import vibhuvi.oio.inframirror.service.HttpMonitorCertificateService;
+import vibhuvi.oio.inframirror.service.HttpMonitorIncidentService;
+import vibhuvi.oio.inframirror.service.PublicStatusPageService;
+import vibhuvi.oio.inframirror.service.StatusDependencyService;
+import vibhuvi.oio.inframirror.service.dto.AgentMonitorSyncDTO;
+import vibhuvi.oio.inframirror.service.dto.AgentMonitorSyncResultDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorDTO;
+import vibhuvi.oio.inframirror.service.dto.MonitoredServiceDTO;
+
+/**
+ * Service Implementation for syncing the monitors an agent declares.
+ * <p>
+ * Each declared monitor is reduced to the values of the columns the agent controls. The stored monitors with the
+ * declared names are loaded in one query per kind, and only those whose values differ are written, inserts and updates
+ * each in one JDBC batch. The agent is linked to its monitors by {@code agent_monitor} rows created by
+ * {@value #CREATED_BY}; a monitor left out of a later sync loses its link and is disabled once no agent declares it
+ * anymore. Syncs take the same advisory lock as {@link AgentAssignmentServiceImpl}, so concurrent syncs of the same
+ * names never create duplicates and polls never see half a sync.
+ * <p>
+ * The SHA-256 of the declared values is the config version. It is stored on the agent, and a sync with the same
+ * version only looks up the ids.
+ * <p>
+ * Monitors are written with JDBC rather than through {@code HttpMonitorService}, so the caches holding monitor
+ * settings (status pages, dependency topologies, incident and certificate policies) are evicted here for the monitors
+ * updated or disabled, once the sync commits.
+ */
+@Service
+public class AgentMonitorSyncServiceImpl implements AgentMonitorSyncService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AgentMonitorSyncServiceImpl.class);
+
+    static final String CREATED_BY = "agent-sync";
+
+    /** Columns of a monitor set from its declaration, in the order of the declared values. */
+    private record Kind(String monitorType, String table, List<String> columns, Set<String> jsonColumns, String activeColumn, boolean timestamps) {
+        String selectSql() {
+            return "SELECT id, " + String.join(", ", columns) + " FROM " + table + " WHERE name = ANY(?) ORDER BY id";
+        }
+
+        String idsSql() {
+            return "SELECT DISTINCT ON (name) name, id FROM " + table + " WHERE name = ANY(?) ORDER BY name, id";
+        }
+
+        String insertSql() {
+            String placeholders = columns.stream().map(this::placeholder).collect(Collectors.joining(", "));
+            return (
+                "INSERT INTO " +
+                table +
+                " (id, " +
+                String.join(", ", columns) +
+                (timestamps ? ", created_at, updated_at" : "") +
+                ") VALUES (?, " +
+                placeholders +
+                (timestamps ? ", ?, ?" : "") +
+                ")"
+            );
+        }
+
+        String updateSql() {
+            String assignments = columns.stream().map(column -> column + " = " + placeholder(column)).collect(Collectors.joining(", "));
+            return "UPDATE " + table + " SET " + assignments + (timestamps ? ", updated_at = ?" : "") + " WHERE id = ?";
+        }
+
+        String disableSql() {
+            return (
+                "UPDATE " +
+                table +
+                " m SET " +
+                activeColumn +
+                " = false WHERE m.id = ANY(?) AND NOT EXISTS (SELECT 1 FROM agent_monitor am " +
+                "WHERE am.monitor_type = ? AND am.monitor_id = m.id AND am.active AND am.created_by = '" +
+                CREATED_BY +
+                "')"
+            );
+        }
+
+        private String placeholder(String column) {
+            return jsonColumns.contains(column) ? "?::jsonb" : "?";
+        }
+    }
+
+    private static final Kind HTTP_KIND = new Kind(
+        AgentAssignmentServiceImpl.HTTP,
+        "http_monitor",
+        List.of(
+            "name",
+            "method",
+            "type",
+            "url",
+            "headers",
+            "body",
+            "interval_seconds",
+            "timeout_seconds",
+            "retry_count",
+            "retry_delay_seconds",
+            "response_time_warning_ms",
+            "response_time_critical_ms",
+            "uptime_warning_percent",
+            "uptime_critical_percent",
+            "include_response_body",
+            "resend_notification_count",
+            "certificate_expiry_days",
+            "ignore_tls_error",
+            "check_ssl_certificate",
+            "check_dns_resolution",
+            "upside_down_mode",
+            "max_redirects",
+            "description",
+            "tags",
+            "enabled",
+            "expected_status_codes",
+            "performance_budget_ms",
+            "size_budget_kb"
+        ),
+        Set.of("headers", "body"),
+        "enabled",
+        false
+    );
+
+    private static final Kind SERVICE_KIND = new Kind(
+        AgentAssignmentServiceImpl.SERVICE,
+        "monitored_service",
+        List.of(
+            "name",
+            "description",
+            "service_type",
+            "environment",
+            "monitoring_enabled",
+            "cluster_monitoring_enabled",
+            "interval_seconds",
+            "timeout_ms",
+            "retry_count",
+            "latency_warning_ms",
+            "latency_critical_ms",
+            "advanced_config",
+            "is_active",
+            "datacenter_id"
+        ),
+        Set.of(),
+        "is_active",
+        true
+    );
+
+    private static final String VERSION_SQL = "SELECT monitor_config_version FROM agent WHERE id = ?";
+
+    private static final String SET_VERSION_SQL = "UPDATE agent SET monitor_config_version = ? WHERE id = ?";
+
+    private static final String LINKS_SQL =
+        "SELECT id, monitor_type, monitor_id, active FROM agent_monitor WHERE agent_id = ? AND created_by = '" + CREATED_BY + "'";
+
+    private static final String INSERT_LINK_SQL =
+        "INSERT INTO agent_monitor (id, active, created_by, created_date, agent_id, monitor_type, monitor_id) " +
+        "VALUES (?, true, '" +
+        CREATED_BY +
+        "', ?, ?, ?, ?)";
+
+    private static final String UPDATE_LINK_SQL =
+        "UPDATE agent_monitor SET active = ?, last_modified_by = '" +
+        CREATED_BY +
+        "', last_modified_date = ?, assignment_version = nextval('agent_assignment_version_seq') WHERE id = ?";
+
+    private record LinkKey(String monitorType, long monitorId) {}
+
+    private record Link(long id, boolean active) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PublicStatusPageService publicStatusPageService;
+    private final StatusDependencyService statusDependencyService;
+    private final HttpMonitorIncidentService httpMonitorIncidentService;
+    private final HttpMonitorCertificateService httpMonitorCertificateService;
+
+    public AgentMonitorSyncServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        SequenceIdAllocator sequenceIdAllocator,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        PublicStatusPageService publicStatusPageService,
+        StatusDependencyService statusDependencyService,
+        HttpMonitorIncidentService httpMonitorIncidentService,
+        HttpMonitorCertificateService httpMonitorCertificateService
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.publicStatusPageService = publicStatusPageService;
+        this.statusDependencyService = statusDependencyService;
+        this.httpMonitorIncidentService = httpMonitorIncidentService;
+        this.httpMonitorCertificateService = httpMonitorCertificateService;
+    }
+
+    @Override
+    public AgentMonitorSyncResultDTO sync(Long agentId, AgentMonitorSyncDTO desired) {
+        LOG.debug("Request to sync the monitors of Agent {}", agentId);
+        Map<String, Object[]> httpMonitors = new LinkedHashMap<>();
+        for (HttpMonitorDTO monitor : desired.getHttpMonitors()) {
+            declare(httpMonitors, monitor.getName(), httpValues(monitor));
+        }
+        Map<String, Object[]> services = new LinkedHashMap<>();
+        for (MonitoredServiceDTO service : desired.getMonitoredServices()) {
+            declare(services, service.getName(), serviceValues(service));
+        }
+
+        AgentMonitorSyncResultDTO result = new AgentMonitorSyncResultDTO();
+        String version = configVersion(httpMonitors, services);
+        result.setConfigVersion(version);
+        List<String> previous = jdbcTemplate.queryForList(VERSION_SQL, String.class, agentId);
+        if (
+            !previous.isEmpty() &&
+            version.equals(previous.get(0)) &&
+            lookupIds(HTTP_KIND, httpMonitors.keySet(), result.getHttpMonitorIds()) &&
+            lookupIds(SERVICE_KIND, services.keySet(), result.getMonitoredServiceIds())
+        ) {
+            result.setUnchanged(true);
+            return result;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (ResultSetExtractor<Void>) rs -> null, AgentAssignmentServiceImpl.LOCK_KEY);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+            Map<String, List<Long>> changed = new HashMap<>();
+            result.setHttpMonitorIds(apply(HTTP_KIND, httpMonitors, now, result, changed));
+            result.setMonitoredServiceIds(apply(SERVICE_KIND, services, now, result, changed));
+            link(agentId, result, now, changed);
+            jdbcTemplate.update(SET_VERSION_SQL, version, agentId);
+            evict(changed);
+        });
+        LOG.info(
+            "Synced {} monitors of Agent {}: {} inserted, {} updated, {} deactivated",
+            httpMonitors.size() + services.size(),
+            agentId,
+            result.getInserted(),
+            result.getUpdated(),
+            result.getDeactivated()
+        );
+        return result;
+    }
+
+    private static void declare(Map<String, Object[]> declared, String name, Object[] values) {
+        if (name == null || declared.put(name, values) != null) {
+            throw new IllegalArgumentException("Monitor names must be present and unique: " + name);
+        }
+    }
+
+    private Object[] httpValues(HttpMonitorDTO m) {
+        return new Object[] {
+            m.getName(),
+            m.getMethod(),
+            m.getType(),
+            m.getUrl(),
+            json(m.getHeaders()),
+            json(m.getBody()),
+            m.getIntervalSeconds(),
+            m.getTimeoutSeconds(),
+            m.getRetryCount(),
+            m.getRetryDelaySeconds(),
+            m.getResponseTimeWarningMs(),
+            m.getResponseTimeCriticalMs(),
+            m.getUptimeWarningPercent(),
+            m.getUptimeCriticalPercent(),
+            m.getIncludeResponseBody(),
+            m.getResendNotificationCount(),
+            m.getCertificateExpiryDays(),
+            m.getIgnoreTlsError(),
+            m.getCheckSslCertificate(),
+            m.getCheckDnsResolution(),
+            m.getUpsideDownMode(),
+            m.getMaxRedirects(),
+            m.getDescription(),
+            m.getTags(),
+            m.getEnabled(),
+            m.getExpectedStatusCodes(),
+            m.getPerformanceBudgetMs(),
+            m.getSizeBudgetKb(),
+        };
+    }
+
+    private static Object[] serviceValues(MonitoredServiceDTO s) {
+        return new Object[] {
+            s.getName(),
+            s.getDescription(),
+            s.getServiceType(),
+            s.getEnvironment(),
+            s.getMonitoringEnabled(),
+            s.getClusterMonitoringEnabled(),
+            s.getIntervalSeconds(),
+            s.getTimeoutMs(),
+            s.getRetryCount(),
+            s.getLatencyWarningMs(),
+            s.getLatencyCriticalMs(),
+            s.getAdvancedConfig(),
+            s.getIsActive(),
+            s.getDatacenter() != null ? s.getDatacenter().getId() : null,
+        };
+    }
+
+    private static JsonNode json(JsonNode node) {
+        return node == null || node.isNull() ? null : node;
+    }
+
+    private String configVersion(Map<String, Object[]> httpMonitors, Map<String, Object[]> services) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map<String, Object[]> declared : List.of(httpMonitors, services)) {
+                // Sorted, so the order of the declaration does not matter
+                for (Object[] values : new TreeMap<>(declared).values()) {
+                    digest.update(objectMapper.writeValueAsBytes(values));
+                }
+                digest.update("\n".getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not hash the monitor config", e);
+        }
+    }
+
+    /**
+     * @return whether every name was found.
+     */
+    private boolean lookupIds(Kind kind, Collection<String> names, Map<String, Long> ids) {
+        if (names.isEmpty()) {
+            return true;
+        }
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(kind.idsSql());
+                ps.setArray(1, con.createArrayOf("varchar", names.toArray()));
+                return ps;
+            },
+            rs -> {
+                ids.put(rs.getString(1), rs.getLong(2));
+            }
+        );
+        return ids.size() == names.size();
+    }
+
+    /**
+     * @param changed collects the ids of the updated monitors by monitor type.
+     */
+    private Map<String, Long> apply(
+        Kind kind,
+        Map<String, Object[]> declared,
+        Timestamp now,
+        AgentMonitorSyncResultDTO result,
+        Map<String, List<Long>> changed
+    ) {
+        Map<String, Long> ids = new HashMap<>();
+        if (declared.isEmpty()) {
+            return ids;
+        }
+        Map<Long, Object[]> updates = new LinkedHashMap<>();
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(kind.selectSql());
+                ps.setArray(1, con.createArrayOf("varchar", declared.keySet().toArray()));
+                return ps;
+            },
+            rs -> {
+                long id = rs.getLong(1);
+                Object[] stored = read(kind, rs);
+                String name = (String) stored[0];
+                // Several monitors may share a name; the oldest one is the declared one
+                if (ids.putIfAbsent(name, id) == null && !Arrays.equals(stored, declared.get(name))) {
+                    updates.put(id, declared.get(name));
+                }
+            }
+        );
+        List<Object[]> inserts = declared.entrySet().stream().filter(e -> !ids.containsKey(e.getKey())).map(Map.Entry::getValue).toList();
+
+        if (!updates.isEmpty()) {
+            List<Map.Entry<Long, Object[]>> rows = new ArrayList<>(updates.entrySet());
+            jdbcTemplate.batchUpdate(
+                kind.updateSql(),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int index = bind(ps, 1, rows.get(i).getValue());
+                        if (kind.timestamps()) {
+                            ps.setTimestamp(index++, now);
+                        }
+                        ps.setLong(index, rows.get(i).getKey());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                }
+            );
+            changed.computeIfAbsent(kind.monitorType(), type -> new ArrayList<>()).addAll(updates.keySet());
+        }
+        if (!inserts.isEmpty()) {
+            long[] newIds = sequenceIdAllocator.allocateIds(inserts.size());
+            jdbcTemplate.batchUpdate(
+                kind.insertSql(),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, newIds[i]);
+                        int index = bind(ps, 2, inserts.get(i));
+                        if (kind.timestamps()) {
+                            ps.setTimestamp(index++, now);
+                            ps.setTimestamp(index, now);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }
+            );
+            for (int i = 0; i < inserts.size(); i++) {
+                ids.put((String) inserts.get(i)[0], newIds[i]);
+            }
+        }
+        result.setInserted(result.getInserted() + inserts.size());
+        result.setUpdated(result.getUpdated() + updates.size());
+        return ids;
+    }
+
+    private Object[] read(Kind kind, ResultSet rs) throws SQLException {
+        Object[] values = new Object[kind.columns().size()];
+        for (int i = 0; i < values.length; i++) {
+            if (kind.jsonColumns().contains(kind.columns().get(i))) {
+                String text = rs.getString(i + 2);
+                try {
+                    values[i] = text != null ? json(objectMapper.readTree(text)) : null;
+                } catch (JsonProcessingException e) {
+                    values[i] = null;
+                }
+            } else {
+                values[i] = rs.getObject(i + 2);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return the index of the next parameter.
+     */
+    private static int bind(PreparedStatement ps, int index, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            ps.setObject(index++, value instanceof JsonNode node ? node.toString() : value);
+        }
+        return index;
+    }
+
+    /**
+     * @param changed collects the ids of the monitors released by the agent by monitor type.
+     */
+    private void link(Long agentId, AgentMonitorSyncResultDTO result, Timestamp now, Map<String, List<Long>> changed) {
+        Map<LinkKey, Link> links = new HashMap<>();
+        jdbcTemplate.query(
+            LINKS_SQL,
+            rs -> {
+                Link link = new Link(rs.getLong(1), rs.getBoolean(4));
+                links.merge(new LinkKey(rs.getString(2), rs.getLong(3)), link, (a, b) -> a.active() ? a : b);
+            },
+            agentId
+        );
+        List<LinkKey> inserts = new ArrayList<>();
+        List<Link> changes = new ArrayList<>();
+        Map<LinkKey, Link> removed = new HashMap<>(links);
+        for (LinkKey key : linkKeys(result)) {
+            Link link = removed.remove(key);
+            if (link == null) {
+                inserts.add(key);
+            } else if (!link.active()) {
+                changes.add(new Link(link.id(), true));
+            }
+        }
+        Map<String, List<Long>> released = new HashMap<>();
+        removed.forEach((key, link) -> {
+            if (link.active()) {
+                changes.add(new Link(link.id(), false));
+                released.computeIfAbsent(key.monitorType(), type -> new ArrayList<>()).add(key.monitorId());
+            }
+        });
+
+        if (!changes.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                UPDATE_LINK_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setBoolean(1, changes.get(i).active());
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, changes.get(i).id());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return changes.size();
+                    }
+                }
+            );
+        }
+        if (!inserts.isEmpty()) {
+            long[] ids = sequenceIdAllocator.allocateIds(inserts.size());
+            jdbcTemplate.batchUpdate(
+                INSERT_LINK_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, ids[i]);
+                        ps.setTimestamp(2, now);
+                        ps.setLong(3, agentId);
+                        ps.setString(4, inserts.get(i).monitorType());
+                        ps.setLong(5, inserts.get(i).monitorId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return inserts.size();
+                    }
+                }
+            );
+        }
+        for (Kind kind : List.of(HTTP_KIND, SERVICE_KIND)) {
+            List<Long> monitorIds = released.get(kind.monitorType());
+            if (monitorIds != null) {
+                jdbcTemplate.update(con -> {
+                    PreparedStatement ps = con.prepareStatement(kind.disableSql());
+                    ps.setArray(1, con.createArrayOf("bigint", monitorIds.toArray()));
+                    ps.setString(2, kind.monitorType());
+                    return ps;
+                });
+            }
+        }
+        released.forEach((type, monitorIds) -> changed.computeIfAbsent(type, key -> new ArrayList<>()).addAll(monitorIds));
+        result.setDeactivated(released.values().stream().mapToInt(List::size).sum());
+    }
+
+    /**
+     * Evict the cached settings of the changed monitors once the sync commits.
+     */
+    private void evict(Map<String, List<Long>> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> httpMonitorIds = changed.get(HTTP_KIND.monitorType());
+        if (httpMonitorIds != null) {
+            publicStatusPageService.evictMonitors(httpMonitorIds);
+            httpMonitorIncidentService.evictMonitors(httpMonitorIds);
+            httpMonitorCertificateService.evictMonitors(httpMonitorIds);
+        }
+        statusDependencyService.evictTopologies();
+    }
+
+    private static List<LinkKey> linkKeys(AgentMonitorSyncResultDTO result) {
+        List<LinkKey> keys = new ArrayList<>();
+        result.getHttpMonitorIds().values().forEach(id -> keys.add(new LinkKey(HTTP_KIND.monitorType(), id)));
+        result.getMonitoredServiceIds().values().forEach(id -> keys.add(new LinkKey(SERVICE_KIND.monitorType(), id)));
+        return keys;
+    }
+}
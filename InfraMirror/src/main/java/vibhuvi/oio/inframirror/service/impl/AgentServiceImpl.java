@@ -1,22 +1,21 @@
 package vibhuvi.oio.inframirror.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.Instant;
-import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import vibhuvi.oio.inframirror.domain.Agent;
-import vibhuvi.oio.inframirror.domain.Datacenter;
-import vibhuvi.oio.inframirror.domain.Region;
 import vibhuvi.oio.inframirror.repository.AgentRepository;
-import vibhuvi.oio.inframirror.repository.DatacenterRepository;
-import vibhuvi.oio.inframirror.repository.RegionRepository;
+import vibhuvi.oio.inframirror.repository.SequenceIdAllocator;
+import vibhuvi.oio.inframirror.service.AgentLivenessService;
 import vibhuvi.oio.inframirror.service.AgentService;
 import vibhuvi.oio.inframirror.service.FullTextSearchUtil;
 import vibhuvi.oio.inframirror.service.dto.AgentDTO;
@@ -24,8 +23,6 @@ import vibhuvi.oio.inframirror.service.dto.AgentRegistrationRequestDTO;
 import vibhuvi.oio.inframirror.service.dto.AgentRegistrationResponseDTO;
 import vibhuvi.oio.inframirror.service.dto.AgentSearchResultDTO;
 import vibhuvi.oio.inframirror.service.mapper.AgentMapper;
-import vibhuvi.oio.inframirror.service.mapper.DatacenterMapper;
-import vibhuvi.oio.inframirror.service.mapper.RegionMapper;
 
 /**
  * Service Implementation for managing {@link vibhuvi.oio.inframirror.domain.Agent}.
@@ -36,30 +33,36 @@ public class AgentServiceImpl implements AgentService {
 
     private static final Logger LOG = LoggerFactory.getLogger(AgentServiceImpl.class);
 
+    private static final String UPSERT_AGENT_SQL =
+        "INSERT INTO agent (id, name, status, last_seen_at, region_id) " +
+        "VALUES (?, ?, 'ACTIVE', (now() AT TIME ZONE 'UTC'), ?) " +
+        "ON CONFLICT (name) DO UPDATE SET status = EXCLUDED.status, last_seen_at = EXCLUDED.last_seen_at, region_id = EXCLUDED.region_id " +
+        "RETURNING id";
+
     private final AgentRepository agentRepository;
     private final AgentMapper agentMapper;
-    private final RegionRepository regionRepository;
-    private final DatacenterRepository datacenterRepository;
-    private final RegionMapper regionMapper;
-    private final DatacenterMapper datacenterMapper;
+    private final AgentTopologyCache agentTopologyCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
     private final ObjectMapper objectMapper;
+    private final AgentLivenessService agentLivenessService;
 
     public AgentServiceImpl(
         AgentRepository agentRepository,
         AgentMapper agentMapper,
-        RegionRepository regionRepository,
-        DatacenterRepository datacenterRepository,
-        RegionMapper regionMapper,
-        DatacenterMapper datacenterMapper,
-        ObjectMapper objectMapper
+        AgentTopologyCache agentTopologyCache,
+        JdbcTemplate jdbcTemplate,
+        SequenceIdAllocator sequenceIdAllocator,
+        ObjectMapper objectMapper,
+        AgentLivenessService agentLivenessService
     ) {
         this.agentRepository = agentRepository;
         this.agentMapper = agentMapper;
-        this.regionRepository = regionRepository;
-        this.datacenterRepository = datacenterRepository;
-        this.regionMapper = regionMapper;
-        this.datacenterMapper = datacenterMapper;
+        this.agentTopologyCache = agentTopologyCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
         this.objectMapper = objectMapper;
+        this.agentLivenessService = agentLivenessService;
     }
 
     @Override
@@ -104,6 +107,7 @@ public class AgentServiceImpl implements AgentService {
     public void delete(Long id) {
         LOG.debug("Request to delete Agent : {}", id);
         agentRepository.deleteById(id);
+        agentLivenessService.forget(id);
     }
 
     @Override
@@ -187,6 +191,7 @@ public class AgentServiceImpl implements AgentService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AgentRegistrationResponseDTO registerAgent(AgentRegistrationRequestDTO request) {
         LOG.debug("Request to register agent: {}", request.getName());
 
@@ -197,60 +202,40 @@ public class AgentServiceImpl implements AgentService {
             throw new IllegalArgumentException("Region and datacenter tags are required");
         }
 
-        Region region = regionRepository
-            .findByName(regionName)
-            .orElseGet(() -> {
-                Region newRegion = new Region();
-                newRegion.setName(regionName);
-                return regionRepository.save(newRegion);
-            });
-
-        Datacenter datacenter = datacenterRepository
-            .findByNameAndRegionId(datacenterName, region.getId())
-            .orElseGet(() -> {
-                Datacenter newDatacenter = new Datacenter();
-                newDatacenter.setName(datacenterName);
-                String code = datacenterName.toLowerCase(Locale.ROOT)
-                    .replaceAll("\\s+", "")
-                    .replaceAll("[^a-z0-9]", "")
-                    .substring(0, Math.min(10, datacenterName.length()));
-                newDatacenter.setCode(code);
-                newDatacenter.setRegion(region);
-                return datacenterRepository.save(newDatacenter);
-            });
-
-        // Find or create agent by name
-        Agent agent = agentRepository
-            .findByName(request.getName())
-            .orElseGet(() -> {
-                Agent newAgent = new Agent();
-                newAgent.setName(request.getName());
-                return newAgent;
-            });
-
-        // Update agent properties
-        agent.setStatus("ACTIVE");
-        agent.setLastSeenAt(java.time.Instant.now());
-        agent = agentRepository.save(agent);
+        AgentTopologyCache.Region region;
+        AgentTopologyCache.Datacenter datacenter;
+        Long agentId;
+        try {
+            region = agentTopologyCache.region(regionName);
+            datacenter = agentTopologyCache.datacenter(region, datacenterName);
+            agentId = upsertAgent(request.getName(), region.id());
+        } catch (DataIntegrityViolationException e) {
+            // A cached region or datacenter was deleted on another node, look them up again once
+            LOG.debug("Retrying registration of agent {} after {}", request.getName(), e.getMessage());
+            agentTopologyCache.invalidateNow();
+            region = agentTopologyCache.region(regionName);
+            datacenter = agentTopologyCache.datacenter(region, datacenterName);
+            agentId = upsertAgent(request.getName(), region.id());
+        }
+        agentLivenessService.recordSeen(agentId);
 
         AgentRegistrationResponseDTO response = new AgentRegistrationResponseDTO();
-        response.setAgentId(agent.getId());
+        response.setAgentId(agentId);
         response.setApiKey("agent-" + UUID.randomUUID().toString());
-        response.setRegion(regionMapper.toDto(region));
-        response.setDatacenter(datacenterMapper.toDto(datacenter));
+        response.setRegion(region.toDto());
+        response.setDatacenter(datacenter.toDto(region));
         response.setStatus("REGISTERED");
         response.setMessage("Agent registered successfully");
 
         return response;
     }
 
+    private Long upsertAgent(String name, long regionId) {
+        return jdbcTemplate.queryForObject(UPSERT_AGENT_SQL, Long.class, sequenceIdAllocator.nextId(), name, regionId);
+    }
+
     @Override
     public void updateLastSeen(Long agentId) {
-        LOG.debug("Updating last seen for agent: {}", agentId);
-        agentRepository.findById(agentId).ifPresent(agent -> {
-            agent.setLastSeenAt(Instant.now());
-            agent.setStatus("ACTIVE");
-            agentRepository.save(agent);
-        });
+        agentLivenessService.recordSeen(agentId);
     }
 }
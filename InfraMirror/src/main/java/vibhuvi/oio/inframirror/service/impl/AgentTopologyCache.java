@@ -0,0 +1,171 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.repository.SequenceIdAllocator;
+import vibhuvi.oio.inframirror.service.dto.DatacenterDTO;
+import vibhuvi.oio.inframirror.service.dto.RegionDTO;
+
+/**
+ * Region and datacenter lookups by name for agent registration.
+ * <p>
+ * A name missing from the cache is upserted with one {@code INSERT ... ON CONFLICT} on its natural key, which returns
+ * the row whether this call or a concurrent one created it, and registrations of the same name on this node wait for
+ * a single upsert. The cache is warmed at startup and cleared when a region or datacenter is written through the API;
+ * writes made on other nodes are picked up once entries expire.
+ */
+@Component
+public class AgentTopologyCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AgentTopologyCache.class);
+
+    private static final String UPSERT_REGION_SQL =
+        "INSERT INTO region AS r (id, name) VALUES (?, ?) " +
+        "ON CONFLICT (name) DO UPDATE SET name = EXCLUDED.name " +
+        "RETURNING r.id, r.name, r.region_code, r.group_name";
+
+    private static final String UPSERT_DATACENTER_SQL =
+        "INSERT INTO datacenter AS d (id, code, name, region_id) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (region_id, name) DO UPDATE SET name = EXCLUDED.name " +
+        "RETURNING d.id, d.code, d.name";
+
+    private static final String SELECT_REGIONS_SQL = "SELECT id, name, region_code, group_name FROM region ORDER BY id LIMIT ?";
+
+    private static final String SELECT_DATACENTERS_SQL =
+        "SELECT id, code, name, region_id FROM datacenter WHERE region_id IS NOT NULL ORDER BY id LIMIT ?";
+
+    /** What is kept of a region. */
+    public record Region(long id, String name, String regionCode, String groupName) {
+        public RegionDTO toDto() {
+            RegionDTO dto = new RegionDTO();
+            dto.setId(id);
+            dto.setName(name);
+            dto.setRegionCode(regionCode);
+            dto.setGroupName(groupName);
+            return dto;
+        }
+    }
+
+    /** What is kept of a datacenter. */
+    public record Datacenter(long id, String code, String name, long regionId) {
+        public DatacenterDTO toDto(Region region) {
+            DatacenterDTO dto = new DatacenterDTO();
+            dto.setId(id);
+            dto.setCode(code);
+            dto.setName(name);
+            dto.setRegion(region.toDto());
+            return dto;
+        }
+    }
+
+    private record DatacenterKey(long regionId, String name) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final long maxEntries;
+    private final Cache<String, Region> regions;
+    private final Cache<DatacenterKey, Datacenter> datacenters;
+
+    public AgentTopologyCache(
+        JdbcTemplate jdbcTemplate,
+        SequenceIdAllocator sequenceIdAllocator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        ApplicationProperties.AgentRegistration properties = applicationProperties.getAgentRegistration();
+        Duration timeToLive = Duration.ofSeconds(properties.getTopologyTimeToLiveSeconds());
+        this.maxEntries = properties.getTopologyMaxEntries();
+        this.regions = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(timeToLive).build();
+        this.datacenters = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(timeToLive).build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        jdbcTemplate.query(
+            SELECT_REGIONS_SQL,
+            rs -> {
+                Region region = new Region(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+                regions.put(region.name(), region);
+            },
+            maxEntries
+        );
+        jdbcTemplate.query(
+            SELECT_DATACENTERS_SQL,
+            rs -> {
+                Datacenter datacenter = new Datacenter(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4));
+                datacenters.put(new DatacenterKey(datacenter.regionId(), datacenter.name()), datacenter);
+            },
+            maxEntries
+        );
+        LOG.debug("Warmed agent topology cache with {} regions and {} datacenters", regions.estimatedSize(), datacenters.estimatedSize());
+    }
+
+    /**
+     * @param name the name of the region.
+     * @return the region, created if it does not exist yet.
+     */
+    public Region region(String name) {
+        return regions.get(name, key ->
+            jdbcTemplate.queryForObject(
+                UPSERT_REGION_SQL,
+                (rs, rowNum) -> new Region(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)),
+                sequenceIdAllocator.nextId(),
+                key
+            )
+        );
+    }
+
+    /**
+     * @param region the region of the datacenter.
+     * @param name the name of the datacenter.
+     * @return the datacenter, created in the region if it does not exist yet.
+     */
+    public Datacenter datacenter(Region region, String name) {
+        return datacenters.get(new DatacenterKey(region.id(), name), key ->
+            jdbcTemplate.queryForObject(
+                UPSERT_DATACENTER_SQL,
+                (rs, rowNum) -> new Datacenter(rs.getLong(1), rs.getString(2), rs.getString(3), key.regionId()),
+                sequenceIdAllocator.nextId(),
+                codeOf(key.name()),
+                key.name(),
+                key.regionId()
+            )
+        );
+    }
+
+    /**
+     * Forget every region and datacenter once the current transaction commits, after one was changed or deleted.
+     */
+    public void invalidateAll() {
+        afterCommit(this::invalidateNow);
+    }
+
+    /**
+     * Forget every region and datacenter right away, whatever the current transaction: for when a cached one turned
+     * out to be gone, which no transaction of this node is about to change.
+     */
+    public void invalidateNow() {
+        regions.invalidateAll();
+        datacenters.invalidateAll();
+    }
+
+    static String codeOf(String datacenterName) {
+        String code = datacenterName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+        if (code.isEmpty()) {
+            return "dc";
+        }
+        return code.substring(0, Math.min(10, code.length()));
+    }
+}
@@ -18,6 +18,7 @@ import vibhuvi.oio.inframirror.domain.ApiKey;
 import vibhuvi.oio.inframirror.domain.AuditTrail;
 import vibhuvi.oio.inframirror.repository.ApiKeyRepository;
 import vibhuvi.oio.inframirror.repository.AuditTrailRepository;
+import vibhuvi.oio.inframirror.security.ApiKeyAuthenticationCache;
 import vibhuvi.oio.inframirror.service.ApiKeyService;
 import vibhuvi.oio.inframirror.service.FullTextSearchUtil;
 import vibhuvi.oio.inframirror.service.dto.ApiKeyDTO;
@@ -35,14 +36,17 @@ public class ApiKeyServiceImpl implements ApiKeyService {
     private final ApiKeyRepository apiKeyRepository;
     private final ApiKeyMapper apiKeyMapper;
     private final AuditTrailRepository auditTrailRepository;
+    private final ApiKeyAuthenticationCache apiKeyAuthenticationCache;
     public ApiKeyServiceImpl(
         ApiKeyRepository apiKeyRepository,
         ApiKeyMapper apiKeyMapper,
-        AuditTrailRepository auditTrailRepository
+        AuditTrailRepository auditTrailRepository,
+        ApiKeyAuthenticationCache apiKeyAuthenticationCache
     ) {
         this.apiKeyRepository = apiKeyRepository;
         this.apiKeyMapper = apiKeyMapper;
         this.auditTrailRepository = auditTrailRepository;
+        this.apiKeyAuthenticationCache = apiKeyAuthenticationCache;
     }
     private void logAudit(String action, Long entityId, String oldValue, String newValue) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
@@ -102,6 +106,7 @@ public class ApiKeyServiceImpl implements ApiKeyService {
         apiKey.setCreatedBy(currentUser);
         apiKey.setCreatedDate(Instant.now());
         apiKey = apiKeyRepository.save(apiKey);
+        apiKeyAuthenticationCache.evict(apiKey.getId());
         logAudit("CREATE", apiKey.getId(), null, apiKey.getName());
         ApiKeyDTO result = apiKeyMapper.toDto(apiKey);
         result.setPlainTextKey(plainTextKey);
@@ -112,6 +117,7 @@ public class ApiKeyServiceImpl implements ApiKeyService {
         LOG.debug("Request to update ApiKey : {}", apiKeyDTO);
         ApiKey apiKey = apiKeyMapper.toEntity(apiKeyDTO);
         apiKey = apiKeyRepository.save(apiKey);
+        apiKeyAuthenticationCache.evict(apiKey.getId());
         return apiKeyMapper.toDto(apiKey);
     }
     @Override
@@ -125,6 +131,7 @@ public class ApiKeyServiceImpl implements ApiKeyService {
             })
             .map(apiKeyRepository::save)
             .map(savedApiKey -> {
+                apiKeyAuthenticationCache.evict(savedApiKey.getId());
                 return savedApiKey;
             })
             .map(apiKeyMapper::toDto);
@@ -148,6 +155,7 @@ public class ApiKeyServiceImpl implements ApiKeyService {
             logAudit("DELETE", id, apiKey.getName(), null);
         });
         apiKeyRepository.deleteById(id);
+        apiKeyAuthenticationCache.evict(id);
     }
     @Override
     @Transactional(readOnly = true)
@@ -223,6 +231,7 @@ public class ApiKeyServiceImpl implements ApiKeyService {
             .ifPresent(apiKey -> {
                 apiKey.setActive(false);
                 apiKeyRepository.save(apiKey);
+                apiKeyAuthenticationCache.evict(id);
                 logAudit("DEACTIVATE", id, "active", "inactive");
             });
     }
@@ -28,10 +28,12 @@ public class DatacenterServiceImpl extends AbstractCrudService<DatacenterDTO, Da
 
     private final DatacenterRepository datacenterRepository;
     private final DatacenterMapper datacenterMapper;
+    private final AgentTopologyCache agentTopologyCache;
 
-    public DatacenterServiceImpl(DatacenterRepository datacenterRepository, DatacenterMapper datacenterMapper) {
+    public DatacenterServiceImpl(DatacenterRepository datacenterRepository, DatacenterMapper datacenterMapper, AgentTopologyCache agentTopologyCache) {
         this.datacenterRepository = datacenterRepository;
         this.datacenterMapper = datacenterMapper;
+        this.agentTopologyCache = agentTopologyCache;
     }
 
     @Override
@@ -54,6 +56,30 @@ public class DatacenterServiceImpl extends AbstractCrudService<DatacenterDTO, Da
         return "datacenter";
     }
 
+    @Override
+    public DatacenterDTO save(DatacenterDTO datacenterDTO) {
+        agentTopologyCache.invalidateAll();
+        return super.save(datacenterDTO);
+    }
+
+    @Override
+    public DatacenterDTO update(DatacenterDTO datacenterDTO) {
+        agentTopologyCache.invalidateAll();
+        return super.update(datacenterDTO);
+    }
+
+    @Override
+    public Optional<DatacenterDTO> partialUpdate(DatacenterDTO datacenterDTO, Long id) {
+        agentTopologyCache.invalidateAll();
+        return super.partialUpdate(datacenterDTO, id);
+    }
+
+    @Override
+    public void delete(Long id) {
+        agentTopologyCache.invalidateAll();
+        super.delete(id);
+    }
+
     @Override
     public Optional<DatacenterDTO> partialUpdate(DatacenterDTO datacenterDTO) {
         return partialUpdate(datacenterDTO, datacenterDTO.getId());
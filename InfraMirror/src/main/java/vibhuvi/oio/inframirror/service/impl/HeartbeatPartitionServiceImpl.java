@@ -0,0 +1,179 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.config.ApplicationProperties.Partitioning;
+import vibhuvi.oio.inframirror.service.HeartbeatPartitionService;
+
+/**
+ * Service Implementation for maintaining the {@code executed_at} range partitions of the heartbeat tables.
+ * <p>
+ * Partitions are named {@code <table>_pYYYYMMDD} after their (UTC) lower bound. Rows that arrived before a
+ * partition existed sit in {@code <table>_default}; they are moved into the dated partition when it is created,
+ * and purged from the default partition once past retention.
+ */
+@Service
+public class HeartbeatPartitionServiceImpl implements HeartbeatPartitionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HeartbeatPartitionServiceImpl.class);
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String PARTITIONS_SQL = """
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        JOIN pg_namespace n ON n.oid = p.relnamespace
+        WHERE p.relname = ? AND n.nspname = current_schema()
+        """;
+
+    private static final String IS_PARTITIONED_SQL = """
+        SELECT count(*)
+        FROM pg_class c
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE c.relname = ? AND c.relkind = 'p' AND n.nspname = current_schema()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Partitioning properties;
+    private final Map<String, Partitioning.Table> tables = new LinkedHashMap<>();
+
+    public HeartbeatPartitionServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getPartitioning();
+        tables.put("http_heartbeat", properties.getHttpHeartbeat());
+        tables.put("instance_heartbeat", properties.getInstanceHeartbeat());
+        tables.put("service_heartbeat", properties.getServiceHeartbeat());
+        tables.put("http_heartbeat_detail", properties.getHttpHeartbeatDetail());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${application.partitioning.cron:0 5 * * * *}")
+    public void scheduledMaintenance() {
+        maintainPartitions();
+    }
+
+    @Override
+    public synchronized void maintainPartitions() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        tables.forEach((table, config) -> {
+            try {
+                maintainTable(table, config, today);
+            } catch (DataAccessException e) {
+                LOG.error("Partition maintenance failed for {}", table, e);
+            }
+        });
+    }
+
+    private void maintainTable(String table, Partitioning.Table config, LocalDate today) {
+        Integer partitioned = jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Integer.class, table);
+        if (partitioned == null || partitioned == 0) {
+            LOG.debug("Table {} is not partitioned yet, skipping maintenance", table);
+            return;
+        }
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, table));
+
+        LocalDate start = periodStart(today, config.getInterval());
+        for (int i = 0; i <= properties.getPrecreatePeriods(); i++) {
+            String name = partitionName(table, start);
+            LocalDate end = periodEnd(start, config.getInterval());
+            if (!existing.contains(name)) {
+                createPartition(table, name, start, end);
+            }
+            start = end;
+        }
+
+        LocalDate cutoff = today.minusDays(config.getRetentionDays());
+        Pattern pattern = Pattern.compile(Pattern.quote(table) + "_p(\\d{8})");
+        for (String name : existing) {
+            Matcher matcher = pattern.matcher(name);
+            if (matcher.matches()) {
+                LocalDate lower = LocalDate.parse(matcher.group(1), SUFFIX);
+                if (!periodEnd(lower, config.getInterval()).isAfter(cutoff)) {
+                    expirePartition(table, name);
+                }
+            }
+        }
+
+        int purged = jdbcTemplate.update("DELETE FROM " + table + "_default WHERE executed_at < ?", cutoff.atStartOfDay());
+        if (purged > 0) {
+            LOG.info("Purged {} expired rows from {}_default", purged, table);
+        }
+    }
+
+    private void createPartition(String table, String name, LocalDate from, LocalDate to) {
+        String bounds = "FOR VALUES FROM ('" + from + "') TO ('" + to + "')";
+        transactionTemplate.executeWithoutResult(status -> {
+            // Rows already in the default partition would make a plain CREATE ... PARTITION OF fail,
+            // so the partition is created detached, filled from the default partition, then attached.
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE)");
+            int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM " +
+                table +
+                "_default WHERE executed_at >= ? AND executed_at < ? RETURNING *) INSERT INTO " +
+                name +
+                " SELECT * FROM moved",
+                from.atStartOfDay(),
+                to.atStartOfDay()
+            );
+            jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + name + " " + bounds);
+            LOG.info("Created partition {} {} ({} rows moved from default)", name, bounds, moved);
+        });
+    }
+
+    private void expirePartition(String table, String name) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + name);
+        if (properties.isDropExpired()) {
+            jdbcTemplate.execute("DROP TABLE " + name);
+            LOG.info("Dropped expired partition {}", name);
+        } else {
+            LOG.info("Detached expired partition {}", name);
+        }
+    }
+
+    static LocalDate periodStart(LocalDate day, Partitioning.Interval interval) {
+        return interval == Partitioning.Interval.WEEKLY ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    static LocalDate periodEnd(LocalDate start, Partitioning.Interval interval) {
+        return interval == Partitioning.Interval.WEEKLY ? start.plusWeeks(1) : start.plusDays(1);
+    }
+
+    static String partitionName(String table, LocalDate start) {
+        return table + "_p" + start.format(SUFFIX);
+    }
+}
@@ -0,0 +1,205 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.repository.SequenceIdAllocator;
+import vibhuvi.oio.inframirror.service.detail.HttpHeartbeatDetailCodec;
+
+/**
+ * Content-addressed store for the header and body values of HTTP heartbeat details, keyed by their SHA-256.
+ * <p>
+ * A value only gets a blob the second time its hash is seen on this node, so values that never repeat (headers with a
+ * date or request id) stay inline in their detail. Hashes stored recently are remembered with their blob id, so a
+ * value repeated minute after minute is referenced without touching the database. A hash is forgotten after {@code blobTouchIntervalSeconds}, and the upsert of its next
+ * occurrence refreshes the {@code last_seen_at} of its blob (or stores it again if it was swept in between).
+ * Blobs are not reference counted: detail rows expire with their partitions, so a blob unseen for longer than the detail
+ * retention is no longer referenced and is swept. Entries are cached once the transaction storing them commits.
+ */
+@Component
+public class HttpHeartbeatBlobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpHeartbeatBlobStore.class);
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO http_heartbeat_blob AS b (id, hash, uncompressed_bytes, payload, last_seen_at) " +
+        "SELECT t.id, t.hash, t.uncompressed_bytes, t.payload, ? " +
+        "FROM unnest(?::bigint[], ?::varchar[], ?::int[], ?::bytea[]) AS t(id, hash, uncompressed_bytes, payload) " +
+        "ON CONFLICT (hash) DO UPDATE SET last_seen_at = EXCLUDED.last_seen_at " +
+        "RETURNING b.hash, b.id";
+
+    private static final String SELECT_SQL = "SELECT id, payload FROM http_heartbeat_blob WHERE id = ANY(?)";
+
+    private static final String SWEEP_SQL =
+        "DELETE FROM http_heartbeat_blob WHERE id IN (SELECT id FROM http_heartbeat_blob WHERE last_seen_at < ? LIMIT ?)";
+
+    private static final int SWEEP_BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final ApplicationProperties.HeartbeatDetail properties;
+    private final ApplicationProperties.Partitioning partitioning;
+    private final long touchIntervalMillis;
+    private final Cache<String, Long> entries;
+    private final Cache<String, Boolean> seenOnce;
+
+    private final Counter cachedCounter;
+    private final Counter storedCounter;
+
+    public HttpHeartbeatBlobStore(
+        JdbcTemplate jdbcTemplate,
+        SequenceIdAllocator sequenceIdAllocator,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.properties = applicationProperties.getHeartbeatDetail();
+        this.partitioning = applicationProperties.getPartitioning();
+        this.touchIntervalMillis = Duration.ofSeconds(properties.getBlobTouchIntervalSeconds()).toMillis();
+        // An entry expires when its blob is due for a last_seen_at refresh, which the next store of its value does
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(properties.getBlobCacheMaxEntries())
+            .expireAfterWrite(Duration.ofMillis(touchIntervalMillis))
+            .build();
+        this.seenOnce = Caffeine.newBuilder().maximumSize(properties.getBlobCacheMaxEntries()).build();
+        this.cachedCounter = meterRegistry.counter("inframirror.http.heartbeat.blobs", "result", "cached");
+        this.storedCounter = meterRegistry.counter("inframirror.http.heartbeat.blobs", "result", "stored");
+    }
+
+    /**
+     * @param value a header or body value.
+     * @return the hex SHA-256 of the UTF-8 value.
+     */
+    public static String hash(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Get the blob of each value seen before, storing the ones not stored recently in the current transaction.
+     *
+     * @param valuesByHash the values, by their {@link #hash}.
+     * @return the blob id of each hash that has one; the others are seen for the first time and should stay inline.
+     */
+    public Map<String, Long> store(Map<String, String> valuesByHash) {
+        Map<String, Long> ids = new HashMap<>(valuesByHash.size());
+        // Sorted, so concurrent writers lock the rows of the unique index in the same order
+        Map<String, String> missing = new TreeMap<>();
+        for (Map.Entry<String, String> value : valuesByHash.entrySet()) {
+            Long id = ids.computeIfAbsent(value.getKey(), entries::getIfPresent);
+            if (id != null) {
+                cachedCounter.increment();
+            } else if (seenOnce.asMap().remove(value.getKey()) != null) {
+                missing.put(value.getKey(), value.getValue());
+            } else {
+                seenOnce.put(value.getKey(), Boolean.TRUE);
+            }
+        }
+        if (missing.isEmpty()) {
+            return ids;
+        }
+
+        String[] hashes = missing.keySet().toArray(String[]::new);
+        // The id of a hash already stored is left unused by the upsert
+        Long[] newIds = Arrays.stream(sequenceIdAllocator.allocateIds(hashes.length)).boxed().toArray(Long[]::new);
+        Integer[] sizes = new Integer[hashes.length];
+        byte[][] payloads = new byte[hashes.length][];
+        for (int i = 0; i < hashes.length; i++) {
+            String value = missing.get(hashes[i]);
+            sizes[i] = HttpHeartbeatDetailCodec.rawSize(new String[] { value });
+            payloads[i] = HttpHeartbeatDetailCodec.encodeBlob(value, properties.getCompressionLevel());
+        }
+        Map<String, Long> stored = new HashMap<>(hashes.length);
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(UPSERT_SQL);
+                ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC)));
+                ps.setArray(2, con.createArrayOf("bigint", newIds));
+                ps.setArray(3, con.createArrayOf("varchar", hashes));
+                ps.setArray(4, con.createArrayOf("integer", sizes));
+                ps.setArray(5, con.createArrayOf("bytea", payloads));
+                return ps;
+            },
+            rs -> {
+                stored.put(rs.getString(1), rs.getLong(2));
+            }
+        );
+        storedCounter.increment(hashes.length);
+        ids.putAll(stored);
+        afterCommit(() -> entries.putAll(stored));
+        return ids;
+    }
+
+    /**
+     * @param ids ids of blobs.
+     * @return the value of each blob still stored, by id.
+     */
+    public Map<Long, String> load(Collection<Long> ids) {
+        Map<Long, String> values = new HashMap<>(ids.size());
+        if (ids.isEmpty()) {
+            return values;
+        }
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+                return ps;
+            },
+            rs -> {
+                values.put(rs.getLong(1), HttpHeartbeatDetailCodec.decodeBlob(rs.getBytes(2)));
+            }
+        );
+        return values;
+    }
+
+    /**
+     * Delete the blobs not seen since the oldest detail still kept could have referenced them. Nothing is swept while
+     * partitioning is disabled, as details are then never expired.
+     */
+    @Scheduled(cron = "${application.heartbeat-detail.blob-sweep-cron:0 40 3 * * *}")
+    public void sweep() {
+        if (!partitioning.isEnabled()) {
+            return;
+        }
+        ApplicationProperties.Partitioning.Table detail = partitioning.getHttpHeartbeatDetail();
+        int periodDays = detail.getInterval() == ApplicationProperties.Partitioning.Interval.WEEKLY ? 7 : 1;
+        Instant cutoff = Instant.now().minus(Duration.ofDays(detail.getRetentionDays() + periodDays)).minusMillis(touchIntervalMillis);
+        long swept = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(SWEEP_SQL, LocalDateTime.ofInstant(cutoff, ZoneOffset.UTC), SWEEP_BATCH_SIZE);
+            swept += deleted;
+        } while (deleted == SWEEP_BATCH_SIZE);
+        if (swept > 0) {
+            LOG.info("Swept {} http_heartbeat_blob rows unseen since {}", swept, cutoff);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatDetailService;
+import vibhuvi.oio.inframirror.service.detail.HttpHeartbeatDetailCodec;
+import vibhuvi.oio.inframirror.service.detail.HttpHeartbeatDetailPolicy;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDetailDTO;
+
+/**
+ * Service Implementation of {@link HttpHeartbeatDetailService}.
+ * <p>
+ * The ingest path hands over every persisted batch; the details kept by the {@link HttpHeartbeatDetailPolicy} are
+ * packed with {@link HttpHeartbeatDetailCodec} and batch inserted next to the heartbeats, in the same transaction.
+ * Headers and bodies of at least {@code dedupMinLength} characters that repeat are stored once in the
+ * {@link HttpHeartbeatBlobStore} and referenced by blob id.
+ */
+@Service
+public class HttpHeartbeatDetailServiceImpl implements HttpHeartbeatDetailService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpHeartbeatDetailServiceImpl.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO http_heartbeat_detail (heartbeat_id, executed_at, uncompressed_bytes, payload) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_SQL = "SELECT executed_at, payload FROM http_heartbeat_detail WHERE heartbeat_id = ? LIMIT 1";
+
+    private static final String SELECT_INLINE_SQL =
+        "SELECT executed_at, raw_request_headers, raw_response_headers, raw_response_body, response_body_sample, dns_details, " +
+        "tls_details, redirect_details, rate_limit_details, network_path, agent_metrics, phase_latencies " +
+        "FROM http_heartbeat WHERE id = ? LIMIT 1";
+
+    /** The fields worth sharing between heartbeats: identical from one check to the next while a monitor is healthy. */
+    private static final int[] DEDUP_FIELDS = Stream.of("rawRequestHeaders", "rawResponseHeaders", "rawResponseBody", "responseBodySample")
+        .mapToInt(HttpHeartbeatDetailCodec.FIELDS::indexOf)
+        .toArray();
+
+    private record Kept(HttpHeartbeatDTO heartbeat, String[] values, String[] hashes) {}
+
+    private record Packed(long heartbeatId, LocalDateTime executedAt, int uncompressedBytes, byte[] payload) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HttpHeartbeatBlobStore blobStore;
+    private final ApplicationProperties.HeartbeatDetail properties;
+    private final HttpHeartbeatDetailPolicy policy;
+
+    private final Counter storedCounter;
+    private final Counter skippedCounter;
+    private final Counter rawBytesCounter;
+    private final Counter storedBytesCounter;
+
+    public HttpHeartbeatDetailServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        HttpHeartbeatBlobStore blobStore,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStore = blobStore;
+        this.properties = applicationProperties.getHeartbeatDetail();
+        this.policy = new HttpHeartbeatDetailPolicy(properties.getSuccessSampleRate());
+        this.storedCounter = meterRegistry.counter("inframirror.http.heartbeat.details", "result", "stored");
+        this.skippedCounter = meterRegistry.counter("inframirror.http.heartbeat.details", "result", "skipped");
+        this.rawBytesCounter = meterRegistry.counter("inframirror.http.heartbeat.details.bytes", "kind", "raw");
+        this.storedBytesCounter = meterRegistry.counter("inframirror.http.heartbeat.details.bytes", "kind", "stored");
+    }
+
+    @Override
+    public int saveAll(List<HttpHeartbeatDTO> heartbeats) {
+        List<Kept> kept = new ArrayList<>();
+        Map<String, String> shared = new HashMap<>();
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            String[] values = values(heartbeat);
+            if (HttpHeartbeatDetailCodec.isEmpty(values)) {
+                continue;
+            }
+            if (!properties.isEnabled() || !policy.keep(heartbeat)) {
+                skippedCounter.increment();
+                continue;
+            }
+            String[] hashes = new String[values.length];
+            for (int field : DEDUP_FIELDS) {
+                String value = values[field];
+                if (value != null && value.length() >= properties.getDedupMinLength()) {
+                    hashes[field] = HttpHeartbeatBlobStore.hash(value);
+                    shared.putIfAbsent(hashes[field], value);
+                }
+            }
+            kept.add(new Kept(heartbeat, values, hashes));
+        }
+        Map<String, Long> blobIds = shared.isEmpty() ? Map.of() : blobStore.store(shared);
+
+        List<Packed> packed = new ArrayList<>(kept.size());
+        for (Kept detail : kept) {
+            long[] ids = new long[detail.values().length];
+            for (int field : DEDUP_FIELDS) {
+                Long blobId = detail.hashes()[field] != null ? blobIds.get(detail.hashes()[field]) : null;
+                if (blobId != null) {
+                    ids[field] = blobId;
+                }
+            }
+            byte[] payload = HttpHeartbeatDetailCodec.encode(detail.values(), ids, properties.getCompressionLevel());
+            int uncompressedBytes = HttpHeartbeatDetailCodec.rawSize(detail.values());
+            HttpHeartbeatDTO heartbeat = detail.heartbeat();
+            packed.add(
+                new Packed(heartbeat.getId(), LocalDateTime.ofInstant(heartbeat.getExecutedAt(), ZoneOffset.UTC), uncompressedBytes, payload)
+            );
+            rawBytesCounter.increment(uncompressedBytes);
+            storedBytesCounter.increment(payload.length);
+        }
+        if (packed.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(
+            INSERT_SQL,
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Packed detail = packed.get(i);
+                    ps.setLong(1, detail.heartbeatId());
+                    ps.setObject(2, detail.executedAt());
+                    ps.setInt(3, detail.uncompressedBytes());
+                    ps.setBytes(4, detail.payload());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return packed.size();
+                }
+            }
+        );
+        storedCounter.increment(packed.size());
+        return packed.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<HttpHeartbeatDetailDTO> findOne(Long heartbeatId) {
+        LOG.debug("Request to get the detail of HttpHeartbeat : {}", heartbeatId);
+        List<HttpHeartbeatDetailDTO> stored = jdbcTemplate.query(
+            SELECT_SQL,
+            (rs, rowNum) -> toDto(heartbeatId, rs.getObject(1, LocalDateTime.class), resolve(HttpHeartbeatDetailCodec.decode(rs.getBytes(2)))),
+            heartbeatId
+        );
+        if (!stored.isEmpty()) {
+            return Optional.of(stored.get(0));
+        }
+        List<HttpHeartbeatDetailDTO> inline = jdbcTemplate.query(
+            SELECT_INLINE_SQL,
+            (rs, rowNum) -> {
+                String[] values = new String[HttpHeartbeatDetailCodec.FIELDS.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getString(i + 2);
+                }
+                return HttpHeartbeatDetailCodec.isEmpty(values) ? null : toDto(heartbeatId, rs.getObject(1, LocalDateTime.class), values);
+            },
+            heartbeatId
+        );
+        return inline.stream().filter(Objects::nonNull).findFirst();
+    }
+
+    private String[] resolve(HttpHeartbeatDetailCodec.Decoded decoded) {
+        List<Long> ids = Arrays.stream(decoded.blobIds()).filter(id -> id > 0).boxed().toList();
+        if (!ids.isEmpty()) {
+            Map<Long, String> blobs = blobStore.load(ids);
+            for (int i = 0; i < decoded.values().length; i++) {
+                if (decoded.blobIds()[i] > 0) {
+                    decoded.values()[i] = blobs.get(decoded.blobIds()[i]);
+                }
+            }
+        }
+        return decoded.values();
+    }
+
+    private static String[] values(HttpHeartbeatDTO heartbeat) {
+        return new String[] {
+            heartbeat.getRawRequestHeaders(),
+            heartbeat.getRawResponseHeaders(),
+            heartbeat.getRawResponseBody(),
+            heartbeat.getResponseBodySample(),
+            heartbeat.getDnsDetails(),
+            heartbeat.getTlsDetails(),
+            heartbeat.getRedirectDetails(),
+            heartbeat.getRateLimitDetails(),
+            heartbeat.getNetworkPath(),
+            heartbeat.getAgentMetrics(),
+            heartbeat.getPhaseLatencies(),
+        };
+    }
+
+    private static HttpHeartbeatDetailDTO toDto(Long heartbeatId, LocalDateTime executedAt, String[] values) {
+        HttpHeartbeatDetailDTO dto = new HttpHeartbeatDetailDTO();
+        dto.setHeartbeatId(heartbeatId);
+        dto.setExecutedAt(executedAt.toInstant(ZoneOffset.UTC));
+        dto.setRawRequestHeaders(values[0]);
+        dto.setRawResponseHeaders(values[1]);
+        dto.setRawResponseBody(values[2]);
+        dto.setResponseBodySample(values[3]);
+        dto.setDnsDetails(values[4]);
+        dto.setTlsDetails(values[5]);
+        dto.setRedirectDetails(values[6]);
+        dto.setRateLimitDetails(values[7]);
+        dto.setNetworkPath(values[8]);
+        dto.setAgentMetrics(values[9]);
+        dto.setPhaseLatencies(values[10]);
+        return dto;
+    }
+}
@@ -0,0 +1,286 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatExportService;
+import vibhuvi.oio.inframirror.service.detail.HttpHeartbeatDetailCodec;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatExportFormat;
+import vibhuvi.oio.inframirror.service.export.ColumnarExportWriter;
+import vibhuvi.oio.inframirror.service.export.CsvExportWriter;
+import vibhuvi.oio.inframirror.service.export.ExportColumn;
+import vibhuvi.oio.inframirror.service.export.ExportWriter;
+import vibhuvi.oio.inframirror.service.export.NdjsonExportWriter;
+
+/**
+ * Service Implementation of {@link HttpHeartbeatExportService}.
+ * <p>
+ * The select runs in a read-only transaction with a fetch size, which makes the PostgreSQL driver read the rows
+ * through a forward-only cursor {@code fetchSize} rows at a time instead of loading the whole result. Only the
+ * requested columns are selected, and rows are handed to the {@link ExportWriter} without building entities or DTOs.
+ * Detail columns are decoded from {@code http_heartbeat_detail} when the heartbeat has a stored payload there, with
+ * the shared values it references read from the {@link HttpHeartbeatBlobStore}.
+ */
+@Service
+public class HttpHeartbeatExportServiceImpl implements HttpHeartbeatExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpHeartbeatExportServiceImpl.class);
+
+    private static final Map<String, ExportColumn> COLUMNS = new LinkedHashMap<>();
+
+    /** Shared header and body values kept per export; consecutive heartbeats of a monitor mostly reference the same ones. */
+    private static final int BLOB_CACHE_SIZE = 256;
+
+    /** Columns holding raw request and response details, left out of the default export. */
+    private static final Set<String> DETAIL_COLUMNS = Set.copyOf(HttpHeartbeatDetailCodec.FIELDS);
+
+    static {
+        column("id", ExportColumn.Type.LONG);
+        column("executedAt", ExportColumn.Type.TIMESTAMP);
+        column("monitorId", ExportColumn.Type.LONG);
+        column("agentId", ExportColumn.Type.LONG);
+        column("success", ExportColumn.Type.BOOLEAN);
+        column("responseTimeMs", ExportColumn.Type.INT);
+        column("responseSizeBytes", ExportColumn.Type.INT);
+        column("responseStatusCode", ExportColumn.Type.INT);
+        column("responseContentType", ExportColumn.Type.STRING);
+        column("responseServer", ExportColumn.Type.STRING);
+        column("responseCacheStatus", ExportColumn.Type.STRING);
+        column("dnsLookupMs", ExportColumn.Type.INT);
+        column("dnsResolvedIp", ExportColumn.Type.STRING);
+        column("tcpConnectMs", ExportColumn.Type.INT);
+        column("tlsHandshakeMs", ExportColumn.Type.INT);
+        column("sslCertificateValid", ExportColumn.Type.BOOLEAN);
+        column("sslCertificateExpiry", ExportColumn.Type.TIMESTAMP);
+        column("sslCertificateIssuer", ExportColumn.Type.STRING);
+        column("sslDaysUntilExpiry", ExportColumn.Type.INT);
+        column("timeToFirstByteMs", ExportColumn.Type.INT);
+        column("warningThresholdMs", ExportColumn.Type.INT);
+        column("criticalThresholdMs", ExportColumn.Type.INT);
+        column("errorType", ExportColumn.Type.STRING);
+        column("errorMessage", ExportColumn.Type.STRING);
+        column("httpVersion", ExportColumn.Type.STRING);
+        column("contentEncoding", ExportColumn.Type.STRING);
+        column("compressionRatio", ExportColumn.Type.DOUBLE);
+        column("transferEncoding", ExportColumn.Type.STRING);
+        column("responseBodyHash", ExportColumn.Type.STRING);
+        column("responseBodyValid", ExportColumn.Type.BOOLEAN);
+        column("responseBodyUncompressedBytes", ExportColumn.Type.INT);
+        column("cacheControl", ExportColumn.Type.STRING);
+        column("etag", ExportColumn.Type.STRING);
+        column("cacheAge", ExportColumn.Type.INT);
+        column("cdnProvider", ExportColumn.Type.STRING);
+        column("cdnPop", ExportColumn.Type.STRING);
+        column("rawRequestHeaders", ExportColumn.Type.STRING);
+        column("rawResponseHeaders", ExportColumn.Type.STRING);
+        column("rawResponseBody", ExportColumn.Type.STRING);
+        column("responseBodySample", ExportColumn.Type.STRING);
+        column("dnsDetails", ExportColumn.Type.STRING);
+        column("tlsDetails", ExportColumn.Type.STRING);
+        column("redirectDetails", ExportColumn.Type.STRING);
+        column("rateLimitDetails", ExportColumn.Type.STRING);
+        column("networkPath", ExportColumn.Type.STRING);
+        column("agentMetrics", ExportColumn.Type.STRING);
+        column("phaseLatencies", ExportColumn.Type.STRING);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final HttpHeartbeatBlobStore blobStore;
+    private final ApplicationProperties.HeartbeatExport properties;
+
+    public HttpHeartbeatExportServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        HttpHeartbeatBlobStore blobStore,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.blobStore = blobStore;
+        this.properties = applicationProperties.getHeartbeatExport();
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return List.copyOf(COLUMNS.keySet());
+    }
+
+    @Override
+    public List<String> getDefaultColumns() {
+        return COLUMNS.keySet().stream().filter(name -> !DETAIL_COLUMNS.contains(name)).toList();
+    }
+
+    @Override
+    public long export(
+        Long monitorId,
+        Long agentId,
+        Instant from,
+        Instant to,
+        List<String> columns,
+        HeartbeatExportFormat format,
+        OutputStream out
+    ) throws IOException {
+        List<ExportColumn> selected = new ArrayList<>(columns.size());
+        int[] detailIndexes = new int[columns.size()];
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (String name : columns) {
+            ExportColumn column = COLUMNS.get(name);
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown heartbeat export column: " + name);
+            }
+            detailIndexes[selected.size()] = HttpHeartbeatDetailCodec.FIELDS.indexOf(name);
+            sql.append(selected.isEmpty() ? "" : ", ").append("h.").append(toSnakeCase(name));
+            selected.add(column);
+        }
+        boolean withDetail = Arrays.stream(detailIndexes).anyMatch(index -> index >= 0);
+        if (withDetail) {
+            // Rows written before the detail was split out still hold it inline, so the payload only overrides it
+            sql.append(", d.payload FROM http_heartbeat h LEFT JOIN http_heartbeat_detail d ");
+            sql.append("ON d.heartbeat_id = h.id AND d.executed_at = h.executed_at");
+        } else {
+            sql.append(" FROM http_heartbeat h");
+        }
+        sql.append(" WHERE h.monitor_id = ? AND h.executed_at >= ? AND h.executed_at < ?");
+        if (agentId != null) {
+            sql.append(" AND h.agent_id = ?");
+        }
+        sql.append(" ORDER BY h.executed_at, h.id");
+
+        ExportWriter writer = writer(format, out);
+        writer.begin(selected);
+        Object[] values = new Object[selected.size()];
+        Map<Long, String> blobs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > BLOB_CACHE_SIZE;
+            }
+        };
+        long[] rows = new long[1];
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(
+                    con -> {
+                        PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(properties.getFetchSize());
+                        ps.setLong(1, monitorId);
+                        ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.ofInstant(from, ZoneOffset.UTC)));
+                        ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.ofInstant(to, ZoneOffset.UTC)));
+                        if (agentId != null) {
+                            ps.setLong(4, agentId);
+                        }
+                        return ps;
+                    },
+                    rs -> {
+                        read(rs, selected, values);
+                        if (withDetail) {
+                            readDetail(rs, detailIndexes, values, blobs);
+                        }
+                        try {
+                            writer.row(values);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        rows[0]++;
+                    }
+                )
+            );
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        LOG.debug("Exported {} heartbeats of HttpMonitor {} as {}", rows[0], monitorId, format);
+        return rows[0];
+    }
+
+    private ExportWriter writer(HeartbeatExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(out);
+            case NDJSON -> new NdjsonExportWriter(out, objectMapper.getFactory());
+            case COLUMNAR -> new ColumnarExportWriter(out, properties.getColumnarRowGroupSize());
+        };
+    }
+
+    private static void read(ResultSet rs, List<ExportColumn> columns, Object[] values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            int index = i + 1;
+            values[i] = switch (columns.get(i).type()) {
+                case LONG -> {
+                    long value = rs.getLong(index);
+                    yield rs.wasNull() ? null : value;
+                }
+                case INT -> {
+                    int value = rs.getInt(index);
+                    yield rs.wasNull() ? null : value;
+                }
+                case DOUBLE -> {
+                    double value = rs.getDouble(index);
+                    yield rs.wasNull() ? null : value;
+                }
+                case BOOLEAN -> {
+                    boolean value = rs.getBoolean(index);
+                    yield rs.wasNull() ? null : value;
+                }
+                case TIMESTAMP -> {
+                    Timestamp value = rs.getTimestamp(index);
+                    yield value == null ? null : value.toLocalDateTime().toInstant(ZoneOffset.UTC);
+                }
+                case STRING -> rs.getString(index);
+            };
+        }
+    }
+
+    private void readDetail(ResultSet rs, int[] detailIndexes, Object[] values, Map<Long, String> blobs) throws SQLException {
+        byte[] payload = rs.getBytes(values.length + 1);
+        if (payload == null) {
+            return;
+        }
+        HttpHeartbeatDetailCodec.Decoded detail = HttpHeartbeatDetailCodec.decode(payload);
+        for (int i = 0; i < values.length; i++) {
+            int field = detailIndexes[i];
+            if (field < 0) {
+                continue;
+            }
+            long blobId = detail.blobIds()[field];
+            if (blobId > 0) {
+                values[i] = blobs.computeIfAbsent(blobId, id -> blobStore.load(List.of(id)).get(id));
+            } else {
+                values[i] = detail.values()[field];
+            }
+        }
+    }
+
+    private static void column(String name, ExportColumn.Type type) {
+        COLUMNS.put(name, new ExportColumn(name, type));
+    }
+
+    private static String toSnakeCase(String name) {
+        return name.replaceAll("([A-Z])", "_$1").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,423 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.repository.SequenceIdAllocator;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatDetailService;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatRollupService;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestService;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatBatchResultDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+
+/**
+ * Service Implementation for batched ingestion of {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat}.
+ * <p>
+ * Accepted heartbeats are buffered in a bounded queue and written by a single background thread
+ * using JDBC batch inserts, either when {@code batchSize} items are available or when
+ * {@code flushIntervalMs} has elapsed since the first buffered item. The diagnostic payload of each heartbeat is
+ * stored by the {@link HttpHeartbeatDetailService} and the rollups are updated by the {@link HttpHeartbeatRollupService}
+ * in the same transaction. Committed rows are then handed to the {@link HttpHeartbeatIngestListener}s, always on the
+ * writer thread: a single heartbeat submitted through {@link #ingest(HttpHeartbeatDTO)} is queued like any other and its
+ * caller waits for the batch holding it to be written.
+ */
+@Service
+public class HttpHeartbeatIngestServiceImpl implements HttpHeartbeatIngestService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpHeartbeatIngestServiceImpl.class);
+
+    private static final String REASON_MONITOR_REQUIRED = "monitor.id is required";
+
+    /** How long {@link #ingest(HttpHeartbeatDTO)} waits for the writer before giving up on the heartbeat. */
+    private static final long INGEST_TIMEOUT_SECONDS = 30;
+
+    /** The diagnostic TEXT columns are left out: their payload goes to {@link HttpHeartbeatDetailService}. */
+    private static final String INSERT_SQL =
+        "INSERT INTO http_heartbeat (" +
+        "id, executed_at, success, response_time_ms, response_size_bytes, response_status_code, " +
+        "response_content_type, response_server, response_cache_status, dns_lookup_ms, dns_resolved_ip, " +
+        "tcp_connect_ms, tls_handshake_ms, ssl_certificate_valid, ssl_certificate_expiry, ssl_certificate_issuer, " +
+        "ssl_days_until_expiry, time_to_first_byte_ms, warning_threshold_ms, critical_threshold_ms, error_type, " +
+        "error_message, http_version, content_encoding, compression_ratio, transfer_encoding, response_body_hash, " +
+        "response_body_valid, response_body_uncompressed_bytes, cache_control, etag, cache_age, cdn_provider, cdn_pop, " +
+        "agent_id, monitor_id" +
+        ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+        "?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator sequenceIdAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final HttpHeartbeatDetailService httpHeartbeatDetailService;
+    private final HttpHeartbeatRollupService httpHeartbeatRollupService;
+    private final ObjectProvider<HttpHeartbeatIngestListener> listeners;
+    private final BlockingQueue<HttpHeartbeatDTO> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Object flushLock = new Object();
+    /** Callers of {@link #ingest(HttpHeartbeatDTO)} waiting for their heartbeat, completed with whether it was written. */
+    private final Map<HttpHeartbeatDTO, CompletableFuture<Boolean>> waiters = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private final Timer flushTimer;
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public HttpHeartbeatIngestServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        SequenceIdAllocator sequenceIdAllocator,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        HttpHeartbeatDetailService httpHeartbeatDetailService,
+        HttpHeartbeatRollupService httpHeartbeatRollupService,
+        ObjectProvider<HttpHeartbeatIngestListener> listeners
+    ) {
+        ApplicationProperties.Ingest ingest = applicationProperties.getIngest();
+        this.jdbcTemplate = jdbcTemplate;
+        this.sequenceIdAllocator = sequenceIdAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.httpHeartbeatDetailService = httpHeartbeatDetailService;
+        this.httpHeartbeatRollupService = httpHeartbeatRollupService;
+        this.listeners = listeners;
+        this.queue = new ArrayBlockingQueue<>(ingest.getQueueCapacity());
+        this.batchSize = Math.max(1, ingest.getBatchSize());
+        this.flushIntervalMs = Math.max(1, ingest.getFlushIntervalMs());
+
+        Gauge.builder("inframirror.ingest.http.heartbeats.queue.depth", queue, BlockingQueue::size)
+            .description("HTTP heartbeats buffered and waiting to be flushed")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("inframirror.ingest.http.heartbeats.flush")
+            .description("Latency of a write-behind batch flush")
+            .register(meterRegistry);
+        this.acceptedCounter = meterRegistry.counter("inframirror.ingest.http.heartbeats", "result", "accepted");
+        this.rejectedCounter = meterRegistry.counter("inframirror.ingest.http.heartbeats", "result", "rejected");
+        this.writtenCounter = meterRegistry.counter("inframirror.ingest.http.heartbeats", "result", "written");
+        this.droppedCounter = meterRegistry.counter("inframirror.ingest.http.heartbeats", "result", "dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "http-heartbeat-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        flush();
+    }
+
+    @Override
+    public HttpHeartbeatBatchResultDTO enqueue(List<HttpHeartbeatDTO> heartbeats) {
+        LOG.debug("Request to enqueue {} HttpHeartbeats", heartbeats.size());
+        HttpHeartbeatBatchResultDTO result = new HttpHeartbeatBatchResultDTO();
+        for (int i = 0; i < heartbeats.size(); i++) {
+            HttpHeartbeatDTO heartbeat = heartbeats.get(i);
+            if (heartbeat == null || heartbeat.getMonitor() == null || heartbeat.getMonitor().getId() == null) {
+                result.addItem(new HttpHeartbeatBatchResultDTO.ItemStatus(i, HttpHeartbeatBatchResultDTO.REJECTED, REASON_MONITOR_REQUIRED));
+                rejectedCounter.increment();
+                continue;
+            }
+            if (heartbeat.getExecutedAt() == null) {
+                heartbeat.setExecutedAt(Instant.now());
+            }
+            if (queue.offer(heartbeat)) {
+                result.addItem(new HttpHeartbeatBatchResultDTO.ItemStatus(i, HttpHeartbeatBatchResultDTO.ACCEPTED, null));
+                acceptedCounter.increment();
+            } else {
+                result.addItem(new HttpHeartbeatBatchResultDTO.ItemStatus(i, HttpHeartbeatBatchResultDTO.REJECTED, HttpHeartbeatBatchResultDTO.REASON_QUEUE_FULL));
+                rejectedCounter.increment();
+            }
+        }
+        result.setQueueDepth(queue.size());
+        return result;
+    }
+
+    @Override
+    public Optional<HttpHeartbeatDTO> ingest(HttpHeartbeatDTO heartbeat) {
+        LOG.debug("Request to ingest HttpHeartbeat : {}", heartbeat);
+        if (heartbeat.getExecutedAt() == null) {
+            heartbeat.setExecutedAt(Instant.now());
+        }
+        CompletableFuture<Boolean> written = new CompletableFuture<>();
+        waiters.put(heartbeat, written);
+        if (!queue.offer(heartbeat)) {
+            waiters.remove(heartbeat);
+            rejectedCounter.increment();
+            return Optional.empty();
+        }
+        acceptedCounter.increment();
+        try {
+            return written.get(INGEST_TIMEOUT_SECONDS, TimeUnit.SECONDS) ? Optional.of(heartbeat) : Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException e) {
+            LOG.warn("HttpHeartbeat for monitor {} was not written in time: {}", heartbeat.getMonitor().getId(), e.toString());
+            return Optional.empty();
+        } finally {
+            waiters.remove(heartbeat);
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void flush() {
+        List<HttpHeartbeatDTO> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainLoop() {
+        List<HttpHeartbeatDTO> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                HttpHeartbeatDTO first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    HttpHeartbeatDTO next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeBatch(batch);
+                return;
+            } catch (RuntimeException e) {
+                LOG.error("Unexpected error in HTTP heartbeat writer", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<HttpHeartbeatDTO> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            long start = System.nanoTime();
+            List<HttpHeartbeatDTO> persisted = List.of();
+            try {
+                try {
+                    insert(batch);
+                    writtenCounter.increment(batch.size());
+                    persisted = batch;
+                } catch (DataAccessException e) {
+                    LOG.warn("Batch insert of {} HttpHeartbeats failed, retrying individually: {}", batch.size(), e.getMessage());
+                    persisted = insertIndividually(batch);
+                } finally {
+                    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                notifyPersisted(persisted);
+            } finally {
+                completeWaiters(batch, persisted);
+            }
+        }
+    }
+
+    private void completeWaiters(List<HttpHeartbeatDTO> batch, List<HttpHeartbeatDTO> persisted) {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        Set<HttpHeartbeatDTO> written = persisted == batch ? null : Collections.newSetFromMap(new IdentityHashMap<>());
+        if (written != null) {
+            written.addAll(persisted);
+        }
+        for (HttpHeartbeatDTO heartbeat : batch) {
+            CompletableFuture<Boolean> waiter = waiters.remove(heartbeat);
+            if (waiter != null) {
+                waiter.complete(written == null || written.contains(heartbeat));
+            }
+        }
+    }
+
+    private void notifyPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        if (heartbeats.isEmpty()) {
+            return;
+        }
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onHeartbeatsPersisted(heartbeats);
+            } catch (RuntimeException e) {
+                LOG.error("HttpHeartbeat ingest listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private List<HttpHeartbeatDTO> insertIndividually(List<HttpHeartbeatDTO> batch) {
+        List<HttpHeartbeatDTO> persisted = new ArrayList<>(batch.size());
+        for (HttpHeartbeatDTO heartbeat : batch) {
+            try {
+                insert(List.of(heartbeat));
+                writtenCounter.increment();
+                persisted.add(heartbeat);
+            } catch (DataAccessException e) {
+                LOG.error("Dropping HttpHeartbeat for monitor {}: {}", heartbeat.getMonitor().getId(), e.getMessage());
+                droppedCounter.increment();
+            }
+        }
+        return persisted;
+    }
+
+    private void insert(List<HttpHeartbeatDTO> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] ids = sequenceIdAllocator.allocateIds(batch.size());
+            jdbcTemplate.batchUpdate(
+                INSERT_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, ids[i], batch.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }
+            );
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(ids[i]);
+            }
+            httpHeartbeatDetailService.saveAll(batch);
+            httpHeartbeatRollupService.addAll(batch);
+        });
+    }
+
+    private static void bind(PreparedStatement ps, long id, HttpHeartbeatDTO h) throws SQLException {
+        int i = 1;
+        ps.setLong(i++, id);
+        setInstant(ps, i++, h.getExecutedAt());
+        setBoolean(ps, i++, h.getSuccess());
+        setInteger(ps, i++, h.getResponseTimeMs());
+        setInteger(ps, i++, h.getResponseSizeBytes());
+        setInteger(ps, i++, h.getResponseStatusCode());
+        ps.setString(i++, h.getResponseContentType());
+        ps.setString(i++, h.getResponseServer());
+        ps.setString(i++, h.getResponseCacheStatus());
+        setInteger(ps, i++, h.getDnsLookupMs());
+        ps.setString(i++, h.getDnsResolvedIp());
+        setInteger(ps, i++, h.getTcpConnectMs());
+        setInteger(ps, i++, h.getTlsHandshakeMs());
+        setBoolean(ps, i++, h.getSslCertificateValid());
+        setInstant(ps, i++, h.getSslCertificateExpiry());
+        ps.setString(i++, h.getSslCertificateIssuer());
+        setInteger(ps, i++, h.getSslDaysUntilExpiry());
+        setInteger(ps, i++, h.getTimeToFirstByteMs());
+        setInteger(ps, i++, h.getWarningThresholdMs());
+        setInteger(ps, i++, h.getCriticalThresholdMs());
+        ps.setString(i++, h.getErrorType());
+        ps.setString(i++, h.getErrorMessage());
+        ps.setString(i++, h.getHttpVersion());
+        ps.setString(i++, h.getContentEncoding());
+        if (h.getCompressionRatio() != null) {
+            ps.setFloat(i++, h.getCompressionRatio());
+        } else {
+            ps.setNull(i++, Types.REAL);
+        }
+        ps.setString(i++, h.getTransferEncoding());
+        ps.setString(i++, h.getResponseBodyHash());
+        setBoolean(ps, i++, h.getResponseBodyValid());
+        setInteger(ps, i++, h.getResponseBodyUncompressedBytes());
+        ps.setString(i++, h.getCacheControl());
+        ps.setString(i++, h.getEtag());
+        setInteger(ps, i++, h.getCacheAge());
+        ps.setString(i++, h.getCdnProvider());
+        ps.setString(i++, h.getCdnPop());
+        setLong(ps, i++, h.getAgent() != null ? h.getAgent().getId() : null);
+        setLong(ps, i, h.getMonitor().getId());
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant value) throws SQLException {
+        if (value != null) {
+            // Columns are "timestamp without time zone" holding UTC, as written by Hibernate (hibernate.jdbc.time_zone: UTC)
+            ps.setObject(index, LocalDateTime.ofInstant(value, ZoneOffset.UTC));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static void setBoolean(PreparedStatement ps, int index, Boolean value) throws SQLException {
+        if (value != null) {
+            ps.setBoolean(index, value);
+        } else {
+            ps.setNull(index, Types.BOOLEAN);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatRollupService;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatRollupDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorLatencyPercentilesDTO;
+import vibhuvi.oio.inframirror.service.dto.LatencyGroupBy;
+import vibhuvi.oio.inframirror.service.dto.RollupResolution;
+import vibhuvi.oio.inframirror.service.metrics.LatencySketch;
+
+/**
+ * Service Implementation maintaining the {@code http_heartbeat_rollup_1m/1h/1d} tables.
+ * <p>
+ * Each ingested batch is aggregated in memory per (monitor, agent, bucket) and merged into the tables in the
+ * transaction that inserts the heartbeats, so a bucket never misses or double-counts a committed heartbeat: missing
+ * rows are inserted, the affected rows are locked in key order, and counters are added in SQL while the latency
+ * sketches are merged in Java. Locking the rows first keeps concurrent writers (several application nodes) from
+ * losing sketch updates.
+ */
+@Service
+public class HttpHeartbeatRollupServiceImpl implements HttpHeartbeatRollupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpHeartbeatRollupServiceImpl.class);
+
+    /** Stored agent id for heartbeats that were not attributed to an agent. */
+    private static final long NO_AGENT = 0L;
+
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator.comparingLong(BucketKey::monitorId)
+        .thenComparingLong(BucketKey::agentId)
+        .thenComparing(BucketKey::bucketStart);
+
+    private static final String ENSURE_SQL = "INSERT INTO %s (monitor_id, agent_id, bucket_start) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String LOCK_SQL =
+        "SELECT t.monitor_id, t.agent_id, t.bucket_start, t.latency_sketch FROM %s t " +
+        "JOIN unnest(?::bigint[], ?::bigint[], ?::timestamp[]) AS k(monitor_id, agent_id, bucket_start) " +
+        "ON t.monitor_id = k.monitor_id AND t.agent_id = k.agent_id AND t.bucket_start = k.bucket_start " +
+        "ORDER BY t.monitor_id, t.agent_id, t.bucket_start FOR UPDATE OF t";
+
+    private static final String UPDATE_SQL =
+        "UPDATE %s SET sample_count = sample_count + ?, success_count = success_count + ?, " +
+        "latency_count = latency_count + ?, latency_sum = latency_sum + ?, " +
+        "latency_min = LEAST(latency_min, ?), latency_max = GREATEST(latency_max, ?), " +
+        "dns_sum = dns_sum + ?, dns_count = dns_count + ?, tcp_sum = tcp_sum + ?, tcp_count = tcp_count + ?, " +
+        "tls_sum = tls_sum + ?, tls_count = tls_count + ?, ttfb_sum = ttfb_sum + ?, ttfb_count = ttfb_count + ?, " +
+        "latency_sketch = ?, updated_at = ? WHERE monitor_id = ? AND agent_id = ? AND bucket_start = ?";
+
+    private static final String SELECT_SQL =
+        "SELECT agent_id, bucket_start, sample_count, success_count, latency_count, latency_sum, latency_min, latency_max, " +
+        "dns_sum, dns_count, tcp_sum, tcp_count, tls_sum, tls_count, ttfb_sum, ttfb_count, latency_sketch " +
+        "FROM %s WHERE monitor_id = ? AND bucket_start >= ? AND bucket_start < ?";
+
+    private static final String SKETCH_SQL =
+        "SELECT agent_id, latency_sketch FROM %s WHERE monitor_id = ? AND bucket_start >= ? AND bucket_start < ? AND latency_count > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationProperties.Rollup properties;
+
+    public HttpHeartbeatRollupServiceImpl(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getRollup();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(List<HttpHeartbeatDTO> heartbeats) {
+        Map<RollupResolution, Map<BucketKey, Bucket>> deltas = new EnumMap<>(RollupResolution.class);
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            if (heartbeat.getMonitor() == null || heartbeat.getMonitor().getId() == null || heartbeat.getExecutedAt() == null) {
+                continue;
+            }
+            long monitorId = heartbeat.getMonitor().getId();
+            long agentId = heartbeat.getAgent() != null && heartbeat.getAgent().getId() != null ? heartbeat.getAgent().getId() : NO_AGENT;
+            LocalDateTime executedAt = LocalDateTime.ofInstant(heartbeat.getExecutedAt(), ZoneOffset.UTC);
+            for (RollupResolution resolution : RollupResolution.values()) {
+                BucketKey key = new BucketKey(monitorId, agentId, resolution.truncate(executedAt));
+                deltas.computeIfAbsent(resolution, r -> new TreeMap<>(KEY_ORDER)).computeIfAbsent(key, k -> new Bucket()).add(heartbeat);
+            }
+        }
+        deltas.forEach(this::merge);
+    }
+
+    private void merge(RollupResolution resolution, Map<BucketKey, Bucket> delta) {
+        String table = table(resolution);
+        List<BucketKey> keys = new ArrayList<>(delta.keySet());
+
+        jdbcTemplate.batchUpdate(String.format(ENSURE_SQL, table), keys, keys.size(), (ps, key) -> {
+            ps.setLong(1, key.monitorId());
+            ps.setLong(2, key.agentId());
+            ps.setObject(3, key.bucketStart());
+        });
+
+        Map<BucketKey, LatencySketch> sketches = new TreeMap<>(KEY_ORDER);
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(String.format(LOCK_SQL, table));
+                ps.setArray(1, con.createArrayOf("bigint", keys.stream().map(BucketKey::monitorId).toArray()));
+                ps.setArray(2, con.createArrayOf("bigint", keys.stream().map(BucketKey::agentId).toArray()));
+                ps.setArray(3, con.createArrayOf("timestamp", keys.stream().map(k -> Timestamp.valueOf(k.bucketStart())).toArray()));
+                return ps;
+            },
+            rs -> {
+                BucketKey key = new BucketKey(rs.getLong(1), rs.getLong(2), rs.getObject(3, LocalDateTime.class));
+                sketches.put(key, LatencySketch.fromBytes(rs.getBytes(4)));
+            }
+        );
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(String.format(UPDATE_SQL, table), keys, keys.size(), (ps, key) -> {
+            Bucket bucket = delta.get(key);
+            LatencySketch sketch = sketches.getOrDefault(key, new LatencySketch());
+            sketch.merge(bucket.sketch);
+            int i = 1;
+            ps.setLong(i++, bucket.sampleCount);
+            ps.setLong(i++, bucket.successCount);
+            ps.setLong(i++, bucket.latencyCount);
+            ps.setLong(i++, bucket.latencySum);
+            ps.setObject(i++, bucket.latencyCount > 0 ? bucket.latencyMin : null, Types.INTEGER);
+            ps.setObject(i++, bucket.latencyCount > 0 ? bucket.latencyMax : null, Types.INTEGER);
+            for (int phase = 0; phase < Bucket.PHASES; phase++) {
+                ps.setLong(i++, bucket.phaseSum[phase]);
+                ps.setLong(i++, bucket.phaseCount[phase]);
+            }
+            ps.setBytes(i++, sketch.toBytes());
+            ps.setObject(i++, now);
+            ps.setLong(i++, key.monitorId());
+            ps.setLong(i++, key.agentId());
+            ps.setObject(i, key.bucketStart());
+        });
+    }
+
+    @Override
+    public RollupResolution selectResolution(Instant from, Instant to) {
+        Instant now = Instant.now();
+        long rangeSeconds = Math.max(1, to.getEpochSecond() - from.getEpochSecond());
+        for (RollupResolution resolution : RollupResolution.values()) {
+            boolean retained = !from.isBefore(now.minus(retention(resolution)));
+            long buckets = (rangeSeconds + resolution.getStep().getSeconds() - 1) / resolution.getStep().getSeconds();
+            if (retained && buckets <= properties.getMaxPoints()) {
+                return resolution;
+            }
+        }
+        return RollupResolution.DAY;
+    }
+
+    @Override
+    public List<HttpHeartbeatRollupDTO> findRollups(Long monitorId, Long agentId, Instant from, Instant to, RollupResolution resolution) {
+        RollupResolution effective = resolution != null ? resolution : selectResolution(from, to);
+        LOG.debug("Request to get {} rollups of HttpMonitor {} agent {} from {} to {}", effective, monitorId, agentId, from, to);
+        LocalDateTime start = effective.truncate(LocalDateTime.ofInstant(from, ZoneOffset.UTC));
+        LocalDateTime end = LocalDateTime.ofInstant(to, ZoneOffset.UTC);
+
+        String sql = String.format(SELECT_SQL, table(effective));
+        List<Object> args = new ArrayList<>(List.of(monitorId, start, end));
+        if (agentId != null) {
+            sql += " AND agent_id = ?";
+            args.add(agentId);
+        }
+        sql += " ORDER BY bucket_start, agent_id";
+
+        Map<BucketKey, Bucket> buckets = new TreeMap<>(KEY_ORDER);
+        jdbcTemplate.query(sql, rs -> {
+            long rowAgent = rs.getLong("agent_id");
+            BucketKey key = new BucketKey(monitorId, agentId != null ? rowAgent : NO_AGENT, rs.getObject("bucket_start", LocalDateTime.class));
+            buckets.computeIfAbsent(key, k -> new Bucket()).add(rs);
+        }, args.toArray());
+
+        List<HttpHeartbeatRollupDTO> result = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> result.add(bucket.toDto(key, agentId != null, effective)));
+        return result;
+    }
+
+    @Override
+    public List<HttpMonitorLatencyPercentilesDTO> findLatencyPercentiles(Long monitorId, Instant from, Instant to, LatencyGroupBy groupBy) {
+        LOG.debug("Request to get latency percentiles of HttpMonitor {} by {} from {} to {}", monitorId, groupBy, from, to);
+        RollupResolution finest = RollupResolution.DAY;
+        Instant now = Instant.now();
+        for (RollupResolution resolution : RollupResolution.values()) {
+            if (!from.isBefore(now.minus(retention(resolution)))) {
+                finest = resolution;
+                break;
+            }
+        }
+        List<String> parts = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        cover(LocalDateTime.ofInstant(from, ZoneOffset.UTC), LocalDateTime.ofInstant(to, ZoneOffset.UTC), RollupResolution.DAY, finest, (resolution, start, end) -> {
+            parts.add(String.format(SKETCH_SQL, table(resolution)));
+            args.addAll(List.of(monitorId, start, end));
+        });
+        if (parts.isEmpty()) {
+            return List.of();
+        }
+        String sketches = String.join(" UNION ALL ", parts);
+        String sql = groupBy == LatencyGroupBy.REGION
+            ? "SELECT a.region_id, r.latency_sketch FROM (" + sketches + ") r LEFT JOIN agent a ON a.id = r.agent_id"
+            : sketches;
+
+        // Groups without a region or agent share the null key
+        Map<Long, LatencySketch> merged = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        jdbcTemplate.query(
+            sql,
+            rs -> {
+                Long key = groupBy == LatencyGroupBy.MONITOR ? null : rs.getObject(1, Long.class);
+                merged.computeIfAbsent(key, k -> new LatencySketch()).merge(LatencySketch.fromBytes(rs.getBytes(2)));
+            },
+            args.toArray()
+        );
+
+        List<HttpMonitorLatencyPercentilesDTO> result = new ArrayList<>(merged.size());
+        merged.forEach((key, sketch) -> {
+            HttpMonitorLatencyPercentilesDTO dto = new HttpMonitorLatencyPercentilesDTO();
+            dto.setMonitorId(monitorId);
+            if (groupBy == LatencyGroupBy.AGENT) {
+                dto.setAgentId(key == null || key == NO_AGENT ? null : key);
+            } else if (groupBy == LatencyGroupBy.REGION) {
+                dto.setRegionId(key);
+            }
+            dto.setFrom(from);
+            dto.setTo(to);
+            dto.setSampleCount(sketch.getCount());
+            dto.setMinResponseTimeMs((int) sketch.getMin());
+            dto.setMaxResponseTimeMs((int) sketch.getMax());
+            dto.setP50ResponseTimeMs(sketch.quantile(0.50));
+            dto.setP90ResponseTimeMs(sketch.quantile(0.90));
+            dto.setP95ResponseTimeMs(sketch.quantile(0.95));
+            dto.setP99ResponseTimeMs(sketch.quantile(0.99));
+            dto.setP999ResponseTimeMs(sketch.quantile(0.999));
+            result.add(dto);
+        });
+        return result;
+    }
+
+    @FunctionalInterface
+    interface RangeConsumer {
+        void accept(RollupResolution resolution, LocalDateTime start, LocalDateTime end);
+    }
+
+    /**
+     * Cover {@code [from, to)} with the whole buckets of {@code resolution} it contains and the edges with finer
+     * resolutions, down to {@code finest}, whose partial buckets at the edges are included whole.
+     */
+    static void cover(LocalDateTime from, LocalDateTime to, RollupResolution resolution, RollupResolution finest, RangeConsumer ranges) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        if (resolution == finest) {
+            ranges.accept(resolution, resolution.truncate(from), to);
+            return;
+        }
+        RollupResolution finer = RollupResolution.values()[resolution.ordinal() - 1];
+        LocalDateTime truncated = resolution.truncate(from);
+        LocalDateTime start = truncated.equals(from) ? from : truncated.plus(resolution.getStep());
+        LocalDateTime end = resolution.truncate(to);
+        if (!start.isBefore(end)) {
+            cover(from, to, finer, finest, ranges);
+            return;
+        }
+        cover(from, start, finer, finest, ranges);
+        ranges.accept(resolution, start, end);
+        cover(end, to, finer, finest, ranges);
+    }
+
+    @Override
+    @Scheduled(cron = "${application.rollup.purge-cron:0 20 3 * * *}")
+    public void purgeExpired() {
+        for (RollupResolution resolution : RollupResolution.values()) {
+            LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(retention(resolution));
+            int deleted = jdbcTemplate.update("DELETE FROM " + table(resolution) + " WHERE bucket_start < ?", cutoff);
+            LOG.info("Purged {} expired {} HTTP heartbeat rollups", deleted, resolution.getLabel());
+        }
+    }
+
+    private Duration retention(RollupResolution resolution) {
+        int days =
+            switch (resolution) {
+                case MINUTE -> properties.getMinuteRetentionDays();
+                case HOUR -> properties.getHourRetentionDays();
+                case DAY -> properties.getDayRetentionDays();
+            };
+        return Duration.ofDays(days);
+    }
+
+    private static String table(RollupResolution resolution) {
+        return "http_heartbeat_rollup_" + resolution.getLabel();
+    }
+
+    private record BucketKey(long monitorId, long agentId, LocalDateTime bucketStart) {}
+
+    /**
+     * Mergeable aggregate of one bucket; used both for ingest deltas and to combine stored rows.
+     */
+    private static final class Bucket {
+
+        static final int PHASES = 4;
+
+        long sampleCount;
+        long successCount;
+        long latencyCount;
+        long latencySum;
+        int latencyMin = Integer.MAX_VALUE;
+        int latencyMax = Integer.MIN_VALUE;
+        final long[] phaseSum = new long[PHASES];
+        final long[] phaseCount = new long[PHASES];
+        final LatencySketch sketch = new LatencySketch();
+
+        void add(HttpHeartbeatDTO heartbeat) {
+            sampleCount++;
+            if (Boolean.TRUE.equals(heartbeat.getSuccess())) {
+                successCount++;
+            }
+            Integer latency = heartbeat.getResponseTimeMs();
+            if (latency != null) {
+                latencyCount++;
+                latencySum += latency;
+                latencyMin = Math.min(latencyMin, latency);
+                latencyMax = Math.max(latencyMax, latency);
+                sketch.add(latency);
+            }
+            addPhase(0, heartbeat.getDnsLookupMs());
+            addPhase(1, heartbeat.getTcpConnectMs());
+            addPhase(2, heartbeat.getTlsHandshakeMs());
+            addPhase(3, heartbeat.getTimeToFirstByteMs());
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            sampleCount += rs.getLong("sample_count");
+            successCount += rs.getLong("success_count");
+            long count = rs.getLong("latency_count");
+            if (count > 0) {
+                latencyCount += count;
+                latencySum += rs.getLong("latency_sum");
+                latencyMin = Math.min(latencyMin, rs.getInt("latency_min"));
+                latencyMax = Math.max(latencyMax, rs.getInt("latency_max"));
+            }
+            String[] phases = { "dns", "tcp", "tls", "ttfb" };
+            for (int phase = 0; phase < PHASES; phase++) {
+                phaseSum[phase] += rs.getLong(phases[phase] + "_sum");
+                phaseCount[phase] += rs.getLong(phases[phase] + "_count");
+            }
+            sketch.merge(LatencySketch.fromBytes(rs.getBytes("latency_sketch")));
+        }
+
+        private void addPhase(int phase, Integer value) {
+            if (value != null) {
+                phaseSum[phase] += value;
+                phaseCount[phase]++;
+            }
+        }
+
+        HttpHeartbeatRollupDTO toDto(BucketKey key, boolean perAgent, RollupResolution resolution) {
+            HttpHeartbeatRollupDTO dto = new HttpHeartbeatRollupDTO();
+            dto.setMonitorId(key.monitorId());
+            dto.setAgentId(perAgent ? key.agentId() : null);
+            dto.setResolution(resolution);
+            dto.setBucketStart(key.bucketStart().toInstant(ZoneOffset.UTC));
+            dto.setSampleCount(sampleCount);
+            dto.setSuccessCount(successCount);
+            if (latencyCount > 0) {
+                dto.setAvgResponseTimeMs((double) latencySum / latencyCount);
+                dto.setMinResponseTimeMs(latencyMin);
+                dto.setMaxResponseTimeMs(latencyMax);
+            }
+            dto.setP50ResponseTimeMs(sketch.quantile(0.50));
+            dto.setP95ResponseTimeMs(sketch.quantile(0.95));
+            dto.setP99ResponseTimeMs(sketch.quantile(0.99));
+            dto.setAvgDnsLookupMs(average(0));
+            dto.setAvgTcpConnectMs(average(1));
+            dto.setAvgTlsHandshakeMs(average(2));
+            dto.setAvgTimeToFirstByteMs(average(3));
+            return dto;
+        }
+
+        private Double average(int phase) {
+            return phaseCount[phase] > 0 ? (double) phaseSum[phase] / phaseCount[phase] : null;
+        }
+    }
+}
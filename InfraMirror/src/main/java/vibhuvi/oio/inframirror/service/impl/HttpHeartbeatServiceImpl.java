@@ -1,18 +1,34 @@
 package vibhuvi.oio.inframirror.service.impl;
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import vibhuvi.oio.inframirror.domain.HttpHeartbeat;
 import vibhuvi.oio.inframirror.repository.HttpHeartbeatRepository;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatDetailService;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatRollupService;
 import vibhuvi.oio.inframirror.service.HttpHeartbeatService;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
 import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 import vibhuvi.oio.inframirror.service.mapper.HttpHeartbeatMapper;
 /**
  * Service Implementation for managing {@link vibhuvi.oio.inframirror.domain.HttpHeartbeat}.
+ * <p>
+ * Like the ingest path, a created heartbeat keeps its diagnostic payload out of the row: it is stored by the
+ * {@link HttpHeartbeatDetailService}, and the rollups are updated once the heartbeat is committed.
  */
 @Service
 @Transactional
@@ -20,19 +36,34 @@ public class HttpHeartbeatServiceImpl implements HttpHeartbeatService {
     private static final Logger LOG = LoggerFactory.getLogger(HttpHeartbeatServiceImpl.class);
     private final HttpHeartbeatRepository httpHeartbeatRepository;
     private final HttpHeartbeatMapper httpHeartbeatMapper;
+    private final HttpHeartbeatRollupService httpHeartbeatRollupService;
+    private final HttpHeartbeatDetailService httpHeartbeatDetailService;
+    private final TransactionTemplate rollupTransactionTemplate;
     public HttpHeartbeatServiceImpl(
         HttpHeartbeatRepository httpHeartbeatRepository,
-        HttpHeartbeatMapper httpHeartbeatMapper
+        HttpHeartbeatMapper httpHeartbeatMapper,
+        HttpHeartbeatRollupService httpHeartbeatRollupService,
+        HttpHeartbeatDetailService httpHeartbeatDetailService,
+        PlatformTransactionManager transactionManager
     ) {
         this.httpHeartbeatRepository = httpHeartbeatRepository;
         this.httpHeartbeatMapper = httpHeartbeatMapper;
+        this.httpHeartbeatRollupService = httpHeartbeatRollupService;
+        this.httpHeartbeatDetailService = httpHeartbeatDetailService;
+        this.rollupTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
     @Override
     public HttpHeartbeatDTO save(HttpHeartbeatDTO httpHeartbeatDTO) {
         LOG.debug("Request to save HttpHeartbeat : {}", httpHeartbeatDTO);
         HttpHeartbeat httpHeartbeat = httpHeartbeatMapper.toEntity(httpHeartbeatDTO);
+        clearDetails(httpHeartbeat);
         httpHeartbeat = httpHeartbeatRepository.save(httpHeartbeat);
-        return httpHeartbeatMapper.toDto(httpHeartbeat);
+        httpHeartbeatDTO.setId(httpHeartbeat.getId());
+        httpHeartbeatDetailService.saveAll(List.of(httpHeartbeatDTO));
+        HttpHeartbeatDTO result = httpHeartbeatMapper.toDto(httpHeartbeat);
+        afterCommit(() -> rollupTransactionTemplate.executeWithoutResult(status -> httpHeartbeatRollupService.addAll(List.of(result))));
+        return result;
     }
     @Override
     public HttpHeartbeatDTO update(HttpHeartbeatDTO httpHeartbeatDTO) {
@@ -65,6 +96,26 @@ public class HttpHeartbeatServiceImpl implements HttpHeartbeatService {
     }
     @Override
     @Transactional(readOnly = true)
+    public KeysetPage<HttpHeartbeatDTO> findPageByMonitor(Long monitorId, Instant from, Instant to, HeartbeatCursor after, int size) {
+        LOG.debug("Request to get a page of HttpHeartbeats of Monitor {} after {}", monitorId, after);
+        LocalDateTime beforeAt = LocalDateTime.ofInstant(after != null ? after.executedAt() : to, ZoneOffset.UTC);
+        long beforeId = after != null ? after.id() : Long.MAX_VALUE;
+        return KeysetPage.of(
+            httpHeartbeatRepository.findPageByMonitorId(
+                monitorId,
+                LocalDateTime.ofInstant(from, ZoneOffset.UTC),
+                LocalDateTime.ofInstant(to, ZoneOffset.UTC),
+                beforeAt,
+                beforeId,
+                size + 1
+            ),
+            size,
+            heartbeat -> new HeartbeatCursor(heartbeat.getExecutedAt(), heartbeat.getId()),
+            httpHeartbeatMapper::toDto
+        );
+    }
+    @Override
+    @Transactional(readOnly = true)
     public Optional<HttpHeartbeatDTO> findOne(Long id) {
         LOG.debug("Request to get HttpHeartbeat : {}", id);
         return httpHeartbeatRepository.findById(id).map(httpHeartbeatMapper::toDto);
@@ -80,4 +131,17 @@ public class HttpHeartbeatServiceImpl implements HttpHeartbeatService {
         LOG.debug("Request to search for a page of HttpHeartbeats for query {}", query);
         return httpHeartbeatRepository.findAll(pageable).map(httpHeartbeatMapper::toDto);
     }
+    private static void clearDetails(HttpHeartbeat httpHeartbeat) {
+        httpHeartbeat.setRawRequestHeaders(null);
+        httpHeartbeat.setRawResponseHeaders(null);
+        httpHeartbeat.setRawResponseBody(null);
+        httpHeartbeat.setResponseBodySample(null);
+        httpHeartbeat.setDnsDetails(null);
+        httpHeartbeat.setTlsDetails(null);
+        httpHeartbeat.setRedirectDetails(null);
+        httpHeartbeat.setRateLimitDetails(null);
+        httpHeartbeat.setNetworkPath(null);
+        httpHeartbeat.setAgentMetrics(null);
+        httpHeartbeat.setPhaseLatencies(null);
+    }
 }
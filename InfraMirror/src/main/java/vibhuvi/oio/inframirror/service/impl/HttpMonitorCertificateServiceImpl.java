@@ -0,0 +1,361 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.HttpMonitorCertificateService;
+import vibhuvi.oio.inframirror.service.NotificationService;
+import vibhuvi.oio.inframirror.service.dto.CertificateCursor;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorCertificateDTO;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+import vibhuvi.oio.inframirror.service.dto.NotificationType;
+
+/**
+ * Service Implementation of {@link HttpMonitorCertificateService}.
+ * <p>
+ * The certificate of each monitor is kept in memory, read once per monitor from {@code http_monitor_certificate} and
+ * dropped once the monitor reports none for {@code state-idle-minutes}, and compared with the latest heartbeat of the
+ * monitor in each ingested batch: rows are written only when the expiry, issuer, validity or
+ * {@code certificateExpiryDays} of the monitor changed, so most batches touch no table, and all rows of a batch in one
+ * transaction. Once a certificate is within the threshold of its monitor, its row is marked notified and a
+ * notification queued in the same transaction; a renewed certificate, with another expiry, clears the mark. Upcoming
+ * expiries are read in {@code (expires_at, monitor_id)} order from an index, one page after the other.
+ */
+@Service
+@Order(10)
+public class HttpMonitorCertificateServiceImpl implements HttpMonitorCertificateService, HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpMonitorCertificateServiceImpl.class);
+
+    private static final int MAX_CACHED = 100_000;
+
+    private static final long SECONDS_PER_DAY = Duration.ofDays(1).toSeconds();
+
+    private static final String POLICY_SQL = "SELECT id, name, certificate_expiry_days FROM http_monitor WHERE id = ANY(?)";
+
+    private static final String STATE_SQL =
+        "SELECT monitor_id, expires_at, issuer, valid, threshold_days, notified_at IS NOT NULL " +
+        "FROM http_monitor_certificate WHERE monitor_id = ANY(?)";
+
+    /** The first sighting and the notification belong to a certificate, so both are reset with a new expiry. */
+    private static final String UPSERT_SQL =
+        "INSERT INTO http_monitor_certificate AS c " +
+        "(monitor_id, expires_at, issuer, valid, threshold_days, observed_at, heartbeat_id) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (monitor_id) DO UPDATE SET issuer = EXCLUDED.issuer, valid = EXCLUDED.valid, " +
+        "threshold_days = EXCLUDED.threshold_days, " +
+        "observed_at = CASE WHEN c.expires_at = EXCLUDED.expires_at THEN c.observed_at ELSE EXCLUDED.observed_at END, " +
+        "heartbeat_id = CASE WHEN c.expires_at = EXCLUDED.expires_at THEN c.heartbeat_id ELSE EXCLUDED.heartbeat_id END, " +
+        "notified_at = CASE WHEN c.expires_at = EXCLUDED.expires_at THEN c.notified_at END, " +
+        "expires_at = EXCLUDED.expires_at";
+
+    private static final String NOTIFIED_SQL =
+        "UPDATE http_monitor_certificate SET notified_at = ? WHERE monitor_id = ? AND expires_at = ? AND notified_at IS NULL";
+
+    private static final String COLUMNS =
+        "c.monitor_id, m.name, c.expires_at, c.issuer, c.valid, c.threshold_days, c.observed_at, c.notified_at " +
+        "FROM http_monitor_certificate c JOIN http_monitor m ON m.id = c.monitor_id ";
+
+    private static final String ONE_SQL = "SELECT " + COLUMNS + "WHERE c.monitor_id = ?";
+
+    private static final String PAGE_SQL =
+        "SELECT " + COLUMNS + "WHERE (c.expires_at, c.monitor_id) > (?, ?) AND c.expires_at < ? " +
+        "ORDER BY c.expires_at, c.monitor_id LIMIT ?";
+
+    /** What a monitor expects of its certificate; {@code thresholdDays} is {@code null} when not watched. */
+    private record Policy(String name, Integer thresholdDays) {}
+
+    /** The certificate of a monitor as stored. */
+    private record State(Instant expiresAt, String issuer, Boolean valid, Integer thresholdDays, boolean notified) {}
+
+    /** The certificate of a monitor as seen by its latest heartbeat in a batch. */
+    private record Observation(Long monitorId, Policy policy, State state, HttpHeartbeatDTO heartbeat, long daysLeft) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<Long, Policy> policies;
+    /** The stored certificate of each monitor, empty when it has none; a monitor absent is read again. */
+    private final Cache<Long, Optional<State>> states;
+
+    public HttpMonitorCertificateServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        NotificationService notificationService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        ApplicationProperties.Certificates properties = applicationProperties.getCertificates();
+        this.policies = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED)
+            .expireAfterWrite(Duration.ofSeconds(properties.getPolicyCacheSeconds()))
+            .build();
+        this.states = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED)
+            .expireAfterAccess(Duration.ofMinutes(properties.getStateIdleMinutes()))
+            .build();
+    }
+
+    @Override
+    public synchronized void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        Map<Long, HttpHeartbeatDTO> latest = new HashMap<>();
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            if (
+                heartbeat.getMonitor() == null ||
+                heartbeat.getMonitor().getId() == null ||
+                heartbeat.getSslCertificateExpiry() == null ||
+                heartbeat.getExecutedAt() == null
+            ) {
+                continue;
+            }
+            latest.merge(heartbeat.getMonitor().getId(), heartbeat, (a, b) -> b.getExecutedAt().isAfter(a.getExecutedAt()) ? b : a);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+        Map<Long, Policy> monitorPolicies = policies.getAll(latest.keySet(), this::loadPolicies);
+        Map<Long, Optional<State>> monitorStates = states.getAll(latest.keySet(), this::loadStates);
+
+        List<Observation> changed = new ArrayList<>();
+        List<Observation> due = new ArrayList<>();
+        for (HttpHeartbeatDTO heartbeat : latest.values()) {
+            Long monitorId = heartbeat.getMonitor().getId();
+            Policy policy = monitorPolicies.get(monitorId);
+            if (policy == null) {
+                // Monitor deleted since the heartbeat was executed
+                continue;
+            }
+            State stored = monitorStates.get(monitorId).orElse(null);
+            Instant expiresAt = heartbeat.getSslCertificateExpiry().truncatedTo(ChronoUnit.MICROS);
+            State observed = new State(
+                expiresAt,
+                heartbeat.getSslCertificateIssuer(),
+                heartbeat.getSslCertificateValid(),
+                policy.thresholdDays(),
+                stored != null && stored.expiresAt().equals(expiresAt) && stored.notified()
+            );
+            long daysLeft = heartbeat.getSslDaysUntilExpiry() != null
+                ? heartbeat.getSslDaysUntilExpiry()
+                : daysBetween(heartbeat.getExecutedAt(), expiresAt);
+            Observation observation = new Observation(monitorId, policy, observed, heartbeat, daysLeft);
+            if (!observed.equals(stored)) {
+                changed.add(observation);
+            }
+            if (!observed.notified() && notificationService.isEnabled() && withinThreshold(daysLeft, policy.thresholdDays())) {
+                due.add(observation);
+            }
+        }
+        if (changed.isEmpty() && due.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> store(changed, due));
+        } catch (DataAccessException e) {
+            // The states are left as they were, so the next heartbeats try again
+            LOG.warn("Could not store the certificates of {} HttpMonitors: {}", changed.size() + due.size(), e.getMessage());
+            return;
+        }
+        for (Observation observation : changed) {
+            states.put(observation.monitorId(), Optional.of(observation.state()));
+        }
+        for (Observation observation : due) {
+            State state = observation.state();
+            states.put(
+                observation.monitorId(),
+                Optional.of(new State(state.expiresAt(), state.issuer(), state.valid(), state.thresholdDays(), true))
+            );
+        }
+    }
+
+    private void store(List<Observation> changed, List<Observation> due) {
+        jdbcTemplate.batchUpdate(
+            UPSERT_SQL,
+            changed
+                .stream()
+                .map(observation ->
+                    new Object[] {
+                        observation.monitorId(),
+                        toLocal(observation.state().expiresAt()),
+                        observation.state().issuer(),
+                        observation.state().valid(),
+                        observation.state().thresholdDays(),
+                        toLocal(observation.heartbeat().getExecutedAt()),
+                        observation.heartbeat().getId(),
+                    }
+                )
+                .toList()
+        );
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        for (Observation observation : due) {
+            Instant expiresAt = observation.state().expiresAt();
+            // No row marked means another node notified this certificate already
+            if (jdbcTemplate.update(NOTIFIED_SQL, now, observation.monitorId(), toLocal(expiresAt)) > 0) {
+                notificationService.enqueue(
+                    notification(observation.monitorId(), observation.policy(), observation.heartbeat(), expiresAt, observation.daysLeft())
+                );
+            }
+        }
+    }
+
+    private static NotificationDTO notification(Long monitorId, Policy policy, HttpHeartbeatDTO heartbeat, Instant expiresAt, long daysLeft) {
+        String when = daysLeft < 0 ? "expired on " + expiresAt : "expires in " + daysLeft + " days, on " + expiresAt;
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("monitorName", policy.name());
+        attributes.put("expiresAt", expiresAt.toString());
+        attributes.put("daysUntilExpiry", daysLeft);
+        attributes.put("issuer", heartbeat.getSslCertificateIssuer());
+        attributes.put("thresholdDays", policy.thresholdDays());
+
+        NotificationDTO notification = new NotificationDTO();
+        notification.setType(NotificationType.CERTIFICATE_EXPIRY);
+        notification.setKey("certificate:" + monitorId + ":" + expiresAt.getEpochSecond());
+        notification.setMonitorId(monitorId);
+        notification.setSubject("Certificate of HttpMonitor " + policy.name() + " " + (daysLeft < 0 ? "expired" : "expires soon"));
+        notification.setMessage(
+            "The certificate of HttpMonitor " + policy.name() + " (" + monitorId + ") " + when +
+            (heartbeat.getSslCertificateIssuer() != null ? ", issued by " + heartbeat.getSslCertificateIssuer() : "") + "."
+        );
+        notification.setOccurredAt(heartbeat.getExecutedAt());
+        notification.setAttributes(attributes);
+        return notification;
+    }
+
+    /** Read the stored certificates of monitors not in memory. */
+    private Map<Long, Optional<State>> loadStates(Set<? extends Long> monitorIds) {
+        Map<Long, Optional<State>> loaded = new HashMap<>(monitorIds.size());
+        for (Long monitorId : monitorIds) {
+            loaded.put(monitorId, Optional.empty());
+        }
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(STATE_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", monitorIds.toArray()));
+                return ps;
+            },
+            rs -> {
+                loaded.put(
+                    rs.getLong(1),
+                    Optional.of(
+                        new State(
+                            rs.getObject(2, LocalDateTime.class).toInstant(ZoneOffset.UTC),
+                            rs.getString(3),
+                            rs.getObject(4, Boolean.class),
+                            rs.getObject(5, Integer.class),
+                            rs.getBoolean(6)
+                        )
+                    )
+                );
+            }
+        );
+        return loaded;
+    }
+
+    private Map<Long, Policy> loadPolicies(Set<? extends Long> monitorIds) {
+        Map<Long, Policy> loaded = new HashMap<>(monitorIds.size());
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(POLICY_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", monitorIds.toArray()));
+                return ps;
+            },
+            rs -> {
+                Integer thresholdDays = rs.getObject(3, Integer.class);
+                loaded.put(rs.getLong(1), new Policy(rs.getString(2), thresholdDays != null && thresholdDays > 0 ? thresholdDays : null));
+            }
+        );
+        return loaded;
+    }
+
+    @Override
+    public Optional<HttpMonitorCertificateDTO> findOne(Long monitorId) {
+        LOG.debug("Request to get the certificate of HttpMonitor : {}", monitorId);
+        Instant now = Instant.now();
+        return jdbcTemplate.query(ONE_SQL, (rs, rowNum) -> toDto(rs, now), monitorId).stream().findFirst();
+    }
+
+    @Override
+    public KeysetPage<HttpMonitorCertificateDTO> findExpiring(Instant from, Instant to, CertificateCursor after, int size) {
+        LOG.debug("Request to get a page of HttpMonitor certificates expiring between {} and {} after {}", from, to, after);
+        Instant now = Instant.now();
+        List<HttpMonitorCertificateDTO> rows = jdbcTemplate.query(
+            PAGE_SQL,
+            (rs, rowNum) -> toDto(rs, now),
+            toLocal(after != null ? after.expiresAt() : from),
+            after != null ? after.monitorId() : Long.MIN_VALUE,
+            toLocal(to),
+            size + 1
+        );
+        return KeysetPage.of(
+            rows,
+            size,
+            certificate -> new CertificateCursor(certificate.getExpiresAt(), certificate.getMonitorId()),
+            certificate -> certificate
+        );
+    }
+
+    @Override
+    public void evictMonitors(Collection<Long> monitorIds) {
+        List<Long> ids = List.copyOf(monitorIds);
+        afterCommit(() -> policies.invalidateAll(ids));
+    }
+
+    private static HttpMonitorCertificateDTO toDto(ResultSet rs, Instant now) throws SQLException {
+        HttpMonitorCertificateDTO dto = new HttpMonitorCertificateDTO();
+        dto.setMonitorId(rs.getLong(1));
+        dto.setMonitorName(rs.getString(2));
+        dto.setExpiresAt(rs.getObject(3, LocalDateTime.class).toInstant(ZoneOffset.UTC));
+        dto.setDaysUntilExpiry(daysBetween(now, dto.getExpiresAt()));
+        dto.setIssuer(rs.getString(4));
+        dto.setValid(rs.getObject(5, Boolean.class));
+        dto.setThresholdDays(rs.getObject(6, Integer.class));
+        dto.setWithinThreshold(withinThreshold(dto.getDaysUntilExpiry(), dto.getThresholdDays()));
+        dto.setObservedAt(rs.getObject(7, LocalDateTime.class).toInstant(ZoneOffset.UTC));
+        LocalDateTime notifiedAt = rs.getObject(8, LocalDateTime.class);
+        dto.setNotifiedAt(notifiedAt != null ? notifiedAt.toInstant(ZoneOffset.UTC) : null);
+        return dto;
+    }
+
+    private static boolean withinThreshold(long daysLeft, Integer thresholdDays) {
+        return thresholdDays != null && thresholdDays > 0 && daysLeft <= thresholdDays;
+    }
+
+    /** Whole days from {@code from} to {@code to}, rounded down, so an expired certificate has a negative count. */
+    private static long daysBetween(Instant from, Instant to) {
+        return Math.floorDiv(Duration.between(from, to).toSeconds(), SECONDS_PER_DAY);
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(Objects.requireNonNull(instant), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,96 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.HttpMonitorContentChangedEvent;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+
+/**
+ * Publishes an {@link HttpMonitorContentChangedEvent} when the response body of a monitor, as seen by one agent,
+ * changes from one heartbeat to the next.
+ * <p>
+ * Bodies are compared by the {@code responseBodyHash} reported by the agent, or by the SHA-256 of the raw body when it
+ * sent none. Bodies are tracked per agent so that regions served different content do not flap against each other.
+ * The first body seen after startup, or after a source went {@code idleMinutes} without reporting one, is the baseline.
+ * Each comparison replaces the last body of its source atomically, so heartbeats handed over by concurrent flushes of
+ * the ingest service publish each change once.
+ */
+@Component
+public class HttpMonitorContentChangeDetector implements HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpMonitorContentChangeDetector.class);
+
+    private record Source(long monitorId, Long agentId) {}
+
+    private record Seen(String hash, Instant executedAt) {}
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter changesCounter;
+    private final Cache<Source, Seen> lastSeen;
+
+    public HttpMonitorContentChangeDetector(
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.changesCounter = meterRegistry.counter("inframirror.http.monitor.content.changes");
+        ApplicationProperties.ContentChanges properties = applicationProperties.getContentChanges();
+        this.lastSeen = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSources())
+            .expireAfterAccess(Duration.ofMinutes(properties.getIdleMinutes()))
+            .build();
+    }
+
+    @Override
+    public void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            String hash = bodyHash(heartbeat);
+            if (hash == null || heartbeat.getExecutedAt() == null) {
+                continue;
+            }
+            Source source = new Source(heartbeat.getMonitor().getId(), heartbeat.getAgent() != null ? heartbeat.getAgent().getId() : null);
+            Seen current = new Seen(hash, heartbeat.getExecutedAt());
+            Seen[] previous = new Seen[1];
+            Seen kept = lastSeen
+                .asMap()
+                .compute(source, (key, seen) -> {
+                    previous[0] = seen;
+                    // A late arrival, older than the body already compared against, keeps that body
+                    return seen != null && current.executedAt().isBefore(seen.executedAt()) ? seen : current;
+                });
+            if (kept == current && previous[0] != null && !previous[0].hash().equals(hash)) {
+                LOG.info("Response body of HttpMonitor {} changed as seen by agent {}", source.monitorId(), source.agentId());
+                changesCounter.increment();
+                eventPublisher.publishEvent(
+                    new HttpMonitorContentChangedEvent(
+                        source.monitorId(),
+                        source.agentId(),
+                        previous[0].hash(),
+                        hash,
+                        heartbeat.getId(),
+                        heartbeat.getExecutedAt()
+                    )
+                );
+            }
+        }
+    }
+
+    private static String bodyHash(HttpHeartbeatDTO heartbeat) {
+        if (heartbeat.getResponseBodyHash() != null) {
+            return heartbeat.getResponseBodyHash();
+        }
+        return heartbeat.getRawResponseBody() != null ? HttpHeartbeatBlobStore.hash(heartbeat.getRawResponseBody()) : null;
+    }
+}
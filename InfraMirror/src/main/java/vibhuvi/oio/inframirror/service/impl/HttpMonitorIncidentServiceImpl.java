@@ -0,0 +1,548 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.HttpMonitorIncidentService;
+import vibhuvi.oio.inframirror.service.HttpMonitorStatusChangedEvent;
+import vibhuvi.oio.inframirror.service.NotificationService;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorIncidentDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorStatusDTO;
+import vibhuvi.oio.inframirror.service.dto.MonitorHealthStatus;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+import vibhuvi.oio.inframirror.service.dto.NotificationType;
+import vibhuvi.oio.inframirror.service.metrics.HealthStateMachine;
+
+/**
+ * Service Implementation of {@link HttpMonitorIncidentService}.
+ * <p>
+ * Heartbeats are fed, in execution order, to a {@link HealthStateMachine} per monitor and region of the agent. A check
+ * fails when its success differs from what the monitor expects ({@code upsideDownMode} expects failures) and is slow
+ * above the critical response time; DOWN and DEGRADED take at least {@code retryCount + 1} checks in a row. Heartbeats
+ * older than the last one applied to their state machine are ignored. A state machine starts from the open incident of
+ * its monitor and region, read once per monitor, and from UP otherwise; the state machines of a monitor are dropped
+ * once it has no heartbeats for {@code state-idle-minutes}, and seeded again when it reports. Only transitions are
+ * written: leaving UP opens an incident, moving between DEGRADED and DOWN updates it, and UP again closes it. Each
+ * transition queues a notification, and while DOWN a reminder is queued every {@code resendNotificationCount} failed
+ * checks. The transitions and reminders of a batch are found in memory first and written in a single transaction; when
+ * it fails, the state machines of their monitors are dropped, so that they are seeded again from what was committed.
+ * Reads go to the database, where open incidents are found through a partial index. The listener runs right after the
+ * latest-state store so that caches evicted by later listeners re-render with the new status.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class HttpMonitorIncidentServiceImpl implements HttpMonitorIncidentService, HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpMonitorIncidentServiceImpl.class);
+
+    /** Region id used for heartbeats of agents without a region. */
+    private static final long NO_REGION = 0L;
+
+    private static final int MAX_CACHED = 100_000;
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private static final String POLICY_SQL =
+        "SELECT id, retry_count, upside_down_mode, response_time_critical_ms, name, resend_notification_count " +
+        "FROM http_monitor WHERE id = ANY(?)";
+
+    private static final String AGENT_REGION_SQL = "SELECT id, region_id FROM agent WHERE id = ANY(?)";
+
+    private static final String COLUMNS =
+        "id, monitor_id, region_id, status, worst_status, started_at, updated_at, ended_at, opened_by_heartbeat_id, " +
+        "closed_by_heartbeat_id, error_message";
+
+    private static final String OPEN_SQL =
+        "SELECT " + COLUMNS + " FROM http_monitor_incident WHERE ended_at IS NULL AND monitor_id = ANY(?) ORDER BY monitor_id, region_id";
+
+    private static final String HISTORY_SQL =
+        "SELECT " + COLUMNS + " FROM http_monitor_incident " +
+        "WHERE monitor_id = ? AND started_at < ? AND (ended_at IS NULL OR ended_at >= ?) ORDER BY started_at DESC LIMIT ?";
+
+    /** An incident left open by another node for the same monitor and region is taken over rather than duplicated. */
+    private static final String OPEN_INCIDENT_SQL =
+        "INSERT INTO http_monitor_incident AS i " +
+        "(id, monitor_id, region_id, status, worst_status, started_at, updated_at, opened_by_heartbeat_id, error_message) " +
+        "VALUES (nextval('sequence_generator'), ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (monitor_id, region_id) WHERE ended_at IS NULL DO UPDATE SET status = EXCLUDED.status, " +
+        "worst_status = CASE WHEN EXCLUDED.status = 'DOWN' THEN 'DOWN' ELSE i.worst_status END, updated_at = EXCLUDED.updated_at " +
+        "RETURNING i.id";
+
+    private static final String UPDATE_INCIDENT_SQL =
+        "UPDATE http_monitor_incident SET status = ?, worst_status = CASE WHEN ? = 'DOWN' THEN 'DOWN' ELSE worst_status END, " +
+        "updated_at = ? WHERE id = ?";
+
+    private static final String CLOSE_INCIDENT_SQL =
+        "UPDATE http_monitor_incident SET updated_at = ?, ended_at = ?, closed_by_heartbeat_id = ? WHERE id = ? AND ended_at IS NULL";
+
+    private record Key(long monitorId, long regionId) {}
+
+    /** What a monitor expects of its checks. */
+    private record Policy(int downAfter, int degradedAfter, boolean upsideDown, Integer criticalMs, String name, int resendEvery) {}
+
+    private static final class Tracker {
+
+        final HealthStateMachine machine;
+        Long incidentId;
+        long lastExecutedAt = Long.MIN_VALUE;
+        int failedWhileDown;
+
+        Tracker(MonitorHealthStatus status, Long incidentId) {
+            this.machine = new HealthStateMachine(status);
+            this.incidentId = incidentId;
+        }
+    }
+
+    /** A transition, or a reminder while DOWN, found in a batch and not written yet. */
+    private record Change(
+        Key key,
+        Tracker tracker,
+        Policy policy,
+        MonitorHealthStatus previous,
+        MonitorHealthStatus next,
+        boolean reminder,
+        HttpHeartbeatDTO heartbeat,
+        Instant changedAt
+    ) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.Incidents properties;
+    private final Cache<Long, Policy> policies;
+    private final Cache<Long, Long> agentRegions;
+    /** State machines by monitor, then by region; a monitor absent is seeded again from its open incidents. */
+    private final Cache<Long, Map<Long, Tracker>> trackers;
+    private final Map<MonitorHealthStatus, Counter> transitionCounters = new EnumMap<>(MonitorHealthStatus.class);
+
+    public HttpMonitorIncidentServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        ApplicationEventPublisher eventPublisher,
+        NotificationService notificationService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getIncidents();
+        Duration timeToLive = Duration.ofSeconds(properties.getPolicyCacheSeconds());
+        this.policies = Caffeine.newBuilder().maximumSize(MAX_CACHED).expireAfterWrite(timeToLive).build();
+        this.agentRegions = Caffeine.newBuilder().maximumSize(MAX_CACHED).expireAfterWrite(timeToLive).build();
+        this.trackers = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED)
+            .expireAfterAccess(Duration.ofMinutes(properties.getStateIdleMinutes()))
+            .build();
+        for (MonitorHealthStatus status : MonitorHealthStatus.values()) {
+            transitionCounters.put(status, meterRegistry.counter("inframirror.http.monitor.transitions", "status", status.name()));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public synchronized void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<HttpHeartbeatDTO> ordered = new ArrayList<>(heartbeats.size());
+        Set<Long> monitorIds = new HashSet<>();
+        Set<Long> agentIds = new HashSet<>();
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            if (heartbeat.getMonitor() == null || heartbeat.getMonitor().getId() == null || heartbeat.getExecutedAt() == null) {
+                continue;
+            }
+            ordered.add(heartbeat);
+            monitorIds.add(heartbeat.getMonitor().getId());
+            if (heartbeat.getAgent() != null && heartbeat.getAgent().getId() != null) {
+                agentIds.add(heartbeat.getAgent().getId());
+            }
+        }
+        if (ordered.isEmpty()) {
+            return;
+        }
+        ordered.sort(Comparator.comparing(HttpHeartbeatDTO::getExecutedAt));
+        Map<Long, Policy> monitorPolicies = policies.getAll(monitorIds, this::loadPolicies);
+        Map<Long, Long> regions = agentIds.isEmpty() ? Map.of() : agentRegions.getAll(agentIds, this::loadAgentRegions);
+        Map<Long, Map<Long, Tracker>> monitorTrackers = trackers.getAll(monitorIds, this::seed);
+
+        List<Change> changes = new ArrayList<>();
+        for (HttpHeartbeatDTO heartbeat : ordered) {
+            Policy policy = monitorPolicies.get(heartbeat.getMonitor().getId());
+            if (policy == null) {
+                // Monitor deleted since the heartbeat was executed
+                continue;
+            }
+            Long agentId = heartbeat.getAgent() != null ? heartbeat.getAgent().getId() : null;
+            Key key = new Key(heartbeat.getMonitor().getId(), agentId != null ? regions.getOrDefault(agentId, NO_REGION) : NO_REGION);
+            Tracker tracker = monitorTrackers
+                .get(key.monitorId())
+                .computeIfAbsent(key.regionId(), regionId -> new Tracker(MonitorHealthStatus.UP, null));
+            long executedAt = heartbeat.getExecutedAt().toEpochMilli();
+            if (executedAt < tracker.lastExecutedAt) {
+                continue;
+            }
+            tracker.lastExecutedAt = executedAt;
+            MonitorHealthStatus previous = tracker.machine.status();
+            HealthStateMachine.Check check = check(heartbeat, policy);
+            MonitorHealthStatus next = tracker.machine.observe(
+                executedAt,
+                check,
+                policy.downAfter(),
+                policy.degradedAfter(),
+                properties.getRecoveryThreshold()
+            );
+            Instant changedAt = Instant.ofEpochMilli(tracker.machine.changedAt());
+            if (next != null) {
+                tracker.failedWhileDown = 0;
+                changes.add(new Change(key, tracker, policy, previous, next, false, heartbeat, changedAt));
+            } else if (
+                previous == MonitorHealthStatus.DOWN &&
+                check == HealthStateMachine.Check.FAILED &&
+                policy.resendEvery() > 0 &&
+                ++tracker.failedWhileDown % policy.resendEvery() == 0
+            ) {
+                changes.add(new Change(key, tracker, policy, previous, previous, true, heartbeat, changedAt));
+            }
+        }
+        if (!changes.isEmpty()) {
+            write(changes);
+        }
+    }
+
+    private static HealthStateMachine.Check check(HttpHeartbeatDTO heartbeat, Policy policy) {
+        if (Boolean.TRUE.equals(heartbeat.getSuccess()) == policy.upsideDown()) {
+            return HealthStateMachine.Check.FAILED;
+        }
+        if (policy.upsideDown()) {
+            // The response time of a check expected to fail says nothing about the monitor
+            return HealthStateMachine.Check.OK;
+        }
+        Integer criticalMs = heartbeat.getCriticalThresholdMs() != null ? heartbeat.getCriticalThresholdMs() : policy.criticalMs();
+        Integer responseTimeMs = heartbeat.getResponseTimeMs();
+        return criticalMs != null && responseTimeMs != null && responseTimeMs > criticalMs
+            ? HealthStateMachine.Check.SLOW
+            : HealthStateMachine.Check.OK;
+    }
+
+    /**
+     * Write the changes of a batch in order, in one transaction, then publish the transitions. Each incident id is
+     * taken from the change before it for the same state machine, since a batch may open and close an incident.
+     */
+    private void write(List<Change> changes) {
+        Map<Tracker, Long> incidentIds = new HashMap<>();
+        Long[] changeIncidentIds = new Long[changes.size()];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < changes.size(); i++) {
+                    Change change = changes.get(i);
+                    Long id = incidentIds.containsKey(change.tracker()) ? incidentIds.get(change.tracker()) : change.tracker().incidentId;
+                    if (!change.reminder()) {
+                        id = store(change, id);
+                        incidentIds.put(change.tracker(), change.next() == MonitorHealthStatus.UP ? null : id);
+                    }
+                    notificationService.enqueue(notification(change, id));
+                    changeIncidentIds[i] = id;
+                }
+            });
+        } catch (DataAccessException e) {
+            Set<Long> monitorIds = new HashSet<>();
+            changes.forEach(change -> monitorIds.add(change.key().monitorId()));
+            LOG.error("Could not store {} status changes of HttpMonitors {}, reloading their state", changes.size(), monitorIds, e);
+            trackers.invalidateAll(monitorIds);
+            return;
+        }
+        incidentIds.forEach((tracker, id) -> tracker.incidentId = id);
+
+        for (int i = 0; i < changes.size(); i++) {
+            Change change = changes.get(i);
+            if (change.reminder()) {
+                continue;
+            }
+            Key key = change.key();
+            transitionCounters.get(change.next()).increment();
+            LOG.info(
+                "HttpMonitor {} is {} in region {} since {} (was {})",
+                key.monitorId(),
+                change.next(),
+                key.regionId(),
+                change.changedAt(),
+                change.previous()
+            );
+            eventPublisher.publishEvent(
+                new HttpMonitorStatusChangedEvent(
+                    key.monitorId(),
+                    key.regionId() != NO_REGION ? key.regionId() : null,
+                    change.previous(),
+                    change.next(),
+                    changeIncidentIds[i],
+                    change.heartbeat().getId(),
+                    change.changedAt()
+                )
+            );
+        }
+    }
+
+    /**
+     * @return the id of the incident open for the key after the transition.
+     */
+    private Long store(Change change, Long incidentId) {
+        Key key = change.key();
+        LocalDateTime at = LocalDateTime.ofInstant(change.changedAt(), ZoneOffset.UTC);
+        HttpHeartbeatDTO heartbeat = change.heartbeat();
+        if (change.previous() == MonitorHealthStatus.UP) {
+            return jdbcTemplate.queryForObject(
+                OPEN_INCIDENT_SQL,
+                Long.class,
+                key.monitorId(),
+                key.regionId(),
+                change.next().name(),
+                change.next().name(),
+                at,
+                at,
+                heartbeat.getId(),
+                truncate(heartbeat.getErrorMessage())
+            );
+        }
+        if (incidentId != null && change.next() == MonitorHealthStatus.UP) {
+            jdbcTemplate.update(CLOSE_INCIDENT_SQL, at, at, heartbeat.getId(), incidentId);
+        } else if (incidentId != null) {
+            jdbcTemplate.update(UPDATE_INCIDENT_SQL, change.next().name(), change.next().name(), at, incidentId);
+        }
+        return incidentId;
+    }
+
+    private static NotificationDTO notification(Change change, Long incidentId) {
+        Key key = change.key();
+        Policy policy = change.policy();
+        MonitorHealthStatus previous = change.previous();
+        MonitorHealthStatus next = change.next();
+        HttpHeartbeatDTO heartbeat = change.heartbeat();
+        Instant changedAt = change.changedAt();
+        NotificationType type = change.reminder() ? NotificationType.STATUS_REMINDER : NotificationType.STATUS_CHANGED;
+        String notificationKey = change.reminder()
+            ? "incident:" + incidentId + ":reminder:" + heartbeat.getId()
+            : "incident:" + incidentId + ":" + next + ":" + changedAt.toEpochMilli();
+        String where = key.regionId() != NO_REGION ? " in region " + key.regionId() : "";
+        String what = type == NotificationType.STATUS_REMINDER
+            ? "is still DOWN" + where + " since " + changedAt
+            : next == MonitorHealthStatus.UP ? "is UP again" + where + " since " + changedAt + ", was " + previous
+            : "is " + next + where + " since " + changedAt + ", was " + previous;
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("monitorName", policy.name());
+        attributes.put("regionId", key.regionId() != NO_REGION ? key.regionId() : null);
+        attributes.put("previousStatus", previous.name());
+        attributes.put("status", next.name());
+        attributes.put("incidentId", incidentId);
+        attributes.put("heartbeatId", heartbeat.getId());
+        attributes.put("errorMessage", heartbeat.getErrorMessage());
+
+        NotificationDTO notification = new NotificationDTO();
+        notification.setType(type);
+        notification.setKey(notificationKey);
+        notification.setMonitorId(key.monitorId());
+        notification.setSubject("HttpMonitor " + policy.name() + " " + (type == NotificationType.STATUS_REMINDER ? "is still DOWN" : "is " + next));
+        notification.setMessage(
+            "HttpMonitor " + policy.name() + " (" + key.monitorId() + ") " + what + "." +
+            (next != MonitorHealthStatus.UP && heartbeat.getErrorMessage() != null ? "\nLast error: " + truncate(heartbeat.getErrorMessage()) : "")
+        );
+        notification.setOccurredAt(type == NotificationType.STATUS_REMINDER ? heartbeat.getExecutedAt() : changedAt);
+        notification.setAttributes(attributes);
+        return notification;
+    }
+
+    /** Start the state machines of monitors not in memory from their open incidents. */
+    private Map<Long, Map<Long, Tracker>> seed(Set<? extends Long> monitorIds) {
+        Map<Long, Map<Long, Tracker>> seeded = new HashMap<>(monitorIds.size());
+        for (Long monitorId : monitorIds) {
+            seeded.put(monitorId, new HashMap<>());
+        }
+        for (List<HttpMonitorIncidentDTO> open : findOpenIncidents(List.copyOf(monitorIds)).values()) {
+            for (HttpMonitorIncidentDTO incident : open) {
+                Long regionId = incident.getRegionId() != null ? incident.getRegionId() : NO_REGION;
+                seeded.get(incident.getMonitorId()).putIfAbsent(regionId, new Tracker(incident.getStatus(), incident.getId()));
+            }
+        }
+        return seeded;
+    }
+
+    private Map<Long, Policy> loadPolicies(Set<? extends Long> monitorIds) {
+        Map<Long, Policy> loaded = new HashMap<>(monitorIds.size());
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(POLICY_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", monitorIds.toArray()));
+                return ps;
+            },
+            rs -> {
+                int attempts = Math.max(0, rs.getInt(2)) + 1;
+                loaded.put(
+                    rs.getLong(1),
+                    new Policy(
+                        Math.max(properties.getFailureThreshold(), attempts),
+                        Math.max(properties.getDegradedThreshold(), attempts),
+                        rs.getBoolean(3),
+                        rs.getObject(4, Integer.class),
+                        rs.getString(5),
+                        Math.max(0, rs.getInt(6))
+                    )
+                );
+            }
+        );
+        return loaded;
+    }
+
+    private Map<Long, Long> loadAgentRegions(Set<? extends Long> agentIds) {
+        Map<Long, Long> loaded = new HashMap<>(agentIds.size());
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(AGENT_REGION_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", agentIds.toArray()));
+                return ps;
+            },
+            rs -> {
+                Long regionId = rs.getObject(2, Long.class);
+                loaded.put(rs.getLong(1), regionId != null ? regionId : NO_REGION);
+            }
+        );
+        return loaded;
+    }
+
+    @Override
+    public HttpMonitorStatusDTO findStatus(Long monitorId) {
+        LOG.debug("Request to get the status of HttpMonitor : {}", monitorId);
+        return findStatuses(List.of(monitorId)).get(monitorId);
+    }
+
+    @Override
+    public Map<Long, HttpMonitorStatusDTO> findStatuses(Collection<Long> monitorIds) {
+        Map<Long, List<HttpMonitorIncidentDTO>> open = findOpenIncidents(monitorIds);
+        Map<Long, HttpMonitorStatusDTO> statuses = new HashMap<>(monitorIds.size());
+        for (Long monitorId : monitorIds) {
+            statuses.put(monitorId, toStatus(monitorId, open.getOrDefault(monitorId, List.of())));
+        }
+        return statuses;
+    }
+
+    private static HttpMonitorStatusDTO toStatus(Long monitorId, List<HttpMonitorIncidentDTO> open) {
+        MonitorHealthStatus status = MonitorHealthStatus.UP;
+        for (HttpMonitorIncidentDTO incident : open) {
+            status = status.worst(incident.getStatus());
+        }
+        Instant since = null;
+        for (HttpMonitorIncidentDTO incident : open) {
+            if (incident.getStatus() == status && (since == null || incident.getStartedAt().isBefore(since))) {
+                since = incident.getStartedAt();
+            }
+        }
+        HttpMonitorStatusDTO dto = new HttpMonitorStatusDTO();
+        dto.setMonitorId(monitorId);
+        dto.setStatus(status);
+        dto.setSince(since);
+        dto.setOpenIncidents(open);
+        return dto;
+    }
+
+    @Override
+    public Map<Long, List<HttpMonitorIncidentDTO>> findOpenIncidents(Collection<Long> monitorIds) {
+        Map<Long, List<HttpMonitorIncidentDTO>> open = new LinkedHashMap<>();
+        if (monitorIds.isEmpty()) {
+            return open;
+        }
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(OPEN_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", monitorIds.toArray()));
+                return ps;
+            },
+            rs -> {
+                HttpMonitorIncidentDTO incident = toDto(rs);
+                open.computeIfAbsent(incident.getMonitorId(), id -> new ArrayList<>()).add(incident);
+            }
+        );
+        return open;
+    }
+
+    @Override
+    public List<HttpMonitorIncidentDTO> findIncidents(Long monitorId, Instant from, Instant to, int limit) {
+        LOG.debug("Request to get the incidents of HttpMonitor {} between {} and {}", monitorId, from, to);
+        return jdbcTemplate.query(
+            HISTORY_SQL,
+            (rs, rowNum) -> toDto(rs),
+            monitorId,
+            LocalDateTime.ofInstant(to, ZoneOffset.UTC),
+            LocalDateTime.ofInstant(from, ZoneOffset.UTC),
+            limit
+        );
+    }
+
+    @Override
+    public void evictMonitors(Collection<Long> monitorIds) {
+        List<Long> ids = List.copyOf(monitorIds);
+        afterCommit(() -> policies.invalidateAll(ids));
+    }
+
+    private static HttpMonitorIncidentDTO toDto(ResultSet rs) throws SQLException {
+        HttpMonitorIncidentDTO dto = new HttpMonitorIncidentDTO();
+        dto.setId(rs.getLong(1));
+        dto.setMonitorId(rs.getLong(2));
+        long regionId = rs.getLong(3);
+        dto.setRegionId(regionId != NO_REGION ? regionId : null);
+        dto.setStatus(MonitorHealthStatus.valueOf(rs.getString(4)));
+        dto.setWorstStatus(MonitorHealthStatus.valueOf(rs.getString(5)));
+        dto.setStartedAt(toInstant(rs.getObject(6, LocalDateTime.class)));
+        dto.setUpdatedAt(toInstant(rs.getObject(7, LocalDateTime.class)));
+        dto.setEndedAt(toInstant(rs.getObject(8, LocalDateTime.class)));
+        dto.setOpenedByHeartbeatId(rs.getObject(9, Long.class));
+        dto.setClosedByHeartbeatId(rs.getObject(10, Long.class));
+        dto.setErrorMessage(rs.getString(11));
+        return dto;
+    }
+
+    private static Instant toInstant(LocalDateTime value) {
+        return value != null ? value.toInstant(ZoneOffset.UTC) : null;
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message;
+    }
+}
@@ -0,0 +1,143 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpMonitorSeriesService;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorSeriesDTO;
+import vibhuvi.oio.inframirror.service.dto.LatencyGroupBy;
+import vibhuvi.oio.inframirror.service.metrics.LttbDownsampler;
+
+/**
+ * Service Implementation of {@link HttpMonitorSeriesService}.
+ * <p>
+ * Only the columns charted are selected, in time order from a forward-only cursor, and each row goes straight into
+ * the {@link LttbDownsampler} of its group, so memory stays at a couple of buckets per group whatever the number of
+ * heartbeats in the window.
+ */
+@Service
+public class HttpMonitorSeriesServiceImpl implements HttpMonitorSeriesService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpMonitorSeriesServiceImpl.class);
+
+    private static final int SUCCESS = 1;
+
+    private static final class Group {
+
+        final LttbDownsampler downsampler;
+        long sampleCount;
+        long failureCount;
+
+        Group(LttbDownsampler downsampler) {
+            this.downsampler = downsampler;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ApplicationProperties.MonitorSeries properties;
+
+    public HttpMonitorSeriesServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getMonitorSeries();
+    }
+
+    @Override
+    public List<HttpMonitorSeriesDTO> findSeries(Long monitorId, Instant from, Instant to, int points, Long agentId, LatencyGroupBy groupBy) {
+        LOG.debug("Request to get the series of HttpMonitor {} by {} from {} to {}", monitorId, groupBy, from, to);
+        StringBuilder sql = new StringBuilder("SELECT h.executed_at, h.response_time_ms, h.success, ");
+        sql.append(groupBy == LatencyGroupBy.REGION ? "a.region_id" : "h.agent_id").append(" FROM http_heartbeat h");
+        if (groupBy == LatencyGroupBy.REGION) {
+            sql.append(" LEFT JOIN agent a ON a.id = h.agent_id");
+        }
+        sql.append(" WHERE h.monitor_id = ? AND h.executed_at >= ? AND h.executed_at < ?");
+        if (agentId != null) {
+            sql.append(" AND h.agent_id = ?");
+        }
+        sql.append(" ORDER BY h.executed_at");
+
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        // Groups without a region or agent share the null key
+        Map<Long, Group> groups = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        readOnlyTransactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(properties.getFetchSize());
+                    ps.setLong(1, monitorId);
+                    ps.setObject(2, LocalDateTime.ofInstant(from, ZoneOffset.UTC));
+                    ps.setObject(3, LocalDateTime.ofInstant(to, ZoneOffset.UTC));
+                    if (agentId != null) {
+                        ps.setLong(4, agentId);
+                    }
+                    return ps;
+                },
+                rs -> {
+                    Long key = groupBy == LatencyGroupBy.MONITOR ? null : rs.getObject(4, Long.class);
+                    Group group = groups.computeIfAbsent(key, k -> new Group(new LttbDownsampler(fromMillis, toMillis, points)));
+                    boolean success = rs.getBoolean(3);
+                    group.sampleCount++;
+                    if (!success) {
+                        group.failureCount++;
+                    }
+                    int responseTimeMs = rs.getInt(2);
+                    if (!rs.wasNull()) {
+                        long executedAt = rs.getObject(1, LocalDateTime.class).toInstant(ZoneOffset.UTC).toEpochMilli();
+                        group.downsampler.add(executedAt, responseTimeMs, success ? SUCCESS : 0);
+                    }
+                }
+            )
+        );
+
+        List<HttpMonitorSeriesDTO> result = new ArrayList<>(groups.size());
+        groups.forEach((key, group) -> {
+            LttbDownsampler.Result kept = group.downsampler.finish();
+            HttpMonitorSeriesDTO dto = new HttpMonitorSeriesDTO();
+            dto.setMonitorId(monitorId);
+            if (groupBy == LatencyGroupBy.AGENT) {
+                dto.setAgentId(key);
+            } else if (groupBy == LatencyGroupBy.REGION) {
+                dto.setRegionId(key);
+            }
+            if (agentId != null) {
+                dto.setAgentId(agentId);
+            }
+            dto.setFrom(from);
+            dto.setTo(to);
+            dto.setSampleCount(group.sampleCount);
+            dto.setFailureCount(group.failureCount);
+            dto.setTimestamps(kept.x());
+            int[] responseTimes = new int[kept.y().length];
+            boolean[] successes = new boolean[kept.tags().length];
+            for (int i = 0; i < responseTimes.length; i++) {
+                responseTimes[i] = (int) kept.y()[i];
+                successes[i] = kept.tags()[i] == SUCCESS;
+            }
+            dto.setResponseTimeMs(responseTimes);
+            dto.setSuccess(successes);
+            result.add(dto);
+        });
+        return result;
+    }
+}
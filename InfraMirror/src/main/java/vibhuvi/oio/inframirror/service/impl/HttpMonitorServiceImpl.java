@@ -1,5 +1,6 @@
 package vibhuvi.oio.inframirror.service.impl;
 
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +11,11 @@ import org.springframework.transaction.annotation.Transactional;
 import vibhuvi.oio.inframirror.domain.HttpMonitor;
 import vibhuvi.oio.inframirror.repository.HttpMonitorRepository;
 import vibhuvi.oio.inframirror.service.FullTextSearchUtil;
+import vibhuvi.oio.inframirror.service.HttpMonitorCertificateService;
+import vibhuvi.oio.inframirror.service.HttpMonitorIncidentService;
 import vibhuvi.oio.inframirror.service.HttpMonitorService;
+import vibhuvi.oio.inframirror.service.PublicStatusPageService;
+import vibhuvi.oio.inframirror.service.StatusDependencyService;
 import vibhuvi.oio.inframirror.service.dto.HttpMonitorDTO;
 import vibhuvi.oio.inframirror.service.dto.HttpMonitorSearchResultDTO;
 import vibhuvi.oio.inframirror.service.mapper.HttpMonitorMapper;
@@ -28,9 +33,28 @@ public class HttpMonitorServiceImpl implements HttpMonitorService {
 
     private final HttpMonitorMapper httpMonitorMapper;
 
-    public HttpMonitorServiceImpl(HttpMonitorRepository httpMonitorRepository, HttpMonitorMapper httpMonitorMapper) {
+    private final PublicStatusPageService publicStatusPageService;
+
+    private final StatusDependencyService statusDependencyService;
+
+    private final HttpMonitorIncidentService httpMonitorIncidentService;
+
+    private final HttpMonitorCertificateService httpMonitorCertificateService;
+
+    public HttpMonitorServiceImpl(
+        HttpMonitorRepository httpMonitorRepository,
+        HttpMonitorMapper httpMonitorMapper,
+        PublicStatusPageService publicStatusPageService,
+        StatusDependencyService statusDependencyService,
+        HttpMonitorIncidentService httpMonitorIncidentService,
+        HttpMonitorCertificateService httpMonitorCertificateService
+    ) {
         this.httpMonitorRepository = httpMonitorRepository;
         this.httpMonitorMapper = httpMonitorMapper;
+        this.publicStatusPageService = publicStatusPageService;
+        this.statusDependencyService = statusDependencyService;
+        this.httpMonitorIncidentService = httpMonitorIncidentService;
+        this.httpMonitorCertificateService = httpMonitorCertificateService;
     }
 
     @Override
@@ -46,12 +70,20 @@ public class HttpMonitorServiceImpl implements HttpMonitorService {
         LOG.debug("Request to update HttpMonitor : {}", httpMonitorDTO);
         HttpMonitor httpMonitor = httpMonitorMapper.toEntity(httpMonitorDTO);
         httpMonitor = httpMonitorRepository.save(httpMonitor);
+        publicStatusPageService.evictMonitors(List.of(httpMonitor.getId()));
+        statusDependencyService.evictTopologies();
+        httpMonitorIncidentService.evictMonitors(List.of(httpMonitor.getId()));
+        httpMonitorCertificateService.evictMonitors(List.of(httpMonitor.getId()));
         return httpMonitorMapper.toDto(httpMonitor);
     }
 
     @Override
     public Optional<HttpMonitorDTO> partialUpdate(HttpMonitorDTO httpMonitorDTO) {
         LOG.debug("Request to partially update HttpMonitor : {}", httpMonitorDTO);
+        publicStatusPageService.evictMonitors(List.of(httpMonitorDTO.getId()));
+        statusDependencyService.evictTopologies();
+        httpMonitorIncidentService.evictMonitors(List.of(httpMonitorDTO.getId()));
+        httpMonitorCertificateService.evictMonitors(List.of(httpMonitorDTO.getId()));
 
         return httpMonitorRepository
             .findById(httpMonitorDTO.getId())
@@ -80,6 +112,10 @@ public class HttpMonitorServiceImpl implements HttpMonitorService {
     public void delete(Long id) {
         LOG.debug("Request to delete HttpMonitor : {}", id);
         httpMonitorRepository.deleteById(id);
+        publicStatusPageService.evictMonitors(List.of(id));
+        statusDependencyService.evictTopologies();
+        httpMonitorIncidentService.evictMonitors(List.of(id));
+        httpMonitorCertificateService.evictMonitors(List.of(id));
     }
 
     @Override
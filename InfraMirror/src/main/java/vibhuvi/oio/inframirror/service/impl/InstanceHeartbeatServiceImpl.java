@@ -1,4 +1,9 @@
 package vibhuvi.oio.inframirror.service.impl;
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -6,13 +11,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
 import vibhuvi.oio.inframirror.domain.InstanceHeartbeat;
 import vibhuvi.oio.inframirror.repository.InstanceHeartbeatRepository;
+import vibhuvi.oio.inframirror.repository.InstanceRepository;
 import vibhuvi.oio.inframirror.service.InstanceHeartbeatService;
+import vibhuvi.oio.inframirror.service.InstanceMetricService;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
 import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatIngestRecord;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 import vibhuvi.oio.inframirror.service.mapper.InstanceHeartbeatMapper;
 /**
  * Service Implementation for managing {@link vibhuvi.oio.inframirror.domain.InstanceHeartbeat}.
+ * <p>
+ * While instance metrics are enabled, the cpu, memory, disk, load and network values of an ingested heartbeat are only
+ * kept in the series of the {@link InstanceMetricService}, once the heartbeat is committed; its row leaves them empty.
  */
 @Service
 @Transactional
@@ -20,12 +34,21 @@ public class InstanceHeartbeatServiceImpl implements InstanceHeartbeatService {
     private static final Logger LOG = LoggerFactory.getLogger(InstanceHeartbeatServiceImpl.class);
     private final InstanceHeartbeatRepository instanceHeartbeatRepository;
     private final InstanceHeartbeatMapper instanceHeartbeatMapper;
+    private final InstanceRepository instanceRepository;
+    private final InstanceMetricService instanceMetricService;
+    private final ApplicationProperties.InstanceMetrics instanceMetrics;
     public InstanceHeartbeatServiceImpl(
         InstanceHeartbeatRepository instanceHeartbeatRepository,
-        InstanceHeartbeatMapper instanceHeartbeatMapper
+        InstanceHeartbeatMapper instanceHeartbeatMapper,
+        InstanceRepository instanceRepository,
+        InstanceMetricService instanceMetricService,
+        ApplicationProperties applicationProperties
     ) {
         this.instanceHeartbeatRepository = instanceHeartbeatRepository;
         this.instanceHeartbeatMapper = instanceHeartbeatMapper;
+        this.instanceRepository = instanceRepository;
+        this.instanceMetricService = instanceMetricService;
+        this.instanceMetrics = applicationProperties.getInstanceMetrics();
     }
     @Override
     public InstanceHeartbeatDTO save(InstanceHeartbeatDTO instanceHeartbeatDTO) {
@@ -35,6 +58,67 @@ public class InstanceHeartbeatServiceImpl implements InstanceHeartbeatService {
         return instanceHeartbeatMapper.toDto(instanceHeartbeat);
     }
     @Override
+    public Long ingest(InstanceHeartbeatIngestRecord record) {
+        LOG.debug("Request to ingest InstanceHeartbeat : {}", record);
+        if (!record.has(InstanceHeartbeatIngestRecord.INSTANCE_ID) || !record.has(InstanceHeartbeatIngestRecord.SUCCESS)) {
+            throw new IllegalArgumentException("instanceId and success are required");
+        }
+        if (record.getStatus() == null || record.getHeartbeatType() == null) {
+            throw new IllegalArgumentException("status and heartbeatType are required");
+        }
+        InstanceHeartbeat heartbeat = new InstanceHeartbeat()
+            .executedAt(Instant.now())
+            .heartbeatType(record.getHeartbeatType())
+            .success(record.isSuccess())
+            .status(record.getStatus());
+        if (record.has(InstanceHeartbeatIngestRecord.RESPONSE_TIME_MS)) {
+            heartbeat.setResponseTimeMs(record.getResponseTimeMs());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.PACKET_LOSS)) {
+            heartbeat.setPacketLoss(record.getPacketLoss());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.JITTER_MS)) {
+            heartbeat.setJitterMs(record.getJitterMs());
+        }
+        if (!instanceMetrics.isEnabled()) {
+            setSeriesMetrics(heartbeat, record);
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.PROCESS_COUNT)) {
+            heartbeat.setProcessCount(record.getProcessCount());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.UPTIME_SECONDS)) {
+            heartbeat.setUptimeSeconds(record.getUptimeSeconds());
+        }
+        heartbeat.setErrorMessage(record.getErrorMessage());
+        heartbeat.setErrorType(record.getErrorType());
+        heartbeat.setInstance(instanceRepository.getReferenceById(record.getInstanceId()));
+        Long id = instanceHeartbeatRepository.save(heartbeat).getId();
+        long instanceId = record.getInstanceId();
+        Instant executedAt = heartbeat.getExecutedAt();
+        afterCommit(() -> instanceMetricService.record(instanceId, executedAt, record));
+        return id;
+    }
+    private static void setSeriesMetrics(InstanceHeartbeat heartbeat, InstanceHeartbeatIngestRecord record) {
+        if (record.has(InstanceHeartbeatIngestRecord.CPU_USAGE)) {
+            heartbeat.setCpuUsage(record.getCpuUsage());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.MEMORY_USAGE)) {
+            heartbeat.setMemoryUsage(record.getMemoryUsage());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.DISK_USAGE)) {
+            heartbeat.setDiskUsage(record.getDiskUsage());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.LOAD_AVERAGE)) {
+            heartbeat.setLoadAverage(record.getLoadAverage());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.NETWORK_RX_BYTES)) {
+            heartbeat.setNetworkRxBytes(record.getNetworkRxBytes());
+        }
+        if (record.has(InstanceHeartbeatIngestRecord.NETWORK_TX_BYTES)) {
+            heartbeat.setNetworkTxBytes(record.getNetworkTxBytes());
+        }
+    }
+    @Override
     public InstanceHeartbeatDTO update(InstanceHeartbeatDTO instanceHeartbeatDTO) {
         LOG.debug("Request to update InstanceHeartbeat : {}", instanceHeartbeatDTO);
         InstanceHeartbeat instanceHeartbeat = instanceHeartbeatMapper.toEntity(instanceHeartbeatDTO);
@@ -65,6 +149,26 @@ public class InstanceHeartbeatServiceImpl implements InstanceHeartbeatService {
     }
     @Override
     @Transactional(readOnly = true)
+    public KeysetPage<InstanceHeartbeatDTO> findPageByInstance(Long instanceId, Instant from, Instant to, HeartbeatCursor after, int size) {
+        LOG.debug("Request to get a page of InstanceHeartbeats of Instance {} after {}", instanceId, after);
+        LocalDateTime beforeAt = LocalDateTime.ofInstant(after != null ? after.executedAt() : to, ZoneOffset.UTC);
+        long beforeId = after != null ? after.id() : Long.MAX_VALUE;
+        return KeysetPage.of(
+            instanceHeartbeatRepository.findPageByInstanceId(
+                instanceId,
+                LocalDateTime.ofInstant(from, ZoneOffset.UTC),
+                LocalDateTime.ofInstant(to, ZoneOffset.UTC),
+                beforeAt,
+                beforeId,
+                size + 1
+            ),
+            size,
+            heartbeat -> new HeartbeatCursor(heartbeat.getExecutedAt(), heartbeat.getId()),
+            instanceHeartbeatMapper::toDto
+        );
+    }
+    @Override
+    @Transactional(readOnly = true)
     public Optional<InstanceHeartbeatDTO> findOne(Long id) {
         LOG.debug("Request to get InstanceHeartbeat : {}", id);
         return instanceHeartbeatRepository.findById(id).map(instanceHeartbeatMapper::toDto);
@@ -0,0 +1,359 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.InstanceMetricService;
+import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatIngestRecord;
+import vibhuvi.oio.inframirror.service.dto.InstanceMetric;
+import vibhuvi.oio.inframirror.service.dto.InstanceMetricSeriesDTO;
+import vibhuvi.oio.inframirror.service.metrics.GorillaChunk;
+
+/**
+ * Service Implementation of {@link InstanceMetricService}.
+ * <p>
+ * Each (instance, metric) series has one open {@link GorillaChunk} in memory. A chunk is sealed once it holds
+ * {@code chunkPoints} points or spans {@code chunkMaxSpanSeconds}, and the open chunk of a series that stopped
+ * reporting is sealed on the first flush after that span. Every flush upserts the chunks that changed, keyed by their
+ * first point, so the open chunk is rewritten in place as it fills and a sealed one is kept in memory until written.
+ * Reads merge the stored chunks with the ones in memory. Points not after the last one of their series are dropped.
+ * The series of an instance are expected to be fed by a single node; after a restart a series starts a new chunk.
+ */
+@Service
+public class InstanceMetricServiceImpl implements InstanceMetricService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InstanceMetricServiceImpl.class);
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO instance_metric_chunk AS c (instance_id, metric, start_at, end_at, point_count, payload) " +
+        "VALUES (?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (instance_id, metric, start_at) DO UPDATE " +
+        "SET end_at = EXCLUDED.end_at, point_count = EXCLUDED.point_count, payload = EXCLUDED.payload " +
+        "WHERE c.point_count <= EXCLUDED.point_count";
+
+    private static final String SELECT_SQL =
+        "SELECT metric, start_at, payload FROM instance_metric_chunk " +
+        "WHERE instance_id = ? AND metric = ANY(?) AND start_at > ? AND start_at < ? AND end_at >= ?";
+
+    private static final String PURGE_SQL = "DELETE FROM instance_metric_chunk WHERE end_at < ?";
+
+    private record SeriesKey(long instanceId, InstanceMetric metric) {}
+
+    /** The encoded points of a chunk at one point in time. */
+    private record Chunk(SeriesKey key, long startAt, long endAt, int pointCount, byte[] payload) {
+        static Chunk of(SeriesKey key, GorillaChunk chunk) {
+            return new Chunk(key, chunk.firstTimestamp(), chunk.lastTimestamp(), chunk.size(), chunk.toByteArray());
+        }
+    }
+
+    /** The open chunk of a series; {@code closed} once the series was sealed for being idle and removed. */
+    private static final class Series {
+
+        GorillaChunk chunk;
+        boolean dirty;
+        boolean closed;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.InstanceMetrics properties;
+    private final Map<SeriesKey, Series> open = new ConcurrentHashMap<>();
+    private final Set<Chunk> sealed = ConcurrentHashMap.newKeySet();
+
+    private final Counter appendedCounter;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter writtenBytesCounter;
+
+    public InstanceMetricServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getInstanceMetrics();
+        this.appendedCounter = meterRegistry.counter("inframirror.instance.metrics.points", "result", "appended");
+        this.droppedCounter = meterRegistry.counter("inframirror.instance.metrics.points", "result", "dropped");
+        this.writtenCounter = meterRegistry.counter("inframirror.instance.metrics.chunks", "result", "written");
+        this.writtenBytesCounter = meterRegistry.counter("inframirror.instance.metrics.chunks.bytes", "kind", "written");
+        Gauge.builder("inframirror.instance.metrics.series.open", open, Map::size)
+            .description("Time series with an open chunk in memory")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void record(long instanceId, Instant executedAt, InstanceHeartbeatIngestRecord record) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long second = executedAt.getEpochSecond();
+        for (InstanceMetric metric : InstanceMetric.values()) {
+            if (metric.isPresent(record)) {
+                append(new SeriesKey(instanceId, metric), second, metric.read(record));
+            }
+        }
+    }
+
+    private void append(SeriesKey key, long second, double value) {
+        while (true) {
+            Series series = open.computeIfAbsent(key, k -> new Series());
+            synchronized (series) {
+                if (series.closed) {
+                    continue;
+                }
+                GorillaChunk chunk = series.chunk;
+                if (chunk != null && second <= chunk.lastTimestamp()) {
+                    droppedCounter.increment();
+                    return;
+                }
+                if (chunk != null && (chunk.isFull() || second - chunk.firstTimestamp() >= properties.getChunkMaxSpanSeconds())) {
+                    sealed.add(Chunk.of(key, chunk));
+                    chunk = null;
+                }
+                if (chunk == null) {
+                    chunk = new GorillaChunk(properties.getChunkPoints());
+                    series.chunk = chunk;
+                }
+                chunk.append(second, value);
+                series.dirty = true;
+                appendedCounter.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write the sealed chunks and the open chunks that changed since the last flush, and seal the open chunks of the
+     * series idle for longer than a chunk span. Chunks that fail to be written are retried on the next flush.
+     */
+    @Scheduled(
+        fixedDelayString = "${application.instance-metrics.flush-interval-seconds:30}",
+        initialDelayString = "${application.instance-metrics.flush-interval-seconds:30}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public synchronized void flush() {
+        long idleBefore = Instant.now().getEpochSecond() - properties.getChunkMaxSpanSeconds();
+        List<Series> flushed = new ArrayList<>();
+        List<Chunk> batch = new ArrayList<>();
+        for (Map.Entry<SeriesKey, Series> entry : open.entrySet()) {
+            Series series = entry.getValue();
+            synchronized (series) {
+                if (series.chunk != null && series.chunk.lastTimestamp() < idleBefore) {
+                    sealed.add(Chunk.of(entry.getKey(), series.chunk));
+                    series.closed = true;
+                    open.remove(entry.getKey(), series);
+                } else if (series.dirty) {
+                    batch.add(Chunk.of(entry.getKey(), series.chunk));
+                    series.dirty = false;
+                    flushed.add(series);
+                }
+            }
+        }
+        List<Chunk> sealedBatch = List.copyOf(sealed);
+        batch.addAll(sealedBatch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Sorted, so concurrent writers lock the rows of the primary key in the same order
+        batch.sort(
+            Comparator.comparingLong((Chunk chunk) -> chunk.key().instanceId())
+                .thenComparing(chunk -> chunk.key().metric())
+                .thenComparingLong(Chunk::startAt)
+        );
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+            sealedBatch.forEach(sealed::remove);
+            writtenCounter.increment(batch.size());
+            batch.forEach(chunk -> writtenBytesCounter.increment(chunk.payload().length));
+            LOG.debug("Flushed {} instance metric chunks", batch.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to flush {} instance metric chunks: {}", batch.size(), e.getMessage());
+            for (Series series : flushed) {
+                synchronized (series) {
+                    series.dirty = true;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    private void write(List<Chunk> batch) {
+        jdbcTemplate.batchUpdate(
+            UPSERT_SQL,
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Chunk chunk = batch.get(i);
+                    ps.setLong(1, chunk.key().instanceId());
+                    ps.setShort(2, chunk.key().metric().getCode());
+                    ps.setObject(3, LocalDateTime.ofEpochSecond(chunk.startAt(), 0, ZoneOffset.UTC));
+                    ps.setObject(4, LocalDateTime.ofEpochSecond(chunk.endAt(), 0, ZoneOffset.UTC));
+                    ps.setInt(5, chunk.pointCount());
+                    ps.setBytes(6, chunk.payload());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }
+        );
+    }
+
+    @Override
+    public List<InstanceMetricSeriesDTO> findSeries(Long instanceId, List<InstanceMetric> metrics, Instant from, Instant to, Duration step) {
+        LOG.debug("Request to get metrics {} of Instance {} from {} to {}", metrics, instanceId, from, to);
+        long fromSecond = from.getEpochSecond();
+        long toSecond = to.getEpochSecond();
+        Map<InstanceMetric, NavigableMap<Long, byte[]>> chunks = new EnumMap<>(InstanceMetric.class);
+        metrics.forEach(metric -> chunks.put(metric, new TreeMap<>()));
+        // Memory first: a chunk written and dropped from memory meanwhile is then read from the table
+        for (Chunk chunk : sealed) {
+            if (chunk.key().instanceId() == instanceId && chunks.containsKey(chunk.key().metric())) {
+                merge(chunks.get(chunk.key().metric()), chunk.startAt(), chunk.payload());
+            }
+        }
+        for (InstanceMetric metric : metrics) {
+            Series series = open.get(new SeriesKey(instanceId, metric));
+            if (series != null) {
+                synchronized (series) {
+                    if (series.chunk != null) {
+                        merge(chunks.get(metric), series.chunk.firstTimestamp(), series.chunk.toByteArray());
+                    }
+                }
+            }
+        }
+        Short[] codes = metrics.stream().map(InstanceMetric::getCode).toArray(Short[]::new);
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+                ps.setLong(1, instanceId);
+                ps.setArray(2, con.createArrayOf("smallint", codes));
+                // A chunk spans less than chunkMaxSpanSeconds, which bounds the primary key range to scan
+                ps.setObject(3, LocalDateTime.ofEpochSecond(fromSecond - properties.getChunkMaxSpanSeconds(), 0, ZoneOffset.UTC));
+                ps.setObject(4, LocalDateTime.ofEpochSecond(toSecond, 0, ZoneOffset.UTC));
+                ps.setObject(5, LocalDateTime.ofEpochSecond(fromSecond, 0, ZoneOffset.UTC));
+                return ps;
+            },
+            rs -> {
+                Optional<InstanceMetric> metric = InstanceMetric.fromCode(rs.getShort(1));
+                if (metric.isPresent()) {
+                    merge(chunks.get(metric.get()), rs.getObject(2, LocalDateTime.class).toEpochSecond(ZoneOffset.UTC), rs.getBytes(3));
+                }
+            }
+        );
+
+        List<InstanceMetricSeriesDTO> result = new ArrayList<>(metrics.size());
+        for (InstanceMetric metric : metrics) {
+            InstanceMetricSeriesDTO series = new InstanceMetricSeriesDTO();
+            series.setInstanceId(instanceId);
+            series.setName(metric.getLabel());
+            series.setFrom(from);
+            series.setTo(to);
+            series.setStepSeconds(step != null ? step.toSeconds() : null);
+            Points points = new Points(fromSecond, toSecond, step != null ? step.toSeconds() : 0);
+            chunks.get(metric).values().forEach(payload -> GorillaChunk.decode(payload, points::accept));
+            points.finish();
+            series.setTimestamps(points.timestamps.toArray());
+            series.setValues(points.values.toArray());
+            result.add(series);
+        }
+        return result;
+    }
+
+    /** Keep the most recent version of a chunk, the one with the most points. */
+    private static void merge(NavigableMap<Long, byte[]> chunks, long startAt, byte[] payload) {
+        chunks.merge(startAt, payload, (a, b) -> a.length >= b.length ? a : b);
+    }
+
+    /**
+     * Scheduled cleanup of the chunks whose last point is older than the retention.
+     */
+    @Scheduled(cron = "${application.instance-metrics.purge-cron:0 50 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusDays(properties.getRetentionDays());
+        int deleted = jdbcTemplate.update(PURGE_SQL, cutoff);
+        LOG.info("Purged {} expired instance metric chunks", deleted);
+    }
+
+    /** Collects the points of a series within a window, averaged per step when it has one. */
+    private static final class Points {
+
+        final long from;
+        final long to;
+        final long step;
+        final LongArrayList timestamps = new LongArrayList();
+        final DoubleArrayList values = new DoubleArrayList();
+        long bucket = Long.MIN_VALUE;
+        double sum;
+        int count;
+
+        Points(long from, long to, long step) {
+            this.from = from;
+            this.to = to;
+            this.step = step;
+        }
+
+        void accept(long timestamp, double value) {
+            if (timestamp < from || timestamp >= to) {
+                return;
+            }
+            if (step == 0) {
+                timestamps.add(timestamp);
+                values.add(value);
+                return;
+            }
+            long start = Math.floorDiv(timestamp, step) * step;
+            if (start != bucket) {
+                finish();
+                bucket = start;
+            }
+            sum += value;
+            count++;
+        }
+
+        void finish() {
+            if (count > 0) {
+                timestamps.add(bucket);
+                values.add(sum / count);
+            }
+            sum = 0;
+            count = 0;
+        }
+    }
+}
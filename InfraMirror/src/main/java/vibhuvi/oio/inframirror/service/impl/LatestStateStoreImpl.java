@@ -0,0 +1,308 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.LatestStateStore;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.metrics.HeartbeatRing;
+
+/**
+ * Service Implementation of {@link LatestStateStore}.
+ * <p>
+ * Rings are kept in two levels of primitive-keyed maps (monitor id, then agent id) behind a read-write lock: the
+ * ingest writer thread takes the write lock once per batch, readers copy the rings they need under the read lock.
+ * Until the startup warm-up has completed every read goes to the database. Warm-up and ingest may overlap; rings
+ * ignore samples they already hold, so a heartbeat seen by both is counted once. The store runs first among the
+ * ingest listeners so that caches evicted by later listeners re-render from up-to-date rings.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LatestStateStoreImpl implements LatestStateStore, HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LatestStateStoreImpl.class);
+
+    /** Agent id used for heartbeats that were not attributed to an agent. */
+    private static final long NO_AGENT = 0L;
+
+    private static final String RECENT_SQL = """
+        SELECT monitor_id, agent_id, executed_at, success, response_time_ms, warning_threshold_ms, critical_threshold_ms,
+            CASE WHEN rn = 1 THEN error_message END AS error_message
+        FROM (
+            SELECT h.monitor_id, COALESCE(h.agent_id, 0) AS agent_id, h.executed_at, h.success, h.response_time_ms,
+                h.warning_threshold_ms, h.critical_threshold_ms, h.error_message,
+                ROW_NUMBER() OVER (PARTITION BY h.monitor_id, h.agent_id ORDER BY h.executed_at DESC) AS rn
+            FROM http_heartbeat h
+            WHERE h.monitor_id IS NOT NULL AND h.executed_at >= ? %s
+        ) t
+        WHERE rn <= ?
+        ORDER BY monitor_id, agent_id, executed_at DESC
+        """;
+
+    private static final String LATEST_SQL = """
+        SELECT m.id AS monitor_id, h.agent_id, h.executed_at, h.success, h.response_time_ms,
+            h.warning_threshold_ms, h.critical_threshold_ms, h.error_message
+        FROM unnest(?::bigint[]) AS m(id)
+        CROSS JOIN LATERAL (
+            SELECT COALESCE(agent_id, 0) AS agent_id, executed_at, success, response_time_ms,
+                warning_threshold_ms, critical_threshold_ms, error_message
+            FROM http_heartbeat
+            WHERE monitor_id = m.id
+            ORDER BY executed_at DESC
+            LIMIT 1
+        ) h
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationProperties.LatestState properties;
+    private final LongObjectHashMap<LongObjectHashMap<HeartbeatRing>> monitors = new LongObjectHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean warmed;
+
+    public LatestStateStoreImpl(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getLatestState();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant since = Instant.now().minusSeconds(properties.getWarmLookbackHours() * 3600L);
+        try {
+            Map<Long, Map<Long, HeartbeatRing>> loaded = load(null, properties.getCapacity(), since);
+            lock.writeLock().lock();
+            try {
+                int samples = 0;
+                for (Map.Entry<Long, Map<Long, HeartbeatRing>> monitor : loaded.entrySet()) {
+                    for (Map.Entry<Long, HeartbeatRing> agent : monitor.getValue().entrySet()) {
+                        HeartbeatRing source = agent.getValue();
+                        HeartbeatRing target = ring(monitor.getKey(), agent.getKey());
+                        for (int i = source.size() - 1; i >= 0; i--) {
+                            target.add(
+                                source.executedAt(i),
+                                source.isSuccess(i),
+                                source.latencyMs(i),
+                                source.warningThresholdMs(i),
+                                source.criticalThresholdMs(i),
+                                i == 0 ? source.getLatestErrorMessage() : null
+                            );
+                        }
+                        samples += source.size();
+                    }
+                }
+                LOG.info("Warmed latest-state store with {} heartbeats of {} monitors", samples, loaded.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+            warmed = true;
+        } catch (RuntimeException e) {
+            LOG.error("Failed to warm latest-state store, status reads will use the database", e);
+        }
+    }
+
+    @Override
+    public void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (HttpHeartbeatDTO heartbeat : heartbeats) {
+                if (heartbeat.getMonitor() == null || heartbeat.getMonitor().getId() == null || heartbeat.getExecutedAt() == null) {
+                    continue;
+                }
+                long agentId = heartbeat.getAgent() != null && heartbeat.getAgent().getId() != null ? heartbeat.getAgent().getId() : NO_AGENT;
+                ring(heartbeat.getMonitor().getId(), agentId).add(
+                    heartbeat.getExecutedAt().toEpochMilli(),
+                    Boolean.TRUE.equals(heartbeat.getSuccess()),
+                    valueOf(heartbeat.getResponseTimeMs()),
+                    valueOf(heartbeat.getWarningThresholdMs()),
+                    valueOf(heartbeat.getCriticalThresholdMs()),
+                    heartbeat.getErrorMessage()
+                );
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<HeartbeatRing> findLatest(Long monitorId) {
+        return Optional.ofNullable(findLatest(List.of(monitorId)).get(monitorId));
+    }
+
+    @Override
+    public Map<Long, HeartbeatRing> findLatest(Collection<Long> monitorIds) {
+        Map<Long, HeartbeatRing> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        if (isServedFromMemory(1)) {
+            lock.readLock().lock();
+            try {
+                for (Long monitorId : monitorIds) {
+                    HeartbeatRing latest = null;
+                    LongObjectHashMap<HeartbeatRing> agents = monitors.get(monitorId);
+                    if (agents != null) {
+                        for (LongObjectCursor<HeartbeatRing> cursor : agents) {
+                            HeartbeatRing ring = cursor.value;
+                            if (!ring.isEmpty() && (latest == null || ring.executedAt(0) > latest.executedAt(0))) {
+                                latest = ring;
+                            }
+                        }
+                    }
+                    if (latest != null) {
+                        result.put(monitorId, latest.copy(1, Long.MIN_VALUE));
+                    } else {
+                        misses.add(monitorId);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        } else {
+            misses.addAll(monitorIds);
+        }
+        if (!misses.isEmpty()) {
+            jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(LATEST_SQL);
+                    ps.setArray(1, con.createArrayOf("bigint", misses.toArray()));
+                    return ps;
+                },
+                rs -> {
+                    HeartbeatRing ring = new HeartbeatRing(1);
+                    addRow(ring, rs);
+                    result.put(rs.getLong("monitor_id"), ring);
+                }
+            );
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, Map<Long, HeartbeatRing>> findRecent(Collection<Long> monitorIds, int limit, Instant since) {
+        Map<Long, Map<Long, HeartbeatRing>> result = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        if (isServedFromMemory(limit)) {
+            long sinceMillis = since.toEpochMilli();
+            lock.readLock().lock();
+            try {
+                for (Long monitorId : monitorIds) {
+                    LongObjectHashMap<HeartbeatRing> agents = monitors.get(monitorId);
+                    Map<Long, HeartbeatRing> copies = new HashMap<>();
+                    if (agents != null) {
+                        for (LongObjectCursor<HeartbeatRing> cursor : agents) {
+                            HeartbeatRing copy = cursor.value.copy(limit, sinceMillis);
+                            if (copy != null) {
+                                copies.put(cursor.key, copy);
+                            }
+                        }
+                    }
+                    if (copies.isEmpty()) {
+                        misses.add(monitorId);
+                    } else {
+                        result.put(monitorId, copies);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        } else {
+            misses.addAll(monitorIds);
+        }
+        if (!misses.isEmpty()) {
+            LOG.debug("Loading latest heartbeats of {} monitors from the database", misses.size());
+            result.putAll(load(misses, limit, since));
+        }
+        return result;
+    }
+
+    private boolean isServedFromMemory(int limit) {
+        return properties.isEnabled() && warmed && limit <= properties.getCapacity();
+    }
+
+    /**
+     * Must be called with the write lock held.
+     */
+    private HeartbeatRing ring(long monitorId, long agentId) {
+        LongObjectHashMap<HeartbeatRing> agents = monitors.get(monitorId);
+        if (agents == null) {
+            agents = new LongObjectHashMap<>();
+            monitors.put(monitorId, agents);
+        }
+        HeartbeatRing ring = agents.get(agentId);
+        if (ring == null) {
+            ring = new HeartbeatRing(properties.getCapacity());
+            agents.put(agentId, ring);
+        }
+        return ring;
+    }
+
+    private Map<Long, Map<Long, HeartbeatRing>> load(Collection<Long> monitorIds, int limit, Instant since) {
+        Map<Long, Map<Long, HeartbeatRing>> result = new HashMap<>();
+        String sql = String.format(RECENT_SQL, monitorIds != null ? "AND h.monitor_id = ANY(?)" : "");
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(sql);
+                int i = 1;
+                ps.setObject(i++, LocalDateTime.ofInstant(since, ZoneOffset.UTC));
+                if (monitorIds != null) {
+                    ps.setArray(i++, con.createArrayOf("bigint", monitorIds.toArray()));
+                }
+                ps.setInt(i, limit);
+                return ps;
+            },
+            rs -> {
+                HeartbeatRing ring = result
+                    .computeIfAbsent(rs.getLong("monitor_id"), id -> new HashMap<>())
+                    .computeIfAbsent(rs.getLong("agent_id"), id -> new HeartbeatRing(limit));
+                addRow(ring, rs);
+            }
+        );
+        return result;
+    }
+
+    private static void addRow(HeartbeatRing ring, ResultSet rs) throws SQLException {
+        ring.add(
+            rs.getObject("executed_at", LocalDateTime.class).toInstant(ZoneOffset.UTC).toEpochMilli(),
+            rs.getBoolean("success"),
+            intOrNoValue(rs, "response_time_ms"),
+            intOrNoValue(rs, "warning_threshold_ms"),
+            intOrNoValue(rs, "critical_threshold_ms"),
+            rs.getString("error_message")
+        );
+    }
+
+    private static int intOrNoValue(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? HeartbeatRing.NO_VALUE : value;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : HeartbeatRing.NO_VALUE;
+    }
+}
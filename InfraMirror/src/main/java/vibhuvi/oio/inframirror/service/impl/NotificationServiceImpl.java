@@ -0,0 +1,383 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.NotificationService;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+import vibhuvi.oio.inframirror.service.dto.NotificationType;
+import vibhuvi.oio.inframirror.service.notification.NotificationChannel;
+import vibhuvi.oio.inframirror.service.notification.TokenBucket;
+
+/**
+ * Service Implementation for notifications, delivered through the {@code notification_outbox} table.
+ * <p>
+ * {@link #enqueue} inserts one row per channel taking the notification, skipping channels that already have its key.
+ * Every poll interval, each channel with no worker on it is handed to the worker pool, which claims due rows in
+ * batches, pushing them past a lease, so a batch lost with its node is claimed again when the lease expires. Claims of
+ * a channel hold an advisory lock and only take the rows older than its oldest pending row that is not due, so a
+ * leased batch, or one waiting for a retry, holds back the later rows: server nodes never deliver the same row at
+ * once and a channel receives its notifications in order. A batch is delivered in one call to the channel, then
+ * marked sent; on failure its rows are retried with exponential backoff until the attempts run out and they are
+ * marked failed. Each channel is rate limited by a token bucket of {@code rate-per-minute} calls, one per batch, per
+ * node.
+ */
+@Service
+public class NotificationServiceImpl implements NotificationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notification_outbox " +
+        "(id, channel, dedup_key, event_type, monitor_id, payload, status, attempts, next_attempt_at, created_at) " +
+        "SELECT nextval('sequence_generator'), c.channel, ?, ?, ?, ?, 'PENDING', 0, ?, ? FROM unnest(?) AS c(channel) " +
+        "ON CONFLICT (channel, dedup_key) DO NOTHING";
+
+    /** Advisory lock class of the per-channel claim locks; "ntfy" in ASCII. */
+    private static final int LOCK_CLASS = 0x6E746679;
+
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?, ?)";
+
+    private static final String CLAIM_SQL =
+        "UPDATE notification_outbox o SET next_attempt_at = ?, attempts = o.attempts + 1 " +
+        "FROM (SELECT id FROM notification_outbox WHERE channel = ? AND status = 'PENDING' AND next_attempt_at <= ? " +
+        "AND id < (SELECT COALESCE(MIN(id), " + Long.MAX_VALUE + ") FROM notification_outbox " +
+        "WHERE channel = ? AND status = 'PENDING' AND next_attempt_at > ?) " +
+        "ORDER BY id LIMIT ? FOR UPDATE) c " +
+        "WHERE o.id = c.id RETURNING o.id, o.attempts, o.payload";
+
+    private static final String SENT_SQL =
+        "UPDATE notification_outbox SET status = 'SENT', sent_at = ?, last_error = NULL WHERE id = ANY(?)";
+
+    private static final String RETRY_SQL =
+        "UPDATE notification_outbox SET status = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    private static final String PURGE_SQL = "DELETE FROM notification_outbox WHERE created_at < ?";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Notifications properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ApplicationProperties.Notifications.Channel> channels = new LinkedHashMap<>();
+
+    private final Map<String, NotificationChannel> handlers = new LinkedHashMap<>();
+
+    private final Map<String, TokenBucket> buckets = new LinkedHashMap<>();
+
+    private final Map<NotificationType, String[]> channelsByType = new EnumMap<>(NotificationType.class);
+
+    /** The channels a worker is on. */
+    private final Set<String> busy = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService workers;
+
+    public NotificationServiceImpl(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        List<NotificationChannel> notificationChannels,
+        MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getNotifications();
+        this.meterRegistry = meterRegistry;
+
+        Map<ApplicationProperties.Notifications.ChannelType, NotificationChannel> byType = new EnumMap<>(
+            ApplicationProperties.Notifications.ChannelType.class
+        );
+        notificationChannels.forEach(channel -> byType.put(channel.getType(), channel));
+        long now = System.currentTimeMillis();
+        for (ApplicationProperties.Notifications.Channel channel : properties.getChannels()) {
+            String name = channel.getName();
+            if (name == null || name.isBlank() || channels.containsKey(name) || !byType.containsKey(channel.getType())) {
+                LOG.warn("Ignoring notification channel {} of type {}: no name, duplicate name or no type", name, channel.getType());
+                continue;
+            }
+            channels.put(name, channel);
+            handlers.put(name, byType.get(channel.getType()));
+            buckets.put(name, new TokenBucket(Math.max(1, channel.getRatePerMinute()), Duration.ofMinutes(1).toMillis(), now));
+        }
+        for (NotificationType type : NotificationType.values()) {
+            channelsByType.put(
+                type,
+                channels
+                    .values()
+                    .stream()
+                    .filter(channel -> channel.getEvents().isEmpty() || channel.getEvents().contains(type.name()))
+                    .map(ApplicationProperties.Notifications.Channel::getName)
+                    .toArray(String[]::new)
+            );
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        workers = Executors.newFixedThreadPool(Math.max(1, properties.getWorkers()), daemon("notification-worker"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public int enqueue(NotificationDTO notification) {
+        String[] names = channelsByType.get(notification.getType());
+        if (!properties.isEnabled() || names.length == 0) {
+            return 0;
+        }
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Notification " + notification.getKey() + " cannot be serialized", e);
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        int queued = jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(INSERT_SQL);
+            ps.setString(1, notification.getKey());
+            ps.setString(2, notification.getType().name());
+            ps.setObject(3, notification.getMonitorId());
+            ps.setString(4, payload);
+            ps.setObject(5, now);
+            ps.setObject(6, now);
+            ps.setArray(7, con.createArrayOf("varchar", names));
+            return ps;
+        });
+        LOG.debug("Queued {} for {} channels", notification, queued);
+        return queued;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${application.notifications.poll-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void dispatch() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (String name : channels.keySet()) {
+            if (!busy.add(name)) {
+                continue;
+            }
+            try {
+                workers.execute(() -> drain(name));
+            } catch (RejectedExecutionException e) {
+                busy.remove(name);
+                return;
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${application.notifications.purge-cron:0 10 4 * * *}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(properties.getRetentionDays()));
+        int deleted = jdbcTemplate.update(PURGE_SQL, LocalDateTime.ofInstant(cutoff, ZoneOffset.UTC));
+        if (deleted > 0) {
+            LOG.info("Purged {} notification_outbox rows created before {}", deleted, cutoff);
+        }
+    }
+
+    /**
+     * Deliver the due notifications of a channel, batch by batch, while its rate allows.
+     */
+    void drain(String name) {
+        ApplicationProperties.Notifications.Channel channel = channels.get(name);
+        TokenBucket bucket = buckets.get(name);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!bucket.available(System.currentTimeMillis())) {
+                    meterRegistry.counter("inframirror.notifications", "channel", name, "result", "throttled").increment();
+                    return;
+                }
+                List<Claimed> batch = claim(name);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                bucket.tryAcquire(System.currentTimeMillis());
+                // A failed batch holds back the later notifications until it is retried
+                if (!deliver(channel, batch) || batch.size() < properties.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (DataAccessException e) {
+            LOG.warn("Could not deliver the notifications of channel {}: {}", name, e.getMessage());
+        } finally {
+            busy.remove(name);
+        }
+    }
+
+    /**
+     * @return the next batch of the channel, empty when none is due or another node is claiming one.
+     */
+    private List<Claimed> claim(String name) {
+        Instant now = Instant.now();
+        LocalDateTime at = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+        List<Claimed> batch = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, LOCK_CLASS, name.hashCode()))) {
+                return new ArrayList<>();
+            }
+            return jdbcTemplate.query(
+                CLAIM_SQL,
+                (rs, rowNum) -> new Claimed(rs.getLong(1), rs.getInt(2), read(rs.getLong(1), rs.getString(3))),
+                LocalDateTime.ofInstant(now.plusSeconds(properties.getLeaseSeconds()), ZoneOffset.UTC),
+                name,
+                at,
+                name,
+                at,
+                Math.max(1, properties.getBatchSize())
+            );
+        });
+        // RETURNING does not keep the order of the claim
+        batch.sort(Comparator.comparingLong(Claimed::id));
+        return batch;
+    }
+
+    private boolean deliver(ApplicationProperties.Notifications.Channel channel, List<Claimed> batch) {
+        List<NotificationDTO> notifications = new ArrayList<>(batch.size());
+        for (Claimed claimed : batch) {
+            if (claimed.notification() != null && !superseded(claimed.notification(), batch)) {
+                notifications.add(claimed.notification());
+            }
+        }
+        try {
+            if (!notifications.isEmpty()) {
+                handlers.get(channel.getName()).send(channel, notifications);
+            }
+        } catch (Exception e) {
+            retry(channel.getName(), batch, e);
+            return false;
+        }
+        Long[] ids = batch.stream().map(Claimed::id).toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(SENT_SQL);
+            ps.setObject(1, LocalDateTime.now(ZoneOffset.UTC));
+            ps.setArray(2, con.createArrayOf("bigint", ids));
+            return ps;
+        });
+        meterRegistry.counter("inframirror.notifications", "channel", channel.getName(), "result", "sent").increment(notifications.size());
+        return true;
+    }
+
+    private void retry(String name, List<Claimed> batch, Exception cause) {
+        String error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        Instant now = Instant.now();
+        int failed = 0;
+        List<Object[]> updates = new ArrayList<>(batch.size());
+        for (Claimed claimed : batch) {
+            boolean exhausted = claimed.attempts() >= properties.getMaxAttempts();
+            failed += exhausted ? 1 : 0;
+            updates.add(
+                new Object[] {
+                    exhausted ? "FAILED" : "PENDING",
+                    LocalDateTime.ofInstant(now.plusSeconds(backoffSeconds(claimed.attempts())), ZoneOffset.UTC),
+                    lastError,
+                    claimed.id(),
+                }
+            );
+        }
+        jdbcTemplate.batchUpdate(RETRY_SQL, updates);
+        LOG.warn("Could not deliver {} notifications to channel {}, {} given up: {}", batch.size(), name, failed, error);
+        meterRegistry.counter("inframirror.notifications", "channel", name, "result", "retried").increment(batch.size() - failed);
+        meterRegistry.counter("inframirror.notifications", "channel", name, "result", "failed").increment(failed);
+    }
+
+    /**
+     * @param attempts the attempts made so far, at least 1.
+     * @return the delay before the next attempt: the initial backoff, doubled for each further attempt, up to the max.
+     */
+    long backoffSeconds(int attempts) {
+        long initial = Math.max(1, properties.getInitialBackoffSeconds());
+        int doublings = Math.max(0, Math.min(attempts - 1, 30));
+        return Math.min(properties.getMaxBackoffSeconds(), initial << doublings);
+    }
+
+    /**
+     * A reminder is moot when the same batch also reports a later status change of its monitor.
+     */
+    private static boolean superseded(NotificationDTO notification, List<Claimed> batch) {
+        if (notification.getType() != NotificationType.STATUS_REMINDER) {
+            return false;
+        }
+        for (Claimed other : batch) {
+            NotificationDTO later = other.notification();
+            if (
+                later != null &&
+                later.getType() == NotificationType.STATUS_CHANGED &&
+                later.getMonitorId() != null &&
+                later.getMonitorId().equals(notification.getMonitorId()) &&
+                later.getOccurredAt() != null &&
+                notification.getOccurredAt() != null &&
+                later.getOccurredAt().isAfter(notification.getOccurredAt())
+            ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private NotificationDTO read(long id, String payload) {
+        try {
+            return objectMapper.readValue(payload, NotificationDTO.class);
+        } catch (JsonProcessingException e) {
+            LOG.error("Dropping unreadable notification {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Claimed(long id, int attempts, NotificationDTO notification) {}
+}
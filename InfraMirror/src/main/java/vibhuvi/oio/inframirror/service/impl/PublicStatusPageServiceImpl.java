@@ -0,0 +1,385 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.domain.HttpMonitor;
+import vibhuvi.oio.inframirror.domain.StatusPage;
+import vibhuvi.oio.inframirror.domain.StatusPageItem;
+import vibhuvi.oio.inframirror.domain.StatusPageSettings;
+import vibhuvi.oio.inframirror.repository.AgentRepository;
+import vibhuvi.oio.inframirror.repository.HttpMonitorRepository;
+import vibhuvi.oio.inframirror.repository.StatusPageItemRepository;
+import vibhuvi.oio.inframirror.repository.StatusPageRepository;
+import vibhuvi.oio.inframirror.repository.StatusPageSettingsRepository;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.HttpMonitorIncidentService;
+import vibhuvi.oio.inframirror.service.LatestStateStore;
+import vibhuvi.oio.inframirror.service.PublicStatusPageService;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorStatusDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageSnapshot;
+import vibhuvi.oio.inframirror.service.metrics.HeartbeatRing;
+
+/**
+ * Service Implementation for rendering and caching public status pages.
+ * <p>
+ * Each slug maps to a future of its snapshot. The first request for a missing or expired slug installs a new future
+ * and renders the page; requests arriving meanwhile wait on that future. Evictions remove the future, so the next
+ * request renders again. Heartbeats only mark the pages showing their monitor dirty, once the latest-state store has
+ * them: a dirty page is rendered again at most once per max-age (the interval clients re-fetch it at anyway), so a
+ * busy monitor costs one render per interval rather than one per ingest flush. A render already in flight when a
+ * heartbeat arrives is not marked, which the time-to-live bounds.
+ * <p>
+ * The status of each monitor is the one kept by {@link HttpMonitorIncidentService}; the health shown per agent is
+ * computed from its latest samples against the thresholds of the page.
+ */
+@Service
+// Mark pages dirty before StatusPageStreamServiceImpl, a later listener, re-reads them
+@Order(0)
+public class PublicStatusPageServiceImpl implements PublicStatusPageService, HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublicStatusPageServiceImpl.class);
+    private static final long MIN_LOOKBACK_SECONDS = 3600;
+
+    private final StatusPageRepository statusPageRepository;
+    private final StatusPageItemRepository statusPageItemRepository;
+    private final HttpMonitorRepository httpMonitorRepository;
+    private final AgentRepository agentRepository;
+    private final StatusPageSettingsRepository statusPageSettingsRepository;
+    private final LatestStateStore latestStateStore;
+    private final HttpMonitorIncidentService httpMonitorIncidentService;
+    private final ObjectMapper objectMapper;
+    private final Duration timeToLive;
+    private final int maxAgeSeconds;
+    private final ConcurrentHashMap<String, CompletableFuture<PublicStatusPageSnapshot>> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public PublicStatusPageServiceImpl(
+        StatusPageRepository statusPageRepository,
+        StatusPageItemRepository statusPageItemRepository,
+        HttpMonitorRepository httpMonitorRepository,
+        AgentRepository agentRepository,
+        StatusPageSettingsRepository statusPageSettingsRepository,
+        LatestStateStore latestStateStore,
+        HttpMonitorIncidentService httpMonitorIncidentService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.statusPageRepository = statusPageRepository;
+        this.statusPageItemRepository = statusPageItemRepository;
+        this.httpMonitorRepository = httpMonitorRepository;
+        this.agentRepository = agentRepository;
+        this.statusPageSettingsRepository = statusPageSettingsRepository;
+        this.latestStateStore = latestStateStore;
+        this.httpMonitorIncidentService = httpMonitorIncidentService;
+        this.objectMapper = objectMapper;
+        this.timeToLive = Duration.ofSeconds(applicationProperties.getStatusPageCache().getTimeToLiveSeconds());
+        this.maxAgeSeconds = applicationProperties.getStatusPageCache().getMaxAgeSeconds();
+    }
+
+    @Override
+    public Optional<PublicStatusPageSnapshot> getSnapshot(String slug) {
+        while (true) {
+            CompletableFuture<PublicStatusPageSnapshot> current = snapshots.get(slug);
+            if (current != null) {
+                PublicStatusPageSnapshot snapshot;
+                try {
+                    snapshot = current.join();
+                } catch (CompletionException e) {
+                    // Share the failure of the in-flight render rather than repeating it
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+                if (snapshot == null) {
+                    return Optional.empty();
+                }
+                if (isFresh(slug, snapshot, Instant.now())) {
+                    return Optional.of(snapshot);
+                }
+            }
+            CompletableFuture<PublicStatusPageSnapshot> mine = new CompletableFuture<>();
+            boolean installed = current == null ? snapshots.putIfAbsent(slug, mine) == null : snapshots.replace(slug, current, mine);
+            if (!installed) {
+                continue;
+            }
+            // Heartbeats from here on mark the page again
+            dirty.remove(slug);
+            try {
+                PublicStatusPageSnapshot snapshot = render(slug);
+                mine.complete(snapshot);
+                if (snapshot == null) {
+                    // Unknown slugs are not cached, the key space is up to the caller
+                    snapshots.remove(slug, mine);
+                }
+                return Optional.ofNullable(snapshot);
+            } catch (RuntimeException e) {
+                snapshots.remove(slug, mine);
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void evictStatusPage(Long statusPageId) {
+        afterCommit(() -> evictIf(snapshot -> snapshot.getStatusPageId().equals(statusPageId)));
+    }
+
+    @Override
+    public void evictMonitors(Collection<Long> monitorIds) {
+        Set<Long> ids = Set.copyOf(monitorIds);
+        afterCommit(() -> evictIf(snapshot -> snapshot.getMonitorIds().stream().anyMatch(ids::contains)));
+    }
+
+    @Override
+    public void evictAll() {
+        afterCommit(snapshots::clear);
+    }
+
+    @Override
+    public void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        Set<Long> monitorIds = new HashSet<>();
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            if (heartbeat.getMonitor() != null && heartbeat.getMonitor().getId() != null) {
+                monitorIds.add(heartbeat.getMonitor().getId());
+            }
+        }
+        if (monitorIds.isEmpty()) {
+            return;
+        }
+        snapshots.forEach((slug, future) -> {
+            PublicStatusPageSnapshot snapshot = completed(future);
+            if (snapshot != null && snapshot.getMonitorIds().stream().anyMatch(monitorIds::contains)) {
+                dirty.add(slug);
+            }
+        });
+    }
+
+    private boolean isFresh(String slug, PublicStatusPageSnapshot snapshot, Instant now) {
+        if (!snapshot.getRenderedAt().plus(timeToLive).isAfter(now)) {
+            return false;
+        }
+        return !dirty.contains(slug) || snapshot.getRenderedAt().plusSeconds(snapshot.getMaxAgeSeconds(maxAgeSeconds)).isAfter(now);
+    }
+
+    private static PublicStatusPageSnapshot completed(CompletableFuture<PublicStatusPageSnapshot> future) {
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    private void evictIf(Predicate<PublicStatusPageSnapshot> predicate) {
+        snapshots
+            .entrySet()
+            .removeIf(entry -> {
+                PublicStatusPageSnapshot snapshot = completed(entry.getValue());
+                return snapshot != null && predicate.test(snapshot);
+            });
+    }
+
+    private PublicStatusPageSnapshot render(String slug) {
+        LOG.debug("Rendering public status page : {}", slug);
+        StatusPage statusPage = statusPageRepository.findBySlug(slug).orElse(null);
+        if (statusPage == null) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(statusPage.getIsPublic())) {
+            return new PublicStatusPageSnapshot(statusPage.getId(), false, null, null, null, Set.of(), null, Instant.now());
+        }
+
+        // Get settings or use defaults
+        StatusPageSettings settings = statusPageSettingsRepository
+            .findByStatusPageId(statusPage.getId())
+            .orElse(createDefaultSettings());
+
+        PublicStatusPageDTO dto = new PublicStatusPageDTO();
+        dto.setName(statusPage.getName());
+        dto.setDescription(statusPage.getDescription());
+        dto.setSlug(statusPage.getSlug());
+        dto.setLogoUrl(settings.getLogoUrl());
+        dto.setThemeColor(settings.getThemeColor());
+        dto.setHeaderText(settings.getHeaderText());
+        dto.setFooterText(settings.getFooterText());
+        dto.setShowResponseTimes(settings.getShowResponseTimes());
+        dto.setShowUptimePercentage(settings.getShowUptimePercentage());
+        dto.setAutoRefreshSeconds(settings.getAutoRefreshSeconds());
+
+        // Get monitor IDs from status page items
+        List<StatusPageItem> items = statusPageItemRepository.findByStatusPageIdOrderByDisplayOrderAsc(statusPage.getId());
+        List<Long> monitorIds = items.stream()
+            .filter(item -> "HTTP".equals(item.getItemType()) || "HTTP_MONITOR".equals(item.getItemType()))
+            .map(StatusPageItem::getItemId)
+            .toList();
+
+        if (monitorIds.isEmpty()) {
+            dto.setRegions(new ArrayList<>());
+            dto.setMonitors(new ArrayList<>());
+            return snapshot(statusPage, dto, monitorIds);
+        }
+
+        // Latest samples per monitor and agent, served from memory and bounded to recent executed_at partitions otherwise
+        List<HttpMonitor> monitors = new ArrayList<>(httpMonitorRepository.findAllById(monitorIds));
+        int sampleSize = settings.getSampleSize();
+        Instant since = Instant.now().minusSeconds(lookbackSeconds(monitors, sampleSize));
+        Map<Long, Map<Long, HeartbeatRing>> recent = latestStateStore.findRecent(monitorIds, sampleSize, since);
+
+        Set<Long> agentIds = new HashSet<>();
+        recent.values().forEach(agents -> agentIds.addAll(agents.keySet()));
+        Map<Long, String> agentNames = new HashMap<>();
+        agentRepository.findAllById(agentIds).forEach(agent -> agentNames.put(agent.getId(), agent.getName()));
+
+        Map<Long, HttpMonitorStatusDTO> statuses = httpMonitorIncidentService.isEnabled()
+            ? httpMonitorIncidentService.findStatuses(monitorIds)
+            : Map.of();
+
+        List<PublicStatusPageDTO.MonitorStatus> monitorStatuses = new ArrayList<>();
+        Set<String> regions = new LinkedHashSet<>();
+
+        monitors.sort(Comparator.comparing(HttpMonitor::getId));
+        for (HttpMonitor httpMonitor : monitors) {
+            PublicStatusPageDTO.MonitorStatus monitor = new PublicStatusPageDTO.MonitorStatus();
+            monitor.setMonitorId(httpMonitor.getId());
+            monitor.setMonitorName(httpMonitor.getName());
+            monitor.setUrl(httpMonitor.getUrl());
+            HttpMonitorStatusDTO status = statuses.get(httpMonitor.getId());
+            if (status != null) {
+                monitor.setStatus(status.getStatus().name());
+                monitor.setStatusSince(status.getSince());
+            }
+            monitor.setRegionHealth(new HashMap<>());
+            monitorStatuses.add(monitor);
+
+            Map<String, HeartbeatRing> byAgentName = new TreeMap<>();
+            recent.getOrDefault(httpMonitor.getId(), Map.of()).forEach((agentId, ring) -> {
+                String agentName = agentNames.get(agentId);
+                if (agentName != null) {
+                    byAgentName.put(agentName, ring);
+                }
+            });
+            byAgentName.forEach((agentName, ring) -> {
+                regions.add(agentName);
+                monitor.getRegionHealth().put(agentName, regionHealth(agentName, ring, settings));
+            });
+        }
+
+        dto.setRegions(new ArrayList<>(regions));
+        dto.setMonitors(monitorStatuses);
+        return snapshot(statusPage, dto, monitorIds);
+    }
+
+    private PublicStatusPageSnapshot snapshot(StatusPage statusPage, PublicStatusPageDTO dto, List<Long> monitorIds) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize status page " + statusPage.getSlug(), e);
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return new PublicStatusPageSnapshot(
+            statusPage.getId(),
+            true,
+            dto,
+            body,
+            etag,
+            new HashSet<>(monitorIds),
+            dto.getAutoRefreshSeconds(),
+            Instant.now()
+        );
+    }
+
+    private PublicStatusPageDTO.RegionHealth regionHealth(String agentName, HeartbeatRing ring, StatusPageSettings settings) {
+        int totalCalls = ring.size();
+        int successfulCalls = 0;
+        long latencySum = 0;
+        int latencyCount = 0;
+        int warningThreshold = Integer.MAX_VALUE;
+        int criticalThreshold = Integer.MAX_VALUE;
+        for (int i = 0; i < totalCalls; i++) {
+            if (ring.isSuccess(i)) {
+                successfulCalls++;
+            }
+            if (ring.latencyMs(i) != HeartbeatRing.NO_VALUE) {
+                latencySum += ring.latencyMs(i);
+                latencyCount++;
+            }
+            if (ring.warningThresholdMs(i) != HeartbeatRing.NO_VALUE) {
+                warningThreshold = Math.min(warningThreshold, ring.warningThresholdMs(i));
+            }
+            if (ring.criticalThresholdMs(i) != HeartbeatRing.NO_VALUE) {
+                criticalThreshold = Math.min(criticalThreshold, ring.criticalThresholdMs(i));
+            }
+        }
+        double avgResponseTime = latencyCount > 0 ? (double) latencySum / latencyCount : 0.0;
+        double successRate = (double) successfulCalls / totalCalls;
+
+        String status = calculateStatus(
+            successRate,
+            avgResponseTime,
+            settings.getSuccessThresholdLow().doubleValue(),
+            settings.getSuccessThresholdHigh().doubleValue(),
+            warningThreshold != Integer.MAX_VALUE ? warningThreshold : settings.getWarningThresholdMs(),
+            criticalThreshold != Integer.MAX_VALUE ? criticalThreshold : settings.getCriticalThresholdMs()
+        );
+
+        PublicStatusPageDTO.RegionHealth health = new PublicStatusPageDTO.RegionHealth();
+        health.setStatus(status);
+        health.setResponseTimeMs((int) Math.round(avgResponseTime));
+        health.setAgentName(agentName);
+        health.setSuccessRate((int) Math.round(successRate * 100));
+        return health;
+    }
+
+    /**
+     * Window that holds {@code sampleSize} checks per agent for the slowest monitor, with headroom for missed runs.
+     */
+    private long lookbackSeconds(List<HttpMonitor> monitors, int sampleSize) {
+        int maxInterval = monitors
+            .stream()
+            .map(HttpMonitor::getIntervalSeconds)
+            .filter(Objects::nonNull)
+            .max(Integer::compare)
+            .orElse(60);
+        return Math.max(MIN_LOOKBACK_SECONDS, 2L * sampleSize * maxInterval);
+    }
+
+    private StatusPageSettings createDefaultSettings() {
+        StatusPageSettings settings = new StatusPageSettings();
+        settings.setSampleSize(20);
+        settings.setSuccessThresholdHigh(new BigDecimal("0.80"));
+        settings.setSuccessThresholdLow(new BigDecimal("0.60"));
+        settings.setWarningThresholdMs(500);
+        settings.setCriticalThresholdMs(1000);
+        settings.setShowResponseTimes(true);
+        settings.setShowUptimePercentage(true);
+        return settings;
+    }
+
+    private String calculateStatus(
+        double successRate,
+        double avgLatency,
+        double lowThreshold,
+        double highThreshold,
+        int warningMs,
+        int criticalMs
+    ) {
+        if (successRate < lowThreshold) return "DOWN";
+        if (successRate < highThreshold) return "WARNING";
+        if (avgLatency > criticalMs) return "CRITICAL";
+        if (avgLatency > warningMs) return "WARNING";
+        return "UP";
+    }
+}
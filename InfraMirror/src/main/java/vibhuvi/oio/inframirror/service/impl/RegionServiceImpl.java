@@ -25,10 +25,12 @@ public class RegionServiceImpl extends AbstractCrudService<RegionDTO, Region> im
 
     private final RegionRepository regionRepository;
     private final RegionMapper regionMapper;
+    private final AgentTopologyCache agentTopologyCache;
 
-    public RegionServiceImpl(RegionRepository regionRepository, RegionMapper regionMapper) {
+    public RegionServiceImpl(RegionRepository regionRepository, RegionMapper regionMapper, AgentTopologyCache agentTopologyCache) {
         this.regionRepository = regionRepository;
         this.regionMapper = regionMapper;
+        this.agentTopologyCache = agentTopologyCache;
     }
 
     @Override
@@ -51,6 +53,30 @@ public class RegionServiceImpl extends AbstractCrudService<RegionDTO, Region> im
         return "Region";
     }
 
+    @Override
+    public RegionDTO save(RegionDTO regionDTO) {
+        agentTopologyCache.invalidateAll();
+        return super.save(regionDTO);
+    }
+
+    @Override
+    public RegionDTO update(RegionDTO regionDTO) {
+        agentTopologyCache.invalidateAll();
+        return super.update(regionDTO);
+    }
+
+    @Override
+    public java.util.Optional<RegionDTO> partialUpdate(RegionDTO regionDTO, Long id) {
+        agentTopologyCache.invalidateAll();
+        return super.partialUpdate(regionDTO, id);
+    }
+
+    @Override
+    public void delete(Long id) {
+        agentTopologyCache.invalidateAll();
+        super.delete(id);
+    }
+
     @Override
     public java.util.Optional<RegionDTO> partialUpdate(RegionDTO regionDTO) {
         return partialUpdate(regionDTO, regionDTO.getId());
@@ -1,4 +1,7 @@
 package vibhuvi.oio.inframirror.service.impl;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -7,9 +10,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vibhuvi.oio.inframirror.domain.ServiceHeartbeat;
+import vibhuvi.oio.inframirror.repository.MonitoredServiceRepository;
 import vibhuvi.oio.inframirror.repository.ServiceHeartbeatRepository;
+import vibhuvi.oio.inframirror.repository.ServiceInstanceRepository;
 import vibhuvi.oio.inframirror.service.ServiceHeartbeatService;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 import vibhuvi.oio.inframirror.service.dto.ServiceHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.ServiceHeartbeatIngestRecord;
 import vibhuvi.oio.inframirror.service.mapper.ServiceHeartbeatMapper;
 /**
  * Service Implementation for managing {@link vibhuvi.oio.inframirror.domain.ServiceHeartbeat}.
@@ -20,12 +28,18 @@ public class ServiceHeartbeatServiceImpl implements ServiceHeartbeatService {
     private static final Logger LOG = LoggerFactory.getLogger(ServiceHeartbeatServiceImpl.class);
     private final ServiceHeartbeatRepository serviceHeartbeatRepository;
     private final ServiceHeartbeatMapper serviceHeartbeatMapper;
+    private final MonitoredServiceRepository monitoredServiceRepository;
+    private final ServiceInstanceRepository serviceInstanceRepository;
     public ServiceHeartbeatServiceImpl(
         ServiceHeartbeatRepository serviceHeartbeatRepository,
-        ServiceHeartbeatMapper serviceHeartbeatMapper
+        ServiceHeartbeatMapper serviceHeartbeatMapper,
+        MonitoredServiceRepository monitoredServiceRepository,
+        ServiceInstanceRepository serviceInstanceRepository
     ) {
         this.serviceHeartbeatRepository = serviceHeartbeatRepository;
         this.serviceHeartbeatMapper = serviceHeartbeatMapper;
+        this.monitoredServiceRepository = monitoredServiceRepository;
+        this.serviceInstanceRepository = serviceInstanceRepository;
     }
     @Override
     public ServiceHeartbeatDTO save(ServiceHeartbeatDTO serviceHeartbeatDTO) {
@@ -35,6 +49,30 @@ public class ServiceHeartbeatServiceImpl implements ServiceHeartbeatService {
         return serviceHeartbeatMapper.toDto(serviceHeartbeat);
     }
     @Override
+    public ServiceHeartbeatDTO ingest(ServiceHeartbeatIngestRecord record) {
+        LOG.debug("Request to ingest ServiceHeartbeat : {}", record);
+        if (!record.has(ServiceHeartbeatIngestRecord.MONITORED_SERVICE_ID) || !record.has(ServiceHeartbeatIngestRecord.SUCCESS)) {
+            throw new IllegalArgumentException("monitoredServiceId and success are required");
+        }
+        if (record.getStatus() == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+        ServiceHeartbeat heartbeat = new ServiceHeartbeat()
+            .executedAt(record.getExecutedAt() != null ? record.getExecutedAt() : Instant.now())
+            .success(record.isSuccess())
+            .status(record.getStatus());
+        if (record.has(ServiceHeartbeatIngestRecord.RESPONSE_TIME_MS)) {
+            heartbeat.setResponseTimeMs(record.getResponseTimeMs());
+        }
+        heartbeat.setErrorMessage(record.getErrorMessage());
+        heartbeat.setMetadata(record.getMetadata());
+        heartbeat.setMonitoredService(monitoredServiceRepository.getReferenceById(record.getMonitoredServiceId()));
+        if (record.has(ServiceHeartbeatIngestRecord.SERVICE_INSTANCE_ID)) {
+            heartbeat.setServiceInstance(serviceInstanceRepository.getReferenceById(record.getServiceInstanceId()));
+        }
+        return serviceHeartbeatMapper.toDto(serviceHeartbeatRepository.save(heartbeat));
+    }
+    @Override
     public ServiceHeartbeatDTO update(ServiceHeartbeatDTO serviceHeartbeatDTO) {
         LOG.debug("Request to update ServiceHeartbeat : {}", serviceHeartbeatDTO);
         ServiceHeartbeat serviceHeartbeat = serviceHeartbeatMapper.toEntity(serviceHeartbeatDTO);
@@ -65,6 +103,26 @@ public class ServiceHeartbeatServiceImpl implements ServiceHeartbeatService {
     }
     @Override
     @Transactional(readOnly = true)
+    public KeysetPage<ServiceHeartbeatDTO> findPageByMonitoredService(Long monitoredServiceId, Instant from, Instant to, HeartbeatCursor after, int size) {
+        LOG.debug("Request to get a page of ServiceHeartbeats of MonitoredService {} after {}", monitoredServiceId, after);
+        LocalDateTime beforeAt = LocalDateTime.ofInstant(after != null ? after.executedAt() : to, ZoneOffset.UTC);
+        long beforeId = after != null ? after.id() : Long.MAX_VALUE;
+        return KeysetPage.of(
+            serviceHeartbeatRepository.findPageByMonitoredServiceId(
+                monitoredServiceId,
+                LocalDateTime.ofInstant(from, ZoneOffset.UTC),
+                LocalDateTime.ofInstant(to, ZoneOffset.UTC),
+                beforeAt,
+                beforeId,
+                size + 1
+            ),
+            size,
+            heartbeat -> new HeartbeatCursor(heartbeat.getExecutedAt(), heartbeat.getId()),
+            serviceHeartbeatMapper::toDto
+        );
+    }
+    @Override
+    @Transactional(readOnly = true)
     public Optional<ServiceHeartbeatDTO> findOne(Long id) {
         LOG.debug("Request to get ServiceHeartbeat : {}", id);
         return serviceHeartbeatRepository.findById(id).map(serviceHeartbeatMapper::toDto);
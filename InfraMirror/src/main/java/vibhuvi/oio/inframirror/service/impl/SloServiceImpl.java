@@ -0,0 +1,406 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.SloService;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.SloObjectiveDTO;
+import vibhuvi.oio.inframirror.service.dto.SloWindowDTO;
+import vibhuvi.oio.inframirror.service.metrics.LatencySketch;
+import vibhuvi.oio.inframirror.service.metrics.SlidingWindowCounter;
+
+/**
+ * Service Implementation of {@link SloService}.
+ * <p>
+ * Each monitor keeps one {@link SlidingWindowCounter} per window (5 and 60 one-minute buckets, 24 quarter-hour
+ * buckets, 30 UTC-day buckets) counting its checks, its successful checks, and its successful checks within the
+ * performance budget. Ingested heartbeats are added as they are persisted and sums are kept running, so evaluating an
+ * objective costs the same whatever the number of checks. At startup, and whenever a monitor appears or its budget
+ * changes, the counters are restored from {@code http_heartbeat_rollup_1m} (last 6 hours) and
+ * {@code http_heartbeat_rollup_1d} (last 30 days). Rollup sketches also hold the latencies of failed checks, so the
+ * restored latency counts are bounded by the successful checks.
+ * <p>
+ * Per-monitor budgets and burn rates are only served over REST; the gauges are aggregates over all monitors (objectives
+ * by status, lowest budget left and highest burn rate per SLI), evaluated in one pass and reused between scrapes for
+ * {@code application.slo.metrics-cache-seconds}.
+ */
+@Service
+public class SloServiceImpl implements SloService, HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SloServiceImpl.class);
+
+    private static final int TOTAL = 0;
+    private static final int AVAILABLE = 1;
+    private static final int FAST = 2;
+
+    private static final String[] STATUSES = { OK, SLOW_BURN, FAST_BURN, EXHAUSTED };
+
+    private static final String[] SLIS = { AVAILABILITY, LATENCY };
+    private static final int[] GOOD = { AVAILABLE, FAST };
+
+    private static final String[] WINDOWS = { "5m", "1h", "6h", "30d" };
+    private static final int W_5M = 0;
+    private static final int W_1H = 1;
+    private static final int W_6H = 2;
+    private static final int W_30D = 3;
+
+    private static final long MINUTE = 60_000L;
+
+    private static final double MAX_TARGET_PERCENT = 99.999;
+
+    private static final String OBJECTIVES_SQL =
+        "SELECT id, uptime_warning_percent, performance_budget_ms FROM http_monitor WHERE enabled IS NOT FALSE";
+
+    private static final String ROLLUP_SQL =
+        "SELECT monitor_id, bucket_start, sample_count, success_count, latency_sketch FROM %s " +
+        "WHERE bucket_start >= ? AND monitor_id = ANY(?::bigint[])";
+
+    /** The counters of one monitor; guarded by its own monitor. */
+    private static final class Monitor {
+
+        private final long monitorId;
+        private final Integer thresholdMs;
+        private final SlidingWindowCounter[] windows = {
+            new SlidingWindowCounter(5, MINUTE, 3),
+            new SlidingWindowCounter(60, MINUTE, 3),
+            new SlidingWindowCounter(24, 15 * MINUTE, 3),
+            new SlidingWindowCounter(30, 1440 * MINUTE, 3),
+        };
+        private volatile double target;
+
+        private Monitor(long monitorId, double target, Integer thresholdMs) {
+            this.monitorId = monitorId;
+            this.target = target;
+            this.thresholdMs = thresholdMs;
+        }
+
+        private synchronized void add(int window, long timeMillis, long total, long available, long fast) {
+            SlidingWindowCounter counter = windows[window];
+            counter.add(timeMillis, TOTAL, total);
+            counter.add(timeMillis, AVAILABLE, available);
+            counter.add(timeMillis, FAST, fast);
+        }
+
+        private synchronized void add(long timeMillis, boolean available, boolean fast) {
+            for (SlidingWindowCounter counter : windows) {
+                counter.add(timeMillis, TOTAL, 1);
+                if (available) {
+                    counter.add(timeMillis, AVAILABLE, 1);
+                }
+                if (fast) {
+                    counter.add(timeMillis, FAST, 1);
+                }
+            }
+        }
+
+        private synchronized long[][] sums(long nowMillis) {
+            long[][] sums = new long[WINDOWS.length][3];
+            for (int w = 0; w < WINDOWS.length; w++) {
+                for (int c = 0; c < 3; c++) {
+                    sums[w][c] = windows[w].sum(c, nowMillis);
+                }
+            }
+            return sums;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationProperties.Slo properties;
+    private final Map<Long, Monitor> monitors = new ConcurrentHashMap<>();
+    private final Object refreshLock = new Object();
+    private final Object summaryLock = new Object();
+
+    private volatile boolean ready;
+    private volatile Summary summary;
+
+    public SloServiceImpl(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getSlo();
+
+        for (int s = 0; s < STATUSES.length; s++) {
+            int status = s;
+            Gauge.builder("inframirror.slo.objectives", this, service -> service.summary().objectives[status])
+                .description("Service level objectives of HTTP monitors by error budget status")
+                .tag("status", STATUSES[status].toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+        for (int i = 0; i < SLIS.length; i++) {
+            int sli = i;
+            String sliTag = SLIS[sli].toLowerCase(Locale.ROOT);
+            Gauge.builder("inframirror.slo.error.budget.remaining", this, service -> service.summary().lowestBudgetRemaining[sli])
+                .description("Lowest share of the 30 day error budget left across HTTP monitors")
+                .tag("sli", sliTag)
+                .register(meterRegistry);
+            Gauge.builder("inframirror.slo.burn.rate", this, service -> service.summary().highestBurnRate[sli])
+                .description("Highest rate at which an HTTP monitor spends its error budget over the last hour")
+                .tag("sli", sliTag)
+                .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        ready = true;
+        refreshObjectives();
+        LOG.info("Tracking service level objectives of {} HTTP monitors", monitors.size());
+    }
+
+    @Override
+    @Scheduled(
+        initialDelayString = "${application.slo.refresh-seconds:60}",
+        fixedDelayString = "${application.slo.refresh-seconds:60}",
+        timeUnit = TimeUnit.SECONDS
+    )
+    public void refreshObjectives() {
+        if (!ready) {
+            return;
+        }
+        synchronized (refreshLock) {
+            Map<Long, Monitor> loaded = new HashMap<>();
+            jdbcTemplate.query(OBJECTIVES_SQL, rs -> {
+                long id = rs.getLong(1);
+                Number warning = (Number) rs.getObject(2);
+                Number budget = (Number) rs.getObject(3);
+                Integer thresholdMs = budget != null && budget.intValue() > 0 ? budget.intValue() : null;
+                loaded.put(id, new Monitor(id, target(warning), thresholdMs));
+            });
+
+            Set<Long> removed = new HashSet<>(monitors.keySet());
+            removed.removeAll(loaded.keySet());
+            monitors.keySet().removeAll(removed);
+
+            List<Monitor> restore = new ArrayList<>();
+            for (Monitor candidate : loaded.values()) {
+                Monitor current = monitors.get(candidate.monitorId);
+                if (current != null && Objects.equals(current.thresholdMs, candidate.thresholdMs)) {
+                    current.target = candidate.target;
+                } else {
+                    restore.add(candidate);
+                }
+            }
+            if (!restore.isEmpty()) {
+                restore(restore);
+                restore.forEach(monitor -> monitors.put(monitor.monitorId, monitor));
+            }
+        }
+    }
+
+    @Override
+    public void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        if (!ready) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            if (heartbeat.getMonitor() == null || heartbeat.getMonitor().getId() == null || heartbeat.getExecutedAt() == null) {
+                continue;
+            }
+            Monitor monitor = monitors.get(heartbeat.getMonitor().getId());
+            if (monitor == null) {
+                continue;
+            }
+            boolean available = Boolean.TRUE.equals(heartbeat.getSuccess());
+            Integer latency = heartbeat.getResponseTimeMs();
+            boolean fast = available && monitor.thresholdMs != null && latency != null && latency <= monitor.thresholdMs;
+            monitor.add(Math.min(now, heartbeat.getExecutedAt().toEpochMilli()), available, fast);
+        }
+    }
+
+    @Override
+    public List<SloObjectiveDTO> findObjectives(Long monitorId) {
+        Monitor monitor = monitors.get(monitorId);
+        if (monitor == null) {
+            return List.of();
+        }
+        long[][] sums = monitor.sums(System.currentTimeMillis());
+        List<SloObjectiveDTO> objectives = new ArrayList<>(2);
+        objectives.add(toDto(monitor, AVAILABILITY, AVAILABLE, sums));
+        if (monitor.thresholdMs != null) {
+            objectives.add(toDto(monitor, LATENCY, FAST, sums));
+        }
+        return objectives;
+    }
+
+    /**
+     * Fill the counters of new monitors from the rollups, with one query per rollup table.
+     */
+    private void restore(List<Monitor> restore) {
+        Map<Long, Monitor> byId = new HashMap<>();
+        restore.forEach(monitor -> byId.put(monitor.monitorId, monitor));
+        Long[] ids = byId.keySet().toArray(Long[]::new);
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        restore(byId, ids, "http_heartbeat_rollup_1m", now.minus(Duration.ofHours(6)), new int[] { W_5M, W_1H, W_6H });
+        restore(byId, ids, "http_heartbeat_rollup_1d", now.minus(Duration.ofDays(30)), new int[] { W_30D });
+    }
+
+    private void restore(Map<Long, Monitor> byId, Long[] ids, String table, LocalDateTime from, int[] windows) {
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(String.format(ROLLUP_SQL, table));
+                ps.setTimestamp(1, Timestamp.valueOf(from));
+                ps.setArray(2, con.createArrayOf("bigint", ids));
+                return ps;
+            },
+            rs -> {
+                Monitor monitor = byId.get(rs.getLong(1));
+                long time = rs.getTimestamp(2).toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli();
+                long total = rs.getLong(3);
+                long available = rs.getLong(4);
+                long fast = 0;
+                byte[] sketch = rs.getBytes(5);
+                if (monitor.thresholdMs != null && sketch != null) {
+                    fast = Math.min(available, LatencySketch.fromBytes(sketch).countAtMost(monitor.thresholdMs));
+                }
+                for (int window : windows) {
+                    monitor.add(window, time, total, available, fast);
+                }
+            }
+        );
+    }
+
+    private SloObjectiveDTO toDto(Monitor monitor, String sli, int good, long[][] sums) {
+        double target = monitor.target;
+        SloObjectiveDTO dto = new SloObjectiveDTO();
+        dto.setMonitorId(monitor.monitorId);
+        dto.setSli(sli);
+        dto.setTargetPercent(target * 100);
+        dto.setThresholdMs(LATENCY.equals(sli) ? monitor.thresholdMs : null);
+        for (int w = 0; w < WINDOWS.length; w++) {
+            SloWindowDTO window = new SloWindowDTO();
+            window.setWindow(WINDOWS[w]);
+            window.setGood(sums[w][good]);
+            window.setTotal(sums[w][TOTAL]);
+            if (sums[w][TOTAL] > 0) {
+                window.setSliPercent((100.0 * sums[w][good]) / sums[w][TOTAL]);
+                window.setBurnRate(burnRate(sums[w][good], sums[w][TOTAL], target));
+            }
+            dto.getWindows().add(window);
+        }
+        Double budgetBurnt = dto.getWindows().get(W_30D).getBurnRate();
+        dto.setErrorBudgetRemaining(budgetBurnt != null ? 1 - budgetBurnt : null);
+        dto.setStatus(status(sums, good, target));
+        return dto;
+    }
+
+    private String status(long[][] sums, int good, double target) {
+        if (sums[W_30D][TOTAL] > 0 && burnRate(sums[W_30D][good], sums[W_30D][TOTAL], target) >= 1) {
+            return EXHAUSTED;
+        }
+        if (burning(sums, good, target, W_1H, W_5M, properties.getFastBurnRate())) {
+            return FAST_BURN;
+        }
+        if (burning(sums, good, target, W_6H, W_1H, properties.getSlowBurnRate())) {
+            return SLOW_BURN;
+        }
+        return OK;
+    }
+
+    private static boolean burning(long[][] sums, int good, double target, int longWindow, int shortWindow, double rate) {
+        return (
+            sums[longWindow][TOTAL] > 0 &&
+            sums[shortWindow][TOTAL] > 0 &&
+            burnRate(sums[longWindow][good], sums[longWindow][TOTAL], target) >= rate &&
+            burnRate(sums[shortWindow][good], sums[shortWindow][TOTAL], target) >= rate
+        );
+    }
+
+    private static double burnRate(long good, long total, double target) {
+        return ((double) (total - good) / total) / (1 - target);
+    }
+
+    private double target(Number warningPercent) {
+        double percent = warningPercent != null && warningPercent.doubleValue() > 0
+            ? warningPercent.doubleValue()
+            : properties.getDefaultTargetPercent();
+        return Math.min(MAX_TARGET_PERCENT, percent) / 100;
+    }
+
+    /** Aggregates over all monitors published as gauges. */
+    private static final class Summary {
+
+        private final long computedAt;
+        private final double[] objectives = new double[STATUSES.length];
+        private final double[] lowestBudgetRemaining = { Double.NaN, Double.NaN };
+        private final double[] highestBurnRate = { Double.NaN, Double.NaN };
+
+        private Summary(long computedAt) {
+            this.computedAt = computedAt;
+        }
+    }
+
+    /**
+     * The aggregates of the last evaluation, evaluated again in a single pass over the monitors once older than
+     * {@code metrics-cache-seconds}, so that a scrape reading every gauge reads the counters of each monitor once.
+     */
+    private Summary summary() {
+        long now = System.currentTimeMillis();
+        long maxAge = TimeUnit.SECONDS.toMillis(properties.getMetricsCacheSeconds());
+        Summary current = summary;
+        if (current != null && now - current.computedAt < maxAge) {
+            return current;
+        }
+        synchronized (summaryLock) {
+            current = summary;
+            if (current != null && now - current.computedAt < maxAge) {
+                return current;
+            }
+            current = new Summary(now);
+            for (Monitor monitor : monitors.values()) {
+                long[][] sums = monitor.sums(now);
+                for (int sli = 0; sli < SLIS.length; sli++) {
+                    int good = GOOD[sli];
+                    if (good == FAST && monitor.thresholdMs == null) {
+                        continue;
+                    }
+                    String status = status(sums, good, monitor.target);
+                    for (int i = 0; i < STATUSES.length; i++) {
+                        if (STATUSES[i].equals(status)) {
+                            current.objectives[i]++;
+                        }
+                    }
+                    if (sums[W_30D][TOTAL] > 0) {
+                        double remaining = 1 - burnRate(sums[W_30D][good], sums[W_30D][TOTAL], monitor.target);
+                        if (!(remaining >= current.lowestBudgetRemaining[sli])) {
+                            current.lowestBudgetRemaining[sli] = remaining;
+                        }
+                    }
+                    if (sums[W_1H][TOTAL] > 0) {
+                        double burnRate = burnRate(sums[W_1H][good], sums[W_1H][TOTAL], monitor.target);
+                        if (!(burnRate <= current.highestBurnRate[sli])) {
+                            current.highestBurnRate[sli] = burnRate;
+                        }
+                    }
+                }
+            }
+            summary = current;
+            return current;
+        }
+    }
+}
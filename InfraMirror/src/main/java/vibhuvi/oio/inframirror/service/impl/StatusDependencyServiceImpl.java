@@ -1,31 +1,51 @@
 package vibhuvi.oio.inframirror.service.impl;
+
+import static vibhuvi.oio.inframirror.service.TransactionUtils.afterCommit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
 import vibhuvi.oio.inframirror.domain.StatusDependency;
 import vibhuvi.oio.inframirror.domain.StatusPageItem;
 import vibhuvi.oio.inframirror.domain.HttpMonitor;
-import vibhuvi.oio.inframirror.domain.HttpHeartbeat;
 import vibhuvi.oio.inframirror.domain.MonitoredService;
 import vibhuvi.oio.inframirror.domain.Instance;
 import vibhuvi.oio.inframirror.repository.StatusDependencyRepository;
 import vibhuvi.oio.inframirror.repository.StatusPageItemRepository;
 import vibhuvi.oio.inframirror.repository.HttpMonitorRepository;
-import vibhuvi.oio.inframirror.repository.HttpHeartbeatRepository;
 import vibhuvi.oio.inframirror.repository.MonitoredServiceRepository;
 import vibhuvi.oio.inframirror.repository.InstanceRepository;
+import vibhuvi.oio.inframirror.service.HttpMonitorIncidentService;
+import vibhuvi.oio.inframirror.service.LatestStateStore;
 import vibhuvi.oio.inframirror.service.StatusDependencyService;
 import vibhuvi.oio.inframirror.service.dto.StatusDependencyDTO;
 import vibhuvi.oio.inframirror.service.dto.DependencyTreeDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorStatusDTO;
+import vibhuvi.oio.inframirror.service.dto.MonitorHealthStatus;
 import vibhuvi.oio.inframirror.service.mapper.StatusDependencyMapper;
+import vibhuvi.oio.inframirror.service.metrics.HeartbeatRing;
 /**
  * Service Implementation for managing {@link vibhuvi.oio.inframirror.domain.StatusDependency}.
+ * <p>
+ * Dependency trees are split in two: the topology (graph and node names) changes rarely and is cached per status page,
+ * while statuses are applied on every request: the status of a monitor is the worst of its open incidents, kept by
+ * {@link HttpMonitorIncidentService}, and its last check comes from {@link LatestStateStore}.
  */
 @Service
 @Transactional
@@ -35,29 +55,38 @@ public class StatusDependencyServiceImpl implements StatusDependencyService {
     private final StatusDependencyMapper statusDependencyMapper;
     private final StatusPageItemRepository statusPageItemRepository;
     private final HttpMonitorRepository httpMonitorRepository;
-    private final HttpHeartbeatRepository httpHeartbeatRepository;
+    private final LatestStateStore latestStateStore;
+    private final HttpMonitorIncidentService httpMonitorIncidentService;
     private final MonitoredServiceRepository monitoredServiceRepository;
     private final InstanceRepository instanceRepository;
     private final vibhuvi.oio.inframirror.repository.ServiceInstanceRepository serviceInstanceRepository;
+    private final Cache<Long, Topology> topologies;
 
     public StatusDependencyServiceImpl(
         StatusDependencyRepository statusDependencyRepository,
         StatusDependencyMapper statusDependencyMapper,
         StatusPageItemRepository statusPageItemRepository,
         HttpMonitorRepository httpMonitorRepository,
-        HttpHeartbeatRepository httpHeartbeatRepository,
+        LatestStateStore latestStateStore,
+        HttpMonitorIncidentService httpMonitorIncidentService,
         MonitoredServiceRepository monitoredServiceRepository,
         InstanceRepository instanceRepository,
-        vibhuvi.oio.inframirror.repository.ServiceInstanceRepository serviceInstanceRepository
+        vibhuvi.oio.inframirror.repository.ServiceInstanceRepository serviceInstanceRepository,
+        ApplicationProperties applicationProperties
     ) {
         this.statusDependencyRepository = statusDependencyRepository;
         this.statusDependencyMapper = statusDependencyMapper;
         this.statusPageItemRepository = statusPageItemRepository;
         this.httpMonitorRepository = httpMonitorRepository;
-        this.httpHeartbeatRepository = httpHeartbeatRepository;
+        this.latestStateStore = latestStateStore;
+        this.httpMonitorIncidentService = httpMonitorIncidentService;
         this.monitoredServiceRepository = monitoredServiceRepository;
         this.instanceRepository = instanceRepository;
         this.serviceInstanceRepository = serviceInstanceRepository;
+        this.topologies = Caffeine.newBuilder()
+            .maximumSize(applicationProperties.getDependencyTree().getTopologyMaximumSize())
+            .expireAfterWrite(Duration.ofSeconds(applicationProperties.getDependencyTree().getTopologyTimeToLiveSeconds()))
+            .build();
     }
     @Override
     public StatusDependencyDTO save(StatusDependencyDTO statusDependencyDTO) {
@@ -67,6 +96,7 @@ public class StatusDependencyServiceImpl implements StatusDependencyService {
             statusDependency.setCreatedAt(java.time.Instant.now());
         }
         statusDependency = statusDependencyRepository.save(statusDependency);
+        evictTopologies();
         return statusDependencyMapper.toDto(statusDependency);
     }
     @Override
@@ -74,6 +104,7 @@ public class StatusDependencyServiceImpl implements StatusDependencyService {
         LOG.debug("Request to update StatusDependency : {}", statusDependencyDTO);
         StatusDependency statusDependency = statusDependencyMapper.toEntity(statusDependencyDTO);
         statusDependency = statusDependencyRepository.save(statusDependency);
+        evictTopologies();
         return statusDependencyMapper.toDto(statusDependency);
     }
     @Override
@@ -88,6 +119,7 @@ public class StatusDependencyServiceImpl implements StatusDependencyService {
             })
             .map(statusDependencyRepository::save)
             .map(savedStatusDependency -> {
+                evictTopologies();
                 return savedStatusDependency;
             })
             .map(statusDependencyMapper::toDto);
@@ -108,6 +140,7 @@ public class StatusDependencyServiceImpl implements StatusDependencyService {
     public void delete(Long id) {
         LOG.debug("Request to delete StatusDependency : {}", id);
         statusDependencyRepository.deleteById(id);
+        evictTopologies();
     }
     @Override
     @Transactional(readOnly = true)
@@ -116,101 +149,232 @@ public class StatusDependencyServiceImpl implements StatusDependencyService {
         return statusDependencyRepository.findAll(pageable).map(statusDependencyMapper::toDto);
     }
 
+    @Override
+    public void evictTopologies() {
+        afterCommit(topologies::invalidateAll);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<DependencyTreeDTO> getDependencyTree(Long statusPageId) {
         LOG.debug("Request to get dependency tree for status page : {}", statusPageId);
-        List<StatusPageItem> items = statusPageItemRepository.findByStatusPageIdOrderByDisplayOrderAsc(statusPageId);
-        LOG.debug("Found {} status page items", items.size());
-        List<DependencyTreeDTO> tree = new ArrayList<>();
+        Topology topology = topologies.get(statusPageId, this::loadTopology);
+        Map<Long, HeartbeatRing> latest = topology.monitorIds().isEmpty()
+            ? Map.of()
+            : latestStateStore.findLatest(topology.monitorIds());
+        Map<Long, HttpMonitorStatusDTO> statuses = httpMonitorIncidentService.isEnabled() && !topology.monitorIds().isEmpty()
+            ? httpMonitorIncidentService.findStatuses(topology.monitorIds())
+            : null;
 
-        for (StatusPageItem item : items) {
-            LOG.debug("Processing item type: {}, id: {}", item.getItemType(), item.getItemId());
-            DependencyTreeDTO node = buildTreeNode(item.getItemType(), item.getItemId());
-            if (node != null) {
-                LOG.debug("Built node: {}", node.getName());
-                tree.add(node);
-            } else {
-                LOG.warn("Failed to build node for type: {}, id: {}", item.getItemType(), item.getItemId());
-            }
+        List<DependencyTreeDTO> tree = new ArrayList<>();
+        Map<TopologyNode, DependencyTreeDTO> visited = new IdentityHashMap<>();
+        for (TopologyNode root : topology.roots()) {
+            tree.add(toTreeNode(root, latest, statuses, visited));
         }
-
         LOG.debug("Returning tree with {} root nodes", tree.size());
         return tree;
     }
 
-    private DependencyTreeDTO buildTreeNode(String type, Long itemId) {
-        LOG.debug("Building tree node for type: {}, id: {}", type, itemId);
-        DependencyTreeDTO node = new DependencyTreeDTO();
-        node.setId(type + "-" + itemId);
-        node.setType(type);
-        node.setItemId(itemId);
+    /**
+     * Load the graph of a status page with a fixed number of queries: its items, every reachable dependency, then
+     * the nodes of each type by id.
+     */
+    private Topology loadTopology(Long statusPageId) {
+        List<StatusPageItem> items = statusPageItemRepository.findByStatusPageIdOrderByDisplayOrderAsc(statusPageId);
+        List<StatusDependency> dependencies = statusDependencyRepository.findReachableFromStatusPage(statusPageId);
+        LOG.debug("Loading topology of status page {}: {} items, {} dependencies", statusPageId, items.size(), dependencies.size());
+
+        Map<NodeKey, List<NodeKey>> children = new HashMap<>();
+        Set<NodeKey> keys = new HashSet<>();
+        for (StatusPageItem item : items) {
+            keys.add(new NodeKey(item.getItemType(), item.getItemId()));
+        }
+        for (StatusDependency dep : dependencies) {
+            NodeKey child = new NodeKey(dep.getChildType(), dep.getChildId());
+            children.computeIfAbsent(new NodeKey(dep.getParentType(), dep.getParentId()), key -> new ArrayList<>()).add(child);
+            keys.add(child);
+        }
+
+        Map<NodeKey, Object> entities = new HashMap<>();
+        for (HttpMonitor monitor : httpMonitorRepository.findAllById(idsOf(keys, "HTTP_MONITOR", "HTTP"))) {
+            entities.put(new NodeKey("HTTP_MONITOR", monitor.getId()), monitor);
+        }
+        for (MonitoredService service : monitoredServiceRepository.findAllById(idsOf(keys, "SERVICE"))) {
+            entities.put(new NodeKey("SERVICE", service.getId()), service);
+        }
+        for (Instance instance : instanceRepository.findAllById(idsOf(keys, "INSTANCE"))) {
+            entities.put(new NodeKey("INSTANCE", instance.getId()), instance);
+        }
+
+        List<TopologyNode> roots = new ArrayList<>();
+        Set<Long> monitorIds = new HashSet<>();
+        Map<NodeKey, TopologyNode> built = new HashMap<>();
+        for (StatusPageItem item : items) {
+            TopologyNode root = buildNode(new NodeKey(item.getItemType(), item.getItemId()), children, entities, new HashSet<>(), built, monitorIds);
+            if (root != null) {
+                roots.add(root);
+            }
+        }
+        return new Topology(List.copyOf(roots), Set.copyOf(monitorIds));
+    }
 
-        if ("HTTP_MONITOR".equals(type) || "HTTP".equals(type)) {
-            HttpMonitor monitor = httpMonitorRepository.findById(itemId).orElse(null);
+    /**
+     * Build the node of {@code key} once: a dependency shared by several parents (a diamond) is the same node under
+     * each of them, so the graph is walked in time linear to its size rather than to its number of paths.
+     */
+    private TopologyNode buildNode(
+        NodeKey key,
+        Map<NodeKey, List<NodeKey>> children,
+        Map<NodeKey, Object> entities,
+        Set<NodeKey> path,
+        Map<NodeKey, TopologyNode> built,
+        Set<Long> monitorIds
+    ) {
+        if (built.containsKey(key)) {
+            return built.get(key);
+        }
+        String name = null;
+        Integer performanceBudgetMs = null;
+        Long monitorId = null;
+        if (isHttpMonitor(key.type())) {
+            HttpMonitor monitor = (HttpMonitor) entities.get(new NodeKey("HTTP_MONITOR", key.id()));
             if (monitor == null) {
-                LOG.warn("HTTP Monitor not found: {}", itemId);
+                LOG.warn("HTTP Monitor not found: {}", key.id());
+                built.put(key, null);
                 return null;
             }
+            name = monitor.getName();
+            performanceBudgetMs = monitor.getPerformanceBudgetMs();
+            monitorId = monitor.getId();
+            monitorIds.add(monitorId);
+        } else if ("SERVICE".equals(key.type())) {
+            // SERVICE type should refer to MonitoredService, not ServiceInstance
+            MonitoredService service = (MonitoredService) entities.get(key);
+            if (service == null) {
+                LOG.warn("MonitoredService not found: {}", key.id());
+                built.put(key, null);
+                return null;
+            }
+            name = service.getName();
+        } else if ("INSTANCE".equals(key.type())) {
+            Instance instance = (Instance) entities.get(key);
+            if (instance == null) {
+                LOG.warn("Instance not found: {}", key.id());
+                built.put(key, null);
+                return null;
+            }
+            name = instance.getName();
+        }
+
+        path.add(key);
+        List<TopologyNode> nodes = new ArrayList<>();
+        for (NodeKey child : children.getOrDefault(key, List.of())) {
+            if (path.contains(child)) {
+                LOG.warn("Dependency cycle: {} {} depends on its ancestor {} {}", key.type(), key.id(), child.type(), child.id());
+                continue;
+            }
+            TopologyNode node = buildNode(child, children, entities, path, built, monitorIds);
+            if (node != null) {
+                nodes.add(node);
+            }
+        }
+        path.remove(key);
+        TopologyNode node = new TopologyNode(key.type(), key.id(), name, performanceBudgetMs, monitorId, List.copyOf(nodes));
+        built.put(key, node);
+        return node;
+    }
 
-            node.setName(monitor.getName());
-            LOG.debug("Found HTTP monitor: {}", monitor.getName());
+    /**
+     * Apply the statuses and latest heartbeats to a cached node. Without incident statuses, a monitor is DOWN when its
+     * last check failed. A node with a DOWN or DEGRADED dependency is at least DEGRADED. Shared nodes are computed
+     * once per request and the result reused under each parent.
+     */
+    private DependencyTreeDTO toTreeNode(
+        TopologyNode topologyNode,
+        Map<Long, HeartbeatRing> latest,
+        Map<Long, HttpMonitorStatusDTO> statuses,
+        Map<TopologyNode, DependencyTreeDTO> visited
+    ) {
+        DependencyTreeDTO computed = visited.get(topologyNode);
+        if (computed != null) {
+            return computed;
+        }
+        DependencyTreeDTO node = new DependencyTreeDTO();
+        node.setId(topologyNode.type() + "-" + topologyNode.itemId());
+        node.setType(topologyNode.type());
+        node.setItemId(topologyNode.itemId());
+        node.setName(topologyNode.name());
 
-            HttpHeartbeat heartbeat = httpHeartbeatRepository
-                .findFirstByMonitorIdOrderByExecutedAtDesc(monitor.getId())
-                .orElse(null);
+        if (topologyNode.monitorId() != null) {
+            HeartbeatRing heartbeat = latest.get(topologyNode.monitorId());
+            HttpMonitorStatusDTO derived = statuses != null ? statuses.get(topologyNode.monitorId()) : null;
+            MonitorHealthStatus status = derived != null ? derived.getStatus() : null;
 
-            if (heartbeat == null || !Boolean.TRUE.equals(heartbeat.getSuccess())) {
+            if (heartbeat == null || (status != null ? status == MonitorHealthStatus.DOWN : !heartbeat.isSuccess(0))) {
                 node.setStatus("DOWN");
                 if (heartbeat != null) {
-                    node.setErrorMessage(heartbeat.getErrorMessage());
-                    node.setLastChecked(heartbeat.getExecutedAt() != null ? heartbeat.getExecutedAt().toString() : null);
+                    node.setErrorMessage(heartbeat.getLatestErrorMessage());
+                    node.setLastChecked(Instant.ofEpochMilli(heartbeat.executedAt(0)).toString());
                 }
-            } else if (heartbeat.getResponseTimeMs() != null &&
-                       monitor.getPerformanceBudgetMs() != null &&
-                       heartbeat.getResponseTimeMs() > monitor.getPerformanceBudgetMs()) {
+            } else if (status == MonitorHealthStatus.DEGRADED ||
+                       heartbeat.latencyMs(0) != HeartbeatRing.NO_VALUE &&
+                       topologyNode.performanceBudgetMs() != null &&
+                       heartbeat.latencyMs(0) > topologyNode.performanceBudgetMs()) {
                 node.setStatus("DEGRADED");
-                node.setResponseTimeMs(heartbeat.getResponseTimeMs());
-                node.setLastChecked(heartbeat.getExecutedAt() != null ? heartbeat.getExecutedAt().toString() : null);
+                node.setResponseTimeMs(heartbeat.latencyMs(0) != HeartbeatRing.NO_VALUE ? heartbeat.latencyMs(0) : null);
+                node.setLastChecked(Instant.ofEpochMilli(heartbeat.executedAt(0)).toString());
             } else {
                 node.setStatus("UP");
-                node.setResponseTimeMs(heartbeat.getResponseTimeMs());
-                node.setLastChecked(heartbeat.getExecutedAt() != null ? heartbeat.getExecutedAt().toString() : null);
+                node.setResponseTimeMs(heartbeat.latencyMs(0) != HeartbeatRing.NO_VALUE ? heartbeat.latencyMs(0) : null);
+                node.setLastChecked(Instant.ofEpochMilli(heartbeat.executedAt(0)).toString());
             }
-        } else if ("SERVICE".equals(type)) {
-            // SERVICE type should refer to MonitoredService, not ServiceInstance
-            MonitoredService service = monitoredServiceRepository.findById(itemId).orElse(null);
-            if (service == null) {
-                LOG.warn("MonitoredService not found: {}", itemId);
-                return null;
-            }
-            node.setName(service.getName());
+        } else if (topologyNode.name() != null) {
             node.setStatus("UNKNOWN");
-            LOG.debug("Found MonitoredService: {} (id={})", service.getName(), itemId);
-        } else if ("INSTANCE".equals(type)) {
-            Instance instance = instanceRepository.findById(itemId).orElse(null);
-            if (instance == null) {
-                LOG.warn("Instance not found: {}", itemId);
-                return null;
-            }
-            node.setName(instance.getName());
-            node.setStatus("UNKNOWN");
-            LOG.debug("Found instance: {}", instance.getName());
         }
 
-        List<StatusDependency> dependencies = statusDependencyRepository
-            .findByParentTypeAndParentId(type, itemId);
-        LOG.debug("Found {} dependencies for {} {}", dependencies.size(), type, itemId);
-
         List<DependencyTreeDTO> children = new ArrayList<>();
-        for (StatusDependency dep : dependencies) {
-            DependencyTreeDTO child = buildTreeNode(dep.getChildType(), dep.getChildId());
-            if (child != null) {
-                children.add(child);
-            }
+        boolean impacted = false;
+        for (TopologyNode child : topologyNode.children()) {
+            DependencyTreeDTO childNode = toTreeNode(child, latest, statuses, visited);
+            impacted |= "DOWN".equals(childNode.getStatus()) || "DEGRADED".equals(childNode.getStatus());
+            children.add(childNode);
         }
         node.setChildren(children);
-
+        if (impacted && !"DOWN".equals(node.getStatus())) {
+            node.setStatus("DEGRADED");
+        }
+        visited.put(topologyNode, node);
         return node;
     }
+
+    private static boolean isHttpMonitor(String type) {
+        return "HTTP_MONITOR".equals(type) || "HTTP".equals(type);
+    }
+
+    private static Set<Long> idsOf(Set<NodeKey> keys, String... types) {
+        Set<String> wanted = Set.of(types);
+        Set<Long> ids = new HashSet<>();
+        for (NodeKey key : keys) {
+            if (wanted.contains(key.type())) {
+                ids.add(key.id());
+            }
+        }
+        return ids;
+    }
+
+    private record NodeKey(String type, Long id) {}
+
+    /**
+     * A node of a status page's dependency graph, without its status.
+     */
+    private record TopologyNode(
+        String type,
+        Long itemId,
+        String name,
+        Integer performanceBudgetMs,
+        Long monitorId,
+        List<TopologyNode> children
+    ) {}
+
+    private record Topology(List<TopologyNode> roots, Set<Long> monitorIds) {}
 }
@@ -11,6 +11,8 @@ import vibhuvi.oio.inframirror.repository.StatusPageItemRepository;
 import vibhuvi.oio.inframirror.repository.HttpMonitorRepository;
 import vibhuvi.oio.inframirror.repository.InstanceRepository;
 import vibhuvi.oio.inframirror.repository.ServiceInstanceRepository;
+import vibhuvi.oio.inframirror.service.PublicStatusPageService;
+import vibhuvi.oio.inframirror.service.StatusDependencyService;
 import vibhuvi.oio.inframirror.service.StatusPageItemService;
 import vibhuvi.oio.inframirror.service.dto.StatusPageItemDTO;
 import vibhuvi.oio.inframirror.service.mapper.StatusPageItemMapper;
@@ -26,25 +28,35 @@ public class StatusPageItemServiceImpl implements StatusPageItemService {
     private final HttpMonitorRepository httpMonitorRepository;
     private final InstanceRepository instanceRepository;
     private final ServiceInstanceRepository serviceInstanceRepository;
+    private final PublicStatusPageService publicStatusPageService;
+    private final StatusDependencyService statusDependencyService;
 
     public StatusPageItemServiceImpl(
         StatusPageItemRepository statusPageItemRepository,
         StatusPageItemMapper statusPageItemMapper,
         HttpMonitorRepository httpMonitorRepository,
         InstanceRepository instanceRepository,
-        ServiceInstanceRepository serviceInstanceRepository
+        ServiceInstanceRepository serviceInstanceRepository,
+        PublicStatusPageService publicStatusPageService,
+        StatusDependencyService statusDependencyService
     ) {
         this.statusPageItemRepository = statusPageItemRepository;
         this.statusPageItemMapper = statusPageItemMapper;
         this.httpMonitorRepository = httpMonitorRepository;
         this.instanceRepository = instanceRepository;
         this.serviceInstanceRepository = serviceInstanceRepository;
+        this.publicStatusPageService = publicStatusPageService;
+        this.statusDependencyService = statusDependencyService;
     }
     @Override
     public StatusPageItemDTO save(StatusPageItemDTO statusPageItemDTO) {
         LOG.debug("Request to save StatusPageItem : {}", statusPageItemDTO);
         StatusPageItem statusPageItem = statusPageItemMapper.toEntity(statusPageItemDTO);
         statusPageItem = statusPageItemRepository.save(statusPageItem);
+        if (statusPageItem.getStatusPage() != null) {
+            publicStatusPageService.evictStatusPage(statusPageItem.getStatusPage().getId());
+        }
+        statusDependencyService.evictTopologies();
         return statusPageItemMapper.toDto(statusPageItem);
     }
     @Override
@@ -52,11 +64,16 @@ public class StatusPageItemServiceImpl implements StatusPageItemService {
         LOG.debug("Request to update StatusPageItem : {}", statusPageItemDTO);
         StatusPageItem statusPageItem = statusPageItemMapper.toEntity(statusPageItemDTO);
         statusPageItem = statusPageItemRepository.save(statusPageItem);
+        // The item may have moved to another page
+        publicStatusPageService.evictAll();
+        statusDependencyService.evictTopologies();
         return statusPageItemMapper.toDto(statusPageItem);
     }
     @Override
     public Optional<StatusPageItemDTO> partialUpdate(StatusPageItemDTO statusPageItemDTO) {
         LOG.debug("Request to partially update StatusPageItem : {}", statusPageItemDTO);
+        publicStatusPageService.evictAll();
+        statusDependencyService.evictTopologies();
         return statusPageItemRepository
 
             .findById(statusPageItemDTO.getId())
@@ -94,6 +111,8 @@ public class StatusPageItemServiceImpl implements StatusPageItemService {
     public void delete(Long id) {
         LOG.debug("Request to delete StatusPageItem : {}", id);
         statusPageItemRepository.deleteById(id);
+        publicStatusPageService.evictAll();
+        statusDependencyService.evictTopologies();
     }
     @Override
     @Transactional(readOnly = true)
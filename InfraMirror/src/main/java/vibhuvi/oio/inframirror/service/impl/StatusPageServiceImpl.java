@@ -9,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import vibhuvi.oio.inframirror.domain.StatusPage;
 import vibhuvi.oio.inframirror.repository.StatusPageRepository;
 import vibhuvi.oio.inframirror.service.FullTextSearchUtil;
+import vibhuvi.oio.inframirror.service.PublicStatusPageService;
 import vibhuvi.oio.inframirror.service.StatusPageService;
 import vibhuvi.oio.inframirror.service.dto.StatusPageDTO;
 import vibhuvi.oio.inframirror.service.dto.StatusPageSearchResultDTO;
@@ -20,10 +21,16 @@ public class StatusPageServiceImpl implements StatusPageService {
     private static final Logger LOG = LoggerFactory.getLogger(StatusPageServiceImpl.class);
     private final StatusPageRepository statusPageRepository;
     private final StatusPageMapper statusPageMapper;
+    private final PublicStatusPageService publicStatusPageService;
     
-    public StatusPageServiceImpl(StatusPageRepository statusPageRepository, StatusPageMapper statusPageMapper) {
+    public StatusPageServiceImpl(
+        StatusPageRepository statusPageRepository,
+        StatusPageMapper statusPageMapper,
+        PublicStatusPageService publicStatusPageService
+    ) {
         this.statusPageRepository = statusPageRepository;
         this.statusPageMapper = statusPageMapper;
+        this.publicStatusPageService = publicStatusPageService;
     }
     
     @Override
@@ -39,12 +46,14 @@ public class StatusPageServiceImpl implements StatusPageService {
         LOG.debug("Request to update StatusPage : {}", statusPageDTO);
         StatusPage statusPage = statusPageMapper.toEntity(statusPageDTO);
         statusPage = statusPageRepository.save(statusPage);
+        publicStatusPageService.evictStatusPage(statusPage.getId());
         return statusPageMapper.toDto(statusPage);
     }
     
     @Override
     public Optional<StatusPageDTO> partialUpdate(StatusPageDTO statusPageDTO) {
         LOG.debug("Request to partially update StatusPage : {}", statusPageDTO);
+        publicStatusPageService.evictStatusPage(statusPageDTO.getId());
         return statusPageRepository.findById(statusPageDTO.getId())
             .map(existingStatusPage -> {
                 statusPageMapper.partialUpdate(existingStatusPage, statusPageDTO);
@@ -65,6 +74,7 @@ public class StatusPageServiceImpl implements StatusPageService {
     public void delete(Long id) {
         LOG.debug("Request to delete StatusPage : {}", id);
         statusPageRepository.deleteById(id);
+        publicStatusPageService.evictStatusPage(id);
     }
     
     @Override
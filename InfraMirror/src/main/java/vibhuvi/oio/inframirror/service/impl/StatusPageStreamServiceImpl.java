@@ -0,0 +1,429 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestListener;
+import vibhuvi.oio.inframirror.service.PublicStatusPageService;
+import vibhuvi.oio.inframirror.service.StatusPageStreamService;
+import vibhuvi.oio.inframirror.service.StatusPageStreamSink;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageDeltaDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageSnapshot;
+
+/**
+ * Service Implementation for {@link StatusPageStreamService}.
+ * <p>
+ * Pages with viewers are tracked as channels. Heartbeats for a channel's monitors schedule a refresh after a short
+ * debounce, so a burst of heartbeats costs one computation; a periodic tick also refreshes every channel (picking up
+ * page edits and cache expiry) and sends keep-alives. A refresh reads the page through {@link PublicStatusPageService},
+ * diffs it against the previous one and serializes the resulting event once for all viewers.
+ * <p>
+ * Each viewer has a bounded queue drained on a small sender pool, one drain at a time per viewer. A viewer that falls
+ * more than {@code maxPendingEvents} behind has its queue dropped and receives the current snapshot instead, so a slow
+ * client costs bounded memory and never delays the others.
+ */
+@Service
+public class StatusPageStreamServiceImpl implements StatusPageStreamService, HttpHeartbeatIngestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatusPageStreamServiceImpl.class);
+
+    static final String SNAPSHOT = "snapshot";
+    static final String DELTA = "delta";
+
+    private final PublicStatusPageService publicStatusPageService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties.StatusPageStream properties;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final Map<StatusPageStreamSink, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+
+    public StatusPageStreamServiceImpl(
+        PublicStatusPageService publicStatusPageService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.publicStatusPageService = publicStatusPageService;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getStatusPageStream();
+        Gauge.builder("inframirror.status.stream.subscribers", subscriberCount, AtomicInteger::get)
+            .description("Viewers connected to public status page streams")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(daemon("status-page-stream"));
+        senders = Executors.newFixedThreadPool(Math.max(1, properties.getSenderThreads()), daemon("status-page-stream-sender"));
+        long keepAlive = Math.max(1, properties.getKeepAliveSeconds());
+        scheduler.scheduleAtFixedRate(this::tick, keepAlive, keepAlive, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.keySet().forEach(StatusPageStreamSink::close);
+        subscribers.clear();
+        channels.clear();
+        subscriberCount.set(0);
+    }
+
+    @Override
+    public boolean subscribe(String slug, StatusPageStreamSink sink) {
+        if (subscriberCount.get() >= properties.getMaxConnections()) {
+            LOG.debug("Rejecting stream viewer of {}: {} connections", slug, subscriberCount.get());
+            return false;
+        }
+        AtomicBoolean accepted = new AtomicBoolean();
+        Channel channel = channels.compute(slug, (key, existing) -> {
+            Channel ch = existing != null ? existing : new Channel(key);
+            if (ch.subscribers.size() < properties.getMaxConnectionsPerPage()) {
+                Subscriber subscriber = new Subscriber(sink, ch);
+                ch.subscribers.add(subscriber);
+                subscribers.put(sink, subscriber);
+                subscriberCount.incrementAndGet();
+                accepted.set(true);
+            }
+            return ch.subscribers.isEmpty() ? null : ch;
+        });
+        if (!accepted.get()) {
+            LOG.debug("Rejecting stream viewer of {}: page connection limit reached", slug);
+            return false;
+        }
+        if (channel.snapshot != null) {
+            subscribers.get(sink).scheduleDrain();
+        } else {
+            scheduleRefresh(channel, 0);
+        }
+        return true;
+    }
+
+    @Override
+    public void unsubscribe(StatusPageStreamSink sink) {
+        Subscriber subscriber = subscribers.remove(sink);
+        if (subscriber == null) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscriber.close();
+        channels.computeIfPresent(subscriber.channel.slug, (key, ch) -> {
+            ch.subscribers.remove(subscriber);
+            return ch.subscribers.isEmpty() ? null : ch;
+        });
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void onHeartbeatsPersisted(List<HttpHeartbeatDTO> heartbeats) {
+        if (channels.isEmpty()) {
+            return;
+        }
+        Set<Long> monitorIds = new HashSet<>();
+        for (HttpHeartbeatDTO heartbeat : heartbeats) {
+            if (heartbeat.getMonitor() != null && heartbeat.getMonitor().getId() != null) {
+                monitorIds.add(heartbeat.getMonitor().getId());
+            }
+        }
+        for (Channel channel : channels.values()) {
+            if (channel.monitorIds.stream().anyMatch(monitorIds::contains)) {
+                scheduleRefresh(channel, properties.getDebounceMillis());
+            }
+        }
+    }
+
+    private void tick() {
+        for (Channel channel : channels.values()) {
+            scheduleRefresh(channel, 0);
+            channel.subscribers.forEach(subscriber -> subscriber.offer(Event.KEEP_ALIVE));
+        }
+    }
+
+    private void scheduleRefresh(Channel channel, long delayMillis) {
+        if (channel.refreshScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> refresh(channel), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs on the scheduler thread only, which owns the channel's page and event id.
+     */
+    private void refresh(Channel channel) {
+        channel.refreshScheduled.set(false);
+        if (channel.subscribers.isEmpty()) {
+            return;
+        }
+        Optional<PublicStatusPageSnapshot> current;
+        try {
+            current = publicStatusPageService.getSnapshot(channel.slug);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to refresh status page stream {}: {}", channel.slug, e.getMessage());
+            return;
+        }
+        if (current.isEmpty() || !current.get().isPublicPage()) {
+            LOG.debug("Status page {} is gone or private, closing its streams", channel.slug);
+            channel.subscribers.forEach(subscriber -> unsubscribe(subscriber.sink));
+            return;
+        }
+        PublicStatusPageSnapshot snapshot = current.get();
+        PublicStatusPageDTO page = snapshot.getPage();
+        if (page == channel.page) {
+            return;
+        }
+        channel.monitorIds = snapshot.getMonitorIds();
+        String body = new String(snapshot.getBody(), StandardCharsets.UTF_8);
+        Event event;
+        if (channel.page == null || !sameStructure(channel.page, page)) {
+            event = new Event(SNAPSHOT, ++channel.eventId, body);
+        } else {
+            PublicStatusPageDeltaDTO delta = diff(channel.page, page);
+            if (delta.getChanges().isEmpty() && delta.getStatuses().isEmpty()) {
+                channel.page = page;
+                channel.snapshot = new Event(SNAPSHOT, channel.eventId, body);
+                return;
+            }
+            event = new Event(DELTA, ++channel.eventId, toJson(delta));
+        }
+        channel.page = page;
+        channel.snapshot = new Event(SNAPSHOT, channel.eventId, body);
+        channel.subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize status page stream event", e);
+        }
+    }
+
+    /**
+     * Whether two renders differ at most in the status of existing monitors and the health of their regions.
+     */
+    static boolean sameStructure(PublicStatusPageDTO previous, PublicStatusPageDTO next) {
+        if (
+            !Objects.equals(previous.getName(), next.getName()) ||
+            !Objects.equals(previous.getDescription(), next.getDescription()) ||
+            !Objects.equals(previous.getSlug(), next.getSlug()) ||
+            !Objects.equals(previous.getLogoUrl(), next.getLogoUrl()) ||
+            !Objects.equals(previous.getThemeColor(), next.getThemeColor()) ||
+            !Objects.equals(previous.getHeaderText(), next.getHeaderText()) ||
+            !Objects.equals(previous.getFooterText(), next.getFooterText()) ||
+            !Objects.equals(previous.getShowResponseTimes(), next.getShowResponseTimes()) ||
+            !Objects.equals(previous.getShowUptimePercentage(), next.getShowUptimePercentage()) ||
+            !Objects.equals(previous.getAutoRefreshSeconds(), next.getAutoRefreshSeconds()) ||
+            !Objects.equals(previous.getRegions(), next.getRegions()) ||
+            previous.getMonitors().size() != next.getMonitors().size()
+        ) {
+            return false;
+        }
+        for (int i = 0; i < next.getMonitors().size(); i++) {
+            PublicStatusPageDTO.MonitorStatus a = previous.getMonitors().get(i);
+            PublicStatusPageDTO.MonitorStatus b = next.getMonitors().get(i);
+            if (
+                !Objects.equals(a.getMonitorId(), b.getMonitorId()) ||
+                !Objects.equals(a.getMonitorName(), b.getMonitorName()) ||
+                !Objects.equals(a.getUrl(), b.getUrl()) ||
+                !a.getRegionHealth().keySet().equals(b.getRegionHealth().keySet())
+            ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The monitors whose status and the regions whose health changed; both renders must have the
+     * {@link #sameStructure same structure}.
+     */
+    static PublicStatusPageDeltaDTO diff(PublicStatusPageDTO previous, PublicStatusPageDTO next) {
+        PublicStatusPageDeltaDTO delta = new PublicStatusPageDeltaDTO();
+        for (int i = 0; i < next.getMonitors().size(); i++) {
+            PublicStatusPageDTO.MonitorStatus before = previous.getMonitors().get(i);
+            PublicStatusPageDTO.MonitorStatus after = next.getMonitors().get(i);
+            if (
+                !Objects.equals(before.getStatus(), after.getStatus()) || !Objects.equals(before.getStatusSince(), after.getStatusSince())
+            ) {
+                delta
+                    .getStatuses()
+                    .add(new PublicStatusPageDeltaDTO.StatusChange(after.getMonitorId(), after.getStatus(), after.getStatusSince()));
+            }
+            after
+                .getRegionHealth()
+                .forEach((region, health) -> {
+                    PublicStatusPageDTO.RegionHealth old = before.getRegionHealth().get(region);
+                    if (
+                        !Objects.equals(old.getStatus(), health.getStatus()) ||
+                        !Objects.equals(old.getResponseTimeMs(), health.getResponseTimeMs()) ||
+                        !Objects.equals(old.getAgentName(), health.getAgentName()) ||
+                        !Objects.equals(old.getSuccessRate(), health.getSuccessRate())
+                    ) {
+                        delta.getChanges().add(new PublicStatusPageDeltaDTO.RegionChange(after.getMonitorId(), region, health));
+                    }
+                });
+        }
+        return delta;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Event(String name, long id, String json) {
+        static final Event KEEP_ALIVE = new Event(null, 0, null);
+    }
+
+    private static final class Channel {
+
+        final String slug;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final AtomicBoolean refreshScheduled = new AtomicBoolean();
+        volatile Set<Long> monitorIds = Set.of();
+        volatile Event snapshot;
+        PublicStatusPageDTO page;
+        long eventId;
+
+        Channel(String slug) {
+            this.slug = slug;
+        }
+    }
+
+    private final class Subscriber {
+
+        final StatusPageStreamSink sink;
+        final Channel channel;
+        private final ArrayDeque<Event> pending = new ArrayDeque<>();
+        private boolean resync = true;
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(StatusPageStreamSink sink, Channel channel) {
+            this.sink = sink;
+            this.channel = channel;
+        }
+
+        void offer(Event event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (!resync && SNAPSHOT.equals(event.name())) {
+                    // A snapshot supersedes anything still queued
+                    pending.clear();
+                }
+                if (!resync) {
+                    if (pending.size() >= properties.getMaxPendingEvents()) {
+                        pending.clear();
+                        resync = true;
+                    } else {
+                        pending.add(event);
+                    }
+                }
+            }
+            scheduleDrain();
+        }
+
+        void scheduleDrain() {
+            synchronized (this) {
+                if (draining || closed) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            sink.close();
+        }
+
+        private void drain() {
+            while (true) {
+                Event next;
+                synchronized (this) {
+                    if (closed) {
+                        draining = false;
+                        return;
+                    }
+                    if (resync) {
+                        next = channel.snapshot;
+                        if (next == null) {
+                            draining = false;
+                            return;
+                        }
+                        resync = false;
+                        pending.clear();
+                    } else {
+                        next = pending.poll();
+                        if (next == null) {
+                            draining = false;
+                            return;
+                        }
+                    }
+                }
+                try {
+                    if (next == Event.KEEP_ALIVE) {
+                        sink.keepAlive();
+                    } else {
+                        sink.send(next.name(), next.id(), next.json());
+                    }
+                } catch (IOException | RuntimeException e) {
+                    LOG.debug("Stream viewer of {} is gone: {}", channel.slug, e.getMessage());
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    unsubscribe(sink);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A chunk of one time series, compressed as in Facebook's Gorilla: timestamps as delta-of-deltas and values as the XOR
+ * with the previous value, both in a variable number of bits.
+ * <p>
+ * Timestamps have second resolution and must strictly increase. Layout: one version byte, the number of points as an
+ * unsigned short, then the bit stream: the first timestamp and value on 64 bits each, then per point the
+ * delta-of-delta ({@code 0}; {@code 10} and 7 bits; {@code 110} and 9 bits; {@code 1110} and 12 bits; {@code 1111}
+ * and 32 bits) followed by the XOR ({@code 0} when equal; {@code 10} and the meaningful bits when they fit the window
+ * of the previous XOR; {@code 11}, 5 bits of leading zeros, 6 bits of length and the meaningful bits otherwise).
+ * A series sampled at a steady interval costs about one bit per timestamp. Not thread-safe.
+ */
+public final class GorillaChunk {
+
+    static final byte VERSION = 1;
+
+    private static final int HEADER_BYTES = 3;
+
+    /** Receives the points of a decoded chunk, in time order. */
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(long epochSecond, double value);
+    }
+
+    private final int capacity;
+    private final BitWriter bits = new BitWriter();
+    private int size;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long lastValueBits;
+    private int lastLeading = Integer.MAX_VALUE;
+    private int lastTrailing;
+
+    /**
+     * @param capacity the maximum number of points of the chunk, at most 65535.
+     */
+    public GorillaChunk(int capacity) {
+        if (capacity <= 0 || capacity > 0xFFFF) {
+            throw new IllegalArgumentException("capacity must be between 1 and 65535");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param epochSecond the time of the point, in epoch seconds.
+     * @param value the value of the point.
+     * @return whether the point was added: {@code false} when the chunk is full or the point is not after the last one.
+     */
+    public boolean append(long epochSecond, double value) {
+        if (size == capacity || (size > 0 && epochSecond <= lastTimestamp)) {
+            return false;
+        }
+        long valueBits = Double.doubleToRawLongBits(value);
+        if (size == 0) {
+            firstTimestamp = epochSecond;
+            bits.write(epochSecond, 64);
+            bits.write(valueBits, 64);
+        } else {
+            long delta = epochSecond - lastTimestamp;
+            writeDeltaOfDelta(delta - lastDelta);
+            writeXor(valueBits ^ lastValueBits);
+            lastDelta = delta;
+        }
+        lastTimestamp = epochSecond;
+        lastValueBits = valueBits;
+        size++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * @return the time of the first point in epoch seconds; undefined when empty.
+     */
+    public long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * @return the time of the last point in epoch seconds; undefined when empty.
+     */
+    public long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * @return the encoded points added so far; the chunk can still be appended to afterwards.
+     */
+    public byte[] toByteArray() {
+        byte[] stream = bits.toByteArray();
+        byte[] chunk = new byte[HEADER_BYTES + stream.length];
+        chunk[0] = VERSION;
+        chunk[1] = (byte) (size >>> 8);
+        chunk[2] = (byte) size;
+        System.arraycopy(stream, 0, chunk, HEADER_BYTES, stream.length);
+        return chunk;
+    }
+
+    /**
+     * @param chunk a chunk produced by {@link #toByteArray}.
+     * @param consumer receives the points, in time order.
+     * @throws IllegalArgumentException if the chunk is corrupt or of an unknown version.
+     */
+    public static void decode(byte[] chunk, PointConsumer consumer) {
+        if (chunk.length < HEADER_BYTES || chunk[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported time series chunk version");
+        }
+        int count = ((chunk[1] & 0xFF) << 8) | (chunk[2] & 0xFF);
+        if (count == 0) {
+            return;
+        }
+        BitReader in = new BitReader(chunk, HEADER_BYTES);
+        long timestamp = in.read(64);
+        long valueBits = in.read(64);
+        consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            delta += readDeltaOfDelta(in);
+            timestamp += delta;
+            if (in.read(1) != 0) {
+                if (in.read(1) != 0) {
+                    leading = (int) in.read(5);
+                    int length = (int) in.read(6);
+                    trailing = 64 - leading - (length == 0 ? 64 : length);
+                }
+                int length = 64 - leading - trailing;
+                valueBits ^= in.read(length) << trailing;
+            }
+            consumer.accept(timestamp, Double.longBitsToDouble(valueBits));
+        }
+    }
+
+    private void writeDeltaOfDelta(long dod) {
+        if (dod == 0) {
+            bits.write(0, 1);
+        } else if (dod >= -63 && dod <= 64) {
+            bits.write(0b10, 2);
+            bits.write(dod, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            bits.write(0b110, 3);
+            bits.write(dod, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            bits.write(0b1110, 4);
+            bits.write(dod, 12);
+        } else if (dod >= -0x7FFF_FFFFL && dod <= 0x8000_0000L) {
+            bits.write(0b1111, 4);
+            bits.write(dod, 32);
+        } else {
+            throw new IllegalArgumentException("Time series points are too far apart");
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader in) {
+        if (in.read(1) == 0) {
+            return 0;
+        }
+        if (in.read(1) == 0) {
+            return signed(in.read(7), 7);
+        }
+        if (in.read(1) == 0) {
+            return signed(in.read(9), 9);
+        }
+        if (in.read(1) == 0) {
+            return signed(in.read(12), 12);
+        }
+        return signed(in.read(32), 32);
+    }
+
+    /** The positive range of {@code width} bits goes up to half its span, 64 on 7 bits; values above are negative. */
+    private static long signed(long value, int width) {
+        long half = 1L << (width - 1);
+        return value > half ? value - (1L << width) : value;
+    }
+
+    private void writeXor(long xor) {
+        if (xor == 0) {
+            bits.write(0, 1);
+            return;
+        }
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (lastLeading != Integer.MAX_VALUE && leading >= lastLeading && trailing >= lastTrailing) {
+            bits.write(0b10, 2);
+            bits.write(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+            return;
+        }
+        int length = 64 - leading - trailing;
+        bits.write(0b11, 2);
+        bits.write(leading, 5);
+        // A length of 64 does not fit in 6 bits and is written as 0
+        bits.write(length, 6);
+        bits.write(xor >>> trailing, length);
+        lastLeading = leading;
+        lastTrailing = trailing;
+    }
+
+    private static final class BitWriter {
+
+        private byte[] buffer = new byte[64];
+        private long bitCount;
+
+        void write(long value, int width) {
+            for (int remaining = width; remaining > 0;) {
+                int index = (int) (bitCount >>> 3);
+                if (index == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                int free = 8 - (int) (bitCount & 7);
+                int n = Math.min(free, remaining);
+                int chunk = (int) ((value >>> (remaining - n)) & ((1 << n) - 1));
+                buffer[index] |= (byte) (chunk << (free - n));
+                remaining -= n;
+                bitCount += n;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, (int) ((bitCount + 7) >>> 3));
+        }
+    }
+
+    /** Reads the stream through a 64-bit window refilled a byte at a time. */
+    private static final class BitReader {
+
+        private final byte[] buffer;
+        private int index;
+        private long window;
+        private int available;
+
+        BitReader(byte[] buffer, int offset) {
+            this.buffer = buffer;
+            this.index = offset;
+        }
+
+        long read(int width) {
+            if (width > 56) {
+                return (read(width - 32) << 32) | read(32);
+            }
+            if (width > available) {
+                while (available <= 56 && index < buffer.length) {
+                    window |= (long) (buffer[index++] & 0xFF) << (56 - available);
+                    available += 8;
+                }
+                if (width > available) {
+                    throw new IllegalArgumentException("Truncated time series chunk");
+                }
+            }
+            long value = window >>> (64 - width);
+            window <<= width;
+            available -= width;
+            return value;
+        }
+    }
+}
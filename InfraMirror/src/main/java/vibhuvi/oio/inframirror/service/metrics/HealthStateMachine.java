@@ -0,0 +1,107 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import vibhuvi.oio.inframirror.service.dto.MonitorHealthStatus;
+
+/**
+ * Status of one monitor in one region, moved between UP, DEGRADED and DOWN by streaks of consecutive checks.
+ * <p>
+ * Four streaks are kept: failed checks, checks that failed or were slow, checks that did not fail, and good checks.
+ * From UP, {@code downAfter} failed checks lead to DOWN and {@code degradedAfter} failed or slow ones to DEGRADED; from
+ * DEGRADED, {@code downAfter} failed checks lead to DOWN and {@code recoverAfter} good ones back to UP; from DOWN,
+ * {@code recoverAfter} good checks lead to UP and {@code recoverAfter} checks that did not fail to DEGRADED. Entering
+ * and leaving a status take different streaks, so a monitor alternating between good and failed checks does not flap.
+ * A transition is dated by the first check of the streak that caused it. Not thread-safe.
+ */
+public final class HealthStateMachine {
+
+    /** The outcome of one check. */
+    public enum Check {
+        OK,
+        SLOW,
+        FAILED,
+    }
+
+    private MonitorHealthStatus status;
+    private int failed;
+    private int failedOrSlow;
+    private int notFailed;
+    private int ok;
+    private long failedSince;
+    private long failedOrSlowSince;
+    private long notFailedSince;
+    private long okSince;
+    private long changedAt;
+
+    /**
+     * @param status the status to start from, e.g. the one of an incident still open.
+     */
+    public HealthStateMachine(MonitorHealthStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * @param timeMillis when the check was executed, in epoch milliseconds, not before the previous one.
+     * @param check the outcome of the check.
+     * @param downAfter the failed checks in a row that lead to DOWN, at least 1.
+     * @param degradedAfter the failed or slow checks in a row that lead from UP to DEGRADED, at least 1.
+     * @param recoverAfter the good checks in a row that lead back to UP, at least 1.
+     * @return the new status, or {@code null} if it did not change.
+     */
+    public MonitorHealthStatus observe(long timeMillis, Check check, int downAfter, int degradedAfter, int recoverAfter) {
+        if (check == Check.FAILED) {
+            notFailed = 0;
+            if (failed++ == 0) {
+                failedSince = timeMillis;
+            }
+        } else {
+            failed = 0;
+            if (notFailed++ == 0) {
+                notFailedSince = timeMillis;
+            }
+        }
+        if (check == Check.OK) {
+            failedOrSlow = 0;
+            if (ok++ == 0) {
+                okSince = timeMillis;
+            }
+        } else {
+            ok = 0;
+            if (failedOrSlow++ == 0) {
+                failedOrSlowSince = timeMillis;
+            }
+        }
+
+        MonitorHealthStatus next = status;
+        long since = 0;
+        if (status != MonitorHealthStatus.DOWN && failed >= downAfter) {
+            next = MonitorHealthStatus.DOWN;
+            since = failedSince;
+        } else if (status == MonitorHealthStatus.UP && failedOrSlow >= degradedAfter) {
+            next = MonitorHealthStatus.DEGRADED;
+            since = failedOrSlowSince;
+        } else if (status != MonitorHealthStatus.UP && ok >= recoverAfter) {
+            next = MonitorHealthStatus.UP;
+            since = okSince;
+        } else if (status == MonitorHealthStatus.DOWN && notFailed >= recoverAfter) {
+            next = MonitorHealthStatus.DEGRADED;
+            since = notFailedSince;
+        }
+        if (next == status) {
+            return null;
+        }
+        status = next;
+        changedAt = since;
+        return next;
+    }
+
+    public MonitorHealthStatus status() {
+        return status;
+    }
+
+    /**
+     * @return when the last transition happened, in epoch milliseconds; undefined before the first one.
+     */
+    public long changedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,167 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+/**
+ * Fixed-size ring of the most recent check results of one (monitor, agent) pair, newest first.
+ * <p>
+ * Samples are held in parallel primitive arrays (execution time in epoch milliseconds, latency and thresholds in
+ * milliseconds, success as a bit set), so a ring costs a few hundred bytes regardless of how many samples went
+ * through it. Samples are kept ordered by execution time: a late sample is inserted at its position and a sample
+ * older than a full ring is dropped. A sample with the same execution time as one already held is ignored, which
+ * makes re-adding a sample idempotent. Only the error message of the newest sample is retained. Not thread-safe.
+ */
+public final class HeartbeatRing {
+
+    /** Value returned for a latency or threshold that was not reported. */
+    public static final int NO_VALUE = -1;
+
+    private final long[] executedAt;
+    private final int[] latencyMs;
+    private final int[] warningMs;
+    private final int[] criticalMs;
+    private final long[] successBits;
+    private int head;
+    private int size;
+    private String latestErrorMessage;
+
+    public HeartbeatRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        executedAt = new long[capacity];
+        latencyMs = new int[capacity];
+        warningMs = new int[capacity];
+        criticalMs = new int[capacity];
+        successBits = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Record a sample.
+     *
+     * @param executedAtMillis the execution time in epoch milliseconds.
+     * @param success whether the check succeeded.
+     * @param latency the response time, or {@link #NO_VALUE}.
+     * @param warning the warning threshold reported with the sample, or {@link #NO_VALUE}.
+     * @param critical the critical threshold reported with the sample, or {@link #NO_VALUE}.
+     * @param errorMessage the error message, kept only while this is the newest sample.
+     * @return {@code true} if the sample was stored.
+     */
+    public boolean add(long executedAtMillis, boolean success, int latency, int warning, int critical, String errorMessage) {
+        int capacity = capacity();
+        int position = 0;
+        while (position < size && executedAt(position) > executedAtMillis) {
+            position++;
+        }
+        if (position < size && executedAt(position) == executedAtMillis) {
+            return false;
+        }
+        if (position == size && size == capacity) {
+            return false;
+        }
+        // Shift the newer samples one slot forward; on a full ring this overwrites the oldest one
+        for (int i = 0; i < position; i++) {
+            int from = physical(i);
+            copy(from, (from + 1) % capacity);
+        }
+        int slot = (head - position + capacity) % capacity;
+        executedAt[slot] = executedAtMillis;
+        latencyMs[slot] = latency;
+        warningMs[slot] = warning;
+        criticalMs[slot] = critical;
+        setSuccess(slot, success);
+        head = (head + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        }
+        if (position == 0) {
+            latestErrorMessage = errorMessage;
+        }
+        return true;
+    }
+
+    public int capacity() {
+        return executedAt.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param i the age of the sample, {@code 0} being the newest.
+     */
+    public long executedAt(int i) {
+        return executedAt[physical(i)];
+    }
+
+    public boolean isSuccess(int i) {
+        int slot = physical(i);
+        return (successBits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public int latencyMs(int i) {
+        return latencyMs[physical(i)];
+    }
+
+    public int warningThresholdMs(int i) {
+        return warningMs[physical(i)];
+    }
+
+    public int criticalThresholdMs(int i) {
+        return criticalMs[physical(i)];
+    }
+
+    public String getLatestErrorMessage() {
+        return latestErrorMessage;
+    }
+
+    /**
+     * Copy the newest samples into a new ring sized to what was copied.
+     *
+     * @param limit the maximum number of samples to copy.
+     * @param sinceMillis samples executed before this epoch millisecond are left out.
+     * @return the copy, or {@code null} if no sample qualifies.
+     */
+    public HeartbeatRing copy(int limit, long sinceMillis) {
+        int count = 0;
+        while (count < size && count < limit && executedAt(count) >= sinceMillis) {
+            count++;
+        }
+        if (count == 0) {
+            return null;
+        }
+        HeartbeatRing copy = new HeartbeatRing(count);
+        for (int i = count - 1; i >= 0; i--) {
+            copy.add(executedAt(i), isSuccess(i), latencyMs(i), warningThresholdMs(i), criticalThresholdMs(i), null);
+        }
+        copy.latestErrorMessage = latestErrorMessage;
+        return copy;
+    }
+
+    private int physical(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        int capacity = capacity();
+        return (head - 1 - i + capacity) % capacity;
+    }
+
+    private void copy(int from, int to) {
+        executedAt[to] = executedAt[from];
+        latencyMs[to] = latencyMs[from];
+        warningMs[to] = warningMs[from];
+        criticalMs[to] = criticalMs[from];
+        setSuccess(to, (successBits[from >>> 6] & (1L << from)) != 0);
+    }
+
+    private void setSuccess(int slot, boolean success) {
+        if (success) {
+            successBits[slot >>> 6] |= 1L << slot;
+        } else {
+            successBits[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+}
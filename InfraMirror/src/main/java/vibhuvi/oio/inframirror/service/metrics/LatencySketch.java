@@ -0,0 +1,268 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch for latencies in milliseconds, after DDSketch.
+ * <p>
+ * Values are counted in logarithmic buckets of ratio {@code (1 + a) / (1 - a)}, so any quantile is returned with a
+ * relative error of at most {@link #RELATIVE_ACCURACY}. Merging two sketches is exact (bucket counts are added), which
+ * makes it possible to combine per-minute, per-agent sketches into any coarser window. Not thread-safe.
+ */
+public final class LatencySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte FORMAT_VERSION = 1;
+    private static final int INITIAL_BUCKETS = 32;
+
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void add(long valueMs) {
+        add(valueMs, 1);
+    }
+
+    public void add(long valueMs, long times) {
+        if (times <= 0) {
+            return;
+        }
+        if (valueMs <= 0) {
+            zeroCount += times;
+        } else {
+            int index = index(valueMs);
+            ensureCapacity(index, index);
+            counts[index - offset] += times;
+        }
+        count += times;
+        min = Math.min(min, valueMs);
+        max = Math.max(max, valueMs);
+    }
+
+    public void merge(LatencySketch other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        int first = other.firstNonEmpty();
+        if (first >= 0) {
+            int last = other.lastNonEmpty();
+            ensureCapacity(first + other.offset, last + other.offset);
+            for (int i = first; i <= last; i++) {
+                counts[i + other.offset - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * @param quantile the quantile, between 0 and 1.
+     * @return the estimated value at that quantile, or {@code null} if the sketch is empty.
+     */
+    public Double quantile(double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        if (quantile <= 0) {
+            return (double) min;
+        }
+        if (quantile >= 1) {
+            return (double) max;
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = zeroCount;
+        if (seen > rank) {
+            return (double) Math.max(min, 0);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return Math.min(max, Math.max(min, value(i + offset)));
+            }
+        }
+        return (double) max;
+    }
+
+    /**
+     * @param valueMs a latency in milliseconds.
+     * @return the estimated number of values at most {@code valueMs}, counting the bucket of {@code valueMs} whole.
+     */
+    public long countAtMost(long valueMs) {
+        if (count == 0 || valueMs < min) {
+            return 0;
+        }
+        if (valueMs >= max) {
+            return count;
+        }
+        long seen = zeroCount;
+        if (valueMs > 0) {
+            int last = Math.min(index(valueMs) - offset, counts.length - 1);
+            for (int i = 0; i <= last; i++) {
+                seen += counts[i];
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * Serialize to a compact varint encoding holding only the non-empty bucket range.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + counts.length);
+        out.write(FORMAT_VERSION);
+        writeVarLong(out, count);
+        writeVarLong(out, zeroCount);
+        writeVarLong(out, zigZag(getMin()));
+        writeVarLong(out, zigZag(getMax()));
+        int first = firstNonEmpty();
+        if (first < 0) {
+            writeVarLong(out, 0);
+        } else {
+            int last = lastNonEmpty();
+            writeVarLong(out, last - first + 1);
+            writeVarLong(out, zigZag(first + offset));
+            for (int i = first; i <= last; i++) {
+                writeVarLong(out, counts[i]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static LatencySketch fromBytes(byte[] bytes) {
+        LatencySketch sketch = new LatencySketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported latency sketch format " + bytes[0]);
+        }
+        int[] pos = { 1 };
+        sketch.count = readVarLong(bytes, pos);
+        sketch.zeroCount = readVarLong(bytes, pos);
+        long min = unZigZag(readVarLong(bytes, pos));
+        long max = unZigZag(readVarLong(bytes, pos));
+        if (sketch.count > 0) {
+            sketch.min = min;
+            sketch.max = max;
+        }
+        int length = (int) readVarLong(bytes, pos);
+        if (length > 0) {
+            sketch.offset = (int) unZigZag(readVarLong(bytes, pos));
+            sketch.counts = new long[length];
+            for (int i = 0; i < length; i++) {
+                sketch.counts[i] = readVarLong(bytes, pos);
+            }
+        }
+        return sketch;
+    }
+
+    static int index(long valueMs) {
+        return (int) Math.ceil(Math.log(valueMs) / LOG_GAMMA);
+    }
+
+    static double value(int index) {
+        return (2 * Math.pow(GAMMA, index)) / (GAMMA + 1);
+    }
+
+    private void ensureCapacity(int lowIndex, int highIndex) {
+        if (counts.length == 0) {
+            int size = Math.max(INITIAL_BUCKETS, highIndex - lowIndex + 1);
+            counts = new long[size];
+            offset = lowIndex - (size - (highIndex - lowIndex + 1)) / 2;
+            return;
+        }
+        int newLow = Math.min(offset, lowIndex);
+        int newHigh = Math.max(offset + counts.length - 1, highIndex);
+        if (newLow == offset && newHigh == offset + counts.length - 1) {
+            return;
+        }
+        // Grow with some slack on the side that overflowed to amortize copies
+        if (newLow < offset) {
+            newLow -= INITIAL_BUCKETS / 2;
+        }
+        if (newHigh > offset + counts.length - 1) {
+            newHigh += INITIAL_BUCKETS / 2;
+        }
+        long[] grown = new long[newHigh - newLow + 1];
+        System.arraycopy(counts, 0, grown, offset - newLow, counts.length);
+        counts = grown;
+        offset = newLow;
+    }
+
+    private int firstNonEmpty() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lastNonEmpty() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] pos) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = bytes[pos[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySketch{count=" + count + ", min=" + getMin() + ", max=" + getMax() + ", buckets=" + Arrays.stream(counts).filter(c -> c != 0).count() + "}";
+    }
+}
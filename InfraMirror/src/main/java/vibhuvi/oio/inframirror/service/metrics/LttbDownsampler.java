@@ -0,0 +1,175 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling of a series streamed in time order, for charts.
+ * <p>
+ * The first and last points are kept. The window is cut into {@code threshold - 2} buckets of equal duration, and from
+ * each non-empty bucket the point kept is the one forming the largest triangle with the point kept from the previous
+ * bucket and the average of the next non-empty bucket, so spikes survive where averaging would flatten them. Only two
+ * buckets are held at a time. Series of at most {@code threshold} points are kept whole. Not thread-safe.
+ */
+public final class LttbDownsampler {
+
+    /**
+     * The points kept, in time order.
+     *
+     * @param x the time of each point.
+     * @param y the value of each point.
+     * @param tags the tag each point was added with.
+     */
+    public record Result(long[] x, double[] y, int[] tags) {}
+
+    private static final class Bucket {
+
+        final LongArrayList x = new LongArrayList();
+        final DoubleArrayList y = new DoubleArrayList();
+        final IntArrayList tags = new IntArrayList();
+        long index;
+        double sumX;
+        double sumY;
+
+        void add(long px, double py, int tag) {
+            x.add(px);
+            y.add(py);
+            tags.add(tag);
+            sumX += px;
+            sumY += py;
+        }
+
+        void removeLast() {
+            int last = x.size() - 1;
+            sumX -= x.get(last);
+            sumY -= y.get(last);
+            x.remove(last);
+            y.remove(last);
+            tags.remove(last);
+        }
+
+        boolean isEmpty() {
+            return x.isEmpty();
+        }
+
+        void clear() {
+            x.clear();
+            y.clear();
+            tags.clear();
+            sumX = 0;
+            sumY = 0;
+        }
+    }
+
+    private final long from;
+    private final long span;
+    private final int threshold;
+    private final int buckets;
+    private final Bucket raw = new Bucket();
+    private Bucket current = new Bucket();
+    private Bucket next = new Bucket();
+    private final Bucket kept = new Bucket();
+    private boolean bucketing;
+    private long lastX;
+    private double lastY;
+    private int lastTag;
+
+    /**
+     * @param from the start of the window.
+     * @param to the end of the window, after {@code from}.
+     * @param threshold the maximum number of points kept, at least 3.
+     */
+    public LttbDownsampler(long from, long to, int threshold) {
+        if (threshold < 3 || to <= from) {
+            throw new IllegalArgumentException("threshold must be at least 3 and the window not empty");
+        }
+        this.from = from;
+        this.span = to - from;
+        this.threshold = threshold;
+        this.buckets = threshold - 2;
+    }
+
+    /**
+     * @param x the time of the point, not before the previous one.
+     * @param y the value of the point.
+     * @param tag kept with the point, e.g. flags.
+     */
+    public void add(long x, double y, int tag) {
+        if (!bucketing) {
+            raw.add(x, y, tag);
+            if (raw.x.size() > threshold) {
+                bucketing = true;
+                for (int i = 0; i < raw.x.size(); i++) {
+                    bucket(raw.x.get(i), raw.y.get(i), raw.tags.get(i));
+                }
+                raw.clear();
+            }
+        } else {
+            bucket(x, y, tag);
+        }
+    }
+
+    /**
+     * @return the points kept; the downsampler cannot be added to afterwards.
+     */
+    public Result finish() {
+        if (!bucketing) {
+            return new Result(raw.x.toArray(), raw.y.toArray(), raw.tags.toArray());
+        }
+        // The last point is kept as is, the buckets before it are chosen against it
+        Bucket last = next.isEmpty() ? current : next;
+        last.removeLast();
+        if (!next.isEmpty()) {
+            select(current, next.sumX / next.x.size(), next.sumY / next.y.size());
+            select(next, lastX, lastY);
+        } else if (!current.isEmpty()) {
+            select(current, lastX, lastY);
+        }
+        kept.add(lastX, lastY, lastTag);
+        return new Result(kept.x.toArray(), kept.y.toArray(), kept.tags.toArray());
+    }
+
+    private void bucket(long x, double y, int tag) {
+        lastX = x;
+        lastY = y;
+        lastTag = tag;
+        if (kept.isEmpty()) {
+            kept.add(x, y, tag);
+            return;
+        }
+        long index = Math.min(buckets - 1, Math.max(0, (long) ((double) (x - from) * buckets / span)));
+        if (current.isEmpty() || index == current.index) {
+            current.index = index;
+            current.add(x, y, tag);
+        } else if (next.isEmpty() || index == next.index) {
+            next.index = index;
+            next.add(x, y, tag);
+        } else {
+            select(current, next.sumX / next.x.size(), next.sumY / next.y.size());
+            Bucket done = current;
+            current = next;
+            next = done;
+            next.clear();
+            next.index = index;
+            next.add(x, y, tag);
+        }
+    }
+
+    /** Keep the point of {@code bucket} forming the largest triangle with the last kept point and {@code (cx, cy)}. */
+    private void select(Bucket bucket, double cx, double cy) {
+        int last = kept.x.size() - 1;
+        double ax = kept.x.get(last);
+        double ay = kept.y.get(last);
+        int best = 0;
+        double bestArea = -1;
+        for (int i = 0; i < bucket.x.size(); i++) {
+            double area = Math.abs((ax - cx) * (bucket.y.get(i) - ay) - (ax - bucket.x.get(i)) * (cy - ay));
+            if (area > bestArea) {
+                bestArea = area;
+                best = i;
+            }
+        }
+        kept.add(bucket.x.get(best), bucket.y.get(best), bucket.tags.get(best));
+    }
+}
@@ -0,0 +1,75 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+/**
+ * Counters summed over a sliding time window, kept in a fixed-size circular array of buckets.
+ * <p>
+ * Each bucket holds the counts of one slice of time, and a running sum per counter is kept up to date as values are
+ * added and as buckets fall out of the window, so reading a sum costs O(1) whatever the length of the window. Values
+ * older than the window are ignored. Memory is fixed at {@code buckets * counters} longs. Not thread-safe.
+ */
+public final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final long[][] counts;
+    private final long[] sums;
+    private long head = Long.MIN_VALUE;
+
+    /**
+     * @param buckets the number of buckets of the window.
+     * @param bucketMillis the length of a bucket in milliseconds; the window is {@code buckets * bucketMillis} long.
+     * @param counters the number of counters.
+     */
+    public SlidingWindowCounter(int buckets, long bucketMillis, int counters) {
+        if (buckets <= 0 || bucketMillis <= 0 || counters <= 0) {
+            throw new IllegalArgumentException("buckets, bucketMillis and counters must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.counts = new long[counters][buckets];
+        this.sums = new long[counters];
+    }
+
+    /**
+     * @param timeMillis when the values happened, in epoch milliseconds.
+     * @param counter the counter.
+     * @param delta the value to add.
+     */
+    public void add(long timeMillis, int counter, long delta) {
+        long bucket = Math.floorDiv(timeMillis, bucketMillis);
+        advance(bucket);
+        if (bucket <= head - counts[counter].length) {
+            return;
+        }
+        counts[counter][(int) Math.floorMod(bucket, (long) counts[counter].length)] += delta;
+        sums[counter] += delta;
+    }
+
+    /**
+     * @param counter the counter.
+     * @param nowMillis the current time in epoch milliseconds.
+     * @return the sum of the counter over the window ending at {@code nowMillis}.
+     */
+    public long sum(int counter, long nowMillis) {
+        advance(Math.floorDiv(nowMillis, bucketMillis));
+        return sums[counter];
+    }
+
+    private void advance(long bucket) {
+        if (head == Long.MIN_VALUE) {
+            head = bucket;
+            return;
+        }
+        if (bucket <= head) {
+            return;
+        }
+        int length = counts[0].length;
+        long steps = Math.min(bucket - head, length);
+        for (long step = 1; step <= steps; step++) {
+            int slot = (int) Math.floorMod(head + step, (long) length);
+            for (int counter = 0; counter < counts.length; counter++) {
+                sums[counter] -= counts[counter][slot];
+                counts[counter][slot] = 0;
+            }
+        }
+        head = bucket;
+    }
+}
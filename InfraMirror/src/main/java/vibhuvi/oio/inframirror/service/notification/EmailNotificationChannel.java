@@ -0,0 +1,61 @@
+package vibhuvi.oio.inframirror.service.notification;
+
+import java.io.IOException;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import tech.jhipster.config.JHipsterProperties;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+
+/**
+ * {@link NotificationChannel} sending one plain text email per batch to the comma-separated addresses of the channel,
+ * from {@code jhipster.mail.from}. Needs {@code spring.mail.host} to be set.
+ */
+@Component
+public class EmailNotificationChannel implements NotificationChannel {
+
+    private final ObjectProvider<JavaMailSender> mailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    public EmailNotificationChannel(ObjectProvider<JavaMailSender> mailSender, JHipsterProperties jHipsterProperties) {
+        this.mailSender = mailSender;
+        this.jHipsterProperties = jHipsterProperties;
+    }
+
+    @Override
+    public ApplicationProperties.Notifications.ChannelType getType() {
+        return ApplicationProperties.Notifications.ChannelType.EMAIL;
+    }
+
+    @Override
+    public void send(ApplicationProperties.Notifications.Channel channel, List<NotificationDTO> notifications) throws IOException {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null) {
+            throw new IOException("No mail server configured, set spring.mail.host");
+        }
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(jHipsterProperties.getMail().getFrom());
+        mail.setTo(channel.getTarget().split("\\s*,\\s*"));
+        if (notifications.size() == 1) {
+            mail.setSubject(notifications.get(0).getSubject());
+            mail.setText(notifications.get(0).getMessage());
+        } else {
+            mail.setSubject("InfraMirror: " + notifications.size() + " notifications");
+            StringBuilder text = new StringBuilder();
+            for (NotificationDTO notification : notifications) {
+                text.append(notification.getSubject()).append("\n").append(notification.getMessage()).append("\n\n");
+            }
+            mail.setText(text.toString());
+        }
+        try {
+            sender.send(mail);
+        } catch (MailException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package vibhuvi.oio.inframirror.service.notification;
+
+import java.io.IOException;
+import java.util.List;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+
+/**
+ * Delivers notifications to a type of channel. Implementations are discovered as Spring beans, one per
+ * {@link ApplicationProperties.Notifications.ChannelType}.
+ */
+public interface NotificationChannel {
+    /**
+     * @return the type of channel delivered to.
+     */
+    ApplicationProperties.Notifications.ChannelType getType();
+
+    /**
+     * Deliver a batch of notifications in one message, e.g. one email or one webhook call. The batch is retried as a
+     * whole when this throws, so delivery should be idempotent on {@link NotificationDTO#getKey()}.
+     *
+     * @param channel the configured channel.
+     * @param notifications the notifications, oldest first.
+     * @throws IOException if the notifications could not be delivered.
+     */
+    void send(ApplicationProperties.Notifications.Channel channel, List<NotificationDTO> notifications) throws IOException;
+}
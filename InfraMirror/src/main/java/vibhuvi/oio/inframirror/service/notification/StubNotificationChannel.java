@@ -0,0 +1,58 @@
+package vibhuvi.oio.inframirror.service.notification;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+
+/**
+ * {@link NotificationChannel} keeping the notifications in memory, for tests and local setups. It can be told to fail
+ * the next deliveries.
+ */
+@Component
+public class StubNotificationChannel implements NotificationChannel {
+
+    private final List<NotificationDTO> sent = new ArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    @Override
+    public ApplicationProperties.Notifications.ChannelType getType() {
+        return ApplicationProperties.Notifications.ChannelType.STUB;
+    }
+
+    @Override
+    public void send(ApplicationProperties.Notifications.Channel channel, List<NotificationDTO> notifications) throws IOException {
+        if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            throw new IOException("Stub channel " + channel.getName() + " told to fail");
+        }
+        synchronized (sent) {
+            sent.addAll(notifications);
+        }
+    }
+
+    /**
+     * @return the notifications delivered so far, oldest first.
+     */
+    public List<NotificationDTO> getSent() {
+        synchronized (sent) {
+            return List.copyOf(sent);
+        }
+    }
+
+    /**
+     * @param deliveries the number of next deliveries to fail.
+     */
+    public void failNext(int deliveries) {
+        failures.set(deliveries);
+    }
+
+    public void clear() {
+        synchronized (sent) {
+            sent.clear();
+        }
+        failures.set(0);
+    }
+}
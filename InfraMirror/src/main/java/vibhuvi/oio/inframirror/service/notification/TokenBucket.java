@@ -0,0 +1,52 @@
+package vibhuvi.oio.inframirror.service.notification;
+
+/**
+ * A token bucket: up to {@code capacity} tokens, refilled continuously at {@code capacity} per {@code periodMillis}, so
+ * bursts of {@code capacity} are allowed and the long-run rate is bounded. Thread-safe.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerMilli;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param capacity the size of a burst and the number of tokens per period, at least 1.
+     * @param periodMillis the period in milliseconds.
+     * @param nowMillis the current time in milliseconds; the bucket starts full.
+     */
+    public TokenBucket(int capacity, long periodMillis, long nowMillis) {
+        if (capacity < 1 || periodMillis <= 0) {
+            throw new IllegalArgumentException("capacity and periodMillis must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerMilli = (double) capacity / periodMillis;
+        this.tokens = capacity;
+        this.refilledAt = nowMillis;
+    }
+
+    /**
+     * @param nowMillis the current time in milliseconds.
+     * @return whether a token was available, and taken.
+     */
+    public synchronized boolean tryAcquire(long nowMillis) {
+        if (!available(nowMillis)) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * @param nowMillis the current time in milliseconds.
+     * @return whether a token is available, without taking it.
+     */
+    public synchronized boolean available(long nowMillis) {
+        if (nowMillis > refilledAt) {
+            tokens = Math.min(capacity, tokens + (nowMillis - refilledAt) * tokensPerMilli);
+            refilledAt = nowMillis;
+        }
+        return tokens >= 1;
+    }
+}
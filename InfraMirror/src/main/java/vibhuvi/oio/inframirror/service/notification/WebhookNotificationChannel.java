@@ -0,0 +1,59 @@
+package vibhuvi.oio.inframirror.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+
+/**
+ * {@link NotificationChannel} posting each batch as JSON, {@code {"channel": ..., "notifications": [...]}}, to the URL
+ * of the channel. Any status other than 2xx fails the delivery.
+ */
+@Component
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    private final ObjectMapper objectMapper;
+
+    private final Duration timeout;
+
+    private final HttpClient httpClient;
+
+    public WebhookNotificationChannel(ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofSeconds(applicationProperties.getNotifications().getWebhookTimeoutSeconds());
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).followRedirects(HttpClient.Redirect.NORMAL).build();
+    }
+
+    @Override
+    public ApplicationProperties.Notifications.ChannelType getType() {
+        return ApplicationProperties.Notifications.ChannelType.WEBHOOK;
+    }
+
+    @Override
+    public void send(ApplicationProperties.Notifications.Channel channel, List<NotificationDTO> notifications) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("channel", channel.getName(), "notifications", notifications));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(channel.getTarget()))
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package vibhuvi.oio.inframirror.service.scheduling;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Consistent hash ring mapping monitors to agents.
+ * <p>
+ * Every agent owns {@code virtualNodes} points on a 64-bit ring and a key belongs to the agent owning the first point
+ * at or after the key's hash. Adding or removing one agent of N therefore only moves about 1/N of the keys, and the
+ * virtual nodes keep the share of each agent close to even. The points are held in sorted primitive arrays and looked
+ * up by binary search. Immutable; build a new ring when the set of agents changes.
+ */
+public final class ConsistentHashRing {
+
+    private static final ConsistentHashRing EMPTY = new ConsistentHashRing(new long[0], new long[0]);
+
+    private final long[] points;
+    private final long[] owners;
+
+    private ConsistentHashRing(long[] points, long[] owners) {
+        this.points = points;
+        this.owners = owners;
+    }
+
+    /**
+     * Build a ring.
+     *
+     * @param agentIds the ids of the agents sharing the work.
+     * @param virtualNodes the number of points per agent.
+     * @return the ring.
+     */
+    public static ConsistentHashRing of(Collection<Long> agentIds, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        if (agentIds.isEmpty()) {
+            return EMPTY;
+        }
+        long[] ids = agentIds.stream().mapToLong(Long::longValue).distinct().sorted().toArray();
+        // Pack (point, owner index) pairs so a single sort orders both arrays
+        int size = ids.length * virtualNodes;
+        long[][] entries = new long[size][];
+        int n = 0;
+        for (int a = 0; a < ids.length; a++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                entries[n++] = new long[] { mix(ids[a] * 0x9E3779B97F4A7C15L + v), ids[a] };
+            }
+        }
+        // Ties between agents are broken by id so the ring does not depend on the order of agentIds
+        Arrays.sort(entries, (x, y) -> x[0] != y[0] ? Long.compare(x[0], y[0]) : Long.compare(x[1], y[1]));
+        long[] points = new long[size];
+        long[] owners = new long[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = entries[i][1];
+        }
+        return new ConsistentHashRing(points, owners);
+    }
+
+    /**
+     * @return whether the ring has no agents.
+     */
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    /**
+     * @param key the hash of a monitor, see {@link #key(String, long)}.
+     * @return the id of the agent owning the key.
+     * @throws IllegalStateException if the ring is empty.
+     */
+    public long ownerOf(long key) {
+        if (isEmpty()) {
+            throw new IllegalStateException("No agent on the ring");
+        }
+        int index = Arrays.binarySearch(points, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * @param monitorType the type of the monitor.
+     * @param monitorId the id of the monitor.
+     * @return the position of the monitor on the ring.
+     */
+    public static long key(String monitorType, long monitorId) {
+        return mix(monitorId ^ ((long) monitorType.hashCode() << 32));
+    }
+
+    /**
+     * The finalizer of MurmurHash3, spreading close inputs over the whole 64-bit range.
+     *
+     * @param value the value to hash.
+     * @return the hash.
+     */
+    public static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,101 @@
+package vibhuvi.oio.inframirror.service.scheduling;
+
+import com.carrotsearch.hppc.LongArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * Hashed timing wheel of ids, each due at a deadline.
+ * <p>
+ * Time is cut into ticks and an id is kept in the slot of its deadline tick, so scheduling costs O(1) and advancing
+ * the wheel only visits the slots of the ticks that passed, not every scheduled id. Deadlines further away than one
+ * revolution stay in their slot until the wheel comes round to their tick. An id may be scheduled more than once; it
+ * is then reported once per deadline. Not thread-safe.
+ */
+public final class TimingWheel {
+
+    private final long tickMillis;
+    private final LongArrayList[] ids;
+    private final LongArrayList[] ticks;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param slots the number of slots of the wheel.
+     * @param tickMillis the length of a tick in milliseconds.
+     * @param nowMillis the current time in epoch milliseconds.
+     */
+    public TimingWheel(int slots, long tickMillis, long nowMillis) {
+        if (slots <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("slots and tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.ids = new LongArrayList[slots];
+        this.ticks = new LongArrayList[slots];
+        for (int i = 0; i < slots; i++) {
+            ids[i] = new LongArrayList();
+            ticks[i] = new LongArrayList();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedule an id. A deadline in the past is reported on the next tick.
+     *
+     * @param id the id.
+     * @param deadlineMillis when the id is due, in epoch milliseconds.
+     */
+    public void schedule(long id, long deadlineMillis) {
+        long tick = Math.max(ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        int slot = (int) Math.floorMod(tick, (long) ids.length);
+        ids[slot].add(id);
+        ticks[slot].add(tick);
+        size++;
+    }
+
+    /**
+     * Advance the wheel to the current time, reporting the ids that became due, in deadline order across ticks.
+     * Ids may be scheduled again from the callback.
+     *
+     * @param nowMillis the current time in epoch milliseconds.
+     * @param due called for each id that became due.
+     */
+    public void advance(long nowMillis, LongConsumer due) {
+        long target = nowMillis / tickMillis;
+        LongArrayList expired = new LongArrayList();
+        while (currentTick < target) {
+            currentTick++;
+            int slot = (int) Math.floorMod(currentTick, (long) ids.length);
+            LongArrayList slotIds = ids[slot];
+            LongArrayList slotTicks = ticks[slot];
+            int kept = 0;
+            for (int i = 0; i < slotIds.size(); i++) {
+                if (slotTicks.get(i) <= currentTick) {
+                    expired.add(slotIds.get(i));
+                } else {
+                    slotIds.set(kept, slotIds.get(i));
+                    slotTicks.set(kept, slotTicks.get(i));
+                    kept++;
+                }
+            }
+            size -= slotIds.size() - kept;
+            slotIds.removeRange(kept, slotIds.size());
+            slotTicks.removeRange(kept, slotTicks.size());
+            // Report after the slot is compacted, so callbacks can schedule into it
+            for (int i = 0; i < expired.size(); i++) {
+                due.accept(expired.get(i));
+            }
+            expired.clear();
+        }
+    }
+
+    /**
+     * @return the number of scheduled ids.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+}
@@ -1,30 +1,42 @@
 package vibhuvi.oio.inframirror.web.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 import vibhuvi.oio.inframirror.web.rest.errors.BadRequestAlertException;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.AgentAssignmentService;
+import vibhuvi.oio.inframirror.service.AgentLeaseService;
+import vibhuvi.oio.inframirror.service.AgentMonitorSyncService;
 import vibhuvi.oio.inframirror.service.AgentService;
 import vibhuvi.oio.inframirror.service.DatacenterService;
 import vibhuvi.oio.inframirror.service.RegionService;
 import vibhuvi.oio.inframirror.service.InstanceService;
 import vibhuvi.oio.inframirror.service.HttpMonitorService;
-import vibhuvi.oio.inframirror.service.HttpHeartbeatService;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatIngestService;
 import vibhuvi.oio.inframirror.service.MonitoredServiceService;
 import vibhuvi.oio.inframirror.service.ServiceInstanceService;
 import vibhuvi.oio.inframirror.service.InstanceHeartbeatService;
 import vibhuvi.oio.inframirror.service.ServiceHeartbeatService;
 import vibhuvi.oio.inframirror.service.dto.*;
-import java.time.Instant;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -37,6 +49,8 @@ public class AgentApiResource {
 
     private static final Logger LOG = LoggerFactory.getLogger(AgentApiResource.class);
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -48,8 +62,15 @@ public class AgentApiResource {
     private final MonitoredServiceService monitoredServiceService;
     private final ServiceInstanceService serviceInstanceService;
     private final InstanceHeartbeatService instanceHeartbeatService;
-    private final HttpHeartbeatService httpHeartbeatService;
     private final ServiceHeartbeatService serviceHeartbeatService;
+    private final HttpHeartbeatIngestService httpHeartbeatIngestService;
+    private final AgentAssignmentService agentAssignmentService;
+    private final AgentLeaseService agentLeaseService;
+    private final AgentMonitorSyncService agentMonitorSyncService;
+    private final ObjectMapper objectMapper;
+    private final int maxBatchItems;
+    private final ApplicationProperties.Lease leaseProperties;
+    private final int maxSyncedMonitors;
 
     public AgentApiResource(
         AgentService agentService,
@@ -60,8 +81,13 @@ public class AgentApiResource {
         MonitoredServiceService monitoredServiceService,
         ServiceInstanceService serviceInstanceService,
         InstanceHeartbeatService instanceHeartbeatService,
-        HttpHeartbeatService httpHeartbeatService,
-        ServiceHeartbeatService serviceHeartbeatService
+        ServiceHeartbeatService serviceHeartbeatService,
+        HttpHeartbeatIngestService httpHeartbeatIngestService,
+        AgentAssignmentService agentAssignmentService,
+        AgentLeaseService agentLeaseService,
+        AgentMonitorSyncService agentMonitorSyncService,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
     ) {
         this.agentService = agentService;
         this.regionService = regionService;
@@ -71,8 +97,15 @@ public class AgentApiResource {
         this.monitoredServiceService = monitoredServiceService;
         this.serviceInstanceService = serviceInstanceService;
         this.instanceHeartbeatService = instanceHeartbeatService;
-        this.httpHeartbeatService = httpHeartbeatService;
         this.serviceHeartbeatService = serviceHeartbeatService;
+        this.httpHeartbeatIngestService = httpHeartbeatIngestService;
+        this.agentAssignmentService = agentAssignmentService;
+        this.agentLeaseService = agentLeaseService;
+        this.agentMonitorSyncService = agentMonitorSyncService;
+        this.objectMapper = objectMapper;
+        this.maxBatchItems = applicationProperties.getIngest().getMaxItemsPerRequest();
+        this.leaseProperties = applicationProperties.getLease();
+        this.maxSyncedMonitors = applicationProperties.getMonitorSync().getMaxMonitors();
     }
 
     /**
@@ -156,6 +189,102 @@ public class AgentApiResource {
         return ResponseUtil.wrapOrNotFound(httpMonitorService.findOne(id));
     }
 
+    /**
+     * Get the monitors assigned to an agent, changed since the version returned by its previous poll.
+     * Polling counts as a sign of life for the agent.
+     */
+    @GetMapping("/assignments")
+    public ResponseEntity<AgentAssignmentsDTO> getAssignments(
+        @RequestParam("agentId") Long agentId,
+        @RequestParam(value = "since", defaultValue = "0") long since
+    ) {
+        LOG.debug("REST request to get assignments of Agent {} since {}", agentId, since);
+        if (agentService.findOne(agentId).isEmpty()) {
+            throw new BadRequestAlertException("Unknown agent", "agent", "idnotfound");
+        }
+        agentService.updateLastSeen(agentId);
+        return ResponseEntity.ok(agentAssignmentService.getAssignments(agentId, since));
+    }
+
+    /**
+     * Replace the monitors of an agent with the full set it declares, creating, updating and deactivating monitors
+     * in bulk. Syncing the same set again writes nothing. Syncing counts as a sign of life for the agent.
+     */
+    @PutMapping("/monitors:sync")
+    public ResponseEntity<AgentMonitorSyncResultDTO> syncMonitors(
+        @RequestParam("agentId") Long agentId,
+        @Valid @RequestBody AgentMonitorSyncDTO desired
+    ) {
+        LOG.debug("REST request to sync the monitors of Agent {}", agentId);
+        if (desired.getHttpMonitors() == null) {
+            desired.setHttpMonitors(new ArrayList<>());
+        }
+        if (desired.getMonitoredServices() == null) {
+            desired.setMonitoredServices(new ArrayList<>());
+        }
+        if (desired.getHttpMonitors().size() + desired.getMonitoredServices().size() > maxSyncedMonitors) {
+            throw new BadRequestAlertException("Too many monitors to sync (max " + maxSyncedMonitors + ")", "agentMonitor", "synctoolarge");
+        }
+        if (
+            desired.getHttpMonitors().stream().map(HttpMonitorDTO::getName).distinct().count() != desired.getHttpMonitors().size() ||
+            desired.getMonitoredServices().stream().map(MonitoredServiceDTO::getName).distinct().count() !=
+            desired.getMonitoredServices().size()
+        ) {
+            throw new BadRequestAlertException("Monitor names must be unique", "agentMonitor", "duplicatename");
+        }
+        if (agentService.findOne(agentId).isEmpty()) {
+            throw new BadRequestAlertException("Unknown agent", "agent", "idnotfound");
+        }
+        agentService.updateLastSeen(agentId);
+        return ResponseEntity.ok(agentMonitorSyncService.sync(agentId, desired));
+    }
+
+    /**
+     * Acquire a named lease, or extend it if the agent already holds it.
+     * Responds 409 Conflict while another holder has the lease.
+     */
+    @PostMapping("/leases/{name}")
+    public ResponseEntity<AgentLeaseDTO> acquireLease(
+        @PathVariable("name") String name,
+        @RequestParam("agentId") Long agentId,
+        @RequestParam(value = "ttlSeconds", required = false) Integer ttlSeconds
+    ) {
+        LOG.debug("REST request to acquire lease {} for Agent {}", name, agentId);
+        return leaseResponse(agentLeaseService.acquire(checkLeaseName(name), agentId, leaseTtl(ttlSeconds)));
+    }
+
+    /**
+     * Renew a lease held by the agent.
+     * Responds 409 Conflict if the lease expired or was taken over since.
+     */
+    @PutMapping("/leases/{name}")
+    public ResponseEntity<AgentLeaseDTO> renewLease(
+        @PathVariable("name") String name,
+        @RequestParam("agentId") Long agentId,
+        @RequestParam("fencingToken") long fencingToken,
+        @RequestParam(value = "ttlSeconds", required = false) Integer ttlSeconds
+    ) {
+        LOG.debug("REST request to renew lease {} for Agent {}", name, agentId);
+        return leaseResponse(agentLeaseService.renew(checkLeaseName(name), agentId, fencingToken, leaseTtl(ttlSeconds)));
+    }
+
+    /**
+     * Release a lease held by the agent.
+     * Responds 409 Conflict if the lease was no longer held.
+     */
+    @DeleteMapping("/leases/{name}")
+    public ResponseEntity<Void> releaseLease(
+        @PathVariable("name") String name,
+        @RequestParam("agentId") Long agentId,
+        @RequestParam("fencingToken") long fencingToken
+    ) {
+        LOG.debug("REST request to release lease {} for Agent {}", name, agentId);
+        if (!agentLeaseService.release(checkLeaseName(name), agentId, fencingToken)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Create monitored service (find-or-create by name)
      */
@@ -192,61 +321,13 @@ public class AgentApiResource {
      * Submit service heartbeat
      */
     @PostMapping("/service-heartbeats")
-    public ResponseEntity<ServiceHeartbeatDTO> submitServiceHeartbeat(@RequestBody Map<String, Object> heartbeatData) {
+    public ResponseEntity<ServiceHeartbeatDTO> submitServiceHeartbeat(@RequestBody ServiceHeartbeatIngestRecord heartbeat) {
         LOG.debug("Service heartbeat received");
-        
+
         try {
-            ServiceHeartbeatDTO heartbeat = new ServiceHeartbeatDTO();
-            
-            // Set executedAt
-            if (heartbeatData.containsKey("executedAt")) {
-                heartbeat.setExecutedAt(Instant.parse((String) heartbeatData.get("executedAt")));
-            } else {
-                heartbeat.setExecutedAt(Instant.now());
-            }
-            
-            // Set required fields
-            heartbeat.setSuccess((Boolean) heartbeatData.get("success"));
-            heartbeat.setStatus((String) heartbeatData.get("status"));
-            
-            // Set monitored service reference
-            MonitoredServiceDTO service = new MonitoredServiceDTO();
-            Object serviceIdObj = heartbeatData.get("monitoredServiceId");
-            if (serviceIdObj instanceof Number) {
-                service.setId(((Number) serviceIdObj).longValue());
-            }
-            heartbeat.setMonitoredService(service);
-            
-            // Set service instance reference (nullable)
-            if (heartbeatData.containsKey("serviceInstanceId") && heartbeatData.get("serviceInstanceId") != null) {
-                ServiceInstanceDTO serviceInstance = new ServiceInstanceDTO();
-                Object instanceIdObj = heartbeatData.get("serviceInstanceId");
-                if (instanceIdObj instanceof Number) {
-                    serviceInstance.setId(((Number) instanceIdObj).longValue());
-                }
-                heartbeat.setServiceInstance(serviceInstance);
-            }
-            
-            // Set optional fields
-            if (heartbeatData.containsKey("responseTimeMs")) {
-                Object responseTime = heartbeatData.get("responseTimeMs");
-                if (responseTime instanceof Number) {
-                    heartbeat.setResponseTimeMs(((Number) responseTime).intValue());
-                }
-            }
-            if (heartbeatData.containsKey("errorMessage")) {
-                heartbeat.setErrorMessage((String) heartbeatData.get("errorMessage"));
-            }
-            if (heartbeatData.containsKey("metadata")) {
-                heartbeat.setMetadata((String) heartbeatData.get("metadata"));
-            }
-            
-            // Save the heartbeat
-            ServiceHeartbeatDTO result = serviceHeartbeatService.save(heartbeat);
-            
+            ServiceHeartbeatDTO result = serviceHeartbeatService.ingest(heartbeat);
             LOG.debug("Service heartbeat saved successfully: {}", result.getId());
             return ResponseEntity.ok(result);
-            
         } catch (Exception e) {
             LOG.error("Failed to save service heartbeat", e);
             return ResponseEntity.badRequest().build();
@@ -257,8 +338,12 @@ public class AgentApiResource {
      * Agent heartbeat - updates lastSeenAt timestamp
      */
     @PostMapping("/heartbeat")
-    public ResponseEntity<Void> agentHeartbeat(HttpServletRequest request) {
+    public ResponseEntity<Void> agentHeartbeat(
+        @RequestParam(value = "agentId", required = false) Long agentId,
+        HttpServletRequest request
+    ) {
         LOG.debug("Agent heartbeat received");
+        agentService.updateLastSeen(agentId);
         return ResponseEntity.ok().build();
     }
 
@@ -266,111 +351,13 @@ public class AgentApiResource {
      * Submit instance heartbeat
      */
     @PostMapping("/instance-heartbeats")
-    public ResponseEntity<Void> submitInstanceHeartbeat(@RequestBody Map<String, Object> heartbeatData, HttpServletRequest request) {
+    public ResponseEntity<Void> submitInstanceHeartbeat(@RequestBody InstanceHeartbeatIngestRecord heartbeat, HttpServletRequest request) {
         LOG.debug("Instance heartbeat received");
-        
+
         try {
-            // Create InstanceHeartbeatDTO from the received data
-            InstanceHeartbeatDTO heartbeat = new InstanceHeartbeatDTO();
-            
-            // Set required fields
-            heartbeat.setExecutedAt(Instant.now());
-            heartbeat.setHeartbeatType((String) heartbeatData.get("heartbeatType"));
-            heartbeat.setSuccess((Boolean) heartbeatData.get("success"));
-            heartbeat.setStatus((String) heartbeatData.get("status"));
-            
-            // Set instance reference
-            InstanceDTO instance = new InstanceDTO();
-            Object instanceIdObj = heartbeatData.get("instanceId");
-            if (instanceIdObj instanceof Number) {
-                instance.setId(((Number) instanceIdObj).longValue());
-            }
-            heartbeat.setInstance(instance);
-            
-            // Set optional ping metrics
-            if (heartbeatData.containsKey("responseTimeMs")) {
-                Object responseTime = heartbeatData.get("responseTimeMs");
-                if (responseTime instanceof Number) {
-                    heartbeat.setResponseTimeMs(((Number) responseTime).intValue());
-                }
-            }
-            if (heartbeatData.containsKey("packetLoss")) {
-                Object packetLoss = heartbeatData.get("packetLoss");
-                if (packetLoss instanceof Number) {
-                    heartbeat.setPacketLoss(((Number) packetLoss).floatValue());
-                }
-            }
-            if (heartbeatData.containsKey("jitterMs")) {
-                Object jitter = heartbeatData.get("jitterMs");
-                if (jitter instanceof Number) {
-                    heartbeat.setJitterMs(((Number) jitter).intValue());
-                }
-            }
-            
-            // Set optional hardware metrics
-            if (heartbeatData.containsKey("cpuUsage")) {
-                Object cpuUsage = heartbeatData.get("cpuUsage");
-                if (cpuUsage instanceof Number) {
-                    heartbeat.setCpuUsage(((Number) cpuUsage).floatValue());
-                }
-            }
-            if (heartbeatData.containsKey("memoryUsage")) {
-                Object memoryUsage = heartbeatData.get("memoryUsage");
-                if (memoryUsage instanceof Number) {
-                    heartbeat.setMemoryUsage(((Number) memoryUsage).floatValue());
-                }
-            }
-            if (heartbeatData.containsKey("diskUsage")) {
-                Object diskUsage = heartbeatData.get("diskUsage");
-                if (diskUsage instanceof Number) {
-                    heartbeat.setDiskUsage(((Number) diskUsage).floatValue());
-                }
-            }
-            if (heartbeatData.containsKey("loadAverage")) {
-                Object loadAverage = heartbeatData.get("loadAverage");
-                if (loadAverage instanceof Number) {
-                    heartbeat.setLoadAverage(((Number) loadAverage).floatValue());
-                }
-            }
-            if (heartbeatData.containsKey("processCount")) {
-                Object processCount = heartbeatData.get("processCount");
-                if (processCount instanceof Number) {
-                    heartbeat.setProcessCount(((Number) processCount).intValue());
-                }
-            }
-            if (heartbeatData.containsKey("networkRxBytes")) {
-                Object networkRx = heartbeatData.get("networkRxBytes");
-                if (networkRx instanceof Number) {
-                    heartbeat.setNetworkRxBytes(((Number) networkRx).longValue());
-                }
-            }
-            if (heartbeatData.containsKey("networkTxBytes")) {
-                Object networkTx = heartbeatData.get("networkTxBytes");
-                if (networkTx instanceof Number) {
-                    heartbeat.setNetworkTxBytes(((Number) networkTx).longValue());
-                }
-            }
-            if (heartbeatData.containsKey("uptimeSeconds")) {
-                Object uptime = heartbeatData.get("uptimeSeconds");
-                if (uptime instanceof Number) {
-                    heartbeat.setUptimeSeconds(((Number) uptime).longValue());
-                }
-            }
-            
-            // Set error information if present
-            if (heartbeatData.containsKey("errorMessage")) {
-                heartbeat.setErrorMessage((String) heartbeatData.get("errorMessage"));
-            }
-            if (heartbeatData.containsKey("errorType")) {
-                heartbeat.setErrorType((String) heartbeatData.get("errorType"));
-            }
-            
-            // Save the heartbeat
-            instanceHeartbeatService.save(heartbeat);
-            
+            instanceHeartbeatService.ingest(heartbeat);
             LOG.debug("Instance heartbeat saved successfully");
             return ResponseEntity.ok().build();
-            
         } catch (Exception e) {
             LOG.error("Failed to save instance heartbeat: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
@@ -378,12 +365,99 @@ public class AgentApiResource {
     }
 
     /**
-     * Submit HTTP heartbeat
+     * Submit HTTP heartbeat.
+     * The heartbeat is written by the ingest writer along with the batched ones; the response waits for its commit.
      */
     @PostMapping("/http-heartbeats")
     public ResponseEntity<HttpHeartbeatDTO> submitHttpHeartbeat(@RequestBody HttpHeartbeatDTO heartbeat) {
         LOG.debug("HTTP heartbeat received");
-        HttpHeartbeatDTO result = httpHeartbeatService.save(heartbeat);
-        return ResponseEntity.ok(result);
+        if (heartbeat.getMonitor() == null || heartbeat.getMonitor().getId() == null) {
+            throw new BadRequestAlertException("monitor.id is required", "httpHeartbeat", "monitorrequired");
+        }
+        return httpHeartbeatIngestService
+            .ingest(heartbeat)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build());
+    }
+
+    /**
+     * Submit a batch of HTTP heartbeats as a JSON array.
+     * Heartbeats are buffered and persisted asynchronously.
+     */
+    @PostMapping(value = "/http-heartbeats/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<HttpHeartbeatBatchResultDTO> submitHttpHeartbeatBatch(@RequestBody List<HttpHeartbeatDTO> heartbeats) {
+        LOG.debug("HTTP heartbeat batch received: {} items", heartbeats.size());
+        if (heartbeats.size() > maxBatchItems) {
+            throw new BadRequestAlertException("Too many heartbeats in batch (max " + maxBatchItems + ")", "httpHeartbeat", "batchtoolarge");
+        }
+        for (int i = 0; i < heartbeats.size(); i++) {
+            checkBatchItem(i, heartbeats.get(i));
+        }
+        return toBatchResponse(httpHeartbeatIngestService.enqueue(heartbeats));
+    }
+
+    /**
+     * Submit a batch of HTTP heartbeats as newline-delimited JSON.
+     * Heartbeats are buffered and persisted asynchronously.
+     */
+    @PostMapping(value = "/http-heartbeats/batch", consumes = NDJSON_VALUE)
+    public ResponseEntity<HttpHeartbeatBatchResultDTO> submitHttpHeartbeatStream(HttpServletRequest request) throws IOException {
+        LOG.debug("HTTP heartbeat NDJSON stream received");
+        List<HttpHeartbeatDTO> heartbeats = new ArrayList<>();
+        try (MappingIterator<HttpHeartbeatDTO> it = objectMapper.readerFor(HttpHeartbeatDTO.class).readValues(request.getInputStream())) {
+            while (it.hasNextValue()) {
+                if (heartbeats.size() == maxBatchItems) {
+                    throw new BadRequestAlertException("Too many heartbeats in batch (max " + maxBatchItems + ")", "httpHeartbeat", "batchtoolarge");
+                }
+                heartbeats.add(checkBatchItem(heartbeats.size(), it.nextValue()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Malformed NDJSON at item " + heartbeats.size(), "httpHeartbeat", "malformed");
+        }
+        return toBatchResponse(httpHeartbeatIngestService.enqueue(heartbeats));
+    }
+
+    private ResponseEntity<HttpHeartbeatBatchResultDTO> toBatchResponse(HttpHeartbeatBatchResultDTO result) {
+        if (result.getAccepted() == 0 && result.isQueueFull()) {
+            // Nothing could be buffered: ask the agent to back off and retry the whole batch
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(result);
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+    }
+
+    private static HttpHeartbeatDTO checkBatchItem(int index, HttpHeartbeatDTO heartbeat) {
+        if (heartbeat == null || heartbeat.getMonitor() == null || heartbeat.getMonitor().getId() == null) {
+            throw new BadRequestAlertException("monitor.id is required at item " + index, "httpHeartbeat", "monitorrequired");
+        }
+        if (heartbeat.getExecutedAt() == null) {
+            throw new BadRequestAlertException("executedAt is required at item " + index, "httpHeartbeat", "executedatrequired");
+        }
+        if (heartbeat.getAgent() == null || heartbeat.getAgent().getId() == null) {
+            throw new BadRequestAlertException("agent.id is required at item " + index, "httpHeartbeat", "agentrequired");
+        }
+        return heartbeat;
+    }
+
+    private static String checkLeaseName(String name) {
+        if (name.isBlank() || name.length() > 200) {
+            throw new BadRequestAlertException("Lease name must have 1 to 200 characters", "agentLock", "leasename");
+        }
+        return name;
+    }
+
+    private Duration leaseTtl(Integer ttlSeconds) {
+        int seconds = ttlSeconds != null ? ttlSeconds : leaseProperties.getDefaultTtlSeconds();
+        if (seconds <= 0 || seconds > leaseProperties.getMaxTtlSeconds()) {
+            throw new BadRequestAlertException(
+                "ttlSeconds must be between 1 and " + leaseProperties.getMaxTtlSeconds(),
+                "agentLock",
+                "leasettl"
+            );
+        }
+        return Duration.ofSeconds(seconds);
+    }
+
+    private static ResponseEntity<AgentLeaseDTO> leaseResponse(Optional<AgentLeaseDTO> lease) {
+        return lease.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -20,8 +21,12 @@ import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 import vibhuvi.oio.inframirror.repository.HttpHeartbeatRepository;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatDetailService;
 import vibhuvi.oio.inframirror.service.HttpHeartbeatService;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
 import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDetailDTO;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 import vibhuvi.oio.inframirror.web.rest.errors.BadRequestAlertException;
 
 /**
@@ -42,9 +47,16 @@ public class HttpHeartbeatResource {
 
     private final HttpHeartbeatRepository httpHeartbeatRepository;
 
-    public HttpHeartbeatResource(HttpHeartbeatService httpHeartbeatService, HttpHeartbeatRepository httpHeartbeatRepository) {
+    private final HttpHeartbeatDetailService httpHeartbeatDetailService;
+
+    public HttpHeartbeatResource(
+        HttpHeartbeatService httpHeartbeatService,
+        HttpHeartbeatRepository httpHeartbeatRepository,
+        HttpHeartbeatDetailService httpHeartbeatDetailService
+    ) {
         this.httpHeartbeatService = httpHeartbeatService;
         this.httpHeartbeatRepository = httpHeartbeatRepository;
+        this.httpHeartbeatDetailService = httpHeartbeatDetailService;
     }
 
     /**
@@ -150,6 +162,34 @@ public class HttpHeartbeatResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /http-heartbeats?monitorId=} : get a page of the httpHeartbeats of a httpMonitor executed in a range, newest first.
+     * <p>
+     * Pages are read from the position of the previous one rather than from an offset, and are not counted. While
+     * there are more httpHeartbeats, the {@code Link} header holds the {@code next} page, with its {@code cursor}.
+     *
+     * @param monitorId the id of the httpMonitor.
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @param cursor the cursor of the page, from the {@code next} link of the previous one.
+     * @param size the size of the page, at most {@value KeysetPaginationUtil#MAX_PAGE_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of httpHeartbeats in body.
+     */
+    @GetMapping(value = "", params = "monitorId")
+    public ResponseEntity<List<HttpHeartbeatDTO>> getHttpHeartbeatsOfMonitor(
+        @RequestParam("monitorId") Long monitorId,
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a page of HttpHeartbeats of HttpMonitor : {}", monitorId);
+        HeartbeatCursor after = KeysetPaginationUtil.parse(from, to, cursor, size, ENTITY_NAME);
+        KeysetPage<HttpHeartbeatDTO> page = httpHeartbeatService.findPageByMonitor(monitorId, from, to, after, size);
+        HttpHeaders headers = KeysetPaginationUtil.generateHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.content());
+    }
+
     /**
      * {@code GET  /http-heartbeats/:id} : get the "id" httpHeartbeat.
      *
@@ -163,6 +203,19 @@ public class HttpHeartbeatResource {
         return ResponseUtil.wrapOrNotFound(httpHeartbeatDTO);
     }
 
+    /**
+     * {@code GET  /http-heartbeats/:id/details} : get the raw headers, body and diagnostic breakdowns of the "id"
+     * httpHeartbeat. Only failed checks and a sample of the successful ones keep them.
+     *
+     * @param id the id of the httpHeartbeat.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the httpHeartbeatDetailDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/details")
+    public ResponseEntity<HttpHeartbeatDetailDTO> getHttpHeartbeatDetails(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the details of HttpHeartbeat : {}", id);
+        return ResponseUtil.wrapOrNotFound(httpHeartbeatDetailService.findOne(id));
+    }
+
     /**
      * {@code DELETE  /http-heartbeats/:id} : delete the "id" httpHeartbeat.
      *
@@ -1,30 +1,66 @@
 package vibhuvi.oio.inframirror.web.rest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.domain.HttpMonitor;
 import vibhuvi.oio.inframirror.repository.HttpMonitorRepository;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatExportService;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatRollupService;
+import vibhuvi.oio.inframirror.service.HttpMonitorCertificateService;
+import vibhuvi.oio.inframirror.service.HttpMonitorIncidentService;
 import vibhuvi.oio.inframirror.service.HttpMonitorQueryService;
+import vibhuvi.oio.inframirror.service.HttpMonitorSeriesService;
 import vibhuvi.oio.inframirror.service.HttpMonitorService;
+import vibhuvi.oio.inframirror.service.LatestStateStore;
+import vibhuvi.oio.inframirror.service.SloService;
 import vibhuvi.oio.inframirror.service.criteria.HttpMonitorCriteria;
+import vibhuvi.oio.inframirror.service.dto.CertificateCursor;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatExportFormat;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatRollupDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorAgentStateDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorCertificateDTO;
 import vibhuvi.oio.inframirror.service.dto.HttpMonitorDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorIncidentDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorLatencyPercentilesDTO;
 import vibhuvi.oio.inframirror.service.dto.HttpMonitorSearchResultDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorSeriesDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorStatusDTO;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
+import vibhuvi.oio.inframirror.service.dto.LatencyGroupBy;
+import vibhuvi.oio.inframirror.service.dto.RollupResolution;
+import vibhuvi.oio.inframirror.service.dto.SloObjectiveDTO;
+import vibhuvi.oio.inframirror.service.metrics.HeartbeatRing;
 import vibhuvi.oio.inframirror.web.rest.errors.BadRequestAlertException;
 
 /**
@@ -38,6 +74,8 @@ public class HttpMonitorResource {
 
     private static final String ENTITY_NAME = "httpMonitor";
 
+    private static final int MAX_LATEST_LIMIT = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -47,14 +85,52 @@ public class HttpMonitorResource {
 
     private final HttpMonitorQueryService httpMonitorQueryService;
 
+    private final HttpHeartbeatRollupService httpHeartbeatRollupService;
+
+    private final LatestStateStore latestStateStore;
+
+    private final SloService sloService;
+
+    private final HttpHeartbeatExportService httpHeartbeatExportService;
+
+    private final HttpMonitorSeriesService httpMonitorSeriesService;
+
+    private final ApplicationProperties.MonitorSeries seriesProperties;
+
+    private final HttpMonitorIncidentService httpMonitorIncidentService;
+
+    private final ApplicationProperties.Incidents incidentProperties;
+
+    private final HttpMonitorCertificateService httpMonitorCertificateService;
+
+    private final ApplicationProperties.HeartbeatExport exportProperties;
+
     public HttpMonitorResource(
         HttpMonitorService httpMonitorService,
         HttpMonitorRepository httpMonitorRepository,
-        HttpMonitorQueryService httpMonitorQueryService
+        HttpMonitorQueryService httpMonitorQueryService,
+        HttpHeartbeatRollupService httpHeartbeatRollupService,
+        LatestStateStore latestStateStore,
+        SloService sloService,
+        HttpHeartbeatExportService httpHeartbeatExportService,
+        HttpMonitorSeriesService httpMonitorSeriesService,
+        HttpMonitorIncidentService httpMonitorIncidentService,
+        HttpMonitorCertificateService httpMonitorCertificateService,
+        ApplicationProperties applicationProperties
     ) {
         this.httpMonitorService = httpMonitorService;
         this.httpMonitorRepository = httpMonitorRepository;
         this.httpMonitorQueryService = httpMonitorQueryService;
+        this.httpHeartbeatRollupService = httpHeartbeatRollupService;
+        this.latestStateStore = latestStateStore;
+        this.sloService = sloService;
+        this.httpHeartbeatExportService = httpHeartbeatExportService;
+        this.httpMonitorSeriesService = httpMonitorSeriesService;
+        this.seriesProperties = applicationProperties.getMonitorSeries();
+        this.httpMonitorIncidentService = httpMonitorIncidentService;
+        this.incidentProperties = applicationProperties.getIncidents();
+        this.httpMonitorCertificateService = httpMonitorCertificateService;
+        this.exportProperties = applicationProperties.getHeartbeatExport();
     }
 
     /**
@@ -176,6 +252,42 @@ public class HttpMonitorResource {
         return ResponseEntity.ok().body(httpMonitorQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /http-monitors/certificates} : get a page of the certificates of the httpMonitors expiring in a range,
+     * soonest first.
+     * <p>
+     * Pages are read from the position of the previous one rather than from an offset, and are not counted. While
+     * there are more certificates, the {@code Link} header holds the {@code next} page, with its {@code cursor}.
+     *
+     * @param from the start of the range, inclusive; by default expired certificates are included.
+     * @param to the end of the range, exclusive, defaults to 30 days from now.
+     * @param cursor the cursor of the page, from the {@code next} link of the previous one.
+     * @param size the size of the page, at most {@value KeysetPaginationUtil#MAX_PAGE_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of certificates in body.
+     */
+    @GetMapping("/certificates")
+    public ResponseEntity<List<HttpMonitorCertificateDTO>> getExpiringCertificates(
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a page of expiring HttpMonitor certificates");
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now().plus(Duration.ofDays(30));
+        CertificateCursor after = KeysetPaginationUtil.parse(
+            start,
+            end,
+            cursor,
+            size,
+            ENTITY_NAME,
+            CertificateCursor::decode
+        );
+        KeysetPage<HttpMonitorCertificateDTO> page = httpMonitorCertificateService.findExpiring(start, end, after, size);
+        HttpHeaders headers = KeysetPaginationUtil.generateHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.content());
+    }
+
     /**
      * {@code GET  /http-monitors/:id} : get the "id" httpMonitor.
      *
@@ -189,6 +301,305 @@ public class HttpMonitorResource {
         return ResponseUtil.wrapOrNotFound(httpMonitorDTO);
     }
 
+    /**
+     * {@code GET  /http-monitors/:id/rollups} : get the pre-aggregated heartbeat buckets of the "id" httpMonitor.
+     *
+     * @param id the id of the httpMonitor.
+     * @param from the start of the range, defaults to 24 hours before {@code to}.
+     * @param to the end of the range, defaults to now.
+     * @param agentId restrict to one agent; by default the buckets of all agents are merged.
+     * @param resolution force the bucket width; by default the finest resolution fitting the range is used.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of buckets in body,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/rollups")
+    public ResponseEntity<List<HttpHeartbeatRollupDTO>> getHttpMonitorRollups(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "agentId", required = false) Long agentId,
+        @RequestParam(value = "resolution", required = false) RollupResolution resolution
+    ) {
+        LOG.debug("REST request to get rollups of HttpMonitor : {}", id);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (!start.isBefore(end)) {
+            throw new BadRequestAlertException("from must be before to", ENTITY_NAME, "invalidrange");
+        }
+        if (!httpMonitorRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(httpHeartbeatRollupService.findRollups(id, agentId, start, end, resolution));
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/latency-percentiles} : get the latency percentiles of the "id" httpMonitor over a window.
+     *
+     * @param id the id of the httpMonitor.
+     * @param from the start of the range, defaults to 24 hours before {@code to}.
+     * @param to the end of the range, defaults to now.
+     * @param groupBy group the percentiles per agent or per region; by default all agents are merged.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of percentiles per group in body,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/latency-percentiles")
+    public ResponseEntity<List<HttpMonitorLatencyPercentilesDTO>> getHttpMonitorLatencyPercentiles(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "groupBy", defaultValue = "MONITOR") LatencyGroupBy groupBy
+    ) {
+        LOG.debug("REST request to get latency percentiles of HttpMonitor : {}", id);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (!start.isBefore(end)) {
+            throw new BadRequestAlertException("from must be before to", ENTITY_NAME, "invalidrange");
+        }
+        if (!httpMonitorRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(httpHeartbeatRollupService.findLatencyPercentiles(id, start, end, groupBy));
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/series} : get the response time series of the "id" httpMonitor over a window, downsampled for charts.
+     *
+     * @param id the id of the httpMonitor.
+     * @param from the start of the range, defaults to 24 hours before {@code to}.
+     * @param to the end of the range, defaults to now.
+     * @param points the maximum number of points per series.
+     * @param agentId restrict the series to the heartbeats of one agent.
+     * @param groupBy one series per agent by default, per region, or one over all agents.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of series in body,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/series")
+    public ResponseEntity<List<HttpMonitorSeriesDTO>> getHttpMonitorSeries(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "points", required = false) Integer points,
+        @RequestParam(value = "agent", required = false) Long agentId,
+        @RequestParam(value = "groupBy", defaultValue = "AGENT") LatencyGroupBy groupBy
+    ) {
+        LOG.debug("REST request to get the series of HttpMonitor : {}", id);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (!start.isBefore(end)) {
+            throw new BadRequestAlertException("from must be before to", ENTITY_NAME, "invalidrange");
+        }
+        int threshold = points != null ? points : seriesProperties.getDefaultPoints();
+        if (threshold < 3 || threshold > seriesProperties.getMaxPoints()) {
+            throw new BadRequestAlertException(
+                "points must be between 3 and " + seriesProperties.getMaxPoints(),
+                ENTITY_NAME,
+                "invalidpoints"
+            );
+        }
+        if (!httpMonitorRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(httpMonitorSeriesService.findSeries(id, start, end, threshold, agentId, groupBy));
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/status} : get the current status of the "id" httpMonitor and its open incidents.
+     *
+     * @param id the id of the httpMonitor.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the status in body,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<HttpMonitorStatusDTO> getHttpMonitorStatus(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the status of HttpMonitor : {}", id);
+        if (!httpMonitorRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(httpMonitorIncidentService.findStatus(id));
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/incidents} : get the incidents of the "id" httpMonitor overlapping a window, newest first.
+     *
+     * @param id the id of the httpMonitor.
+     * @param from the start of the range, defaults to 30 days before {@code to}.
+     * @param to the end of the range, defaults to now.
+     * @param limit the maximum number of incidents.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of incidents in body,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/incidents")
+    public ResponseEntity<List<HttpMonitorIncidentDTO>> getHttpMonitorIncidents(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        LOG.debug("REST request to get the incidents of HttpMonitor : {}", id);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(30));
+        if (!start.isBefore(end)) {
+            throw new BadRequestAlertException("from must be before to", ENTITY_NAME, "invalidrange");
+        }
+        int max = limit != null ? limit : incidentProperties.getMaxResults();
+        if (max < 1 || max > incidentProperties.getMaxResults()) {
+            throw new BadRequestAlertException(
+                "limit must be between 1 and " + incidentProperties.getMaxResults(),
+                ENTITY_NAME,
+                "invalidlimit"
+            );
+        }
+        if (!httpMonitorRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(httpMonitorIncidentService.findIncidents(id, start, end, max));
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/certificate} : get the certificate last seen by the "id" httpMonitor.
+     *
+     * @param id the id of the httpMonitor.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the certificate, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/certificate")
+    public ResponseEntity<HttpMonitorCertificateDTO> getHttpMonitorCertificate(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get the certificate of HttpMonitor : {}", id);
+        return ResponseUtil.wrapOrNotFound(httpMonitorCertificateService.findOne(id));
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/slo} : get the service level objectives of the "id" httpMonitor and their error budgets.
+     *
+     * @param id the id of the httpMonitor.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of objectives in body, empty for a disabled httpMonitor,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/slo")
+    public ResponseEntity<List<SloObjectiveDTO>> getHttpMonitorSlo(@PathVariable("id") Long id) {
+        LOG.debug("REST request to get service level objectives of HttpMonitor : {}", id);
+        if (!httpMonitorRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(sloService.findObjectives(id));
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/heartbeats/export} : stream the heartbeats of the "id" httpMonitor over a window, oldest first.
+     *
+     * @param id the id of the httpMonitor.
+     * @param from the start of the range, defaults to 24 hours before {@code to}.
+     * @param to the end of the range, defaults to now.
+     * @param agentId restrict the export to the heartbeats of one agent.
+     * @param format the format of the export.
+     * @param columns the columns to export; by default all but the raw request and response details.
+     * @param gzip compress the export with gzip.
+     * @param request the request, whose asynchronous processing gets {@code application.heartbeat-export.timeout-minutes}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the export as an attachment in body,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/heartbeats/export")
+    public ResponseEntity<StreamingResponseBody> exportHttpMonitorHeartbeats(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "agentId", required = false) Long agentId,
+        @RequestParam(value = "format", defaultValue = "CSV") HeartbeatExportFormat format,
+        @RequestParam(value = "columns", required = false) List<String> columns,
+        @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+        HttpServletRequest request
+    ) {
+        LOG.debug("REST request to export heartbeats of HttpMonitor : {}", id);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (!start.isBefore(end)) {
+            throw new BadRequestAlertException("from must be before to", ENTITY_NAME, "invalidrange");
+        }
+        List<String> selected = columns == null || columns.isEmpty() ? httpHeartbeatExportService.getDefaultColumns() : columns;
+        for (String column : selected) {
+            if (!httpHeartbeatExportService.getColumns().contains(column)) {
+                throw new BadRequestAlertException("Unknown column " + column, ENTITY_NAME, "invalidcolumn");
+            }
+        }
+        if (!httpMonitorRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        // Only exports may stream for this long: the timeout applies to the asynchronous processing of this request
+        WebAsyncUtils.getAsyncManager(request)
+            .getAsyncWebRequest()
+            .setTimeout(TimeUnit.MINUTES.toMillis(exportProperties.getTimeoutMinutes()));
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 1 << 16) : out;
+            httpHeartbeatExportService.export(id, agentId, start, end, selected, format, target);
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+        String filename = "http-monitor-" + id + "-heartbeats." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
+    /**
+     * {@code GET  /http-monitors/:id/latest} : get the latest check results of the "id" httpMonitor per agent.
+     *
+     * @param id the id of the httpMonitor.
+     * @param limit the number of most recent checks per agent to summarize.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of agent states in body,
+     * or with status {@code 404 (Not Found)} if the httpMonitor is not found.
+     */
+    @GetMapping("/{id}/latest")
+    public ResponseEntity<List<HttpMonitorAgentStateDTO>> getHttpMonitorLatestStates(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        LOG.debug("REST request to get latest states of HttpMonitor : {}", id);
+        if (limit < 1 || limit > MAX_LATEST_LIMIT) {
+            throw new BadRequestAlertException("limit must be between 1 and " + MAX_LATEST_LIMIT, ENTITY_NAME, "invalidlimit");
+        }
+        HttpMonitor monitor = httpMonitorRepository.findById(id).orElse(null);
+        if (monitor == null) {
+            return ResponseEntity.notFound().build();
+        }
+        int interval = monitor.getIntervalSeconds() != null ? monitor.getIntervalSeconds() : 60;
+        Instant since = Instant.now().minusSeconds(Math.max(3600L, 2L * limit * interval));
+
+        List<HttpMonitorAgentStateDTO> states = new ArrayList<>();
+        latestStateStore
+            .findRecent(List.of(id), limit, since)
+            .getOrDefault(id, Map.of())
+            .forEach((agentId, ring) -> states.add(toAgentState(id, agentId, ring)));
+        states.sort(Comparator.comparing(HttpMonitorAgentStateDTO::getAgentId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return ResponseEntity.ok(states);
+    }
+
+    private static HttpMonitorAgentStateDTO toAgentState(Long monitorId, Long agentId, HeartbeatRing ring) {
+        HttpMonitorAgentStateDTO state = new HttpMonitorAgentStateDTO();
+        state.setMonitorId(monitorId);
+        state.setAgentId(agentId != 0L ? agentId : null);
+        state.setLastCheckedAt(Instant.ofEpochMilli(ring.executedAt(0)));
+        state.setLastSuccess(ring.isSuccess(0));
+        state.setLastResponseTimeMs(ring.latencyMs(0) != HeartbeatRing.NO_VALUE ? ring.latencyMs(0) : null);
+        state.setLastErrorMessage(ring.getLatestErrorMessage());
+        int successCount = 0;
+        long latencySum = 0;
+        int latencyCount = 0;
+        for (int i = 0; i < ring.size(); i++) {
+            if (ring.isSuccess(i)) {
+                successCount++;
+            }
+            if (ring.latencyMs(i) != HeartbeatRing.NO_VALUE) {
+                latencySum += ring.latencyMs(i);
+                latencyCount++;
+            }
+        }
+        state.setSampleCount(ring.size());
+        state.setSuccessCount(successCount);
+        state.setAvgResponseTimeMs(latencyCount > 0 ? (double) latencySum / latencyCount : null);
+        return state;
+    }
+
     /**
      * {@code DELETE  /http-monitors/:id} : delete the "id" httpMonitor.
      *
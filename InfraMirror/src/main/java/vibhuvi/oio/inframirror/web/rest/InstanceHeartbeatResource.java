@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -21,7 +22,9 @@ import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 import vibhuvi.oio.inframirror.repository.InstanceHeartbeatRepository;
 import vibhuvi.oio.inframirror.service.InstanceHeartbeatService;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
 import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
 import vibhuvi.oio.inframirror.web.rest.errors.BadRequestAlertException;
 
 /**
@@ -155,6 +158,34 @@ public class InstanceHeartbeatResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /instance-heartbeats?instanceId=} : get a page of the instanceHeartbeats of an instance executed in a range, newest first.
+     * <p>
+     * Pages are read from the position of the previous one rather than from an offset, and are not counted. While
+     * there are more instanceHeartbeats, the {@code Link} header holds the {@code next} page, with its {@code cursor}.
+     *
+     * @param instanceId the id of the instance.
+     * @param from the start of the range, inclusive.
+     * @param to the end of the range, exclusive.
+     * @param cursor the cursor of the page, from the {@code next} link of the previous one.
+     * @param size the size of the page, at most {@value KeysetPaginationUtil#MAX_PAGE_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of instanceHeartbeats in body.
+     */
+    @GetMapping(value = "", params = "instanceId")
+    public ResponseEntity<List<InstanceHeartbeatDTO>> getInstanceHeartbeatsOfInstance(
+        @RequestParam("instanceId") Long instanceId,
+        @RequestParam("from") Instant from,
+        @RequestParam("to") Instant to,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to get a page of InstanceHeartbeats of Instance : {}", instanceId);
+        HeartbeatCursor after = KeysetPaginationUtil.parse(from, to, cursor, size, ENTITY_NAME);
+        KeysetPage<InstanceHeartbeatDTO> page = instanceHeartbeatService.findPageByInstance(instanceId, from, to, after, size);
+        HttpHeaders headers = KeysetPaginationUtil.generateHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.content());
+    }
+
     /**
      * {@code GET  /instance-heartbeats/:id} : get the "id" instanceHeartbeat.
      *
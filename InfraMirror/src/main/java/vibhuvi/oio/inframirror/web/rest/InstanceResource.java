@@ -4,12 +4,17 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
@@ -19,12 +24,16 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
 import vibhuvi.oio.inframirror.repository.InstanceRepository;
+import vibhuvi.oio.inframirror.service.InstanceMetricService;
 import vibhuvi.oio.inframirror.service.InstanceQueryService;
 import vibhuvi.oio.inframirror.service.InstanceSearchService;
 import vibhuvi.oio.inframirror.service.InstanceService;
 import vibhuvi.oio.inframirror.service.criteria.InstanceCriteria;
 import vibhuvi.oio.inframirror.service.dto.InstanceDTO;
+import vibhuvi.oio.inframirror.service.dto.InstanceMetric;
+import vibhuvi.oio.inframirror.service.dto.InstanceMetricSeriesDTO;
 import vibhuvi.oio.inframirror.service.dto.InstanceSearchResultDTO;
 import vibhuvi.oio.inframirror.web.rest.errors.BadRequestAlertException;
 
@@ -46,17 +55,23 @@ public class InstanceResource {
     private final InstanceSearchService instanceSearchService;
     private final InstanceRepository instanceRepository;
     private final InstanceQueryService instanceQueryService;
+    private final InstanceMetricService instanceMetricService;
+    private final int maxMetricPoints;
 
     public InstanceResource(
         InstanceService instanceService,
         InstanceSearchService instanceSearchService,
         InstanceRepository instanceRepository,
-        InstanceQueryService instanceQueryService
+        InstanceQueryService instanceQueryService,
+        InstanceMetricService instanceMetricService,
+        ApplicationProperties applicationProperties
     ) {
         this.instanceService = instanceService;
         this.instanceSearchService = instanceSearchService;
         this.instanceRepository = instanceRepository;
         this.instanceQueryService = instanceQueryService;
+        this.instanceMetricService = instanceMetricService;
+        this.maxMetricPoints = applicationProperties.getInstanceMetrics().getMaxPoints();
     }
 
     /**
@@ -194,6 +209,64 @@ public class InstanceResource {
         return ResponseUtil.wrapOrNotFound(instanceDTO);
     }
 
+    /**
+     * {@code GET  /instances/:id/metrics} : get hardware metrics of the "id" instance over a window.
+     *
+     * @param id the id of the instance.
+     * @param names the metrics to get among {@code cpu}, {@code mem}, {@code disk}, {@code load}, {@code rx} and {@code tx}; all by default.
+     * @param from the start of the range, defaults to 1 hour before {@code to}.
+     * @param to the end of the range, defaults to now.
+     * @param step average the points over buckets of this width, e.g. {@code 60}, {@code 5m} or {@code PT1H}; raw points by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of series in body, one per metric,
+     * or with status {@code 404 (Not Found)} if the instance is not found.
+     */
+    @GetMapping("/{id}/metrics")
+    public ResponseEntity<List<InstanceMetricSeriesDTO>> getInstanceMetrics(
+        @PathVariable("id") Long id,
+        @RequestParam(value = "names", required = false) List<String> names,
+        @RequestParam(value = "from", required = false) Instant from,
+        @RequestParam(value = "to", required = false) Instant to,
+        @RequestParam(value = "step", required = false) String step
+    ) {
+        LOG.debug("REST request to get metrics of Instance : {}", id);
+        List<InstanceMetric> metrics = new ArrayList<>();
+        if (names == null || names.isEmpty()) {
+            metrics.addAll(List.of(InstanceMetric.values()));
+        } else {
+            for (String name : names) {
+                InstanceMetric metric = InstanceMetric.fromLabel(name.trim()).orElseThrow(() ->
+                    new BadRequestAlertException("Unknown metric", ENTITY_NAME, "unknownmetric")
+                );
+                if (!metrics.contains(metric)) {
+                    metrics.add(metric);
+                }
+            }
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofHours(1));
+        if (!start.isBefore(end)) {
+            throw new BadRequestAlertException("from must be before to", ENTITY_NAME, "invalidrange");
+        }
+        Duration bucket = null;
+        if (step != null) {
+            try {
+                bucket = DurationStyle.detectAndParse(step, ChronoUnit.SECONDS);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Invalid step", ENTITY_NAME, "invalidstep");
+            }
+            if (bucket.toSeconds() < 1) {
+                throw new BadRequestAlertException("step must be at least one second", ENTITY_NAME, "invalidstep");
+            }
+            if (Duration.between(start, end).toSeconds() / bucket.toSeconds() > maxMetricPoints) {
+                throw new BadRequestAlertException("Too many points, use a larger step", ENTITY_NAME, "toomanypoints");
+            }
+        }
+        if (!instanceRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(instanceMetricService.findSeries(id, metrics, start, end, bucket));
+    }
+
     /**
      * {@code DELETE  /instances/:id} : delete the "id" instance.
      *
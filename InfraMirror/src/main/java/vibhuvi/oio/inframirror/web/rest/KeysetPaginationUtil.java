@@ -0,0 +1,69 @@
+package vibhuvi.oio.inframirror.web.rest;
+
+import java.time.Instant;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import vibhuvi.oio.inframirror.service.dto.HeartbeatCursor;
+import vibhuvi.oio.inframirror.service.dto.KeysetCursor;
+import vibhuvi.oio.inframirror.service.dto.KeysetPage;
+import vibhuvi.oio.inframirror.web.rest.errors.BadRequestAlertException;
+
+/**
+ * Request checks and {@code Link} header of listings read with keyset pagination, heartbeats by default.
+ * <p>
+ * Unlike {@link tech.jhipster.web.util.PaginationUtil}, no total count nor {@code last} link is given: the
+ * {@code next} link carries the opaque cursor of the following page and is left out on the last page.
+ */
+final class KeysetPaginationUtil {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * @return the position given by {@code cursor}, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the range, the size or the cursor is invalid.
+     */
+    static HeartbeatCursor parse(Instant from, Instant to, String cursor, int size, String entityName) {
+        return parse(from, to, cursor, size, entityName, HeartbeatCursor::decode);
+    }
+
+    /**
+     * @param decoder the {@code decode} of the cursor type of the listing.
+     * @return the position given by {@code cursor}, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the range, the size or the cursor is invalid.
+     */
+    static <C extends KeysetCursor> C parse(
+        Instant from,
+        Instant to,
+        String cursor,
+        int size,
+        String entityName,
+        Function<String, C> decoder
+    ) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestAlertException("from must be before to", entityName, "invalidrange");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestAlertException("size must be between 1 and " + MAX_PAGE_SIZE, entityName, "invalidsize");
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return decoder.apply(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "invalidcursor");
+        }
+    }
+
+    static HttpHeaders generateHeaders(UriComponentsBuilder uriBuilder, KeysetPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.next() != null) {
+            String next = uriBuilder.replaceQueryParam("cursor", page.next().encode()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
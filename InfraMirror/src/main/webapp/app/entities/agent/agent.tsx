@@ -231,6 +231,7 @@ export const Agent = () => {
                     <td>
                       {agent.status === 'ACTIVE' && <span className="badge bg-success">Active</span>}
                       {agent.status === 'INACTIVE' && <span className="badge bg-warning">Inactive</span>}
+                      {agent.status === 'STALE' && <span className="badge bg-info">Stale</span>}
                       {agent.status === 'OFFLINE' && <span className="badge bg-danger">Offline</span>}
                       {!agent.status && <span className="badge bg-secondary">Unknown</span>}
                     </td>
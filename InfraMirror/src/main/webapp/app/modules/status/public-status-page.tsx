@@ -20,6 +20,8 @@ interface MonitorStatus {
   monitorId: number;
   monitorName: string;
   url: string;
+  status?: 'UP' | 'DEGRADED' | 'DOWN';
+  statusSince?: string;
   regionHealth: { [region: string]: RegionHealth };
 }
 
@@ -38,11 +40,33 @@ interface PublicStatusPageData {
   monitors: MonitorStatus[];
 }
 
+interface PublicStatusPageDelta {
+  changes: { monitorId: number; region: string; health: RegionHealth }[];
+  statuses?: { monitorId: number; status: MonitorStatus['status']; statusSince?: string }[];
+}
+
+const applyDelta = (page: PublicStatusPageData, delta: PublicStatusPageDelta): PublicStatusPageData => ({
+  ...page,
+  monitors: page.monitors.map(monitor => {
+    const changes = delta.changes.filter(change => change.monitorId === monitor.monitorId);
+    const statusChange = delta.statuses?.find(change => change.monitorId === monitor.monitorId);
+    if (changes.length === 0 && !statusChange) {
+      return monitor;
+    }
+    const regionHealth = { ...monitor.regionHealth };
+    changes.forEach(change => (regionHealth[change.region] = change.health));
+    return statusChange
+      ? { ...monitor, regionHealth, status: statusChange.status, statusSince: statusChange.statusSince }
+      : { ...monitor, regionHealth };
+  }),
+});
+
 export const PublicStatusPage = () => {
   const { slug } = useParams<{ slug: string }>();
   const [data, setData] = useState<PublicStatusPageData | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
+  const [streaming, setStreaming] = useState(false);
 
   const fetchData = async () => {
     try {
@@ -62,14 +86,37 @@ export const PublicStatusPage = () => {
     fetchData();
   }, [slug]);
 
+  // Live updates are pushed when the browser supports Server-Sent Events; polling is the fallback
+  useEffect(() => {
+    if (typeof EventSource === 'undefined') {
+      return;
+    }
+    const source = new EventSource(`/public/status/${slug}/stream`);
+    source.onopen = () => setStreaming(true);
+    source.onerror = () => setStreaming(source.readyState !== EventSource.CLOSED);
+    source.addEventListener('snapshot', (event: MessageEvent) => {
+      setData(JSON.parse(event.data));
+      setError(null);
+      setLoading(false);
+    });
+    source.addEventListener('delta', (event: MessageEvent) => {
+      const delta: PublicStatusPageDelta = JSON.parse(event.data);
+      setData(current => (current ? applyDelta(current, delta) : current));
+    });
+    return () => {
+      source.close();
+      setStreaming(false);
+    };
+  }, [slug]);
+
   useEffect(() => {
-    if (data?.autoRefreshSeconds) {
+    if (data?.autoRefreshSeconds && !streaming) {
       const interval = setInterval(() => {
         fetchData();
       }, data.autoRefreshSeconds * 1000);
       return () => clearInterval(interval);
     }
-  }, [data?.autoRefreshSeconds]);
+  }, [data?.autoRefreshSeconds, streaming]);
 
   const getStatusSvg = (status: string, color: string) => {
     switch (status) {
@@ -199,11 +246,18 @@ export const PublicStatusPage = () => {
               <span>Service Disruption</span>
             </div>
           </div>
-          {data.autoRefreshSeconds && (
+          {streaming ? (
             <div className="last-update-text">
               <FontAwesomeIcon icon="sync" className="me-1" />
-              Refreshes every {data.autoRefreshSeconds}s
+              Live
             </div>
+          ) : (
+            data.autoRefreshSeconds && (
+              <div className="last-update-text">
+                <FontAwesomeIcon icon="sync" className="me-1" />
+                Refreshes every {data.autoRefreshSeconds}s
+              </div>
+            )
           )}
         </div>
 
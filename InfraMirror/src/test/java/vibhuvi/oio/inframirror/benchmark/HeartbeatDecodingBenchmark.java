@@ -0,0 +1,187 @@
+package vibhuvi.oio.inframirror.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import vibhuvi.oio.inframirror.service.dto.InstanceDTO;
+import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.InstanceHeartbeatIngestRecord;
+import vibhuvi.oio.inframirror.service.dto.MonitoredServiceDTO;
+import vibhuvi.oio.inframirror.service.dto.ServiceHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.ServiceHeartbeatIngestRecord;
+import vibhuvi.oio.inframirror.service.dto.ServiceInstanceDTO;
+import vibhuvi.oio.inframirror.web.rest.AgentApiResource;
+
+/**
+ * Compares the former {@code Map<String, Object>} decoding of agent heartbeats in {@link AgentApiResource}
+ * with the streaming ingest records, using payloads shaped like the ones the Go agent sends.
+ * <p>
+ * Not run by surefire. Run with {@code ./mvnw test-compile} then the {@link #main(String[])} method;
+ * the GC profiler reports {@code gc.alloc.rate.norm} (bytes allocated per operation) next to ns/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeartbeatDecodingBenchmark {
+
+    private static final String INSTANCE_PAYLOAD =
+        "{\"instanceId\":1204,\"heartbeatType\":\"HARDWARE\",\"success\":true,\"status\":\"UP\"," +
+        "\"responseTimeMs\":12,\"packetLoss\":0.0,\"jitterMs\":3,\"cpuUsage\":37.25,\"memoryUsage\":61.5," +
+        "\"diskUsage\":48.125,\"loadAverage\":1.42,\"processCount\":312,\"networkRxBytes\":918273645501," +
+        "\"networkTxBytes\":120398475611,\"uptimeSeconds\":8639112,\"errorMessage\":null,\"errorType\":null}";
+
+    private static final String SERVICE_PAYLOAD =
+        "{\"monitoredServiceId\":88,\"serviceInstanceId\":342,\"executedAt\":\"2025-06-01T12:34:56.789Z\"," +
+        "\"success\":false,\"status\":\"DOWN\",\"responseTimeMs\":5003," +
+        "\"errorMessage\":\"dial tcp 10.0.4.17:5432: i/o timeout\"}";
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private byte[] instancePayload;
+    private byte[] servicePayload;
+    private ObjectReader mapReader;
+    private ObjectReader instanceRecordReader;
+    private ObjectReader serviceRecordReader;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        instancePayload = INSTANCE_PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        servicePayload = SERVICE_PAYLOAD.getBytes(StandardCharsets.UTF_8);
+        mapReader = mapper.readerFor(MAP_TYPE);
+        instanceRecordReader = mapper.readerFor(InstanceHeartbeatIngestRecord.class);
+        serviceRecordReader = mapper.readerFor(ServiceHeartbeatIngestRecord.class);
+    }
+
+    @Benchmark
+    public InstanceHeartbeatDTO instanceHeartbeatMap() throws IOException {
+        return toInstanceHeartbeatDTO(mapReader.readValue(instancePayload));
+    }
+
+    @Benchmark
+    public InstanceHeartbeatIngestRecord instanceHeartbeatStreaming() throws IOException {
+        return instanceRecordReader.readValue(instancePayload);
+    }
+
+    @Benchmark
+    public ServiceHeartbeatDTO serviceHeartbeatMap() throws IOException {
+        return toServiceHeartbeatDTO(mapReader.readValue(servicePayload));
+    }
+
+    @Benchmark
+    public ServiceHeartbeatIngestRecord serviceHeartbeatStreaming() throws IOException {
+        return serviceRecordReader.readValue(servicePayload);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HeartbeatDecodingBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build())
+            .run();
+    }
+
+    private static InstanceHeartbeatDTO toInstanceHeartbeatDTO(Map<String, Object> data) {
+        InstanceHeartbeatDTO heartbeat = new InstanceHeartbeatDTO();
+        heartbeat.setExecutedAt(Instant.now());
+        heartbeat.setHeartbeatType((String) data.get("heartbeatType"));
+        heartbeat.setSuccess((Boolean) data.get("success"));
+        heartbeat.setStatus((String) data.get("status"));
+        InstanceDTO instance = new InstanceDTO();
+        if (data.get("instanceId") instanceof Number id) {
+            instance.setId(id.longValue());
+        }
+        heartbeat.setInstance(instance);
+        if (data.containsKey("responseTimeMs") && data.get("responseTimeMs") instanceof Number n) {
+            heartbeat.setResponseTimeMs(n.intValue());
+        }
+        if (data.containsKey("packetLoss") && data.get("packetLoss") instanceof Number n) {
+            heartbeat.setPacketLoss(n.floatValue());
+        }
+        if (data.containsKey("jitterMs") && data.get("jitterMs") instanceof Number n) {
+            heartbeat.setJitterMs(n.intValue());
+        }
+        if (data.containsKey("cpuUsage") && data.get("cpuUsage") instanceof Number n) {
+            heartbeat.setCpuUsage(n.floatValue());
+        }
+        if (data.containsKey("memoryUsage") && data.get("memoryUsage") instanceof Number n) {
+            heartbeat.setMemoryUsage(n.floatValue());
+        }
+        if (data.containsKey("diskUsage") && data.get("diskUsage") instanceof Number n) {
+            heartbeat.setDiskUsage(n.floatValue());
+        }
+        if (data.containsKey("loadAverage") && data.get("loadAverage") instanceof Number n) {
+            heartbeat.setLoadAverage(n.floatValue());
+        }
+        if (data.containsKey("processCount") && data.get("processCount") instanceof Number n) {
+            heartbeat.setProcessCount(n.intValue());
+        }
+        if (data.containsKey("networkRxBytes") && data.get("networkRxBytes") instanceof Number n) {
+            heartbeat.setNetworkRxBytes(n.longValue());
+        }
+        if (data.containsKey("networkTxBytes") && data.get("networkTxBytes") instanceof Number n) {
+            heartbeat.setNetworkTxBytes(n.longValue());
+        }
+        if (data.containsKey("uptimeSeconds") && data.get("uptimeSeconds") instanceof Number n) {
+            heartbeat.setUptimeSeconds(n.longValue());
+        }
+        if (data.containsKey("errorMessage")) {
+            heartbeat.setErrorMessage((String) data.get("errorMessage"));
+        }
+        if (data.containsKey("errorType")) {
+            heartbeat.setErrorType((String) data.get("errorType"));
+        }
+        return heartbeat;
+    }
+
+    private static ServiceHeartbeatDTO toServiceHeartbeatDTO(Map<String, Object> data) {
+        ServiceHeartbeatDTO heartbeat = new ServiceHeartbeatDTO();
+        if (data.containsKey("executedAt")) {
+            heartbeat.setExecutedAt(Instant.parse((String) data.get("executedAt")));
+        } else {
+            heartbeat.setExecutedAt(Instant.now());
+        }
+        heartbeat.setSuccess((Boolean) data.get("success"));
+        heartbeat.setStatus((String) data.get("status"));
+        MonitoredServiceDTO service = new MonitoredServiceDTO();
+        if (data.get("monitoredServiceId") instanceof Number id) {
+            service.setId(id.longValue());
+        }
+        heartbeat.setMonitoredService(service);
+        if (data.get("serviceInstanceId") instanceof Number id) {
+            ServiceInstanceDTO serviceInstance = new ServiceInstanceDTO();
+            serviceInstance.setId(id.longValue());
+            heartbeat.setServiceInstance(serviceInstance);
+        }
+        if (data.containsKey("responseTimeMs") && data.get("responseTimeMs") instanceof Number n) {
+            heartbeat.setResponseTimeMs(n.intValue());
+        }
+        if (data.containsKey("errorMessage")) {
+            heartbeat.setErrorMessage((String) data.get("errorMessage"));
+        }
+        if (data.containsKey("metadata")) {
+            heartbeat.setMetadata((String) data.get("metadata"));
+        }
+        return heartbeat;
+    }
+}
@@ -0,0 +1,52 @@
+package vibhuvi.oio.inframirror.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Test class for the {@link SequenceIdAllocator}.
+ */
+class SequenceIdAllocatorTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SequenceIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        allocator = new SequenceIdAllocator(jdbcTemplate);
+    }
+
+    @Test
+    void singleIdsShareOneBlock() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(50L), List.of(100L));
+
+        long[] ids = LongStream.range(0, 51).map(i -> allocator.nextId()).toArray();
+
+        assertThat(ids).containsExactly(LongStream.rangeClosed(1, 51).toArray());
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), eq(1));
+    }
+
+    @Test
+    void batchesStartWithTheRestOfTheCurrentBlock() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1))).thenReturn(List.of(50L));
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(2))).thenReturn(List.of(150L, 250L));
+
+        assertThat(allocator.allocateIds(10)).containsExactly(LongStream.rangeClosed(1, 10).toArray());
+        long[] batch = allocator.allocateIds(100);
+
+        assertThat(batch).startsWith(LongStream.rangeClosed(11, 50).toArray());
+        assertThat(batch).endsWith(LongStream.rangeClosed(201, 210).toArray());
+        assertThat(batch).contains(101L, 150L).doesNotHaveDuplicates().hasSize(100);
+        assertThat(allocator.nextId()).isEqualTo(211L);
+    }
+}
@@ -0,0 +1,121 @@
+package vibhuvi.oio.inframirror.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.domain.ApiKey;
+import vibhuvi.oio.inframirror.repository.ApiKeyRepository;
+
+/**
+ * Test class for the {@link ApiKeyAuthenticationCache}.
+ */
+class ApiKeyAuthenticationCacheTest {
+
+    private ApiKeyRepository apiKeyRepository;
+    private ApiKeyAuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyRepository = mock(ApiKeyRepository.class);
+        when(apiKeyRepository.findFirstByKeyHashAndActiveTrue(anyString())).thenReturn(Optional.empty());
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getApiKeyAuthentication().setMaxInvalidAttemptsPerMinute(3);
+        cache = new ApiKeyAuthenticationCache(apiKeyRepository, properties);
+    }
+
+    @Test
+    void resolvesValidKeysOnce() throws Exception {
+        givenKey(1L, "valid", null);
+
+        assertThat(cache.authenticate("valid", "10.0.0.1")).map(ApiKeyAuthenticationCache.ApiKeyPrincipal::name).contains("agent-1");
+        assertThat(cache.authenticate("valid", "10.0.0.1")).isPresent();
+
+        verify(apiKeyRepository, times(1)).findFirstByKeyHashAndActiveTrue(hash("valid"));
+    }
+
+    @Test
+    void remembersInvalidKeysAndThrottlesTheirSender() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.authenticate("wrong", "10.0.0.2")).isEmpty();
+        }
+
+        verify(apiKeyRepository, times(1)).findFirstByKeyHashAndActiveTrue(hash("wrong"));
+        assertThat(cache.isThrottled("wrong", "10.0.0.2")).isTrue();
+        assertThat(cache.isThrottled("wrong", "10.0.0.3")).isFalse();
+    }
+
+    @Test
+    void keepsServingValidKeysFromAThrottledAddress() throws Exception {
+        givenKey(6L, "shared-nat", null);
+        for (int i = 0; i < 3; i++) {
+            cache.authenticate("wrong", "10.0.0.8");
+        }
+
+        assertThat(cache.isThrottled("shared-nat", "10.0.0.8")).isFalse();
+        assertThat(cache.authenticate("shared-nat", "10.0.0.8")).isPresent();
+    }
+
+    @Test
+    void rejectsExpiredKeys() throws Exception {
+        givenKey(2L, "expired", Instant.now().minusSeconds(1));
+
+        assertThat(cache.authenticate("expired", "10.0.0.4")).isEmpty();
+    }
+
+    @Test
+    void reloadsEvictedKeys() throws Exception {
+        givenKey(3L, "rotated", null);
+        assertThat(cache.authenticate("rotated", "10.0.0.5")).isPresent();
+
+        when(apiKeyRepository.findFirstByKeyHashAndActiveTrue(hash("rotated"))).thenReturn(Optional.empty());
+        cache.evict(3L);
+
+        assertThat(cache.authenticate("rotated", "10.0.0.5")).isEmpty();
+    }
+
+    @Test
+    void flushesLastUsedInOneBatch() throws Exception {
+        givenKey(4L, "first", null);
+        givenKey(5L, "second", null);
+        cache.authenticate("first", "10.0.0.6");
+        cache.authenticate("first", "10.0.0.6");
+        cache.authenticate("second", "10.0.0.7");
+
+        cache.flushLastUsed();
+        cache.flushLastUsed();
+
+        verify(apiKeyRepository, times(1)).updateLastUsedDate(any(), any());
+        verify(apiKeyRepository).updateLastUsedDate(eq(Set.of(4L, 5L)), any());
+        verify(apiKeyRepository, never()).save(any());
+    }
+
+    private void givenKey(Long id, String plainTextKey, Instant expiresAt) throws Exception {
+        ApiKey apiKey = new ApiKey();
+        apiKey.setId(id);
+        apiKey.setName("agent-" + id);
+        apiKey.setActive(true);
+        apiKey.setExpiresAt(expiresAt);
+        when(apiKeyRepository.findFirstByKeyHashAndActiveTrue(hash(plainTextKey))).thenReturn(Optional.of(apiKey));
+    }
+
+    private static String hash(String plainTextKey) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(plainTextKey.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+}
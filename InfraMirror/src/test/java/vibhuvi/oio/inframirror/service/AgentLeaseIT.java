@@ -0,0 +1,83 @@
+package vibhuvi.oio.inframirror.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vibhuvi.oio.inframirror.IntegrationTest;
+import vibhuvi.oio.inframirror.service.dto.AgentLeaseDTO;
+
+/**
+ * Integration tests for the {@link AgentLeaseService}.
+ */
+@IntegrationTest
+class AgentLeaseIT {
+
+    private static final String NAME = "lease-it";
+
+    private static final Duration LONG_TTL = Duration.ofMinutes(5);
+
+    private static final Duration SHORT_TTL = Duration.ofMillis(1);
+
+    @Autowired
+    private AgentLeaseService agentLeaseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM agent_lock WHERE lock_name LIKE ?", NAME + "%");
+    }
+
+    @Test
+    void anotherHolderTakesOverOnlyAfterExpiry() {
+        AgentLeaseDTO first = agentLeaseService.acquire(NAME, 1L, LONG_TTL).orElseThrow();
+        assertThat(agentLeaseService.acquire(NAME, 2L, LONG_TTL)).isEmpty();
+
+        jdbcTemplate.update("UPDATE agent_lock SET expires_at = expires_at - INTERVAL '1 hour' WHERE lock_name = ?", NAME);
+        Optional<AgentLeaseDTO> second = agentLeaseService.acquire(NAME, 2L, LONG_TTL);
+
+        assertThat(second).isPresent();
+        assertThat(second.orElseThrow().getHolderId()).isEqualTo(2L);
+        assertThat(second.orElseThrow().getFencingToken()).isGreaterThan(first.getFencingToken());
+        assertThat(agentLeaseService.holds(NAME, 1L, first.getFencingToken())).isFalse();
+        assertThat(agentLeaseService.holds(NAME, 2L, second.orElseThrow().getFencingToken())).isTrue();
+    }
+
+    @Test
+    void fencingTokensOnlyGrow() throws Exception {
+        long previous = 0;
+        for (long holder = 1; holder <= 5; holder++) {
+            AgentLeaseDTO lease = agentLeaseService.acquire(NAME, holder, SHORT_TTL).orElseThrow();
+            assertThat(lease.getFencingToken()).isGreaterThan(previous);
+            previous = lease.getFencingToken();
+            Thread.sleep(10);
+        }
+
+        AgentLeaseDTO held = agentLeaseService.acquire(NAME + "-kept", 1L, LONG_TTL).orElseThrow();
+        AgentLeaseDTO again = agentLeaseService.acquire(NAME + "-kept", 1L, LONG_TTL).orElseThrow();
+        assertThat(again.getFencingToken()).isEqualTo(held.getFencingToken());
+    }
+
+    @Test
+    void staleTokenCannotRenewOrRelease() throws Exception {
+        AgentLeaseDTO stale = agentLeaseService.acquire(NAME, 1L, SHORT_TTL).orElseThrow();
+        Thread.sleep(10);
+        AgentLeaseDTO current = agentLeaseService.acquire(NAME, 2L, LONG_TTL).orElseThrow();
+
+        assertThat(agentLeaseService.renew(NAME, 1L, stale.getFencingToken(), LONG_TTL)).isEmpty();
+        assertThat(agentLeaseService.release(NAME, 1L, stale.getFencingToken())).isFalse();
+        assertThat(agentLeaseService.renew(NAME, 2L, stale.getFencingToken(), LONG_TTL)).isEmpty();
+        assertThat(agentLeaseService.release(NAME, 2L, stale.getFencingToken())).isFalse();
+
+        assertThat(agentLeaseService.holds(NAME, 2L, current.getFencingToken())).isTrue();
+        assertThat(agentLeaseService.renew(NAME, 2L, current.getFencingToken(), LONG_TTL)).isPresent();
+        assertThat(agentLeaseService.release(NAME, 2L, current.getFencingToken())).isTrue();
+        assertThat(agentLeaseService.holds(NAME, 2L, current.getFencingToken())).isFalse();
+    }
+}
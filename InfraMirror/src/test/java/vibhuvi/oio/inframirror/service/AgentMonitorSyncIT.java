@@ -0,0 +1,142 @@
+package vibhuvi.oio.inframirror.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vibhuvi.oio.inframirror.IntegrationTest;
+import vibhuvi.oio.inframirror.service.dto.AgentMonitorSyncDTO;
+import vibhuvi.oio.inframirror.service.dto.AgentMonitorSyncResultDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorDTO;
+
+/**
+ * Integration tests for the {@link AgentMonitorSyncService}.
+ */
+@IntegrationTest
+class AgentMonitorSyncIT {
+
+    private static final String PREFIX = "sync-it-";
+
+    @Autowired
+    private AgentMonitorSyncService agentMonitorSyncService;
+
+    @Autowired
+    private AgentAssignmentService agentAssignmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long agentId;
+
+    @BeforeEach
+    void createAgent() {
+        agentId = jdbcTemplate.queryForObject("SELECT nextval('sequence_generator')", Long.class);
+        jdbcTemplate.update("INSERT INTO agent (id, name) VALUES (?, ?)", agentId, PREFIX + agentId);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM agent_monitor WHERE agent_id = ?", agentId);
+        jdbcTemplate.update("DELETE FROM http_monitor WHERE name LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM agent WHERE id = ?", agentId);
+    }
+
+    @Test
+    void insertsDeclaredMonitorsAndLinksThemToTheAgent() {
+        AgentMonitorSyncResultDTO result = agentMonitorSyncService.sync(agentId, declare(monitor("a", "/a"), monitor("b", "/b")));
+
+        assertThat(result.isUnchanged()).isFalse();
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getHttpMonitorIds()).containsOnlyKeys(PREFIX + "a", PREFIX + "b");
+        assertThat(activeLinks()).containsExactlyInAnyOrderElementsOf(result.getHttpMonitorIds().values());
+        assertThat(url(result.getHttpMonitorIds().get(PREFIX + "a"))).isEqualTo("https://example.com/a");
+    }
+
+    @Test
+    void updatesOnlyTheMonitorsThatChanged() {
+        Map<String, Long> ids = agentMonitorSyncService.sync(agentId, declare(monitor("a", "/a"), monitor("b", "/b"))).getHttpMonitorIds();
+
+        AgentMonitorSyncResultDTO result = agentMonitorSyncService.sync(agentId, declare(monitor("a", "/a"), monitor("b", "/b2")));
+
+        assertThat(result.isUnchanged()).isFalse();
+        assertThat(result.getInserted()).isZero();
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getHttpMonitorIds()).isEqualTo(ids);
+        assertThat(url(ids.get(PREFIX + "b"))).isEqualTo("https://example.com/b2");
+    }
+
+    @Test
+    void deactivatesAndDisablesMonitorsNoLongerDeclared() {
+        Map<String, Long> ids = agentMonitorSyncService.sync(agentId, declare(monitor("a", "/a"), monitor("b", "/b"))).getHttpMonitorIds();
+
+        AgentMonitorSyncResultDTO result = agentMonitorSyncService.sync(agentId, declare(monitor("a", "/a")));
+
+        assertThat(result.getDeactivated()).isEqualTo(1);
+        assertThat(activeLinks()).containsExactly(ids.get(PREFIX + "a"));
+        assertThat(jdbcTemplate.queryForObject("SELECT enabled FROM http_monitor WHERE id = ?", Boolean.class, ids.get(PREFIX + "b")))
+            .isFalse();
+    }
+
+    @Test
+    void unchangedDeclarationWritesNothing() {
+        AgentMonitorSyncResultDTO first = agentMonitorSyncService.sync(agentId, declare(monitor("a", "/a"), monitor("b", "/b")));
+        List<Long> versions = linkVersions();
+
+        AgentMonitorSyncResultDTO second = agentMonitorSyncService.sync(agentId, declare(monitor("b", "/b"), monitor("a", "/a")));
+
+        assertThat(second.isUnchanged()).isTrue();
+        assertThat(second.getConfigVersion()).isEqualTo(first.getConfigVersion());
+        assertThat(second.getHttpMonitorIds()).isEqualTo(first.getHttpMonitorIds());
+        assertThat(second.getInserted() + second.getUpdated() + second.getDeactivated()).isZero();
+        assertThat(linkVersions()).isEqualTo(versions);
+    }
+
+    @Test
+    void syncedMonitorsAreNotAssignments() {
+        agentMonitorSyncService.sync(agentId, declare(monitor("a", "/a")));
+
+        assertThat(agentAssignmentService.getAssignments(agentId, 0).getAssignments()).isEmpty();
+    }
+
+    private static AgentMonitorSyncDTO declare(HttpMonitorDTO... monitors) {
+        AgentMonitorSyncDTO desired = new AgentMonitorSyncDTO();
+        desired.setHttpMonitors(List.of(monitors));
+        return desired;
+    }
+
+    private static HttpMonitorDTO monitor(String name, String path) {
+        HttpMonitorDTO monitor = new HttpMonitorDTO();
+        monitor.setName(PREFIX + name);
+        monitor.setMethod("GET");
+        monitor.setType("HTTP");
+        monitor.setUrl("https://example.com" + path);
+        monitor.setIntervalSeconds(60);
+        monitor.setTimeoutSeconds(10);
+        monitor.setRetryCount(0);
+        monitor.setRetryDelaySeconds(0);
+        monitor.setEnabled(true);
+        return monitor;
+    }
+
+    private String url(Long monitorId) {
+        return jdbcTemplate.queryForObject("SELECT url FROM http_monitor WHERE id = ?", String.class, monitorId);
+    }
+
+    private List<Long> activeLinks() {
+        return jdbcTemplate.queryForList("SELECT monitor_id FROM agent_monitor WHERE agent_id = ? AND active", Long.class, agentId);
+    }
+
+    private List<Long> linkVersions() {
+        return jdbcTemplate.queryForList(
+            "SELECT assignment_version FROM agent_monitor WHERE agent_id = ? ORDER BY id",
+            Long.class,
+            agentId
+        );
+    }
+}
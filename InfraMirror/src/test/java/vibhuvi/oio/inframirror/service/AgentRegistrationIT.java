@@ -0,0 +1,122 @@
+package vibhuvi.oio.inframirror.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vibhuvi.oio.inframirror.IntegrationTest;
+import vibhuvi.oio.inframirror.service.dto.AgentRegistrationRequestDTO;
+import vibhuvi.oio.inframirror.service.dto.AgentRegistrationResponseDTO;
+import vibhuvi.oio.inframirror.service.impl.AgentTopologyCache;
+
+/**
+ * Integration tests for {@link AgentService#registerAgent}, registering a whole fleet at once.
+ */
+@IntegrationTest
+class AgentRegistrationIT {
+
+    private static final String PREFIX = "load-it-";
+
+    private static final int REGISTRATIONS = 5000;
+
+    private static final int AGENTS = 1000;
+
+    private static final int REGIONS = 5;
+
+    private static final int DATACENTERS_PER_REGION = 4;
+
+    @Autowired
+    private AgentService agentService;
+
+    @Autowired
+    private AgentTopologyCache agentTopologyCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM agent WHERE name LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM datacenter WHERE name LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM region WHERE name LIKE ?", PREFIX + "%");
+        agentTopologyCache.invalidateAll();
+    }
+
+    @Test
+    void simultaneousRegistrationsCreateEachAgentRegionAndDatacenterOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<AgentRegistrationResponseDTO>> responses = new ArrayList<>(REGISTRATIONS);
+        try {
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                AgentRegistrationRequestDTO request = request(i);
+                responses.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return agentService.registerAgent(request);
+                    })
+                );
+            }
+            start.countDown();
+
+            for (int i = 0; i < REGISTRATIONS; i++) {
+                AgentRegistrationResponseDTO response = responses.get(i).get(2, TimeUnit.MINUTES);
+                assertThat(response.getStatus()).isEqualTo("REGISTERED");
+                assertThat(response.getAgentId()).isEqualTo(responses.get(i % AGENTS).get().getAgentId());
+                assertThat(response.getDatacenter().getRegion().getId()).isEqualTo(response.getRegion().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(count("SELECT count(*), count(DISTINCT name) FROM agent WHERE name LIKE ?")).containsExactly(AGENTS, AGENTS);
+        assertThat(count("SELECT count(*), count(DISTINCT name) FROM region WHERE name LIKE ?")).containsExactly(REGIONS, REGIONS);
+        assertThat(count("SELECT count(*), count(DISTINCT (region_id, name)) FROM datacenter WHERE name LIKE ?")).containsExactly(
+            REGIONS * DATACENTERS_PER_REGION,
+            REGIONS * DATACENTERS_PER_REGION
+        );
+    }
+
+    @Test
+    void registrationLooksTheRegionUpAgainWhenTheCachedOneWasDeleted() {
+        AgentRegistrationResponseDTO first = agentService.registerAgent(request(0));
+        // As done through another node: this node still caches the region and its datacenter
+        jdbcTemplate.update("DELETE FROM agent WHERE id = ?", first.getAgentId());
+        jdbcTemplate.update("DELETE FROM datacenter WHERE id = ?", first.getDatacenter().getId());
+        jdbcTemplate.update("DELETE FROM region WHERE id = ?", first.getRegion().getId());
+
+        AgentRegistrationResponseDTO second = agentService.registerAgent(request(0));
+
+        assertThat(second.getStatus()).isEqualTo("REGISTERED");
+        assertThat(second.getRegion().getId()).isNotEqualTo(first.getRegion().getId());
+        assertThat(second.getDatacenter().getId()).isNotEqualTo(first.getDatacenter().getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT region_id FROM agent WHERE id = ?", Long.class, second.getAgentId())).isEqualTo(
+            second.getRegion().getId()
+        );
+    }
+
+    private static AgentRegistrationRequestDTO request(int i) {
+        int agent = i % AGENTS;
+        int region = agent % REGIONS;
+        AgentRegistrationRequestDTO request = new AgentRegistrationRequestDTO();
+        request.setName(PREFIX + "agent-" + agent);
+        request.setTags(
+            Map.of("region", PREFIX + "region-" + region, "datacenter", PREFIX + "dc-" + (agent / REGIONS) % DATACENTERS_PER_REGION)
+        );
+        return request;
+    }
+
+    private List<Integer> count(String sql) {
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> List.of(rs.getInt(1), rs.getInt(2)), PREFIX + "%");
+    }
+}
@@ -0,0 +1,95 @@
+package vibhuvi.oio.inframirror.service.detail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link HttpHeartbeatDetailCodec}.
+ */
+class HttpHeartbeatDetailCodecTest {
+
+    @Test
+    void roundTripsPresentEmptyAndMissingValues() {
+        String[] values = new String[HttpHeartbeatDetailCodec.FIELDS.size()];
+        values[0] = "GET / HTTP/1.1\r\nHost: example.com";
+        values[2] = "";
+        values[4] = "{\"resolver\":\"1.1.1.1\",\"answers\":[\"93.184.216.34\"]}";
+        values[10] = "réponse 🚀 中文";
+
+        String[] decoded = HttpHeartbeatDetailCodec.decode(HttpHeartbeatDetailCodec.encode(values, Deflater.BEST_SPEED)).values();
+
+        assertThat(decoded).containsExactly(values);
+        assertThat(HttpHeartbeatDetailCodec.rawSize(values)).isEqualTo(
+            Arrays.stream(values).filter(v -> v != null).mapToInt(v -> v.getBytes(StandardCharsets.UTF_8).length).sum()
+        );
+    }
+
+    @Test
+    void compressesRepetitivePayloads() {
+        String[] values = new String[HttpHeartbeatDetailCodec.FIELDS.size()];
+        values[1] = "Content-Type: application/json\r\nCache-Control: no-cache\r\n".repeat(20);
+        values[2] = "{\"status\":\"UP\",\"components\":{\"db\":{\"status\":\"UP\"}}}".repeat(100);
+
+        byte[] payload = HttpHeartbeatDetailCodec.encode(values, Deflater.BEST_SPEED);
+
+        assertThat(payload.length).isLessThan(HttpHeartbeatDetailCodec.rawSize(values) / 10);
+        assertThat(HttpHeartbeatDetailCodec.decode(payload).values()).containsExactly(values);
+    }
+
+    @Test
+    void roundTripsBlobReferences() {
+        String[] values = new String[HttpHeartbeatDetailCodec.FIELDS.size()];
+        long[] blobIds = new long[values.length];
+        values[1] = "HTTP/1.1 200 OK";
+        values[2] = "shared body";
+        blobIds[2] = 1_234_567_890_123L;
+        blobIds[3] = 1;
+
+        HttpHeartbeatDetailCodec.Decoded decoded = HttpHeartbeatDetailCodec.decode(HttpHeartbeatDetailCodec.encode(values, blobIds, 6));
+
+        assertThat(decoded.values()[1]).isEqualTo("HTTP/1.1 200 OK");
+        assertThat(decoded.values()[2]).isNull();
+        assertThat(decoded.blobIds()).containsExactly(blobIds);
+        assertThat(HttpHeartbeatDetailCodec.decodeBlob(HttpHeartbeatDetailCodec.encodeBlob("shared body", 6))).isEqualTo("shared body");
+    }
+
+    @Test
+    void readsVersionOnePayloads() {
+        // Version 1 wrote each value as its length plus one, without blob references
+        byte[] plain = new byte[3 + HttpHeartbeatDetailCodec.FIELDS.size() - 1];
+        plain[0] = 3;
+        plain[1] = 'o';
+        plain[2] = 'k';
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        deflater.setInput(plain);
+        deflater.finish();
+        byte[] payload = new byte[256];
+        payload[0] = HttpHeartbeatDetailCodec.VERSION_1;
+        int length = deflater.deflate(payload, 1, payload.length - 1);
+        deflater.end();
+
+        HttpHeartbeatDetailCodec.Decoded decoded = HttpHeartbeatDetailCodec.decode(Arrays.copyOf(payload, length + 1));
+
+        assertThat(decoded.values()[0]).isEqualTo("ok");
+        assertThat(Arrays.copyOfRange(decoded.values(), 1, decoded.values().length)).containsOnlyNulls();
+        assertThat(decoded.blobIds()).containsOnly(0L);
+    }
+
+    @Test
+    void rejectsUnknownOrCorruptPayloads() {
+        String[] values = new String[HttpHeartbeatDetailCodec.FIELDS.size()];
+        values[3] = "sample";
+        byte[] payload = HttpHeartbeatDetailCodec.encode(values, Deflater.BEST_SPEED);
+
+        byte[] otherVersion = payload.clone();
+        otherVersion[0] = 3;
+        assertThatIllegalArgumentException().isThrownBy(() -> HttpHeartbeatDetailCodec.decode(otherVersion));
+        assertThatIllegalArgumentException().isThrownBy(() -> HttpHeartbeatDetailCodec.decode(Arrays.copyOf(payload, 3)));
+        assertThatIllegalArgumentException().isThrownBy(() -> HttpHeartbeatDetailCodec.decode(new byte[0]));
+    }
+}
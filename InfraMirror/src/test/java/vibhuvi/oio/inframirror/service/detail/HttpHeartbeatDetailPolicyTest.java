@@ -0,0 +1,40 @@
+package vibhuvi.oio.inframirror.service.detail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+
+/**
+ * Test class for the {@link HttpHeartbeatDetailPolicy}.
+ */
+class HttpHeartbeatDetailPolicyTest {
+
+    @Test
+    void keepsEveryFailure() {
+        HttpHeartbeatDetailPolicy policy = new HttpHeartbeatDetailPolicy(0);
+
+        assertThat(LongStream.range(1, 1000).allMatch(id -> policy.keep(heartbeat(id, false)))).isTrue();
+        assertThat(policy.keep(heartbeat(1, null))).isTrue();
+        assertThat(LongStream.range(1, 1000).noneMatch(id -> policy.keep(heartbeat(id, true)))).isTrue();
+    }
+
+    @Test
+    void samplesOneSuccessInN() {
+        HttpHeartbeatDetailPolicy policy = new HttpHeartbeatDetailPolicy(10);
+
+        long kept = LongStream.range(1_000_000, 1_100_000).filter(id -> policy.keep(heartbeat(id, true))).count();
+        assertThat(kept).isBetween(9_500L, 10_500L);
+        // Deterministic, so every node makes the same choice
+        assertThat(policy.keep(heartbeat(1_000_001, true))).isEqualTo(policy.keep(heartbeat(1_000_001, true)));
+        assertThat(LongStream.range(1, 1000).allMatch(id -> new HttpHeartbeatDetailPolicy(1).keep(heartbeat(id, true)))).isTrue();
+    }
+
+    private static HttpHeartbeatDTO heartbeat(long id, Boolean success) {
+        HttpHeartbeatDTO heartbeat = new HttpHeartbeatDTO();
+        heartbeat.setId(id);
+        heartbeat.setSuccess(success);
+        return heartbeat;
+    }
+}
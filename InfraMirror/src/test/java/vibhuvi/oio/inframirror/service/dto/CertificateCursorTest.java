@@ -0,0 +1,28 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class CertificateCursorTest {
+
+    @Test
+    void encodesToAnOpaqueUrlSafeString() {
+        CertificateCursor cursor = new CertificateCursor(Instant.parse("2026-11-18T10:15:30.123456Z"), 1_234_567L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(CertificateCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsForgedAndHeartbeatCursors() {
+        assertThatIllegalArgumentException().isThrownBy(() -> CertificateCursor.decode("forged"));
+        assertThatIllegalArgumentException().isThrownBy(() -> CertificateCursor.decode("not base64!"));
+        String heartbeat = new HeartbeatCursor(Instant.parse("2026-11-18T10:15:30Z"), 1L).encode();
+        assertThatIllegalArgumentException().isThrownBy(() -> CertificateCursor.decode(heartbeat));
+    }
+}
@@ -0,0 +1,26 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class HeartbeatCursorTest {
+
+    @Test
+    void encodesToAnOpaqueUrlSafeString() {
+        HeartbeatCursor cursor = new HeartbeatCursor(Instant.parse("2026-10-18T10:15:30.123456Z"), 1_234_567L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(HeartbeatCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsForgedCursors() {
+        assertThatIllegalArgumentException().isThrownBy(() -> HeartbeatCursor.decode("forged"));
+        assertThatIllegalArgumentException().isThrownBy(() -> HeartbeatCursor.decode("not base64!"));
+    }
+}
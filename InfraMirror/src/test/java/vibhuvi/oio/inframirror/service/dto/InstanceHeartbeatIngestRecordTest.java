@@ -0,0 +1,50 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+
+class InstanceHeartbeatIngestRecordTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void decodesPrimitiveFieldsAndPresence() throws Exception {
+        InstanceHeartbeatIngestRecord record = mapper.readValue(
+            "{\"instanceId\":42,\"heartbeatType\":\"PING\",\"success\":true,\"status\":\"UP\"," +
+            "\"responseTimeMs\":12,\"packetLoss\":0.5,\"networkRxBytes\":9876543210,\"unknown\":{\"a\":[1,2]}," +
+            "\"cpuUsage\":null,\"errorType\":\"NONE\"}",
+            InstanceHeartbeatIngestRecord.class
+        );
+
+        assertThat(record.getInstanceId()).isEqualTo(42L);
+        assertThat(record.has(InstanceHeartbeatIngestRecord.INSTANCE_ID)).isTrue();
+        assertThat(record.isSuccess()).isTrue();
+        assertThat(record.getHeartbeatType()).isEqualTo("PING");
+        assertThat(record.getStatus()).isEqualTo("UP");
+        assertThat(record.getResponseTimeMs()).isEqualTo(12);
+        assertThat(record.getPacketLoss()).isEqualTo(0.5f);
+        assertThat(record.getNetworkRxBytes()).isEqualTo(9876543210L);
+        assertThat(record.has(InstanceHeartbeatIngestRecord.CPU_USAGE)).isFalse();
+        assertThat(record.has(InstanceHeartbeatIngestRecord.JITTER_MS)).isFalse();
+        assertThat(record.getErrorType()).isEqualTo("NONE");
+    }
+
+    @Test
+    void ignoresNonNumericValuesForNumericFields() throws Exception {
+        InstanceHeartbeatIngestRecord record = mapper.readValue("{\"instanceId\":\"42\",\"jitterMs\":\"3\"}", InstanceHeartbeatIngestRecord.class);
+
+        assertThat(record.has(InstanceHeartbeatIngestRecord.INSTANCE_ID)).isFalse();
+        assertThat(record.has(InstanceHeartbeatIngestRecord.JITTER_MS)).isFalse();
+    }
+
+    @Test
+    void rejectsWrongTypeForBooleanField() {
+        assertThatThrownBy(() -> mapper.readValue("{\"success\":\"yes\"}", InstanceHeartbeatIngestRecord.class)).isInstanceOf(
+            MismatchedInputException.class
+        );
+    }
+}
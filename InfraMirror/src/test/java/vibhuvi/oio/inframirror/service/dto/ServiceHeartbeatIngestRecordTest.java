@@ -0,0 +1,40 @@
+package vibhuvi.oio.inframirror.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class ServiceHeartbeatIngestRecordTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void decodesAgentPayload() throws Exception {
+        ServiceHeartbeatIngestRecord record = mapper.readValue(
+            "{\"monitoredServiceId\":7,\"serviceInstanceId\":null,\"executedAt\":\"2025-06-01T12:34:56Z\"," +
+            "\"success\":false,\"status\":\"DOWN\",\"responseTimeMs\":5003,\"errorMessage\":\"timeout\"}",
+            ServiceHeartbeatIngestRecord.class
+        );
+
+        assertThat(record.getMonitoredServiceId()).isEqualTo(7L);
+        assertThat(record.has(ServiceHeartbeatIngestRecord.MONITORED_SERVICE_ID)).isTrue();
+        assertThat(record.has(ServiceHeartbeatIngestRecord.SERVICE_INSTANCE_ID)).isFalse();
+        assertThat(record.getExecutedAt()).isEqualTo(Instant.parse("2025-06-01T12:34:56Z"));
+        assertThat(record.has(ServiceHeartbeatIngestRecord.SUCCESS)).isTrue();
+        assertThat(record.isSuccess()).isFalse();
+        assertThat(record.getStatus()).isEqualTo("DOWN");
+        assertThat(record.getResponseTimeMs()).isEqualTo(5003);
+        assertThat(record.getErrorMessage()).isEqualTo("timeout");
+    }
+
+    @Test
+    void rejectsInvalidTimestamp() {
+        assertThatThrownBy(() -> mapper.readValue("{\"executedAt\":\"yesterday\"}", ServiceHeartbeatIngestRecord.class)).isInstanceOf(
+            InvalidFormatException.class
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package vibhuvi.oio.inframirror.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ColumnarExportWriter}.
+ */
+class ColumnarExportWriterTest {
+
+    private static final List<ExportColumn> COLUMNS = List.of(
+        new ExportColumn("id", ExportColumn.Type.LONG),
+        new ExportColumn("executedAt", ExportColumn.Type.TIMESTAMP),
+        new ExportColumn("success", ExportColumn.Type.BOOLEAN),
+        new ExportColumn("responseTimeMs", ExportColumn.Type.INT),
+        new ExportColumn("compressionRatio", ExportColumn.Type.DOUBLE),
+        new ExportColumn("errorType", ExportColumn.Type.STRING)
+    );
+
+    @Test
+    void roundTripsRowsAcrossRowGroups() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(
+                new Object[] {
+                    1000L + i,
+                    Instant.ofEpochMilli(1_760_000_000_000L + i * 60_000L),
+                    i % 3 == 0 ? null : i % 2 == 0,
+                    i % 4 == 0 ? null : 100 - i * 20,
+                    i == 5 ? 0.25 : null,
+                    i % 2 == 0 ? null : "TIMEOUT-" + i,
+                }
+            );
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarExportWriter writer = new ColumnarExportWriter(out, 4);
+        writer.begin(COLUMNS);
+        for (Object[] row : rows) {
+            writer.row(row.clone());
+        }
+        writer.finish();
+
+        List<Object[]> read = read(out.toByteArray());
+        assertThat(read).hasSize(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(read.get(i)).containsExactly(rows.get(i));
+        }
+    }
+
+    @Test
+    void writesOnlyTheHeaderWithoutRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarExportWriter writer = new ColumnarExportWriter(out, 4);
+        writer.begin(COLUMNS);
+        writer.finish();
+
+        assertThat(read(out.toByteArray())).isEmpty();
+    }
+
+    private static List<Object[]> read(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        assertThat(magic).isEqualTo(ColumnarExportWriter.MAGIC);
+        assertThat(in.readUnsignedByte()).isEqualTo(ColumnarExportWriter.VERSION);
+        int columns = (int) readVarLong(in);
+        ExportColumn.Type[] types = new ExportColumn.Type[columns];
+        for (int c = 0; c < columns; c++) {
+            assertThat(readString(in)).isEqualTo(COLUMNS.get(c).name());
+            types[c] = ExportColumn.Type.values()[in.readUnsignedByte()];
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int n = (int) readVarLong(in); n > 0; n = (int) readVarLong(in)) {
+            Object[][] group = new Object[n][columns];
+            for (int c = 0; c < columns; c++) {
+                boolean[] present = readBitmap(in, n);
+                int count = 0;
+                for (boolean p : present) {
+                    count += p ? 1 : 0;
+                }
+                boolean[] booleans = types[c] == ExportColumn.Type.BOOLEAN ? readBitmap(in, count) : null;
+                long previous = 0;
+                for (int r = 0, v = 0; r < n; r++) {
+                    if (!present[r]) {
+                        continue;
+                    }
+                    group[r][c] = switch (types[c]) {
+                        case LONG -> previous += unZigZag(readVarLong(in));
+                        case TIMESTAMP -> Instant.ofEpochMilli(previous += unZigZag(readVarLong(in)));
+                        case INT -> (int) unZigZag(readVarLong(in));
+                        case DOUBLE -> in.readDouble();
+                        case BOOLEAN -> booleans[v++];
+                        case STRING -> readString(in);
+                    };
+                }
+            }
+            rows.addAll(List.of(group));
+        }
+        assertThat(in.read()).isEqualTo(-1);
+        return rows;
+    }
+
+    private static boolean[] readBitmap(DataInputStream in, int n) throws IOException {
+        boolean[] bits = new boolean[n];
+        int current = 0;
+        for (int i = 0; i < n; i++) {
+            if ((i & 7) == 0) {
+                current = in.readUnsignedByte();
+            }
+            bits[i] = (current & (1 << (i & 7))) != 0;
+        }
+        return bits;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0;; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
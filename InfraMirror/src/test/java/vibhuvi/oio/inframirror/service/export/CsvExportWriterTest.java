@@ -0,0 +1,37 @@
+package vibhuvi.oio.inframirror.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CsvExportWriter}.
+ */
+class CsvExportWriterTest {
+
+    @Test
+    void writesAHeaderAndQuotesFieldsWhenNeeded() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvExportWriter writer = new CsvExportWriter(out);
+        writer.begin(
+            List.of(
+                new ExportColumn("executedAt", ExportColumn.Type.TIMESTAMP),
+                new ExportColumn("success", ExportColumn.Type.BOOLEAN),
+                new ExportColumn("errorMessage", ExportColumn.Type.STRING)
+            )
+        );
+        writer.row(new Object[] { Instant.parse("2026-10-18T10:15:30Z"), true, null });
+        writer.row(new Object[] { Instant.parse("2026-10-18T10:16:30Z"), false, "said \"no\", then\nclosed" });
+        writer.finish();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "executedAt,success,errorMessage\r\n" +
+            "2026-10-18T10:15:30Z,true,\r\n" +
+            "2026-10-18T10:16:30Z,false,\"said \"\"no\"\", then\nclosed\"\r\n"
+        );
+    }
+}
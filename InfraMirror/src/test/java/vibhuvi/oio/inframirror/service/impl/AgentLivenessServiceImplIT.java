@@ -0,0 +1,95 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import vibhuvi.oio.inframirror.IntegrationTest;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.AgentLivenessService;
+import vibhuvi.oio.inframirror.service.AgentStatusChangedEvent;
+
+/**
+ * Integration tests for the status changes of the {@link AgentLivenessServiceImpl}.
+ */
+@IntegrationTest
+class AgentLivenessServiceImplIT {
+
+    private static final long AGENT_ID = 987_654_321L;
+
+    private static final int HEARTBEAT_INTERVAL_SECONDS = 30;
+
+    private static final int OFFLINE_AFTER_MISSED_HEARTBEATS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<AgentStatusChangedEvent> events;
+
+    private AgentLivenessServiceImpl agentLivenessService;
+
+    @BeforeEach
+    void createService() {
+        events = new ArrayList<>();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAgentLiveness().setHeartbeatIntervalSeconds(HEARTBEAT_INTERVAL_SECONDS);
+        applicationProperties.getAgentLiveness().setOfflineAfterMissedHeartbeats(OFFLINE_AFTER_MISSED_HEARTBEATS);
+        agentLivenessService = new AgentLivenessServiceImpl(
+            jdbcTemplate,
+            transactionManager,
+            event -> events.add((AgentStatusChangedEvent) event),
+            applicationProperties,
+            new SimpleMeterRegistry()
+        );
+        jdbcTemplate.update("INSERT INTO agent (id, name, status) VALUES (?, 'liveness-it', ?)", AGENT_ID, AgentLivenessService.ACTIVE);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM agent WHERE id = ?", AGENT_ID);
+    }
+
+    @Test
+    void missedDeadlinePublishesOneDownEventAndNextHeartbeatOneUpEvent() {
+        long start = System.currentTimeMillis();
+        agentLivenessService.recordSeen(AGENT_ID);
+        agentLivenessService.tick(start);
+        assertThat(events).isEmpty();
+
+        long missed = start + (OFFLINE_AFTER_MISSED_HEARTBEATS + 1) * HEARTBEAT_INTERVAL_SECONDS * 1000L;
+        agentLivenessService.tick(missed);
+        agentLivenessService.tick(missed + HEARTBEAT_INTERVAL_SECONDS * 1000L);
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.agentId()).isEqualTo(AGENT_ID);
+            assertThat(event.previousStatus()).isEqualTo(AgentLivenessService.ACTIVE);
+            assertThat(event.status()).isEqualTo(AgentLivenessService.OFFLINE);
+        });
+        assertThat(status()).isEqualTo(AgentLivenessService.OFFLINE);
+
+        events.clear();
+        agentLivenessService.recordSeen(AGENT_ID);
+        agentLivenessService.tick(System.currentTimeMillis());
+        agentLivenessService.tick(System.currentTimeMillis());
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.previousStatus()).isEqualTo(AgentLivenessService.OFFLINE);
+            assertThat(event.status()).isEqualTo(AgentLivenessService.ACTIVE);
+        });
+        assertThat(status()).isEqualTo(AgentLivenessService.ACTIVE);
+    }
+
+    private String status() {
+        return jdbcTemplate.queryForObject("SELECT status FROM agent WHERE id = ?", String.class, AGENT_ID);
+    }
+}
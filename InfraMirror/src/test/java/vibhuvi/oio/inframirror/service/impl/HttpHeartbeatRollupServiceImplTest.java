@@ -0,0 +1,82 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import vibhuvi.oio.inframirror.service.dto.RollupResolution;
+
+/**
+ * Test class for the range splitting of the {@link HttpHeartbeatRollupServiceImpl}.
+ */
+class HttpHeartbeatRollupServiceImplTest {
+
+    private record Range(RollupResolution resolution, LocalDateTime start, LocalDateTime end) {}
+
+    private static List<Range> cover(String from, String to, RollupResolution finest) {
+        List<Range> ranges = new ArrayList<>();
+        HttpHeartbeatRollupServiceImpl.cover(
+            LocalDateTime.parse(from),
+            LocalDateTime.parse(to),
+            RollupResolution.DAY,
+            finest,
+            (resolution, start, end) -> ranges.add(new Range(resolution, start, end))
+        );
+        return ranges;
+    }
+
+    private static Range range(RollupResolution resolution, String start, String end) {
+        return new Range(resolution, LocalDateTime.parse(start), LocalDateTime.parse(end));
+    }
+
+    @Test
+    void usesWholeDaysAndFillsTheEdgesWithFinerBuckets() {
+        assertThat(cover("2026-10-16T22:30:00", "2026-10-18T01:15:00", RollupResolution.MINUTE)).containsExactly(
+            range(RollupResolution.MINUTE, "2026-10-16T22:30:00", "2026-10-16T23:00:00"),
+            range(RollupResolution.HOUR, "2026-10-16T23:00:00", "2026-10-17T00:00:00"),
+            range(RollupResolution.DAY, "2026-10-17T00:00:00", "2026-10-18T00:00:00"),
+            range(RollupResolution.HOUR, "2026-10-18T00:00:00", "2026-10-18T01:00:00"),
+            range(RollupResolution.MINUTE, "2026-10-18T01:00:00", "2026-10-18T01:15:00")
+        );
+    }
+
+    @Test
+    void leavesOutEdgesAlignedOnBuckets() {
+        assertThat(cover("2026-10-17T00:00:00", "2026-10-19T00:00:00", RollupResolution.MINUTE)).containsExactly(
+            range(RollupResolution.DAY, "2026-10-17T00:00:00", "2026-10-19T00:00:00")
+        );
+        assertThat(cover("2026-10-17T03:00:00", "2026-10-17T05:00:00", RollupResolution.MINUTE)).containsExactly(
+            range(RollupResolution.HOUR, "2026-10-17T03:00:00", "2026-10-17T05:00:00")
+        );
+    }
+
+    @Test
+    void fallsBackToFinerBucketsWhenNoWholeBucketFits() {
+        assertThat(cover("2026-10-17T03:10:00", "2026-10-17T03:40:00", RollupResolution.MINUTE)).containsExactly(
+            range(RollupResolution.MINUTE, "2026-10-17T03:10:00", "2026-10-17T03:40:00")
+        );
+        assertThat(cover("2026-10-17T03:10:00", "2026-10-17T04:20:00", RollupResolution.MINUTE)).containsExactly(
+            range(RollupResolution.MINUTE, "2026-10-17T03:10:00", "2026-10-17T04:20:00")
+        );
+    }
+
+    @Test
+    void includesPartialBucketsWholeAtTheFinestResolution() {
+        assertThat(cover("2026-10-17T03:10:30", "2026-10-17T03:12:45", RollupResolution.MINUTE)).containsExactly(
+            range(RollupResolution.MINUTE, "2026-10-17T03:10:00", "2026-10-17T03:12:45")
+        );
+        assertThat(cover("2026-10-16T22:30:00", "2026-10-18T01:15:00", RollupResolution.HOUR)).containsExactly(
+            range(RollupResolution.HOUR, "2026-10-16T22:00:00", "2026-10-17T00:00:00"),
+            range(RollupResolution.DAY, "2026-10-17T00:00:00", "2026-10-18T00:00:00"),
+            range(RollupResolution.HOUR, "2026-10-18T00:00:00", "2026-10-18T01:15:00")
+        );
+    }
+
+    @Test
+    void coversNothingForAnEmptyRange() {
+        assertThat(cover("2026-10-17T03:00:00", "2026-10-17T03:00:00", RollupResolution.MINUTE)).isEmpty();
+        assertThat(cover("2026-10-17T04:00:00", "2026-10-17T03:00:00", RollupResolution.MINUTE)).isEmpty();
+    }
+}
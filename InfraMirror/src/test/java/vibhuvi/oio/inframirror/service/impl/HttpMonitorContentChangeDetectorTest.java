@@ -0,0 +1,119 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.HttpMonitorContentChangedEvent;
+import vibhuvi.oio.inframirror.service.dto.AgentDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorDTO;
+
+/**
+ * Test class for the {@link HttpMonitorContentChangeDetector}.
+ */
+class HttpMonitorContentChangeDetectorTest {
+
+    private static final Instant T0 = Instant.parse("2026-10-18T10:00:00Z");
+
+    private final List<Object> events = new ArrayList<>();
+
+    private final HttpMonitorContentChangeDetector detector = new HttpMonitorContentChangeDetector(
+        events::add,
+        new ApplicationProperties(),
+        new SimpleMeterRegistry()
+    );
+
+    @Test
+    void publishesWhenTheBodyOfAnAgentChanges() {
+        detector.onHeartbeatsPersisted(
+            List.of(
+                heartbeat(1, 7L, 0, "a", null),
+                heartbeat(2, 7L, 60, "a", null),
+                heartbeat(3, 8L, 60, "b", null),
+                heartbeat(4, 7L, 120, "c", null),
+                heartbeat(5, 8L, 120, "b", null)
+            )
+        );
+
+        assertThat(events).containsExactly(new HttpMonitorContentChangedEvent(1L, 7L, "a", "c", 4L, T0.plusSeconds(120)));
+    }
+
+    @Test
+    void hashesTheRawBodyWhenNoHashWasReportedAndIgnoresLateArrivals() {
+        detector.onHeartbeatsPersisted(List.of(heartbeat(1, null, 60, null, "{\"v\":1}"), heartbeat(2, null, 0, null, "{\"v\":0}")));
+        detector.onHeartbeatsPersisted(List.of(heartbeat(3, null, 120, null, "{\"v\":1}"), heartbeat(4, null, 180, null, null)));
+        assertThat(events).isEmpty();
+
+        detector.onHeartbeatsPersisted(List.of(heartbeat(5, null, 240, null, "{\"v\":2}")));
+
+        assertThat(events).singleElement().satisfies(event -> {
+            HttpMonitorContentChangedEvent changed = (HttpMonitorContentChangedEvent) event;
+            assertThat(changed.agentId()).isNull();
+            assertThat(changed.previousHash()).isEqualTo(HttpHeartbeatBlobStore.hash("{\"v\":1}"));
+            assertThat(changed.hash()).isEqualTo(HttpHeartbeatBlobStore.hash("{\"v\":2}"));
+            assertThat(changed.heartbeatId()).isEqualTo(5L);
+        });
+    }
+
+    @Test
+    void concurrentFlushesPublishAChangeOnce() throws Exception {
+        List<Object> published = Collections.synchronizedList(events);
+        HttpMonitorContentChangeDetector shared = new HttpMonitorContentChangeDetector(
+            published::add,
+            new ApplicationProperties(),
+            new SimpleMeterRegistry()
+        );
+        shared.onHeartbeatsPersisted(List.of(heartbeat(1, 7L, 0, "a", null)));
+        events.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> flushes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                flushes.add(
+                    executor.submit(() -> {
+                        start.await();
+                        shared.onHeartbeatsPersisted(List.of(heartbeat(2, 7L, 60, "b", null)));
+                        return null;
+                    })
+                );
+            }
+            start.countDown();
+            for (Future<?> flush : flushes) {
+                flush.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(events).containsExactly(new HttpMonitorContentChangedEvent(1L, 7L, "a", "b", 2L, T0.plusSeconds(60)));
+    }
+
+    private static HttpHeartbeatDTO heartbeat(long id, Long agentId, long seconds, String bodyHash, String body) {
+        HttpHeartbeatDTO heartbeat = new HttpHeartbeatDTO();
+        heartbeat.setId(id);
+        heartbeat.setExecutedAt(T0.plusSeconds(seconds));
+        HttpMonitorDTO monitor = new HttpMonitorDTO();
+        monitor.setId(1L);
+        heartbeat.setMonitor(monitor);
+        if (agentId != null) {
+            AgentDTO agent = new AgentDTO();
+            agent.setId(agentId);
+            heartbeat.setAgent(agent);
+        }
+        heartbeat.setResponseBodyHash(bodyHash);
+        heartbeat.setRawResponseBody(body);
+        return heartbeat;
+    }
+}
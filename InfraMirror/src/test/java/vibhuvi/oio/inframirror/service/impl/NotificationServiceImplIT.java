@@ -0,0 +1,217 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import vibhuvi.oio.inframirror.IntegrationTest;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.dto.NotificationDTO;
+import vibhuvi.oio.inframirror.service.dto.NotificationType;
+import vibhuvi.oio.inframirror.service.notification.StubNotificationChannel;
+
+/**
+ * Integration tests for the {@code notification_outbox} delivery of the {@link NotificationServiceImpl}.
+ */
+@IntegrationTest
+class NotificationServiceImplIT {
+
+    private static final String CHANNEL = "outbox-it";
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    private static final int INITIAL_BACKOFF_SECONDS = 30;
+
+    private static final int LEASE_SECONDS = 120;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private StubNotificationChannel stub;
+
+    private NotificationServiceImpl notificationService;
+
+    @BeforeEach
+    void createService() {
+        stub = new StubNotificationChannel();
+        ApplicationProperties.Notifications.Channel channel = new ApplicationProperties.Notifications.Channel();
+        channel.setName(CHANNEL);
+        channel.setType(ApplicationProperties.Notifications.ChannelType.STUB);
+        channel.setRatePerMinute(1000);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Notifications properties = applicationProperties.getNotifications();
+        properties.setChannels(List.of(channel));
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+        properties.setInitialBackoffSeconds(INITIAL_BACKOFF_SECONDS);
+        properties.setLeaseSeconds(LEASE_SECONDS);
+        notificationService = new NotificationServiceImpl(
+            jdbcTemplate,
+            transactionManager,
+            objectMapper,
+            applicationProperties,
+            List.of(stub),
+            new SimpleMeterRegistry()
+        );
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM notification_outbox WHERE channel = ?", CHANNEL);
+    }
+
+    @Test
+    void deliversPendingNotificationsInOrderAndMarksThemSent() {
+        notificationService.enqueue(notification("a"));
+        notificationService.enqueue(notification("b"));
+        notificationService.enqueue(notification("c"));
+
+        notificationService.drain(CHANNEL);
+
+        assertThat(sentKeys()).containsExactly("a", "b", "c");
+        assertThat(row("a")).containsEntry("status", "SENT").containsEntry("attempts", 1);
+        assertThat(row("c").get("sent_at")).isNotNull();
+    }
+
+    @Test
+    void queuesEachKeyOncePerChannel() {
+        assertThat(notificationService.enqueue(notification("a"))).isEqualTo(1);
+        assertThat(notificationService.enqueue(notification("a"))).isZero();
+
+        notificationService.drain(CHANNEL);
+        assertThat(notificationService.enqueue(notification("a"))).isZero();
+
+        assertThat(sentKeys()).containsExactly("a");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notification_outbox WHERE channel = ?", Integer.class, CHANNEL))
+            .isEqualTo(1);
+    }
+
+    @Test
+    void leasedNotificationsAreClaimedAgainOnlyOnceTheLeaseExpires() {
+        notificationService.enqueue(notification("a"));
+        // As left by a node that claimed the row and stopped before delivering it
+        jdbcTemplate.update(
+            "UPDATE notification_outbox SET attempts = 1, next_attempt_at = next_attempt_at + ? * INTERVAL '1 second' WHERE channel = ?",
+            LEASE_SECONDS,
+            CHANNEL
+        );
+        notificationService.enqueue(notification("b"));
+
+        notificationService.drain(CHANNEL);
+        assertThat(sentKeys()).isEmpty();
+
+        expireWaits();
+        notificationService.drain(CHANNEL);
+
+        assertThat(sentKeys()).containsExactly("a", "b");
+        assertThat(row("a")).containsEntry("status", "SENT").containsEntry("attempts", 2);
+    }
+
+    @Test
+    void failedDeliveriesAreRetriedWithBackoffAndHoldBackLaterNotifications() {
+        notificationService.enqueue(notification("a"));
+        stub.failNext(1);
+        Instant before = Instant.now();
+
+        notificationService.drain(CHANNEL);
+        notificationService.enqueue(notification("b"));
+        notificationService.drain(CHANNEL);
+
+        assertThat(sentKeys()).isEmpty();
+        Map<String, Object> failed = row("a");
+        assertThat(failed).containsEntry("status", "PENDING").containsEntry("attempts", 1);
+        assertThat((String) failed.get("last_error")).contains("told to fail");
+        assertThat(nextAttemptAt("a")).isAfterOrEqualTo(before.plusSeconds(INITIAL_BACKOFF_SECONDS));
+        assertThat(row("b")).containsEntry("attempts", 0);
+
+        expireWaits();
+        notificationService.drain(CHANNEL);
+
+        assertThat(sentKeys()).containsExactly("a", "b");
+        assertThat(row("a")).containsEntry("status", "SENT").containsEntry("attempts", 2);
+        assertThat(row("a").get("last_error")).isNull();
+    }
+
+    @Test
+    void notificationsFailOnceTheAttemptsRunOut() {
+        notificationService.enqueue(notification("a"));
+        notificationService.enqueue(notification("b"));
+        stub.failNext(MAX_ATTEMPTS);
+
+        notificationService.drain(CHANNEL);
+        expireWaits();
+        notificationService.drain(CHANNEL);
+
+        assertThat(row("a")).containsEntry("status", "FAILED").containsEntry("attempts", MAX_ATTEMPTS);
+        assertThat(row("b")).containsEntry("status", "FAILED");
+
+        notificationService.enqueue(notification("c"));
+        notificationService.drain(CHANNEL);
+
+        assertThat(sentKeys()).containsExactly("c");
+    }
+
+    @Test
+    void backoffDoublesUpToTheMax() {
+        assertThat(notificationService.backoffSeconds(1)).isEqualTo(INITIAL_BACKOFF_SECONDS);
+        assertThat(notificationService.backoffSeconds(3)).isEqualTo(4L * INITIAL_BACKOFF_SECONDS);
+        assertThat(notificationService.backoffSeconds(100)).isEqualTo(3600);
+    }
+
+    private static NotificationDTO notification(String key) {
+        NotificationDTO notification = new NotificationDTO();
+        notification.setType(NotificationType.STATUS_CHANGED);
+        notification.setKey(key);
+        notification.setSubject("Notification " + key);
+        notification.setMessage("Notification " + key);
+        notification.setOccurredAt(Instant.now());
+        return notification;
+    }
+
+    /** Make leased and retried rows due, as if their wait were over. */
+    private void expireWaits() {
+        jdbcTemplate.update(
+            "UPDATE notification_outbox SET next_attempt_at = next_attempt_at - INTERVAL '1 day' WHERE channel = ?",
+            CHANNEL
+        );
+    }
+
+    private List<String> sentKeys() {
+        return stub.getSent().stream().map(NotificationDTO::getKey).toList();
+    }
+
+    private Map<String, Object> row(String key) {
+        return jdbcTemplate.queryForMap(
+            "SELECT status, attempts, sent_at, last_error FROM notification_outbox WHERE channel = ? AND dedup_key = ?",
+            CHANNEL,
+            key
+        );
+    }
+
+    private Instant nextAttemptAt(String key) {
+        return jdbcTemplate
+            .queryForObject(
+                "SELECT next_attempt_at FROM notification_outbox WHERE channel = ? AND dedup_key = ?",
+                LocalDateTime.class,
+                CHANNEL,
+                key
+            )
+            .toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,133 @@
+package vibhuvi.oio.inframirror.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import vibhuvi.oio.inframirror.config.ApplicationProperties;
+import vibhuvi.oio.inframirror.service.PublicStatusPageService;
+import vibhuvi.oio.inframirror.service.StatusPageStreamSink;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
+import vibhuvi.oio.inframirror.service.dto.HttpMonitorDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageDeltaDTO;
+import vibhuvi.oio.inframirror.service.dto.PublicStatusPageSnapshot;
+
+/**
+ * Test class for the {@link StatusPageStreamServiceImpl}.
+ */
+class StatusPageStreamServiceImplTest {
+
+    private static final String SLUG = "status";
+
+    private static final long MONITOR_ID = 1L;
+
+    private static final Instant UP_SINCE = Instant.parse("2026-10-18T10:00:00Z");
+
+    private static final Instant DOWN_SINCE = Instant.parse("2026-10-18T11:00:00Z");
+
+    private record Sent(String name, String json) {}
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final List<Sent> sent = new CopyOnWriteArrayList<>();
+
+    private PublicStatusPageService publicStatusPageService;
+
+    private StatusPageStreamServiceImpl streamService;
+
+    @BeforeEach
+    void start() {
+        publicStatusPageService = mock(PublicStatusPageService.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getStatusPageStream().setDebounceMillis(0);
+        streamService = new StatusPageStreamServiceImpl(
+            publicStatusPageService,
+            objectMapper,
+            applicationProperties,
+            new SimpleMeterRegistry()
+        );
+        streamService.start();
+    }
+
+    @AfterEach
+    void stop() {
+        streamService.stop();
+    }
+
+    @Test
+    void monitorStatusTransitionPushesADelta() throws Exception {
+        when(publicStatusPageService.getSnapshot(SLUG)).thenReturn(snapshot("UP", UP_SINCE));
+        assertThat(streamService.subscribe(SLUG, new RecordingSink())).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> sent.size() == 1);
+        assertThat(sent.get(0).name()).isEqualTo(StatusPageStreamServiceImpl.SNAPSHOT);
+
+        when(publicStatusPageService.getSnapshot(SLUG)).thenReturn(snapshot("DOWN", DOWN_SINCE));
+        streamService.onHeartbeatsPersisted(List.of(heartbeat()));
+        await().atMost(Duration.ofSeconds(5)).until(() -> sent.size() == 2);
+
+        assertThat(sent.get(1).name()).isEqualTo(StatusPageStreamServiceImpl.DELTA);
+        PublicStatusPageDeltaDTO delta = objectMapper.readValue(sent.get(1).json(), PublicStatusPageDeltaDTO.class);
+        assertThat(delta.getChanges()).isEmpty();
+        assertThat(delta.getStatuses()).singleElement().satisfies(change -> {
+            assertThat(change.getMonitorId()).isEqualTo(MONITOR_ID);
+            assertThat(change.getStatus()).isEqualTo("DOWN");
+            assertThat(change.getStatusSince()).isEqualTo(DOWN_SINCE);
+        });
+    }
+
+    private Optional<PublicStatusPageSnapshot> snapshot(String status, Instant statusSince) throws Exception {
+        PublicStatusPageDTO.RegionHealth health = new PublicStatusPageDTO.RegionHealth();
+        health.setStatus("UP");
+        health.setAgentName("agent");
+        PublicStatusPageDTO.MonitorStatus monitor = new PublicStatusPageDTO.MonitorStatus();
+        monitor.setMonitorId(MONITOR_ID);
+        monitor.setMonitorName("api");
+        monitor.setStatus(status);
+        monitor.setStatusSince(statusSince);
+        monitor.setRegionHealth(Map.of("eu", health));
+        PublicStatusPageDTO page = new PublicStatusPageDTO();
+        page.setName("Status");
+        page.setSlug(SLUG);
+        page.setRegions(List.of("eu"));
+        page.setMonitors(List.of(monitor));
+        byte[] body = objectMapper.writeValueAsString(page).getBytes(StandardCharsets.UTF_8);
+        return Optional.of(new PublicStatusPageSnapshot(1L, true, page, body, "\"1\"", Set.of(MONITOR_ID), null, Instant.now()));
+    }
+
+    private static HttpHeartbeatDTO heartbeat() {
+        HttpMonitorDTO monitor = new HttpMonitorDTO();
+        monitor.setId(MONITOR_ID);
+        HttpHeartbeatDTO heartbeat = new HttpHeartbeatDTO();
+        heartbeat.setMonitor(monitor);
+        return heartbeat;
+    }
+
+    private final class RecordingSink implements StatusPageStreamSink {
+
+        @Override
+        public void send(String name, long id, String json) {
+            sent.add(new Sent(name, json));
+        }
+
+        @Override
+        public void keepAlive() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,106 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link GorillaChunk}.
+ */
+class GorillaChunkTest {
+
+    private record Point(long timestamp, double value) {}
+
+    @Test
+    void decodesThePointsItWasGiven() {
+        Random random = new Random(42);
+        GorillaChunk chunk = new GorillaChunk(1000);
+        List<Point> expected = new ArrayList<>();
+        long timestamp = 1_760_000_000L;
+        for (int i = 0; i < 1000; i++) {
+            // Steady interval with jitter, the odd long gap, and values of every shape
+            timestamp += i % 97 == 0 ? 3_600 + random.nextInt(5_000) : 59 + random.nextInt(3);
+            double value =
+                switch (i % 5) {
+                    case 0 -> (float) (random.nextDouble() * 100);
+                    case 1 -> 42.5;
+                    case 2 -> random.nextLong() >>> 11;
+                    case 3 -> -random.nextGaussian();
+                    default -> i % 2 == 0 ? Double.NaN : Double.MAX_VALUE;
+                };
+            assertThat(chunk.append(timestamp, value)).isTrue();
+            expected.add(new Point(timestamp, value));
+        }
+
+        assertThat(decode(chunk.toByteArray())).containsExactlyElementsOf(expected);
+        assertThat(chunk.firstTimestamp()).isEqualTo(expected.get(0).timestamp());
+        assertThat(chunk.lastTimestamp()).isEqualTo(timestamp);
+    }
+
+    @Test
+    void compressesASteadySeries() {
+        GorillaChunk chunk = new GorillaChunk(240);
+        Random random = new Random(7);
+        float cpu = 20;
+        for (int i = 0; i < 240; i++) {
+            if (i % 4 == 0) {
+                cpu = 20 + random.nextInt(5);
+            }
+            chunk.append(1_760_000_000L + i * 60L, cpu);
+        }
+
+        // 16 bytes per point uncompressed
+        assertThat(chunk.toByteArray().length).isLessThan(240 * 2);
+    }
+
+    @Test
+    void canBeReadWhileOpenAndAppendedToAfterwards() {
+        GorillaChunk chunk = new GorillaChunk(10);
+        chunk.append(100, 1.0);
+        chunk.append(160, 2.0);
+        byte[] snapshot = chunk.toByteArray();
+        chunk.append(220, 3.0);
+
+        assertThat(decode(snapshot)).containsExactly(new Point(100, 1.0), new Point(160, 2.0));
+        assertThat(decode(chunk.toByteArray())).containsExactly(new Point(100, 1.0), new Point(160, 2.0), new Point(220, 3.0));
+        assertThat(decode(new GorillaChunk(1).toByteArray())).isEmpty();
+    }
+
+    @Test
+    void rejectsPointsWhenFullOrNotAfterTheLastOne() {
+        GorillaChunk chunk = new GorillaChunk(2);
+
+        assertThat(chunk.append(100, 1.0)).isTrue();
+        assertThat(chunk.append(100, 2.0)).isFalse();
+        assertThat(chunk.append(99, 2.0)).isFalse();
+        assertThat(chunk.append(101, 2.0)).isTrue();
+        assertThat(chunk.isFull()).isTrue();
+        assertThat(chunk.append(102, 3.0)).isFalse();
+        assertThat(chunk.size()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsCorruptChunks() {
+        GorillaChunk chunk = new GorillaChunk(10);
+        chunk.append(100, 1.0);
+        chunk.append(160, 2.5);
+        byte[] bytes = chunk.toByteArray();
+        byte[] truncated = Arrays.copyOf(bytes, 12);
+        byte[] unknownVersion = bytes.clone();
+        unknownVersion[0] = 9;
+
+        assertThatThrownBy(() -> decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> decode(unknownVersion)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Point> decode(byte[] bytes) {
+        List<Point> points = new ArrayList<>();
+        GorillaChunk.decode(bytes, (timestamp, value) -> points.add(new Point(timestamp, value)));
+        return points;
+    }
+}
@@ -0,0 +1,64 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static vibhuvi.oio.inframirror.service.metrics.HealthStateMachine.Check.FAILED;
+import static vibhuvi.oio.inframirror.service.metrics.HealthStateMachine.Check.OK;
+import static vibhuvi.oio.inframirror.service.metrics.HealthStateMachine.Check.SLOW;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import vibhuvi.oio.inframirror.service.dto.MonitorHealthStatus;
+
+/**
+ * Test class for the {@link HealthStateMachine}.
+ */
+class HealthStateMachineTest {
+
+    private final HealthStateMachine machine = new HealthStateMachine(MonitorHealthStatus.UP);
+
+    private final List<String> transitions = new ArrayList<>();
+
+    private long time;
+
+    @Test
+    void goesDownAfterConsecutiveFailuresAndRecoversAfterConsecutiveSuccesses() {
+        observe(OK, FAILED, FAILED, FAILED, FAILED, OK, FAILED, OK, OK, OK);
+
+        // Down from the first failure of the streak, up from the first success of the streak
+        assertThat(transitions).containsExactly("DOWN@1", "UP@7");
+        assertThat(machine.status()).isEqualTo(MonitorHealthStatus.UP);
+    }
+
+    @Test
+    void doesNotFlapOnAlternatingChecks() {
+        observe(OK, FAILED, OK, FAILED, FAILED, OK, FAILED, OK, FAILED, FAILED, OK);
+
+        assertThat(transitions).isEmpty();
+    }
+
+    @Test
+    void degradesOnSlowChecksAndMovesBetweenDegradedAndDown() {
+        observe(SLOW, OK, SLOW, SLOW, FAILED, FAILED, FAILED, FAILED, SLOW, SLOW, SLOW, OK, OK);
+
+        assertThat(transitions).containsExactly("DEGRADED@2", "DOWN@4", "DEGRADED@8", "UP@11");
+    }
+
+    @Test
+    void startsFromTheGivenStatus() {
+        HealthStateMachine down = new HealthStateMachine(MonitorHealthStatus.DOWN);
+
+        assertThat(down.observe(0, OK, 3, 3, 2)).isNull();
+        assertThat(down.observe(1, OK, 3, 3, 2)).isEqualTo(MonitorHealthStatus.UP);
+        assertThat(down.changedAt()).isZero();
+    }
+
+    private void observe(HealthStateMachine.Check... checks) {
+        for (HealthStateMachine.Check check : checks) {
+            MonitorHealthStatus next = machine.observe(time++, check, 3, 3, 2);
+            if (next != null) {
+                transitions.add(next + "@" + machine.changedAt());
+            }
+        }
+    }
+}
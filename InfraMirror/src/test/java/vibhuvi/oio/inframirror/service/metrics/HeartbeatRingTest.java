@@ -0,0 +1,93 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HeartbeatRingTest {
+
+    @Test
+    void keepsNewestSamplesOnceFull() {
+        HeartbeatRing ring = new HeartbeatRing(3);
+        for (int t = 1; t <= 5; t++) {
+            ring.add(t * 1000L, t % 2 == 0, t * 10, HeartbeatRing.NO_VALUE, HeartbeatRing.NO_VALUE, "error " + t);
+        }
+
+        assertThat(ring.size()).isEqualTo(3);
+        assertThat(ring.executedAt(0)).isEqualTo(5000L);
+        assertThat(ring.executedAt(2)).isEqualTo(3000L);
+        assertThat(ring.isSuccess(0)).isFalse();
+        assertThat(ring.isSuccess(1)).isTrue();
+        assertThat(ring.latencyMs(1)).isEqualTo(40);
+        assertThat(ring.getLatestErrorMessage()).isEqualTo("error 5");
+    }
+
+    @Test
+    void insertsLateSamplesInOrderAndIgnoresDuplicates() {
+        HeartbeatRing ring = new HeartbeatRing(4);
+        ring.add(3000L, true, 30, 500, 1000, null);
+        ring.add(1000L, true, 10, 500, 1000, null);
+        ring.add(4000L, false, 40, 500, 1000, "timeout");
+        ring.add(2000L, true, 20, 400, 900, null);
+
+        assertThat(ring.add(3000L, false, 99, 500, 1000, null)).isFalse();
+        assertThat(ring.add(500L, false, 5, 500, 1000, null)).isFalse();
+        assertThat(ring.add(2500L, true, 25, 500, 1000, null)).isTrue();
+
+        assertThat(ring.size()).isEqualTo(4);
+        assertThat(new long[] { ring.executedAt(0), ring.executedAt(1), ring.executedAt(2), ring.executedAt(3) }).containsExactly(
+            4000L,
+            3000L,
+            2500L,
+            2000L
+        );
+        assertThat(ring.latencyMs(3)).isEqualTo(20);
+        assertThat(ring.warningThresholdMs(3)).isEqualTo(400);
+        assertThat(ring.criticalThresholdMs(3)).isEqualTo(900);
+        assertThat(ring.getLatestErrorMessage()).isEqualTo("timeout");
+    }
+
+    @Test
+    void keepsTheNewestDistinctSamplesUnderRandomOrder() {
+        Random random = new Random(7);
+        HeartbeatRing ring = new HeartbeatRing(100);
+        List<Long> all = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            long t = random.nextInt(5_000);
+            if (!all.contains(t)) {
+                all.add(t);
+            }
+            ring.add(t, t % 3 == 0, (int) t, HeartbeatRing.NO_VALUE, HeartbeatRing.NO_VALUE, null);
+        }
+        all.sort(Collections.reverseOrder());
+
+        assertThat(ring.size()).isEqualTo(100);
+        for (int i = 0; i < ring.size(); i++) {
+            assertThat(ring.executedAt(i)).isEqualTo(all.get(i));
+            assertThat(ring.isSuccess(i)).isEqualTo(all.get(i) % 3 == 0);
+            assertThat(ring.latencyMs(i)).isEqualTo(all.get(i).intValue());
+        }
+    }
+
+    @Test
+    void copyHonoursLimitAndSince() {
+        HeartbeatRing ring = new HeartbeatRing(10);
+        for (int t = 1; t <= 10; t++) {
+            ring.add(t * 1000L, true, t, HeartbeatRing.NO_VALUE, HeartbeatRing.NO_VALUE, t == 10 ? "last" : null);
+        }
+
+        HeartbeatRing limited = ring.copy(3, Long.MIN_VALUE);
+        assertThat(limited.size()).isEqualTo(3);
+        assertThat(limited.executedAt(0)).isEqualTo(10_000L);
+        assertThat(limited.executedAt(2)).isEqualTo(8_000L);
+        assertThat(limited.getLatestErrorMessage()).isEqualTo("last");
+
+        HeartbeatRing recent = ring.copy(10, 7_000L);
+        assertThat(recent.size()).isEqualTo(4);
+        assertThat(ring.copy(10, 11_000L)).isNull();
+    }
+}
@@ -0,0 +1,87 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LatencySketchTest {
+
+    @Test
+    void quantilesAreWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        LatencySketch sketch = new LatencySketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 5 + (long) Math.abs(random.nextGaussian() * 200) + (i % 100 == 0 ? 5_000 : 0);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] { 0.5, 0.9, 0.95, 0.99, 0.999 }) {
+            double exact = values[(int) Math.floor(q * (values.length - 1))];
+            assertThat(sketch.quantile(q)).isCloseTo(exact, within(exact * LatencySketch.RELATIVE_ACCURACY + 1e-9));
+        }
+        assertThat(sketch.quantile(0)).isEqualTo((double) values[0]);
+        assertThat(sketch.quantile(1)).isEqualTo((double) values[values.length - 1]);
+    }
+
+    @Test
+    void mergeIsEquivalentToAddingAllValues() {
+        LatencySketch low = new LatencySketch();
+        LatencySketch high = new LatencySketch();
+        LatencySketch all = new LatencySketch();
+        for (long v = 1; v <= 1_000; v++) {
+            (v % 2 == 0 ? low : high).add(v * (v % 2 == 0 ? 1 : 30));
+            all.add(v * (v % 2 == 0 ? 1 : 30));
+        }
+        low.merge(high);
+
+        assertThat(low.getCount()).isEqualTo(all.getCount());
+        assertThat(low.getMin()).isEqualTo(all.getMin());
+        assertThat(low.getMax()).isEqualTo(all.getMax());
+        assertThat(low.quantile(0.5)).isEqualTo(all.quantile(0.5));
+        assertThat(low.quantile(0.99)).isEqualTo(all.quantile(0.99));
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        LatencySketch sketch = new LatencySketch();
+        sketch.add(0);
+        sketch.add(12, 40);
+        sketch.add(250);
+        sketch.add(30_000);
+
+        byte[] bytes = sketch.toBytes();
+        LatencySketch decoded = LatencySketch.fromBytes(bytes);
+
+        assertThat(bytes.length).isLessThan(1_024);
+        assertThat(decoded.getCount()).isEqualTo(43);
+        assertThat(decoded.getMin()).isZero();
+        assertThat(decoded.getMax()).isEqualTo(30_000);
+        assertThat(decoded.quantile(0.5)).isEqualTo(sketch.quantile(0.5));
+        assertThat(decoded.quantile(0.99)).isEqualTo(sketch.quantile(0.99));
+    }
+
+    @Test
+    void countsValuesAtMostAThreshold() {
+        LatencySketch sketch = new LatencySketch();
+        for (long v = 1; v <= 1_000; v++) {
+            sketch.add(v);
+        }
+
+        assertThat(sketch.countAtMost(0)).isZero();
+        assertThat(sketch.countAtMost(500)).isCloseTo(500, within(10L));
+        assertThat(sketch.countAtMost(1_000)).isEqualTo(1_000);
+        assertThat(new LatencySketch().countAtMost(500)).isZero();
+    }
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        LatencySketch sketch = LatencySketch.fromBytes(new LatencySketch().toBytes());
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.5)).isNull();
+    }
+}
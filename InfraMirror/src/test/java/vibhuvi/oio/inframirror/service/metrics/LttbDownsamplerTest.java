@@ -0,0 +1,71 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link LttbDownsampler}.
+ */
+class LttbDownsamplerTest {
+
+    @Test
+    void keepsShortSeriesWhole() {
+        LttbDownsampler downsampler = new LttbDownsampler(0, 1000, 5);
+        downsampler.add(10, 1.0, 1);
+        downsampler.add(20, 2.0, 0);
+        downsampler.add(20, 3.0, 1);
+
+        LttbDownsampler.Result result = downsampler.finish();
+
+        assertThat(result.x()).containsExactly(10, 20, 20);
+        assertThat(result.y()).containsExactly(1.0, 2.0, 3.0);
+        assertThat(result.tags()).containsExactly(1, 0, 1);
+    }
+
+    @Test
+    void keepsAtMostTheThresholdWithTheEndsAndTheSpikes() {
+        Random random = new Random(3);
+        LttbDownsampler downsampler = new LttbDownsampler(0, 100_000, 50);
+        for (long x = 0; x < 100_000; x += 10) {
+            double y = x == 43_210 ? 5_000 : x == 77_770 ? 1 : 200 + random.nextInt(20);
+            downsampler.add(x, y, x == 43_210 ? 7 : 0);
+        }
+
+        LttbDownsampler.Result result = downsampler.finish();
+
+        assertThat(result.x()).hasSizeLessThanOrEqualTo(50).hasSizeGreaterThan(40);
+        assertThat(result.x()[0]).isZero();
+        assertThat(result.x()[result.x().length - 1]).isEqualTo(99_990);
+        assertThat(result.x()).isSorted();
+        assertThat(result.x()).contains(43_210, 77_770);
+        assertThat(result.tags()[Arrays.binarySearch(result.x(), 43_210)]).isEqualTo(7);
+        assertThat(result.y()).contains(5_000.0, 1.0);
+    }
+
+    @Test
+    void keepsOnePointPerNonEmptyBucketAcrossGaps() {
+        LttbDownsampler downsampler = new LttbDownsampler(0, 1000, 12);
+        // Ten buckets of 100; nothing between 200 and 800
+        for (long x = 0; x < 200; x += 5) {
+            downsampler.add(x, x % 2, 0);
+        }
+        for (long x = 800; x < 1000; x += 5) {
+            downsampler.add(x, x % 3, 0);
+        }
+
+        LttbDownsampler.Result result = downsampler.finish();
+
+        // First and last points, and one point from each of the four non-empty buckets
+        assertThat(result.x()).hasSize(6).startsWith(0).endsWith(995).isSorted();
+    }
+
+    @Test
+    void rejectsATooSmallThresholdOrAnEmptyWindow() {
+        assertThatThrownBy(() -> new LttbDownsampler(0, 10, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LttbDownsampler(10, 10, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,46 @@
+package vibhuvi.oio.inframirror.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SlidingWindowCounter}.
+ */
+class SlidingWindowCounterTest {
+
+    @Test
+    void sumsTheValuesOfTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(5, 1000, 2);
+        counter.add(0, 0, 1);
+        counter.add(1500, 0, 2);
+        counter.add(1500, 1, 7);
+        counter.add(4999, 0, 4);
+
+        assertThat(counter.sum(0, 4999)).isEqualTo(7);
+        assertThat(counter.sum(1, 4999)).isEqualTo(7);
+        assertThat(counter.sum(0, 5000)).isEqualTo(6);
+        assertThat(counter.sum(0, 6000)).isEqualTo(4);
+        assertThat(counter.sum(1, 6000)).isZero();
+    }
+
+    @Test
+    void ignoresValuesOlderThanTheWindowAndCountsLateOnes() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, 1000, 1);
+        counter.add(10_000, 0, 1);
+        counter.add(7_500, 0, 5);
+        counter.add(8_500, 0, 3);
+
+        assertThat(counter.sum(0, 10_000)).isEqualTo(4);
+    }
+
+    @Test
+    void emptiesAfterAFullWindowWithoutValues() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(4, 1000, 1);
+        counter.add(0, 0, 10);
+
+        assertThat(counter.sum(0, 1_000_000)).isZero();
+        counter.add(1_000_500, 0, 1);
+        assertThat(counter.sum(0, 1_000_999)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,41 @@
+package vibhuvi.oio.inframirror.service.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TokenBucket}.
+ */
+class TokenBucketTest {
+
+    @Test
+    void allowsABurstThenRefillsAtTheRate() {
+        TokenBucket bucket = new TokenBucket(3, 60_000, 0);
+
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isFalse();
+        // One token every 20 seconds
+        assertThat(bucket.tryAcquire(19_999)).isFalse();
+        assertThat(bucket.tryAcquire(20_000)).isTrue();
+        assertThat(bucket.tryAcquire(20_000)).isFalse();
+    }
+
+    @Test
+    void doesNotRefillBeyondTheCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1000, 0);
+
+        assertThat(bucket.available(1_000_000)).isTrue();
+        assertThat(bucket.tryAcquire(1_000_000)).isTrue();
+        assertThat(bucket.tryAcquire(1_000_000)).isTrue();
+        assertThat(bucket.available(1_000_000)).isFalse();
+    }
+
+    @Test
+    void rejectsAnEmptyBucket() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1000, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package vibhuvi.oio.inframirror.service.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ConsistentHashRing}.
+ */
+class ConsistentHashRingTest {
+
+    private static final int MONITORS = 20_000;
+
+    @Test
+    void spreadsMonitorsEvenly() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of(1L, 2L, 3L, 4L, 5L), 128);
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (long id = 1; id <= MONITORS; id++) {
+            counts.merge(ring.ownerOf(ConsistentHashRing.key("HTTP", id)), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(5);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(MONITORS / 5 * 7 / 10, MONITORS / 5 * 13 / 10));
+    }
+
+    @Test
+    void movesOnlyTheShareOfAJoiningAgent() {
+        ConsistentHashRing before = ConsistentHashRing.of(List.of(1L, 2L, 3L, 4L), 128);
+        ConsistentHashRing after = ConsistentHashRing.of(List.of(4L, 3L, 2L, 1L, 5L), 128);
+
+        int moved = 0;
+        for (long id = 1; id <= MONITORS; id++) {
+            long key = ConsistentHashRing.key("HTTP", id);
+            long owner = after.ownerOf(key);
+            if (owner != before.ownerOf(key)) {
+                assertThat(owner).isEqualTo(5L);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(MONITORS / 5 * 7 / 10, MONITORS / 5 * 13 / 10);
+    }
+
+    @Test
+    void rejectsLookupsOnAnEmptyRing() {
+        ConsistentHashRing ring = ConsistentHashRing.of(List.of(), 128);
+
+        assertThat(ring.isEmpty()).isTrue();
+        assertThatThrownBy(() -> ring.ownerOf(42L)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package vibhuvi.oio.inframirror.service.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TimingWheel}.
+ */
+class TimingWheelTest {
+
+    @Test
+    void reportsIdsOnceTheirDeadlinePassed() {
+        TimingWheel wheel = new TimingWheel(8, 1000, 0);
+        wheel.schedule(1L, 2500);
+        wheel.schedule(2L, 1000);
+        List<Long> due = new ArrayList<>();
+
+        wheel.advance(2000, due::add);
+        assertThat(due).containsExactly(2L);
+
+        wheel.advance(3000, due::add);
+        assertThat(due).containsExactly(2L, 1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneRevolution() {
+        TimingWheel wheel = new TimingWheel(4, 1000, 0);
+        wheel.schedule(7L, 10_000);
+        List<Long> due = new ArrayList<>();
+
+        wheel.advance(9000, due::add);
+        assertThat(due).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        wheel.advance(10_000, due::add);
+        assertThat(due).containsExactly(7L);
+    }
+
+    @Test
+    void reportsPastDeadlinesOnTheNextTickAndAllowsRescheduling() {
+        TimingWheel wheel = new TimingWheel(4, 1000, 5000);
+        wheel.schedule(3L, 0);
+        List<Long> due = new ArrayList<>();
+
+        wheel.advance(6000, id -> {
+            due.add(id);
+            wheel.schedule(id, 6000);
+        });
+        assertThat(due).containsExactly(3L);
+
+        wheel.advance(7000, due::add);
+        assertThat(due).containsExactly(3L, 3L);
+    }
+}
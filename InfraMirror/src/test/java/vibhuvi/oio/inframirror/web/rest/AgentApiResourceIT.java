@@ -0,0 +1,130 @@
+package vibhuvi.oio.inframirror.web.rest;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import vibhuvi.oio.inframirror.IntegrationTest;
+import vibhuvi.oio.inframirror.domain.MonitoredService;
+
+/**
+ * Integration tests for the {@link AgentApiResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class AgentApiResourceIT {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final String HTTP_HEARTBEAT_BATCH_API_URL = "/api/agent/http-heartbeats/batch";
+
+    private static final String SERVICE_HEARTBEAT_API_URL = "/api/agent/service-heartbeats";
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restAgentApiMockMvc;
+
+    private String apiKey;
+
+    @BeforeEach
+    void createApiKey() throws Exception {
+        apiKey = UUID.randomUUID().toString();
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+        em.persist(ApiKeyResourceIT.createEntity().keyHash(Base64.getEncoder().encodeToString(hash)).active(true).expiresAt(null));
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void submitHttpHeartbeatBatchWithoutExecutedAtIsRejected() throws Exception {
+        restAgentApiMockMvc
+            .perform(
+                post(HTTP_HEARTBEAT_BATCH_API_URL)
+                    .header(API_KEY_HEADER, apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + heartbeatJson("\"2024-01-01T00:00:00Z\"", "1") + "," + heartbeatJson(null, "1") + "]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.executedatrequired"));
+    }
+
+    @Test
+    @Transactional
+    void submitHttpHeartbeatBatchWithoutAgentIsRejected() throws Exception {
+        restAgentApiMockMvc
+            .perform(
+                post(HTTP_HEARTBEAT_BATCH_API_URL)
+                    .header(API_KEY_HEADER, apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + heartbeatJson("\"2024-01-01T00:00:00Z\"", null) + "]")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.agentrequired"));
+    }
+
+    @Test
+    @Transactional
+    void submitHttpHeartbeatStreamWithoutExecutedAtIsRejected() throws Exception {
+        restAgentApiMockMvc
+            .perform(
+                post(HTTP_HEARTBEAT_BATCH_API_URL)
+                    .header(API_KEY_HEADER, apiKey)
+                    .contentType(NDJSON)
+                    .content(heartbeatJson("\"2024-01-01T00:00:00Z\"", "1") + "\n" + heartbeatJson(null, "1") + "\n")
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.executedatrequired"));
+    }
+
+    @Test
+    @Transactional
+    void submitServiceHeartbeatReturnsTheSavedHeartbeat() throws Exception {
+        MonitoredService monitoredService = MonitoredServiceResourceIT.createEntity();
+        em.persist(monitoredService);
+        em.flush();
+
+        restAgentApiMockMvc
+            .perform(
+                post(SERVICE_HEARTBEAT_API_URL)
+                    .header(API_KEY_HEADER, apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        "{\"monitoredServiceId\":" +
+                        monitoredService.getId() +
+                        ",\"executedAt\":\"2024-01-01T00:00:00Z\",\"success\":true,\"status\":\"UP\",\"responseTimeMs\":12}"
+                    )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(notNullValue()))
+            .andExpect(jsonPath("$.executedAt").value("2024-01-01T00:00:00Z"))
+            .andExpect(jsonPath("$.success").value(true))
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.responseTimeMs").value(12))
+            .andExpect(jsonPath("$.monitoredService.id").value(monitoredService.getId().intValue()));
+    }
+
+    private static String heartbeatJson(String executedAt, String agentId) {
+        return (
+            "{\"monitor\":{\"id\":1},\"success\":true" +
+            (executedAt != null ? ",\"executedAt\":" + executedAt : "") +
+            (agentId != null ? ",\"agent\":{\"id\":" + agentId + "}" : "") +
+            "}"
+        );
+    }
+}
@@ -12,6 +12,7 @@ import static vibhuvi.oio.inframirror.web.rest.TestUtil.createUpdateProxyForBean
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.net.URI;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -25,13 +26,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.util.Streamable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import vibhuvi.oio.inframirror.IntegrationTest;
 import vibhuvi.oio.inframirror.domain.HttpHeartbeat;
+import vibhuvi.oio.inframirror.domain.HttpMonitor;
 import vibhuvi.oio.inframirror.repository.HttpHeartbeatRepository;
+import vibhuvi.oio.inframirror.service.HttpHeartbeatDetailService;
 import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
 import vibhuvi.oio.inframirror.service.mapper.HttpHeartbeatMapper;
 
@@ -189,6 +193,9 @@ class HttpHeartbeatResourceIT {
 
     @Autowired
     private HttpHeartbeatMapper httpHeartbeatMapper;
+
+    @Autowired
+    private HttpHeartbeatDetailService httpHeartbeatDetailService;
     
 
     @Autowired
@@ -348,6 +355,32 @@ class HttpHeartbeatResourceIT {
         assertHttpHeartbeatUpdatableFieldsEquals(returnedHttpHeartbeat, getPersistedHttpHeartbeat(returnedHttpHeartbeat));        insertedHttpHeartbeat = returnedHttpHeartbeat;
     }
 
+    @Test
+    @Transactional
+    void createHttpHeartbeatStoresTheDiagnosticsAsDetail() throws Exception {
+        HttpHeartbeatDTO httpHeartbeatDTO = httpHeartbeatMapper.toDto(httpHeartbeat);
+        var returnedHttpHeartbeatDTO = om.readValue(
+            restHttpHeartbeatMockMvc
+                .perform(
+                    post(ENTITY_API_URL)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(httpHeartbeatDTO))
+                )
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            HttpHeartbeatDTO.class
+        );
+
+        assertThat(getPersistedHttpHeartbeat(httpHeartbeatMapper.toEntity(returnedHttpHeartbeatDTO)).getRawResponseBody()).isNull();
+        assertThat(httpHeartbeatDetailService.findOne(returnedHttpHeartbeatDTO.getId()))
+            .get()
+            .satisfies(detail -> assertThat(detail.getRawResponseBody()).isEqualTo(DEFAULT_RAW_RESPONSE_BODY));
+        insertedHttpHeartbeat = httpHeartbeatMapper.toEntity(returnedHttpHeartbeatDTO);
+    }
+
     @Test
     @Transactional
     void createHttpHeartbeatWithExistingId() throws Exception {
@@ -446,6 +479,43 @@ class HttpHeartbeatResourceIT {
             .andExpect(jsonPath("$.[*].phaseLatencies").value(hasItem(DEFAULT_PHASE_LATENCIES)));
     }
 
+    @Test
+    @Transactional
+    void getHttpHeartbeatsOfMonitorByKeyset() throws Exception {
+        // Initialize the database
+        HttpMonitor monitor = HttpMonitorResourceIT.createEntity();
+        em.persist(monitor);
+        for (int i = 0; i < 3; i++) {
+            em.persist(createEntity().executedAt(DEFAULT_EXECUTED_AT.plusSeconds(i)).monitor(monitor));
+        }
+        em.flush();
+        String query = "?monitorId=" + monitor.getId() + "&from=" + DEFAULT_EXECUTED_AT + "&to=" + DEFAULT_EXECUTED_AT.plusSeconds(3) + "&size=2";
+
+        // Get the first page, newest first
+        String link = restHttpHeartbeatMockMvc
+            .perform(get(ENTITY_API_URL + query))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].executedAt").value(DEFAULT_EXECUTED_AT.plusSeconds(2).toString()))
+            .andExpect(jsonPath("$.[1].executedAt").value(DEFAULT_EXECUTED_AT.plusSeconds(1).toString()))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LINK);
+        assertThat(link).endsWith("; rel=\"next\"");
+
+        // Follow the next link to the last page
+        restHttpHeartbeatMockMvc
+            .perform(get(URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>')))))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].executedAt").value(DEFAULT_EXECUTED_AT.toString()));
+
+        // Reject a forged cursor
+        restHttpHeartbeatMockMvc.perform(get(ENTITY_API_URL + query + "&cursor=forged")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getHttpHeartbeat() throws Exception {
@@ -511,6 +581,30 @@ class HttpHeartbeatResourceIT {
         restHttpHeartbeatMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getHttpHeartbeatDetails() throws Exception {
+        // Initialize the database
+        insertedHttpHeartbeat = httpHeartbeatRepository.saveAndFlush(httpHeartbeat);
+
+        // Get the details, still held inline by a heartbeat saved through the entity
+        restHttpHeartbeatMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/details", httpHeartbeat.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.heartbeatId").value(httpHeartbeat.getId().intValue()))
+            .andExpect(jsonPath("$.executedAt").value(DEFAULT_EXECUTED_AT.toString()))
+            .andExpect(jsonPath("$.rawResponseBody").value(DEFAULT_RAW_RESPONSE_BODY))
+            .andExpect(jsonPath("$.dnsDetails").value(DEFAULT_DNS_DETAILS))
+            .andExpect(jsonPath("$.phaseLatencies").value(DEFAULT_PHASE_LATENCIES));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingHttpHeartbeatDetails() throws Exception {
+        restHttpHeartbeatMockMvc.perform(get(ENTITY_API_URL_ID + "/details", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putExistingHttpHeartbeat() throws Exception {
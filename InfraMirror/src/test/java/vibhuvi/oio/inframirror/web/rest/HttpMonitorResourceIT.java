@@ -2,6 +2,7 @@ package vibhuvi.oio.inframirror.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -11,6 +12,8 @@ import static vibhuvi.oio.inframirror.web.rest.TestUtil.createUpdateProxyForBean
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -27,7 +30,9 @@ import org.springframework.transaction.annotation.Transactional;
 import vibhuvi.oio.inframirror.IntegrationTest;
 import vibhuvi.oio.inframirror.domain.HttpMonitor;
 import vibhuvi.oio.inframirror.repository.HttpMonitorRepository;
+import vibhuvi.oio.inframirror.service.dto.HttpHeartbeatDTO;
 import vibhuvi.oio.inframirror.service.dto.HttpMonitorDTO;
+import vibhuvi.oio.inframirror.service.impl.HttpMonitorCertificateServiceImpl;
 import vibhuvi.oio.inframirror.service.mapper.HttpMonitorMapper;
 
 /**
@@ -164,6 +169,9 @@ class HttpMonitorResourceIT {
 
     @Autowired
     private EntityManager em;
+
+    @Autowired
+    private HttpMonitorCertificateServiceImpl httpMonitorCertificateService;
     
     private MockMvc restHttpMonitorMockMvc;
 
@@ -2225,6 +2233,94 @@ class HttpMonitorResourceIT {
         restHttpMonitorMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getHttpMonitorSeries() throws Exception {
+        // Initialize the database
+        insertedHttpMonitor = httpMonitorRepository.saveAndFlush(httpMonitor);
+
+        // Get the series of the httpMonitor, without heartbeats yet
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/series", httpMonitor.getId()).param("points", "100").param("groupBy", "MONITOR"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isEmpty());
+
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/series", httpMonitor.getId()).param("points", "2"))
+            .andExpect(status().isBadRequest());
+        restHttpMonitorMockMvc.perform(get(ENTITY_API_URL_ID + "/series", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getHttpMonitorStatusAndIncidents() throws Exception {
+        // Initialize the database
+        insertedHttpMonitor = httpMonitorRepository.saveAndFlush(httpMonitor);
+
+        // A monitor without open incidents is UP
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/status", httpMonitor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.monitorId").value(httpMonitor.getId().intValue()))
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.openIncidents").isEmpty());
+
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/incidents", httpMonitor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty());
+
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/incidents", httpMonitor.getId()).param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        restHttpMonitorMockMvc.perform(get(ENTITY_API_URL_ID + "/status", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getHttpMonitorCertificates() throws Exception {
+        // Initialize the database
+        insertedHttpMonitor = httpMonitorRepository.saveAndFlush(httpMonitor.certificateExpiryDays(14));
+
+        restHttpMonitorMockMvc.perform(get(ENTITY_API_URL_ID + "/certificate", httpMonitor.getId())).andExpect(status().isNotFound());
+
+        // A heartbeat reports a certificate within the threshold of the monitor
+        HttpMonitorDTO monitor = new HttpMonitorDTO();
+        monitor.setId(httpMonitor.getId());
+        HttpHeartbeatDTO heartbeat = new HttpHeartbeatDTO();
+        heartbeat.setMonitor(monitor);
+        heartbeat.setExecutedAt(Instant.now());
+        heartbeat.setSuccess(true);
+        heartbeat.setSslCertificateExpiry(Instant.now().plus(Duration.ofDays(10)));
+        heartbeat.setSslCertificateIssuer("R3");
+        heartbeat.setSslCertificateValid(true);
+        httpMonitorCertificateService.onHeartbeatsPersisted(List.of(heartbeat));
+
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/certificate", httpMonitor.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.monitorId").value(httpMonitor.getId().intValue()))
+            .andExpect(jsonPath("$.issuer").value("R3"))
+            .andExpect(jsonPath("$.daysUntilExpiry").value(9))
+            .andExpect(jsonPath("$.thresholdDays").value(14))
+            .andExpect(jsonPath("$.withinThreshold").value(true));
+
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL + "/certificates").param("to", Instant.now().plus(Duration.ofDays(20)).toString()).param("size", "1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].monitorId").value(hasItem(httpMonitor.getId().intValue())));
+
+        restHttpMonitorMockMvc
+            .perform(get(ENTITY_API_URL + "/certificates").param("to", Instant.now().plus(Duration.ofDays(5)).toString()).param("size", "1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].monitorId").value(not(hasItem(httpMonitor.getId().intValue()))));
+
+        restHttpMonitorMockMvc.perform(get(ENTITY_API_URL + "/certificates").param("size", "0")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void putExistingHttpMonitor() throws Exception {
@@ -2311,6 +2311,31 @@ class InstanceResourceIT extends AbstractEntityResourceIT<Instance, InstanceRepo
         restMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getInstanceMetrics() throws Exception {
+        // Initialize the database
+        insertedInstance = instanceRepository.saveAndFlush(instance);
+
+        // Get the metrics of the instance, none recorded yet
+        restMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/metrics", instance.getId()).param("names", "cpu,mem").param("step", "5m"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[0].name").value("cpu"))
+            .andExpect(jsonPath("$.[1].name").value("mem"))
+            .andExpect(jsonPath("$.[0].stepSeconds").value(300))
+            .andExpect(jsonPath("$.[0].timestamps").isEmpty());
+
+        restMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/metrics", instance.getId()).param("names", "gpu"))
+            .andExpect(status().isBadRequest());
+        restMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/metrics", instance.getId()).param("step", "1s").param("from", "2020-01-01T00:00:00Z"))
+            .andExpect(status().isBadRequest());
+        restMockMvc.perform(get(ENTITY_API_URL_ID + "/metrics", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putExistingInstance() throws Exception {